@@ -0,0 +1,169 @@
+package com.example.serverside.analysis.callgraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Call graph of one repository, built from the {@link FileSummary} of each file.
+ *
+ * The graph keeps reference counts of the calls in all summaries, so replacing the summary of a changed file only
+ * subtracts its old calls and adds its new ones; unchanged files are never looked at again. Files are stored under a
+ * version, normally their git blob SHA, together with the versions of the files their calls were resolved with: a
+ * summary is stale once any of those changes, as its calls may now resolve to other methods.
+ *
+ * A method counts as called when a call was resolved to it, when an unresolved call has its name, or, for methods
+ * that may override another, when a resolved call to any method of its name could dispatch to it.
+ */
+public class CallGraph {
+
+    private final Map<String, String> versions = new HashMap<>();
+    private final Map<String, Map<String, String>> dependencyVersions = new HashMap<>();
+    private final Map<String, FileSummary> summaries = new HashMap<>();
+    private final Map<String, Integer> resolvedCalls = new HashMap<>();
+    private final Map<String, Integer> resolvedCallNames = new HashMap<>();
+    private final Map<String, Integer> unresolvedCallNames = new HashMap<>();
+
+    /**
+     * Determines whether a file is in the graph at the given version, and the files its calls were resolved with are
+     * at the versions held in the graph.
+     *
+     * @param path    The file path.
+     * @param version The file version, such as its blob SHA.
+     * @return true if the file does not need to be summarised again, false otherwise.
+     */
+    public synchronized boolean isCurrent(String path, String version) {
+        return isCurrent(path, version, versions);
+    }
+
+    /**
+     * Determines whether a file is in the graph at the given version, and the files its calls were resolved with are
+     * at the same versions as in a snapshot of the repository.
+     *
+     * @param path             The file path.
+     * @param version          The file version, such as its blob SHA.
+     * @param snapshotVersions The versions of the files of the snapshot, by path.
+     * @return true if the file does not need to be summarised again, false otherwise.
+     */
+    public synchronized boolean isCurrent(String path, String version, Map<String, String> snapshotVersions) {
+        if (version == null || !version.equals(versions.get(path))) {
+            return false;
+        }
+        for (Map.Entry<String, String> dependency : dependencyVersions.get(path).entrySet()) {
+            if (!Objects.equals(dependency.getValue(), snapshotVersions.get(dependency.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the summary of a file, replacing any earlier version of it. The files its calls were resolved with are
+     * taken to be at the versions held in the graph.
+     *
+     * @param path    The file path.
+     * @param version The file version, such as its blob SHA.
+     * @param summary The summary of the file.
+     */
+    public synchronized void update(String path, String version, FileSummary summary) {
+        update(path, version, summary, versions);
+    }
+
+    /**
+     * Adds the summary of a file, replacing any earlier version of it.
+     *
+     * @param path             The file path.
+     * @param version          The file version, such as its blob SHA.
+     * @param summary          The summary of the file.
+     * @param snapshotVersions The versions of the files of the snapshot the summary was resolved against, by path.
+     */
+    public synchronized void update(String path, String version, FileSummary summary,
+                                    Map<String, String> snapshotVersions) {
+        Map<String, String> dependencies = new HashMap<>();
+        for (String dependency : summary.getDependencies()) {
+            dependencies.put(dependency, dependency.equals(path) ? version : snapshotVersions.get(dependency));
+        }
+        remove(path);
+        versions.put(path, version);
+        dependencyVersions.put(path, dependencies);
+        summaries.put(path, summary);
+        count(summary, 1);
+    }
+
+    /**
+     * Removes a file from the graph.
+     *
+     * @param path The file path.
+     */
+    public synchronized void remove(String path) {
+        versions.remove(path);
+        dependencyVersions.remove(path);
+        FileSummary summary = summaries.remove(path);
+        if (summary != null) {
+            count(summary, -1);
+        }
+    }
+
+    /**
+     * Removes every file not in the given set, such as files deleted since the last scan.
+     *
+     * @param retainedPaths The paths to keep.
+     */
+    public synchronized void retainOnly(Collection<String> retainedPaths) {
+        Set<String> retained = new HashSet<>(retainedPaths);
+        for (String path : new ArrayList<>(summaries.keySet())) {
+            if (!retained.contains(path)) {
+                remove(path);
+            }
+        }
+    }
+
+    /**
+     * Finds public and package-private methods that nothing in the repository calls.
+     *
+     * @return The uncalled methods, ordered by path and line.
+     */
+    public synchronized List<UnusedMethod> findUnusedMethods() {
+        List<UnusedMethod> unused = new ArrayList<>();
+        summaries.forEach((path, summary) -> {
+            for (FileSummary.MethodDeclarationSummary method : summary.getDeclarations()) {
+                if (!isCalled(method)) {
+                    unused.add(new UnusedMethod(path, method.getLine(), method.getTypeName(), method.getName()));
+                }
+            }
+        });
+        unused.sort(Comparator.comparing(UnusedMethod::getPath).thenComparingInt(UnusedMethod::getLine));
+        return unused;
+    }
+
+    /**
+     * Gets the number of files in the graph.
+     *
+     * @return The file count.
+     */
+    public synchronized int getFileCount() {
+        return summaries.size();
+    }
+
+    private boolean isCalled(FileSummary.MethodDeclarationSummary method) {
+        return resolvedCalls.containsKey(method.getKey())
+                || unresolvedCallNames.containsKey(method.getName())
+                || (method.isOverridable() && resolvedCallNames.containsKey(method.getName()));
+    }
+
+    private void count(FileSummary summary, int delta) {
+        summary.getResolvedCalls().forEach(key -> add(resolvedCalls, key, delta));
+        summary.getResolvedCallNames().forEach(name -> add(resolvedCallNames, name, delta));
+        summary.getUnresolvedCallNames().forEach(name -> add(unresolvedCallNames, name, delta));
+    }
+
+    private static void add(Map<String, Integer> counts, String key, int delta) {
+        counts.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.serverside.analysis.callgraph;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps one {@link CallGraph} per repository, so each scan of a repository only summarises the files that changed
+ * since the previous one. The least recently scanned repositories are dropped beyond a fixed number.
+ */
+@Component
+public class CallGraphRegistry {
+
+    private final LinkedHashMap<String, CallGraph> graphs;
+
+    /**
+     * Constructs a CallGraphRegistry with room for 4 repositories.
+     */
+    public CallGraphRegistry() {
+        this(4);
+    }
+
+    /**
+     * Constructs a CallGraphRegistry.
+     *
+     * @param maxRepositories Number of repository call graphs kept.
+     */
+    @Autowired
+    public CallGraphRegistry(@Value("${analysis.clone-index.max-repositories:4}") int maxRepositories) {
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CallGraph> eldest) {
+                return size() > maxRepositories;
+            }
+        };
+    }
+
+    /**
+     * Gets the call graph of a repository, creating an empty one on first use.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @return The repository's call graph.
+     */
+    public synchronized CallGraph forRepository(String username, String repo) {
+        return graphs.computeIfAbsent(username + "/" + repo, key -> new CallGraph());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.serverside.analysis.callgraph;
+
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.example.serverside.analysis.resolution.TypeResolutionContext;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithExtends;
+import com.github.javaparser.ast.nodeTypes.NodeWithImplements;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Extracts the {@link FileSummary} of a compilation unit.
+ *
+ * Calls are resolved with the symbol solver of a {@link TypeResolutionContext}: the JDK, the types of the file itself
+ * and, for a repository snapshot, the other types of the repository, whose files the summary lists as dependencies.
+ * Calls that still cannot be resolved are kept by name, which may keep a dead method alive but never reports a called
+ * one.
+ *
+ * Methods that frameworks or the JVM call without a visible call site are not treated as dead code: annotated
+ * methods (such as overrides, request handlers and tests), {@code main}, overrides of {@code Object} methods, and
+ * bean getters and setters.
+ */
+public final class CallSummaryExtractor {
+
+    private static final Set<String> OBJECT_METHODS = Set.of("toString/0", "hashCode/0", "equals/1", "clone/0",
+            "finalize/0");
+
+    private CallSummaryExtractor() {
+    }
+
+    /**
+     * Summarises the declarations and calls of a compilation unit, resolving calls against the JDK only.
+     *
+     * @param cu The compilation unit.
+     * @return The file summary.
+     */
+    public static FileSummary summarize(CompilationUnit cu) {
+        return summarize(cu, TypeResolutionContext.jdk());
+    }
+
+    /**
+     * Summarises the declarations and calls of a compilation unit.
+     *
+     * @param cu      The compilation unit.
+     * @param context The context calls are resolved in, such as the repository snapshot the file belongs to.
+     * @return The file summary.
+     */
+    public static FileSummary summarize(CompilationUnit cu, TypeResolutionContext context) {
+        Set<String> dependencies = new TreeSet<>();
+        FileSummary summary = context.resolve(cu, () -> extract(cu), dependencies);
+        return new FileSummary(summary.getDeclarations(), summary.getResolvedCalls(), summary.getResolvedCallNames(),
+                summary.getUnresolvedCallNames(), new ArrayList<>(dependencies));
+    }
+
+    private static FileSummary extract(CompilationUnit cu) {
+        NodeIndex index = NodeIndex.of(cu);
+
+        List<FileSummary.MethodDeclarationSummary> declarations = new ArrayList<>();
+        for (MethodDeclaration method : index.ofType(MethodDeclaration.class)) {
+            summarize(method).ifPresent(declarations::add);
+        }
+
+        List<String> resolvedCalls = new ArrayList<>();
+        List<String> resolvedCallNames = new ArrayList<>();
+        List<String> unresolvedCallNames = new ArrayList<>();
+        for (MethodCallExpr call : index.ofType(MethodCallExpr.class)) {
+            try {
+                String resolved = TypeResolutionContext.solve(() -> {
+                    ResolvedMethodDeclaration method = call.resolve();
+                    return key(method.declaringType().getQualifiedName(), method.getName(),
+                            method.getNumberOfParams());
+                });
+                resolvedCalls.add(resolved);
+                resolvedCallNames.add(call.getNameAsString());
+            } catch (RuntimeException e) {
+                unresolvedCallNames.add(call.getNameAsString());
+            }
+        }
+        for (MethodReferenceExpr reference : index.ofType(MethodReferenceExpr.class)) {
+            unresolvedCallNames.add(reference.getIdentifier());
+        }
+        return new FileSummary(declarations, resolvedCalls, resolvedCallNames, unresolvedCallNames);
+    }
+
+    /**
+     * Builds the key a method is called by.
+     *
+     * @param typeName The fully qualified name of the declaring type.
+     * @param name     The method name.
+     * @param arity    The number of declared parameters.
+     * @return A key of the form {@code package.Type#name/arity}.
+     */
+    static String key(String typeName, String name, int arity) {
+        return typeName + "#" + name + "/" + arity;
+    }
+
+    private static Optional<FileSummary.MethodDeclarationSummary> summarize(MethodDeclaration method) {
+        Node parent = method.getParentNode().orElse(null);
+        if (!(parent instanceof TypeDeclaration) || method.isPrivate() || method.isProtected()
+                || !method.getAnnotations().isEmpty() || isEntryPoint(method)) {
+            return Optional.empty();
+        }
+        TypeDeclaration<?> type = (TypeDeclaration<?>) parent;
+        if (type instanceof ClassOrInterfaceDeclaration && ((ClassOrInterfaceDeclaration) type).isLocalClassDeclaration()) {
+            return Optional.empty();
+        }
+        Optional<String> typeName = type.getFullyQualifiedName();
+        if (typeName.isEmpty()) {
+            return Optional.empty();
+        }
+        int line = method.getBegin().map(position -> position.line).orElse(-1);
+        return Optional.of(new FileSummary.MethodDeclarationSummary(type.getNameAsString(),
+                key(typeName.get(), method.getNameAsString(), method.getParameters().size()),
+                method.getNameAsString(), line, isOverridable(type)));
+    }
+
+    private static boolean isEntryPoint(MethodDeclaration method) {
+        String name = method.getNameAsString();
+        int arity = method.getParameters().size();
+        if (OBJECT_METHODS.contains(name + "/" + arity)) {
+            return true;
+        }
+        if (method.isStatic() && name.equals("main") && arity == 1) {
+            return true;
+        }
+        return (arity == 0 && (isAccessorName(name, "get") || isAccessorName(name, "is")))
+                || (arity == 1 && isAccessorName(name, "set"));
+    }
+
+    private static boolean isAccessorName(String name, String prefix) {
+        return name.length() > prefix.length() && name.startsWith(prefix)
+                && Character.isUpperCase(name.charAt(prefix.length()));
+    }
+
+    private static boolean isOverridable(TypeDeclaration<?> type) {
+        if (type instanceof ClassOrInterfaceDeclaration && ((ClassOrInterfaceDeclaration) type).isInterface()) {
+            return true;
+        }
+        if (type instanceof NodeWithExtends && !((NodeWithExtends<?>) type).getExtendedTypes().isEmpty()) {
+            return true;
+        }
+        return type instanceof NodeWithImplements && !((NodeWithImplements<?>) type).getImplementedTypes().isEmpty();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.serverside.analysis.callgraph;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The declarations and calls of one file that matter to the repository call graph.
+ * A summary is all the graph keeps of a file, so a file only has to be parsed and resolved again when it changes.
+ */
+public final class FileSummary {
+
+    private final List<MethodDeclarationSummary> declarations;
+    private final List<String> resolvedCalls;
+    private final List<String> resolvedCallNames;
+    private final List<String> unresolvedCallNames;
+    private final List<String> dependencies;
+
+    /**
+     * Constructs a FileSummary whose calls were resolved without other files of the repository.
+     *
+     * @param declarations        The methods of the file that may be dead code.
+     * @param resolvedCalls       Keys of the methods the symbol solver resolved calls to.
+     * @param resolvedCallNames   Names of the methods the symbol solver resolved calls to.
+     * @param unresolvedCallNames Names of called or referenced methods that could not be resolved.
+     */
+    public FileSummary(List<MethodDeclarationSummary> declarations, List<String> resolvedCalls,
+                       List<String> resolvedCallNames, List<String> unresolvedCallNames) {
+        this(declarations, resolvedCalls, resolvedCallNames, unresolvedCallNames, List.of());
+    }
+
+    /**
+     * Constructs a FileSummary.
+     *
+     * @param declarations        The methods of the file that may be dead code.
+     * @param resolvedCalls       Keys of the methods the symbol solver resolved calls to.
+     * @param resolvedCallNames   Names of the methods the symbol solver resolved calls to.
+     * @param unresolvedCallNames Names of called or referenced methods that could not be resolved.
+     * @param dependencies        Paths of the other files of the repository whose types the calls were resolved with.
+     */
+    public FileSummary(List<MethodDeclarationSummary> declarations, List<String> resolvedCalls,
+                       List<String> resolvedCallNames, List<String> unresolvedCallNames, List<String> dependencies) {
+        this.declarations = Collections.unmodifiableList(declarations);
+        this.resolvedCalls = Collections.unmodifiableList(resolvedCalls);
+        this.resolvedCallNames = Collections.unmodifiableList(resolvedCallNames);
+        this.unresolvedCallNames = Collections.unmodifiableList(unresolvedCallNames);
+        this.dependencies = Collections.unmodifiableList(dependencies);
+    }
+
+    /**
+     * Gets the methods of the file that may be dead code: public or package-private methods of named types that are
+     * not entry points.
+     *
+     * @return The method declarations.
+     */
+    public List<MethodDeclarationSummary> getDeclarations() {
+        return declarations;
+    }
+
+    /**
+     * Gets the keys of the methods the symbol solver resolved calls to, one entry per call.
+     *
+     * @return Keys of the form {@code package.Type#name/arity}.
+     */
+    public List<String> getResolvedCalls() {
+        return resolvedCalls;
+    }
+
+    /**
+     * Gets the names of the methods the symbol solver resolved calls to, one entry per call. A call resolved to a
+     * supertype method may run any override of it.
+     *
+     * @return The method names.
+     */
+    public List<String> getResolvedCallNames() {
+        return resolvedCallNames;
+    }
+
+    /**
+     * Gets the names of called or referenced methods that could not be resolved, one entry per call. Such a call may
+     * target any method of that name.
+     *
+     * @return The method names.
+     */
+    public List<String> getUnresolvedCallNames() {
+        return unresolvedCallNames;
+    }
+
+    /**
+     * Gets the paths of the files of the repository whose types the calls were resolved with. The resolved calls are
+     * only valid while those files are unchanged.
+     *
+     * @return The paths, in order.
+     */
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * A method that may be dead code.
+     */
+    public static final class MethodDeclarationSummary {
+        private final String typeName;
+        private final String key;
+        private final String name;
+        private final int line;
+        private final boolean overridable;
+
+        /**
+         * Constructs a MethodDeclarationSummary.
+         *
+         * @param typeName    The simple name of the declaring type.
+         * @param key         The method key, of the form {@code package.Type#name/arity}.
+         * @param name        The method name.
+         * @param line        The line the declaration starts on.
+         * @param overridable Whether calls to a supertype or interface method may run this method.
+         */
+        public MethodDeclarationSummary(String typeName, String key, String name, int line, boolean overridable) {
+            this.typeName = typeName;
+            this.key = key;
+            this.name = name;
+            this.line = line;
+            this.overridable = overridable;
+        }
+
+        /**
+         * Gets the simple name of the declaring type.
+         *
+         * @return The type name.
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * Gets the method key.
+         *
+         * @return A key of the form {@code package.Type#name/arity}.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the method name.
+         *
+         * @return The method name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the line the declaration starts on.
+         *
+         * @return The line number.
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Determines whether calls to a supertype or interface method may run this method.
+         *
+         * @return true if the declaring type extends or implements another type, or is an interface.
+         */
+        public boolean isOverridable() {
+            return overridable;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.serverside.analysis.callgraph;
+
+/**
+ * A public or package-private method that nothing in its repository calls.
+ */
+public final class UnusedMethod {
+
+    private final String path;
+    private final int line;
+    private final String typeName;
+    private final String name;
+
+    /**
+     * Constructs an UnusedMethod.
+     *
+     * @param path     The path of the declaring file.
+     * @param line     The line the declaration starts on.
+     * @param typeName The simple name of the declaring type.
+     * @param name     The method name.
+     */
+    public UnusedMethod(String path, int line, String typeName, String name) {
+        this.path = path;
+        this.line = line;
+        this.typeName = typeName;
+        this.name = name;
+    }
+
+    /**
+     * Gets the path of the declaring file.
+     *
+     * @return The file path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the line the declaration starts on.
+     *
+     * @return The line number.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets the simple name of the declaring type.
+     *
+     * @return The type name.
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Gets the method name.
+     *
+     * @return The method name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Violation at %s line %d: Dead Method : Method '%s' in class '%s' is not called anywhere in the repository.",
+                path, line, name, typeName);
+    }
+}
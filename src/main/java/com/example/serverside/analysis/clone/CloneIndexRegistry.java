@@ -0,0 +1,59 @@
+package com.example.serverside.analysis.clone;
+
+import com.example.serverside.analysis.util.TokenCloneDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps one {@link CrossFileCloneIndex} per repository, so each scan of a repository only re-indexes what changed
+ * since the previous one. The least recently scanned repositories are dropped beyond a fixed number.
+ */
+@Component
+public class CloneIndexRegistry {
+
+    static final int WINNOW_WINDOW = 8;
+
+    private final int maxPostingsPerRepository;
+    private final LinkedHashMap<String, CrossFileCloneIndex> indexes;
+
+    /**
+     * Constructs a CloneIndexRegistry with room for 4 repositories of 1,048,576 fingerprints each.
+     */
+    public CloneIndexRegistry() {
+        this(4, 1048576);
+    }
+
+    /**
+     * Constructs a CloneIndexRegistry.
+     *
+     * @param maxRepositories          Number of repository indexes kept.
+     * @param maxPostingsPerRepository Upper bound on the fingerprints kept per repository.
+     */
+    @Autowired
+    public CloneIndexRegistry(@Value("${analysis.clone-index.max-repositories:4}") int maxRepositories,
+                              @Value("${analysis.clone-index.max-postings:1048576}") int maxPostingsPerRepository) {
+        this.maxPostingsPerRepository = maxPostingsPerRepository;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CrossFileCloneIndex> eldest) {
+                return size() > maxRepositories;
+            }
+        };
+    }
+
+    /**
+     * Gets the index of a repository, creating an empty one on first use.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @return The repository's clone index.
+     */
+    public synchronized CrossFileCloneIndex forRepository(String username, String repo) {
+        return indexes.computeIfAbsent(username + "/" + repo, key -> new CrossFileCloneIndex(
+                maxPostingsPerRepository, TokenCloneDetector.DEFAULT_WINDOW, WINNOW_WINDOW));
+    }
+}
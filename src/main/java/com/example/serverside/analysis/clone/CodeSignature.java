@@ -0,0 +1,94 @@
+package com.example.serverside.analysis.clone;
+
+import java.util.List;
+
+/**
+ * MinHash signature of a file or of one method or constructor, with its location.
+ */
+public final class CodeSignature {
+
+    /**
+     * The kind of code a signature describes.
+     */
+    public enum UnitType {
+        FILE,
+        METHOD
+    }
+
+    private final UnitType unitType;
+    private final String unitName;
+    private final int beginLine;
+    private final int endLine;
+    private final int[] signature;
+
+    /**
+     * Constructs a CodeSignature.
+     *
+     * @param unitType  The kind of code the signature describes.
+     * @param unitName  The method or constructor signature, or null for a file.
+     * @param beginLine The first line of the code.
+     * @param endLine   The last line of the code.
+     * @param signature The MinHash signature.
+     */
+    public CodeSignature(UnitType unitType, String unitName, int beginLine, int endLine, int[] signature) {
+        this.unitType = unitType;
+        this.unitName = unitName;
+        this.beginLine = beginLine;
+        this.endLine = endLine;
+        this.signature = signature;
+    }
+
+    /**
+     * Gets the kind of code the signature describes.
+     *
+     * @return The unit type.
+     */
+    public UnitType getUnitType() {
+        return unitType;
+    }
+
+    /**
+     * Gets the method or constructor signature, such as {@code sum(int[])}.
+     *
+     * @return The unit name, or null for a file.
+     */
+    public String getUnitName() {
+        return unitName;
+    }
+
+    /**
+     * Gets the first line of the code.
+     *
+     * @return The first line.
+     */
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    /**
+     * Gets the last line of the code.
+     *
+     * @return The last line.
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Gets the MinHash signature.
+     *
+     * @return The signature entries.
+     */
+    public int[] getSignature() {
+        return signature;
+    }
+
+    /**
+     * Gets the bucket keys the signature is stored under.
+     *
+     * @return One key per band.
+     */
+    public List<String> getBandKeys() {
+        return MinHash.bandKeys(unitType, signature);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.serverside.analysis.clone;
+
+/**
+ * A region of code that appears in two files of a repository.
+ */
+public class CrossFileClone {
+
+    private final String firstPath;
+    private final int firstBeginLine;
+    private final int firstEndLine;
+    private final String secondPath;
+    private final int secondBeginLine;
+    private final int secondEndLine;
+    private final int tokenCount;
+
+    /**
+     * Constructs a CrossFileClone.
+     *
+     * @param firstPath       Path of the first file.
+     * @param firstBeginLine  First line of the copy in the first file.
+     * @param firstEndLine    Last line of the copy in the first file.
+     * @param secondPath      Path of the second file.
+     * @param secondBeginLine First line of the copy in the second file.
+     * @param secondEndLine   Last line of the copy in the second file.
+     * @param tokenCount      Approximate length of the copy in tokens.
+     */
+    public CrossFileClone(String firstPath, int firstBeginLine, int firstEndLine,
+                          String secondPath, int secondBeginLine, int secondEndLine, int tokenCount) {
+        this.firstPath = firstPath;
+        this.firstBeginLine = firstBeginLine;
+        this.firstEndLine = firstEndLine;
+        this.secondPath = secondPath;
+        this.secondBeginLine = secondBeginLine;
+        this.secondEndLine = secondEndLine;
+        this.tokenCount = tokenCount;
+    }
+
+    /**
+     * Gets the path of the first file.
+     *
+     * @return The file path.
+     */
+    public String getFirstPath() {
+        return firstPath;
+    }
+
+    /**
+     * Gets the first line of the copy in the first file.
+     *
+     * @return The line number.
+     */
+    public int getFirstBeginLine() {
+        return firstBeginLine;
+    }
+
+    /**
+     * Gets the last line of the copy in the first file.
+     *
+     * @return The line number.
+     */
+    public int getFirstEndLine() {
+        return firstEndLine;
+    }
+
+    /**
+     * Gets the path of the second file.
+     *
+     * @return The file path.
+     */
+    public String getSecondPath() {
+        return secondPath;
+    }
+
+    /**
+     * Gets the first line of the copy in the second file.
+     *
+     * @return The line number.
+     */
+    public int getSecondBeginLine() {
+        return secondBeginLine;
+    }
+
+    /**
+     * Gets the last line of the copy in the second file.
+     *
+     * @return The line number.
+     */
+    public int getSecondEndLine() {
+        return secondEndLine;
+    }
+
+    /**
+     * Gets the approximate length of the copy in tokens.
+     *
+     * @return The token count.
+     */
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Formats the copy in the style of the other duplicate code violations.
+     *
+     * @return The violation message.
+     */
+    @Override
+    public String toString() {
+        return String.format("Violation: Duplicate code found in %s lines %d to %d and %s lines %d to %d.",
+                firstPath, firstBeginLine, firstEndLine, secondPath, secondBeginLine, secondEndLine);
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.serverside.analysis.clone;
+
+import com.example.serverside.analysis.util.TokenCloneDetector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fingerprint index over the files of one repository, used to find code copied between files.
+ *
+ * Postings (fingerprint, file, token offset, line span) are kept in parallel primitive arrays and chained from an
+ * open-addressing table keyed by fingerprint, so a 10k-file repository costs a few dozen bytes per posting rather
+ * than an object per posting. Files are indexed under a version, normally their git blob SHA, and a rescan only
+ * re-indexes files whose version changed. Postings and ids of replaced or removed files are left in place until they
+ * outnumber the live ones, and are then compacted away, so repeated rescans do not grow the index.
+ *
+ * The number of postings is capped. When a new file would exceed the cap, the index switches to keeping only
+ * fingerprints whose low bits are zero, doubling the sampling interval each time. Long copies are still found, as
+ * they share many fingerprints; only the shortest ones are lost.
+ */
+public class CrossFileCloneIndex {
+
+    private static final int MAX_POSTINGS_PER_FINGERPRINT = 32; // Fingerprints shared more widely are boilerplate
+    private static final int EMPTY = -1;
+    private static final int COMPACTION_SLACK = 1024; // Dead postings or file ids tolerated beyond the live ones
+
+    private final int maxPostings;
+    private final int window;
+    private final int winnowWindow;
+
+    // Files by id; a re-indexed file gets a new id, so postings of its old version are simply dead until compacted
+    private final Map<String, Integer> fileIds = new HashMap<>();
+    private final List<String> paths = new ArrayList<>();
+    private final List<String> versions = new ArrayList<>();
+    private final List<Integer> postingCounts = new ArrayList<>();
+
+    // Postings, one entry per kept fingerprint
+    private long[] postingHashes = new long[1024];
+    private int[] postingFiles = new int[1024];
+    private int[] postingOffsets = new int[1024];
+    private int[] postingBeginLines = new int[1024];
+    private int[] postingEndLines = new int[1024];
+    private int[] postingNext = new int[1024];
+    private int postingCount;
+    private int livePostings;
+
+    // Open-addressing table from fingerprint to the most recent posting carrying it
+    private long[] slotHashes = new long[2048];
+    private int[] slotHeads = newHeads(2048);
+    private int usedSlots;
+
+    private long sampleMask;
+
+    /**
+     * Constructs a CrossFileCloneIndex.
+     *
+     * @param maxPostings  Upper bound on the fingerprints kept across all files.
+     * @param window       Number of tokens each fingerprint covers.
+     * @param winnowWindow Number of consecutive windows each kept fingerprint is chosen from.
+     */
+    public CrossFileCloneIndex(int maxPostings, int window, int winnowWindow) {
+        this.maxPostings = maxPostings;
+        this.window = window;
+        this.winnowWindow = winnowWindow;
+    }
+
+    /**
+     * Gets the number of tokens each fingerprint covers.
+     *
+     * @return The window length in tokens.
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Gets the number of consecutive windows each kept fingerprint is chosen from.
+     *
+     * @return The winnowing window.
+     */
+    public int getWinnowWindow() {
+        return winnowWindow;
+    }
+
+    /**
+     * Determines whether a file is indexed at the given version.
+     *
+     * @param path    The file path.
+     * @param version The file version, such as its blob SHA.
+     * @return true if the file does not need to be indexed again, false otherwise.
+     */
+    public synchronized boolean isCurrent(String path, String version) {
+        Integer id = fileIds.get(path);
+        return id != null && version != null && version.equals(versions.get(id));
+    }
+
+    /**
+     * Indexes a file, replacing any earlier version of it.
+     *
+     * @param path         The file path.
+     * @param version      The file version, such as its blob SHA.
+     * @param fingerprints The fingerprints of the file.
+     */
+    public synchronized void index(String path, String version, TokenCloneDetector.Fingerprints fingerprints) {
+        remove(path);
+        int id = paths.size();
+        paths.add(path);
+        versions.add(version);
+        postingCounts.add(0);
+        fileIds.put(path, id);
+
+        int added = 0;
+        for (int i = 0; i < fingerprints.size(); i++) {
+            if ((fingerprints.getHash(i) & sampleMask) == 0) {
+                addPosting(fingerprints.getHash(i), id, fingerprints.getOffset(i),
+                        fingerprints.getBeginLine(i), fingerprints.getEndLine(i));
+                added++;
+            }
+        }
+        postingCounts.set(id, added);
+        livePostings += added;
+
+        while (livePostings > maxPostings && sampleMask != -1L) {
+            sampleMask = sampleMask * 2 + 1;
+            rebuild();
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Removes a file from the index.
+     *
+     * @param path The file path.
+     */
+    public synchronized void remove(String path) {
+        Integer id = fileIds.remove(path);
+        if (id != null) {
+            paths.set(id, null);
+            versions.set(id, null);
+            livePostings -= postingCounts.get(id);
+            postingCounts.set(id, 0);
+        }
+    }
+
+    /**
+     * Removes every file not in the given set, such as files deleted since the last scan.
+     *
+     * @param retainedPaths The paths to keep.
+     */
+    public synchronized void retainOnly(Collection<String> retainedPaths) {
+        Set<String> retained = new HashSet<>(retainedPaths);
+        for (String path : new ArrayList<>(fileIds.keySet())) {
+            if (!retained.contains(path)) {
+                remove(path);
+            }
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Finds code shared between different files of the index.
+     * Fingerprints matching at the same relative token offset are merged into one region per pair of files.
+     *
+     * @return The copies found, ordered by the path and line of their first file.
+     */
+    public synchronized List<CrossFileClone> findClones() {
+        Map<List<Integer>, List<int[]>> diagonals = new HashMap<>();
+        List<Integer> postings = new ArrayList<>();
+        for (int slot = 0; slot < slotHeads.length; slot++) {
+            postings.clear();
+            for (int p = slotHeads[slot]; p != EMPTY; p = postingNext[p]) {
+                if (paths.get(postingFiles[p]) != null) {
+                    postings.add(p);
+                }
+            }
+            if (postings.size() < 2 || postings.size() > MAX_POSTINGS_PER_FINGERPRINT) {
+                continue;
+            }
+            for (int a = 0; a < postings.size(); a++) {
+                for (int b = a + 1; b < postings.size(); b++) {
+                    int first = postings.get(a);
+                    int second = postings.get(b);
+                    if (postingFiles[first] == postingFiles[second]) {
+                        continue;
+                    }
+                    if (postingFiles[first] > postingFiles[second]) {
+                        int swap = first;
+                        first = second;
+                        second = swap;
+                    }
+                    List<Integer> key = List.of(postingFiles[first], postingFiles[second],
+                            postingOffsets[second] - postingOffsets[first]);
+                    diagonals.computeIfAbsent(key, k -> new ArrayList<>()).add(new int[]{
+                            postingOffsets[first], postingBeginLines[first], postingEndLines[first],
+                            postingBeginLines[second], postingEndLines[second]});
+                }
+            }
+        }
+
+        List<CrossFileClone> clones = new ArrayList<>();
+        diagonals.forEach((key, matches) -> merge(key, matches, clones));
+        clones.sort(Comparator.comparing(CrossFileClone::getFirstPath)
+                .thenComparingInt(CrossFileClone::getFirstBeginLine)
+                .thenComparing(CrossFileClone::getSecondPath)
+                .thenComparingInt(CrossFileClone::getSecondBeginLine));
+        return clones;
+    }
+
+    /**
+     * Merges matches along one diagonal of a file pair into maximal regions. Kept fingerprints of one copy are at
+     * most a winnowing window apart, so matches closer than that belong to the same region.
+     */
+    private void merge(List<Integer> key, List<int[]> matches, List<CrossFileClone> clones) {
+        matches.sort(Comparator.comparingInt(match -> match[0]));
+        int[] region = null;
+        int regionStart = 0;
+        int regionEnd = 0;
+        for (int[] match : matches) {
+            if (region != null && match[0] <= regionEnd + winnowWindow) {
+                regionEnd = Math.max(regionEnd, match[0] + window);
+                region[2] = Math.max(region[2], match[2]);
+                region[4] = Math.max(region[4], match[4]);
+                continue;
+            }
+            if (region != null) {
+                clones.add(toClone(key, region, regionEnd - regionStart));
+            }
+            region = match.clone();
+            regionStart = match[0];
+            regionEnd = match[0] + window;
+        }
+        if (region != null) {
+            clones.add(toClone(key, region, regionEnd - regionStart));
+        }
+    }
+
+    private CrossFileClone toClone(List<Integer> key, int[] region, int tokenCount) {
+        return new CrossFileClone(paths.get(key.get(0)), region[1], region[2],
+                paths.get(key.get(1)), region[3], region[4], tokenCount);
+    }
+
+    /**
+     * Gets the number of indexed files.
+     *
+     * @return The file count.
+     */
+    public synchronized int getFileCount() {
+        return fileIds.size();
+    }
+
+    /**
+     * Gets the number of fingerprints held for indexed files.
+     *
+     * @return The posting count.
+     */
+    public synchronized int getPostingCount() {
+        return livePostings;
+    }
+
+    /**
+     * Gets the fraction of fingerprints currently kept, which halves each time the posting cap is reached.
+     *
+     * @return The sampling rate between 0 and 1.
+     */
+    public synchronized double getSamplingRate() {
+        return 1.0 / (sampleMask + 1);
+    }
+
+    /**
+     * Gets the number of file ids in use, including those of replaced or removed files not yet compacted.
+     *
+     * @return The id count.
+     */
+    synchronized int getFileIdCount() {
+        return paths.size();
+    }
+
+    /**
+     * Estimates the heap held by the postings and the table.
+     *
+     * @return The estimate in bytes.
+     */
+    public synchronized long getEstimatedBytes() {
+        return postingHashes.length * (8L + 5 * 4) + slotHashes.length * (8L + 4);
+    }
+
+    private void addPosting(long hash, int file, int offset, int beginLine, int endLine) {
+        if (postingCount == postingHashes.length) {
+            int capacity = postingCount * 2;
+            postingHashes = Arrays.copyOf(postingHashes, capacity);
+            postingFiles = Arrays.copyOf(postingFiles, capacity);
+            postingOffsets = Arrays.copyOf(postingOffsets, capacity);
+            postingBeginLines = Arrays.copyOf(postingBeginLines, capacity);
+            postingEndLines = Arrays.copyOf(postingEndLines, capacity);
+            postingNext = Arrays.copyOf(postingNext, capacity);
+        }
+        if ((usedSlots + 1) * 2 > slotHashes.length) {
+            rehash(slotHashes.length * 2);
+        }
+        int p = postingCount++;
+        postingHashes[p] = hash;
+        postingFiles[p] = file;
+        postingOffsets[p] = offset;
+        postingBeginLines[p] = beginLine;
+        postingEndLines[p] = endLine;
+        link(p);
+    }
+
+    private void link(int posting) {
+        long hash = postingHashes[posting];
+        int mask = slotHashes.length - 1;
+        int slot = (int) mix(hash) & mask;
+        while (slotHeads[slot] != EMPTY && slotHashes[slot] != hash) {
+            slot = (slot + 1) & mask;
+        }
+        if (slotHeads[slot] == EMPTY) {
+            slotHashes[slot] = hash;
+            usedSlots++;
+        }
+        postingNext[posting] = slotHeads[slot];
+        slotHeads[slot] = posting;
+    }
+
+    private void rehash(int capacity) {
+        slotHashes = new long[capacity];
+        slotHeads = newHeads(capacity);
+        usedSlots = 0;
+        for (int p = 0; p < postingCount; p++) {
+            link(p);
+        }
+    }
+
+    private void compactIfSparse() {
+        if (postingCount > 2 * livePostings + COMPACTION_SLACK
+                || paths.size() > 2 * fileIds.size() + COMPACTION_SLACK) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Drops postings of removed files and postings outside the current sample, renumbers the remaining files in the
+     * same order, then rebuilds the table.
+     */
+    private void rebuild() {
+        int[] newIds = new int[paths.size()];
+        int files = 0;
+        for (int id = 0; id < newIds.length; id++) {
+            newIds[id] = paths.get(id) == null ? EMPTY : files++;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < postingCount; i++) {
+            int file = postingFiles[i];
+            if (paths.get(file) == null) {
+                continue;
+            }
+            if ((postingHashes[i] & sampleMask) != 0) {
+                postingCounts.set(file, postingCounts.get(file) - 1);
+                continue;
+            }
+            postingHashes[kept] = postingHashes[i];
+            postingFiles[kept] = newIds[file];
+            postingOffsets[kept] = postingOffsets[i];
+            postingBeginLines[kept] = postingBeginLines[i];
+            postingEndLines[kept] = postingEndLines[i];
+            kept++;
+        }
+        postingCount = kept;
+        livePostings = kept;
+
+        for (int id = 0; id < newIds.length; id++) {
+            if (newIds[id] != EMPTY) {
+                paths.set(newIds[id], paths.get(id));
+                versions.set(newIds[id], versions.get(id));
+                postingCounts.set(newIds[id], postingCounts.get(id));
+                fileIds.put(paths.get(id), newIds[id]);
+            }
+        }
+        paths.subList(files, paths.size()).clear();
+        versions.subList(files, versions.size()).clear();
+        postingCounts.subList(files, postingCounts.size()).clear();
+
+        int capacity = 2048;
+        while (capacity < kept * 4) {
+            capacity *= 2;
+        }
+        rehash(capacity);
+    }
+
+    private static int[] newHeads(int capacity) {
+        int[] heads = new int[capacity];
+        Arrays.fill(heads, EMPTY);
+        return heads;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
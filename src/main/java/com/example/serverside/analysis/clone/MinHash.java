@@ -0,0 +1,188 @@
+package com.example.serverside.analysis.clone;
+
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.example.serverside.analysis.util.TokenCloneDetector;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes MinHash signatures of code for finding near-duplicates across repositories.
+ *
+ * A method is reduced to the set of its shingles, runs of consecutive normalised tokens, so renamed identifiers and
+ * changed literals do not matter and an edit only affects the shingles it touches. The fraction of equal entries in
+ * two signatures estimates the Jaccard similarity of the shingle sets. A file signature is the entry-wise minimum of
+ * its method signatures, which is exactly the signature of the union of their shingles.
+ *
+ * For lookup, signatures are cut into bands of a few entries and each band is hashed to a bucket key. Two units share
+ * a bucket with high probability when their similarity is above about 0.4, and rarely when it is well below, so
+ * candidates are found by key lookups instead of comparing against every stored signature.
+ */
+public final class MinHash {
+
+    /**
+     * Number of entries in a signature.
+     */
+    public static final int SIGNATURE_LENGTH = 128;
+
+    /**
+     * Number of signature entries hashed together into one bucket key.
+     */
+    public static final int ROWS_PER_BAND = 4;
+
+    private static final int SHINGLE_LENGTH = 5; // Tokens per shingle
+    private static final int MIN_SHINGLES = 16; // Smaller bodies, such as accessors, are similar to too much code
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Computes the signatures of a file and of each of its methods and constructors.
+     * Units with too little code to compare meaningfully are left out.
+     *
+     * @param cu The compilation unit.
+     * @return The file signature, if any, followed by the method and constructor signatures in source order.
+     */
+    public static List<CodeSignature> signaturesOf(CompilationUnit cu) {
+        List<CallableDeclaration<?>> callables = new ArrayList<>();
+        NodeIndex index = NodeIndex.of(cu);
+        callables.addAll(index.ofType(MethodDeclaration.class));
+        callables.addAll(index.ofType(ConstructorDeclaration.class));
+        callables.sort((a, b) -> Integer.compare(line(a, true), line(b, true)));
+
+        List<CodeSignature> methods = new ArrayList<>();
+        int[] file = newSignature();
+        int fileShingles = 0;
+        for (CallableDeclaration<?> callable : callables) {
+            BlockStmt body = body(callable);
+            if (body == null) {
+                continue;
+            }
+            int[] signature = newSignature();
+            int shingles = addShingles(TokenCloneDetector.tokenCodes(body), signature);
+            if (shingles >= MIN_SHINGLES) {
+                methods.add(new CodeSignature(CodeSignature.UnitType.METHOD, callable.getSignature().asString(),
+                        line(callable, true), line(callable, false), signature));
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                file[i] = Math.min(file[i], signature[i]);
+            }
+            fileShingles += shingles;
+        }
+
+        List<CodeSignature> signatures = new ArrayList<>();
+        if (fileShingles >= MIN_SHINGLES) {
+            signatures.add(new CodeSignature(CodeSignature.UnitType.FILE, null,
+                    cu.getBegin().map(position -> position.line).orElse(-1),
+                    cu.getEnd().map(position -> position.line).orElse(-1), file));
+        }
+        signatures.addAll(methods);
+        return signatures;
+    }
+
+    /**
+     * Computes the bucket keys of a signature, one per band. The unit type is part of the key, so files are only
+     * matched with files and methods with methods.
+     *
+     * @param type      The kind of code the signature describes.
+     * @param signature The signature.
+     * @return The bucket keys.
+     */
+    public static List<String> bandKeys(CodeSignature.UnitType type, int[] signature) {
+        String prefix = type == CodeSignature.UnitType.FILE ? "f" : "m";
+        List<String> keys = new ArrayList<>(signature.length / ROWS_PER_BAND);
+        for (int band = 0; band + ROWS_PER_BAND <= signature.length; band += ROWS_PER_BAND) {
+            long hash = band;
+            for (int row = band; row < band + ROWS_PER_BAND; row++) {
+                hash = mix(hash * 31 + signature[row]);
+            }
+            keys.add(prefix + band / ROWS_PER_BAND + ":" + Long.toHexString(hash));
+        }
+        return keys;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the shingle sets behind two signatures.
+     *
+     * @param first  The first signature.
+     * @param second The second signature.
+     * @return The fraction of equal entries, between 0 and 1.
+     */
+    public static double similarity(int[] first, int[] second) {
+        int length = Math.min(first.length, second.length);
+        if (length == 0) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / length;
+    }
+
+    /**
+     * Folds the shingles of a token stream into a signature.
+     *
+     * @return The number of shingles.
+     */
+    private static int addShingles(int[] codes, int[] signature) {
+        int shingles = 0;
+        for (int start = 0; start + SHINGLE_LENGTH <= codes.length; start++) {
+            long shingle = 0;
+            for (int k = start; k < start + SHINGLE_LENGTH; k++) {
+                shingle = shingle * 1_000_003L + codes[k];
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+            shingles++;
+        }
+        return shingles;
+    }
+
+    private static int[] newSignature() {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    private static BlockStmt body(CallableDeclaration<?> callable) {
+        if (callable instanceof MethodDeclaration) {
+            return ((MethodDeclaration) callable).getBody().orElse(null);
+        }
+        return ((ConstructorDeclaration) callable).getBody();
+    }
+
+    private static int line(CallableDeclaration<?> callable, boolean begin) {
+        return (begin ? callable.getBegin() : callable.getEnd()).map(position -> position.line).orElse(-1);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
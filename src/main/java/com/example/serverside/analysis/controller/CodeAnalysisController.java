@@ -44,6 +44,8 @@ public class CodeAnalysisController {
 
     private final SlackNotificationService slackNotificationService;
 
+    private final CodeMetricsService codeMetricsService;
+
     /**
      * Constructor for CodeAnalysisController.
      * Initializes the controller with necessary services for code analysis and data handling.
@@ -55,7 +57,8 @@ public class CodeAnalysisController {
                                   CodeSmellAnalysisService codeSmellAnalysisService,
                                   CodeQualityAnalysisService codeQualityAnalysisService,
                                   MongoDBService mongoDBService,
-                                  SlackNotificationService slackNotificationService
+                                  SlackNotificationService slackNotificationService,
+                                  CodeMetricsService codeMetricsService
                                   ) {
         this.gitHubService = gitHubService;
         this.codeSecurityAnalysisService = codeSecurityAnalysisService;
@@ -65,6 +68,7 @@ public class CodeAnalysisController {
         this.codeQualityAnalysisService = codeQualityAnalysisService;
         this.mongoDBService = mongoDBService;
         this.slackNotificationService = slackNotificationService;
+        this.codeMetricsService = codeMetricsService;
     }
 
     /**
@@ -230,7 +234,8 @@ public class CodeAnalysisController {
 
     /**
      * Endpoint for analyzing code smells.
-     * Fetches code from GitHub and performs an analysis for code smells.
+     * Fetches code from GitHub and performs an analysis for code smells, storing the file's structural metrics
+     * so the smells can be re-evaluated under other thresholds.
      *
      * @param username GitHub username of the repository owner.
      * @param repo Name of the GitHub repository.
@@ -255,6 +260,7 @@ public class CodeAnalysisController {
             repositoryInfo.setRepo(repo);
             repositoryInfo.setCommitId(commitId);
             repositoryInfo.setPath(path);
+            codeMetricsService.store(repositoryInfo, code); // Lets the smells be re-evaluated under other thresholds
 
             result.setRepositoryInfo(repositoryInfo);
 
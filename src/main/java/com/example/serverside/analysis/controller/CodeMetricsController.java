@@ -0,0 +1,82 @@
+package com.example.serverside.analysis.controller;
+
+import com.example.serverside.analysis.metrics.SmellThresholds;
+import com.example.serverside.analysis.result.MetricSmellResult;
+import com.example.serverside.analysis.service.CodeMetricsService;
+import com.example.serverside.mongoDB.document.CodeMetricsDocument;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for reading stored code metrics and evaluating code smells from them.
+ * Metrics are stored when a file's code smells are analysed and when its repository is scanned.
+ */
+@RestController
+@RequestMapping("/api")
+public class CodeMetricsController {
+
+    private final CodeMetricsService codeMetricsService;
+
+    /**
+     * Constructor for CodeMetricsController.
+     *
+     * @param codeMetricsService Service storing and evaluating code metrics.
+     */
+    public CodeMetricsController(CodeMetricsService codeMetricsService) {
+        this.codeMetricsService = codeMetricsService;
+    }
+
+    /**
+     * Endpoint for the stored metrics of a file.
+     *
+     * @param username GitHub username of the repository owner.
+     * @param repo Name of the GitHub repository.
+     * @param path Path of the file within the repository.
+     * @return ResponseEntity containing the metrics, not found if the file has not been analysed, or an error status.
+     */
+    @GetMapping("/code-metrics")
+    public ResponseEntity<CodeMetricsDocument> getMetrics(
+            @RequestParam String username,
+            @RequestParam String repo,
+            @RequestParam String path) {
+
+        try {
+            return codeMetricsService.findMetrics(username, repo, path)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Endpoint for re-evaluating metric-based code smells of stored files under custom thresholds.
+     * Thresholds not given keep their defaults: maxMethodParams, maxMethodLength, maxClassMethods, maxClassLength,
+     * maxConstructorParams and maxPrimitiveParams.
+     *
+     * @param username GitHub username of the repository owner.
+     * @param repo Name of the GitHub repository.
+     * @param path Path of one file to evaluate; every stored file of the repository when omitted.
+     * @param thresholds Smell thresholds, bound from request parameters of the same names.
+     * @return ResponseEntity containing the smells of each file, or an error status.
+     */
+    @GetMapping("/code-metrics/smells")
+    public ResponseEntity<List<MetricSmellResult>> evaluateSmells(
+            @RequestParam String username,
+            @RequestParam String repo,
+            @RequestParam(required = false) String path,
+            SmellThresholds thresholds) {
+
+        try {
+            return ResponseEntity.ok(codeMetricsService.evaluate(username, repo, path, thresholds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
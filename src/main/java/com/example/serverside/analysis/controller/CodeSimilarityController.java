@@ -0,0 +1,72 @@
+package com.example.serverside.analysis.controller;
+
+import com.example.serverside.analysis.parser.JavaSourceParser;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.result.SimilarCodeMatch;
+import com.example.serverside.analysis.service.CodeSimilarityService;
+import com.example.serverside.github.service.GitHubService;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for finding code across the organisation's repositories that is similar to a given file.
+ */
+@RestController
+@RequestMapping("/api")
+public class CodeSimilarityController {
+
+    private final GitHubService gitHubService;
+
+    private final CodeSimilarityService codeSimilarityService;
+
+    /**
+     * Constructor for CodeSimilarityController.
+     *
+     * @param gitHubService         Service for fetching the queried file from GitHub.
+     * @param codeSimilarityService Service looking up similar code.
+     */
+    public CodeSimilarityController(GitHubService gitHubService, CodeSimilarityService codeSimilarityService) {
+        this.gitHubService = gitHubService;
+        this.codeSimilarityService = codeSimilarityService;
+    }
+
+    /**
+     * Endpoint for finding indexed code similar to a file or any of its methods.
+     * Repositories are indexed when they are scanned with the repository scan endpoint.
+     *
+     * @param username GitHub username of the repository owner.
+     * @param repo Name of the GitHub repository.
+     * @param commitId Commit ID of the file.
+     * @param path Path of the file within the repository.
+     * @param minSimilarity Lowest estimated similarity to report, between 0 and 1.
+     * @return ResponseEntity containing the matches, most similar first, or an error status.
+     */
+    @GetMapping("/similar-code")
+    public ResponseEntity<List<SimilarCodeMatch>> findSimilarCode(
+            @RequestParam String username,
+            @RequestParam String repo,
+            @RequestParam String commitId,
+            @RequestParam String path,
+            @RequestParam(required = false, defaultValue = "" + CodeSimilarityService.DEFAULT_MIN_SIMILARITY) double minSimilarity) {
+
+        try {
+            String code = gitHubService.getRaw(username, repo, commitId, path);
+            RepositoryInfo repositoryInfo = new RepositoryInfo();
+            repositoryInfo.setUsername(username);
+            repositoryInfo.setRepo(repo);
+            repositoryInfo.setCommitId(commitId);
+            repositoryInfo.setPath(path);
+            return ResponseEntity.ok(codeSimilarityService.findSimilar(repositoryInfo,
+                    JavaSourceParser.parse(code, ParseProfile.STRUCTURAL).getCompilationUnit(), minSimilarity));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.serverside.analysis.controller;
+
+import com.example.serverside.analysis.deprecation.DeprecatedApiCatalogue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for reloading the catalogue of deprecated and insecure APIs after it has been edited.
+ */
+@RestController
+@RequestMapping("/api")
+public class DeprecatedApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeprecatedApiController.class);
+
+    /**
+     * Endpoint for reading the catalogue again, from the configured file or the classpath. Security analyses started
+     * afterwards use the new catalogue; if it cannot be read, the current one is kept.
+     *
+     * @return ResponseEntity containing the version, number of entries and source of the new catalogue, or an error
+     *         status.
+     */
+    @PostMapping("/deprecated-apis/reload")
+    public ResponseEntity<Map<String, Object>> reload() {
+        try {
+            DeprecatedApiCatalogue catalogue = DeprecatedApiCatalogue.reload();
+            Path location = DeprecatedApiCatalogue.getLocation();
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("version", catalogue.getVersion());
+            body.put("entries", catalogue.getEntries().size());
+            body.put("location", location != null && Files.isRegularFile(location)
+                    ? location.toString() : "classpath:" + DeprecatedApiCatalogue.RESOURCE);
+            return ResponseEntity.ok(body);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reload the deprecated API catalogue", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.serverside.analysis.controller;
+
+import com.example.serverside.analysis.result.RepositoryScanResult;
+import com.example.serverside.analysis.service.RepositoryScanService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for analyses that span a whole repository rather than a single file.
+ */
+@RestController
+@RequestMapping("/api")
+public class RepositoryScanController {
+
+    private final RepositoryScanService repositoryScanService;
+
+    /**
+     * Constructor for RepositoryScanController.
+     *
+     * @param repositoryScanService Service performing repository scans.
+     */
+    public RepositoryScanController(RepositoryScanService repositoryScanService) {
+        this.repositoryScanService = repositoryScanService;
+    }
+
+    /**
+     * Endpoint for finding code duplicated between the Java files of a repository.
+     * Files that have not changed since an earlier scan of the same repository are not fetched again, and files that
+     * cannot be fetched or parsed are listed as failures without failing the scan.
+     *
+     * @param username GitHub username of the repository owner.
+     * @param repo Name of the GitHub repository.
+     * @param commitId Commit ID to scan.
+     * @return ResponseEntity containing the RepositoryScanResult or an error status.
+     */
+    @GetMapping("/analyse-repository")
+    public ResponseEntity<RepositoryScanResult> analyseRepository(
+            @RequestParam String username,
+            @RequestParam String repo,
+            @RequestParam String commitId) {
+
+        try {
+            return ResponseEntity.ok(repositoryScanService.scan(username, repo, commitId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
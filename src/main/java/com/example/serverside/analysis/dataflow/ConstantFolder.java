@@ -0,0 +1,387 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.CastExpr;
+import com.github.javaparser.ast.expr.CharLiteralExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.LongLiteralExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.TextBlockLiteralExpr;
+import com.github.javaparser.ast.expr.ThisExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithParameters;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Folds the constant expressions of a tree to their values, for rules that look at the text of an argument, such as
+ * the algorithm passed to {@code Cipher.getInstance}.
+ *
+ * The folder knows string, character, integer, long and boolean literals, text blocks, string concatenation,
+ * arithmetic and comparisons of integers, casts between int and long, conditional expressions with a constant
+ * condition, and {@code String.format} and {@code String.valueOf} with constant arguments. Ints fold to Integer and
+ * longs to Long, and arithmetic on two ints overflows the way it does at run time. A name folds to the value of the
+ * variable it refers to when that variable is a final field, or a local variable never assigned after its
+ * declaration, with a constant initializer.
+ * Names are looked up the way the compiler does: a local variable or parameter of the enclosing method shadows a field,
+ * and the fields of an inner class shadow those of its outer class.
+ *
+ * A folder is meant to be shared by every rule run on one tree: the value of each expression is computed once and
+ * cached, as are the local variables of each method.
+ */
+public class ConstantFolder {
+
+    // Cached in place of the value of an expression that is not constant, or whose value is being computed
+    private static final Object UNKNOWN = new Object();
+
+    private final Map<Expression, Object> values = new IdentityHashMap<>();
+    private final Map<Node, Locals> locals = new IdentityHashMap<>();
+
+
+    /**
+     * Folds an expression.
+     *
+     * @param expression The expression to fold.
+     * @return The value of the expression, or an empty Optional if it is not a constant.
+     */
+    public Optional<Object> fold(Expression expression) {
+        Object value = values.get(expression);
+        if (value == null) {
+            values.put(expression, UNKNOWN); // Guards against constants defined in terms of each other
+            Object computed = compute(expression);
+            value = computed == null ? UNKNOWN : computed;
+            values.put(expression, value);
+        }
+        return value == UNKNOWN ? Optional.empty() : Optional.of(value);
+    }
+
+    /**
+     * Folds an expression whose value is a string.
+     *
+     * @param expression The expression to fold.
+     * @return The string the expression evaluates to, or an empty Optional if it is not a constant string.
+     */
+    public Optional<String> foldString(Expression expression) {
+        return fold(expression).filter(String.class::isInstance).map(String.class::cast);
+    }
+
+
+    private Object compute(Expression expression) {
+        if (expression instanceof StringLiteralExpr) {
+            return ((StringLiteralExpr) expression).asString();
+        } else if (expression instanceof TextBlockLiteralExpr) {
+            return ((TextBlockLiteralExpr) expression).asString();
+        } else if (expression instanceof CharLiteralExpr) {
+            return ((CharLiteralExpr) expression).asChar();
+        } else if (expression instanceof IntegerLiteralExpr) {
+            return ((IntegerLiteralExpr) expression).asNumber(); // A Long for 2147483648, only valid negated
+        } else if (expression instanceof LongLiteralExpr) {
+            return ((LongLiteralExpr) expression).asNumber().longValue();
+        } else if (expression instanceof BooleanLiteralExpr) {
+            return ((BooleanLiteralExpr) expression).getValue();
+        } else if (expression instanceof EnclosedExpr) {
+            return fold(((EnclosedExpr) expression).getInner()).orElse(null);
+        } else if (expression instanceof CastExpr) {
+            return computeCast((CastExpr) expression);
+        } else if (expression instanceof BinaryExpr) {
+            return computeBinary((BinaryExpr) expression);
+        } else if (expression instanceof UnaryExpr) {
+            return computeUnary((UnaryExpr) expression);
+        } else if (expression instanceof ConditionalExpr) {
+            ConditionalExpr conditional = (ConditionalExpr) expression;
+            Object condition = fold(conditional.getCondition()).orElse(null);
+            if (condition instanceof Boolean) {
+                return fold((Boolean) condition ? conditional.getThenExpr() : conditional.getElseExpr()).orElse(null);
+            }
+        } else if (expression instanceof MethodCallExpr) {
+            return computeCall((MethodCallExpr) expression);
+        } else if (expression instanceof NameExpr) {
+            VariableDeclarator variable = findVariable(expression, ((NameExpr) expression).getNameAsString());
+            return variable == null ? null : variable.getInitializer().flatMap(this::fold).orElse(null);
+        } else if (expression instanceof FieldAccessExpr) {
+            FieldAccessExpr access = (FieldAccessExpr) expression;
+            VariableDeclarator field = findOwnField(access);
+            return field == null ? null : field.getInitializer().flatMap(this::fold).orElse(null);
+        }
+        return null;
+    }
+
+    private Object computeBinary(BinaryExpr binary) {
+        Object left = fold(binary.getLeft()).orElse(null);
+        Object right = left == null ? null : fold(binary.getRight()).orElse(null);
+        if (right == null) {
+            return null;
+        }
+        BinaryExpr.Operator operator = binary.getOperator();
+        if (operator == BinaryExpr.Operator.PLUS && (left instanceof String || right instanceof String)) {
+            return String.valueOf(left) + right;
+        }
+        if (isIntegral(left) && isIntegral(right)) {
+            Object value = computeIntegral(operator, ((Number) left).longValue(), ((Number) right).longValue());
+            // Two ints give an int: the low 32 bits of the long result are those of the int operation
+            boolean ints = left instanceof Integer && right instanceof Integer;
+            return ints && value instanceof Long ? (Object) ((Long) value).intValue() : value;
+        }
+        if (left instanceof Boolean && right instanceof Boolean) {
+            switch (operator) {
+                case AND:
+                    return (Boolean) left && (Boolean) right;
+                case OR:
+                    return (Boolean) left || (Boolean) right;
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static Object computeIntegral(BinaryExpr.Operator operator, long a, long b) {
+        switch (operator) {
+            case PLUS:
+                return a + b;
+            case MINUS:
+                return a - b;
+            case MULTIPLY:
+                return a * b;
+            case DIVIDE:
+                return b == 0 ? null : a / b;
+            case REMAINDER:
+                return b == 0 ? null : a % b;
+            case EQUALS:
+                return a == b;
+            case NOT_EQUALS:
+                return a != b;
+            case LESS:
+                return a < b;
+            case LESS_EQUALS:
+                return a <= b;
+            case GREATER:
+                return a > b;
+            case GREATER_EQUALS:
+                return a >= b;
+            default:
+                return null;
+        }
+    }
+
+    private Object computeUnary(UnaryExpr unary) {
+        Object operand = fold(unary.getExpression()).orElse(null);
+        switch (unary.getOperator()) {
+            case MINUS:
+                if (operand instanceof Integer) {
+                    return -(Integer) operand;
+                }
+                if (operand instanceof Long) {
+                    long negated = -(Long) operand;
+                    return unary.getExpression() instanceof IntegerLiteralExpr ? (Object) (int) negated : negated;
+                }
+                return null;
+            case PLUS:
+                return isIntegral(operand) ? operand : null;
+            case LOGICAL_COMPLEMENT:
+                return operand instanceof Boolean ? !(Boolean) operand : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Folds a cast. Casts to int and long convert the value; other primitive casts of a number are not folded, and
+     * any other cast leaves the value as it is.
+     */
+    private Object computeCast(CastExpr cast) {
+        Object operand = fold(cast.getExpression()).orElse(null);
+        if (!cast.getType().isPrimitiveType()) {
+            return operand;
+        }
+        if (!isIntegral(operand)) {
+            return operand instanceof Number ? null : operand;
+        }
+        switch (cast.getType().asPrimitiveType().getType()) {
+            case INT:
+                return ((Number) operand).intValue();
+            case LONG:
+                return ((Number) operand).longValue();
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    private Object computeCall(MethodCallExpr call) {
+        boolean onString = call.getScope().filter(scope -> scope instanceof NameExpr
+                && ((NameExpr) scope).getNameAsString().equals("String")).isPresent();
+        if (!onString || call.getArguments().isEmpty()) {
+            return null;
+        }
+        List<Object> arguments = new ArrayList<>(call.getArguments().size());
+        for (Expression argument : call.getArguments()) {
+            Optional<Object> value = fold(argument);
+            if (value.isEmpty()) {
+                return null;
+            }
+            arguments.add(value.get());
+        }
+        if (call.getNameAsString().equals("valueOf") && arguments.size() == 1) {
+            return String.valueOf(arguments.get(0));
+        }
+        if (call.getNameAsString().equals("format") && arguments.get(0) instanceof String) {
+            try {
+                return String.format(Locale.ROOT, (String) arguments.get(0),
+                        arguments.subList(1, arguments.size()).toArray());
+            } catch (IllegalFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Finds the variable a simple name refers to at an expression, if it may be constant: a final field, or a local
+     * variable never assigned after its declaration.
+     *
+     * @return The variable, or null if the name refers to a parameter, to a variable that may change or to nothing
+     * declared in the tree.
+     */
+    private VariableDeclarator findVariable(Node use, String name) {
+        for (Node scope = use.getParentNode().orElse(null); scope != null; scope = scope.getParentNode().orElse(null)) {
+            if (scope instanceof CallableDeclaration || scope instanceof LambdaExpr
+                    || scope instanceof InitializerDeclaration) {
+                Locals scopeLocals = locals.computeIfAbsent(scope, Locals::new);
+                VariableDeclarator local = scopeLocals.find(name, use);
+                if (local != null) {
+                    return scopeLocals.assigned.contains(name) ? null : local;
+                }
+                if (scope instanceof NodeWithParameters && ((NodeWithParameters<?>) scope).getParameters().stream()
+                        .map(Parameter::getNameAsString).anyMatch(name::equals)) {
+                    return null;
+                }
+            } else if (scope instanceof TypeDeclaration) {
+                Optional<FieldDeclaration> field = ((TypeDeclaration<?>) scope).getFieldByName(name);
+                if (field.isPresent()) {
+                    return finalField((TypeDeclaration<?>) scope, name);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the field named by {@code this.NAME} or {@code Type.NAME}, where the type is declared in the tree.
+     */
+    private VariableDeclarator findOwnField(FieldAccessExpr access) {
+        Expression scope = access.getScope();
+        String name = access.getNameAsString();
+        if (scope instanceof ThisExpr) {
+            return access.findAncestor(TypeDeclaration.class)
+                    .map(type -> finalField((TypeDeclaration<?>) type, name)).orElse(null);
+        }
+        if (scope instanceof NameExpr) {
+            String typeName = ((NameExpr) scope).getNameAsString();
+            return access.findCompilationUnit().flatMap(cu -> cu.findFirst(TypeDeclaration.class,
+                            type -> type.getNameAsString().equals(typeName)))
+                    .map(type -> finalField((TypeDeclaration<?>) type, name)).orElse(null);
+        }
+        return null;
+    }
+
+    private static VariableDeclarator finalField(TypeDeclaration<?> type, String name) {
+        boolean constantsOnly = type instanceof ClassOrInterfaceDeclaration
+                && ((ClassOrInterfaceDeclaration) type).isInterface();
+        return type.getFieldByName(name).filter(field -> constantsOnly || field.isFinal())
+                .flatMap(field -> field.getVariables().stream()
+                        .filter(variable -> variable.getNameAsString().equals(name)).findFirst())
+                .orElse(null);
+    }
+
+
+    /**
+     * The local variables declared in a method, constructor, initializer or lambda, and the names assigned in it.
+     */
+    private static final class Locals {
+
+        private final Map<String, List<VariableDeclarator>> declared = new HashMap<>();
+        private final Set<String> assigned = new HashSet<>();
+
+        private Locals(Node scope) {
+            for (VariableDeclarationExpr declaration : scope.findAll(VariableDeclarationExpr.class)) {
+                for (VariableDeclarator variable : declaration.getVariables()) {
+                    declared.computeIfAbsent(variable.getNameAsString(), name -> new ArrayList<>()).add(variable);
+                }
+            }
+            for (AssignExpr assignment : scope.findAll(AssignExpr.class)) {
+                if (assignment.getTarget() instanceof NameExpr) {
+                    assigned.add(((NameExpr) assignment.getTarget()).getNameAsString());
+                }
+            }
+            for (UnaryExpr unary : scope.findAll(UnaryExpr.class)) {
+                if (unary.getExpression() instanceof NameExpr && isIncrementOrDecrement(unary)) {
+                    assigned.add(((NameExpr) unary.getExpression()).getNameAsString());
+                }
+            }
+        }
+
+        /**
+         * Finds the local variable a name refers to at a use: the last one declared before the use in a block
+         * enclosing it.
+         */
+        private VariableDeclarator find(String name, Node use) {
+            VariableDeclarator found = null;
+            for (VariableDeclarator variable : declared.getOrDefault(name, List.of())) {
+                // The block of a statement declaring the variable, or the for or try statement declaring it
+                Node holder = variable.getParentNode().flatMap(Node::getParentNode).orElse(null);
+                Node block = holder instanceof ExpressionStmt ? holder.getParentNode().orElse(null) : holder;
+                boolean before = variable.getBegin().isPresent() && use.getBegin().isPresent()
+                        && variable.getBegin().get().isBefore(use.getBegin().get());
+                if (block != null && before && block.isAncestorOf(use)) {
+                    found = variable;
+                }
+            }
+            return found;
+        }
+
+        private static boolean isIncrementOrDecrement(UnaryExpr n) {
+            switch (n.getOperator()) {
+                case PREFIX_INCREMENT:
+                case PREFIX_DECREMENT:
+                case POSTFIX_INCREMENT:
+                case POSTFIX_DECREMENT:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.SimpleName;
+import com.github.javaparser.ast.stmt.AssertStmt;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.BreakStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ContinueStmt;
+import com.github.javaparser.ast.stmt.DoStmt;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.stmt.LabeledStmt;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.SwitchEntry;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import com.github.javaparser.ast.stmt.ThrowStmt;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+import com.github.javaparser.ast.stmt.YieldStmt;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Control-flow graph of the body of a method, constructor or lambda, at the granularity of statements and conditions.
+ *
+ * Each node holds the AST element evaluated there: the expression of an expression statement, a condition, the value
+ * of a return or throw, a resource of a try, or a {@link ForEachStmt}, whose iterable is evaluated and variable
+ * assigned on each iteration. The entry, the exit and the points where branches join hold none. A catch clause is
+ * reached from every node of its try block, as any of them may throw. Lambda bodies and local classes are not part of
+ * the graph; they have graphs of their own.
+ */
+public final class ControlFlowGraph {
+
+    /**
+     * The node control enters the body through.
+     */
+    public static final int ENTRY = 0;
+
+    /**
+     * The node every return, throw and the end of the body lead to.
+     */
+    public static final int EXIT = 1;
+
+    private static final int[] NONE = new int[0];
+
+    private final Node[] elements;
+    private final int[][] successors;
+
+    private ControlFlowGraph(Node[] elements, int[][] successors) {
+        this.elements = elements;
+        this.successors = successors;
+    }
+
+    /**
+     * Builds the graph of a body.
+     *
+     * @param body The body, usually a block.
+     * @return The graph.
+     */
+    public static ControlFlowGraph of(Statement body) {
+        return new Builder().build(body);
+    }
+
+    /**
+     * Gets the number of nodes.
+     *
+     * @return The number of nodes, including the entry and the exit.
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Gets the AST element evaluated at a node.
+     *
+     * @param node The node.
+     * @return The element, or null for the entry, the exit and join points.
+     */
+    public Node getElement(int node) {
+        return elements[node];
+    }
+
+    /**
+     * Gets the nodes control can pass to from a node.
+     *
+     * @param node The node.
+     * @return The successors, not to be modified.
+     */
+    public int[] getSuccessors(int node) {
+        return successors[node];
+    }
+
+    /**
+     * Target of break and continue statements: a loop, a switch or a labeled statement.
+     */
+    private static final class JumpTarget {
+
+        private final String label;
+        private final boolean loop;
+        private final boolean switchStatement;
+        private final List<Integer> breaks = new ArrayList<>();
+        private final List<Integer> continues = new ArrayList<>();
+
+        private JumpTarget(String label, boolean loop, boolean switchStatement) {
+            this.label = label;
+            this.loop = loop;
+            this.switchStatement = switchStatement;
+        }
+    }
+
+    private static final class Builder {
+
+        private final List<Node> elements = new ArrayList<>();
+        private final List<List<Integer>> successors = new ArrayList<>();
+        private final Deque<JumpTarget> targets = new ArrayDeque<>();
+        private String pendingLabel;
+
+        private ControlFlowGraph build(Statement body) {
+            addNode(null); // ENTRY
+            addNode(null); // EXIT
+            link(statement(body, List.of(ENTRY)), EXIT);
+
+            int[][] edges = new int[successors.size()][];
+            for (int i = 0; i < edges.length; i++) {
+                List<Integer> out = successors.get(i);
+                edges[i] = out.isEmpty() ? NONE : out.stream().mapToInt(Integer::intValue).distinct().toArray();
+            }
+            return new ControlFlowGraph(elements.toArray(new Node[0]), edges);
+        }
+
+        private int addNode(Node element) {
+            elements.add(element);
+            successors.add(new ArrayList<>(2));
+            return elements.size() - 1;
+        }
+
+        private int node(Node element, List<Integer> predecessors) {
+            int node = addNode(element);
+            link(predecessors, node);
+            return node;
+        }
+
+        private void link(List<Integer> predecessors, int node) {
+            for (int predecessor : predecessors) {
+                successors.get(predecessor).add(node);
+            }
+        }
+
+        /**
+         * Adds the nodes of a statement.
+         *
+         * @param statement    The statement.
+         * @param predecessors The nodes control reaches the statement from.
+         * @return The nodes control leaves the statement from to the next one, empty if it never completes normally.
+         */
+        private List<Integer> statement(Statement statement, List<Integer> predecessors) {
+            String label = pendingLabel;
+            pendingLabel = null;
+            if (statement instanceof BlockStmt) {
+                List<Integer> exits = predecessors;
+                for (Statement inner : ((BlockStmt) statement).getStatements()) {
+                    exits = statement(inner, exits);
+                }
+                return exits;
+            }
+            if (statement instanceof ExpressionStmt) {
+                return List.of(node(((ExpressionStmt) statement).getExpression(), predecessors));
+            }
+            if (statement instanceof IfStmt) {
+                IfStmt ifStmt = (IfStmt) statement;
+                List<Integer> condition = List.of(node(ifStmt.getCondition(), predecessors));
+                List<Integer> exits = new ArrayList<>(statement(ifStmt.getThenStmt(), condition));
+                exits.addAll(ifStmt.getElseStmt().map(elseStmt -> statement(elseStmt, condition)).orElse(condition));
+                return exits;
+            }
+            if (statement instanceof WhileStmt) {
+                WhileStmt whileStmt = (WhileStmt) statement;
+                int condition = node(whileStmt.getCondition(), predecessors);
+                return loop(label, condition, whileStmt.getBody(), condition, List.of(condition));
+            }
+            if (statement instanceof DoStmt) {
+                DoStmt doStmt = (DoStmt) statement;
+                int head = node(null, predecessors);
+                JumpTarget target = push(label, true, false);
+                List<Integer> bodyExits = new ArrayList<>(statement(doStmt.getBody(), List.of(head)));
+                targets.pop();
+                bodyExits.addAll(target.continues);
+                int condition = node(doStmt.getCondition(), bodyExits);
+                successors.get(condition).add(head);
+                List<Integer> exits = new ArrayList<>(target.breaks);
+                exits.add(condition);
+                return exits;
+            }
+            if (statement instanceof ForStmt) {
+                ForStmt forStmt = (ForStmt) statement;
+                List<Integer> exits = predecessors;
+                for (Expression initialization : forStmt.getInitialization()) {
+                    exits = List.of(node(initialization, exits));
+                }
+                int condition = node(forStmt.getCompare().orElse(null), exits);
+                int updateStart = addNode(null);
+                int update = updateStart;
+                for (Expression expression : forStmt.getUpdate()) {
+                    update = node(expression, List.of(update));
+                }
+                successors.get(update).add(condition);
+                List<Integer> normalExits = forStmt.getCompare().isPresent() ? List.of(condition) : List.of();
+                return loop(label, condition, forStmt.getBody(), updateStart, normalExits);
+            }
+            if (statement instanceof ForEachStmt) {
+                ForEachStmt forEach = (ForEachStmt) statement;
+                int head = node(forEach, predecessors);
+                return loop(label, head, forEach.getBody(), head, List.of(head));
+            }
+            if (statement instanceof SwitchStmt) {
+                return switchStatement((SwitchStmt) statement, label, predecessors);
+            }
+            if (statement instanceof TryStmt) {
+                return tryStatement((TryStmt) statement, predecessors);
+            }
+            if (statement instanceof LabeledStmt) {
+                LabeledStmt labeled = (LabeledStmt) statement;
+                Statement inner = labeled.getStatement();
+                if (isLoopOrSwitch(inner)) {
+                    pendingLabel = labeled.getLabel().getIdentifier();
+                    return statement(inner, predecessors);
+                }
+                JumpTarget target = push(labeled.getLabel().getIdentifier(), false, false);
+                List<Integer> exits = new ArrayList<>(statement(inner, predecessors));
+                targets.pop();
+                exits.addAll(target.breaks);
+                return exits;
+            }
+            if (statement instanceof SynchronizedStmt) {
+                SynchronizedStmt synchronizedStmt = (SynchronizedStmt) statement;
+                int lock = node(synchronizedStmt.getExpression(), predecessors);
+                return statement(synchronizedStmt.getBody(), List.of(lock));
+            }
+            if (statement instanceof ReturnStmt) {
+                int node = node(((ReturnStmt) statement).getExpression().orElse(null), predecessors);
+                successors.get(node).add(EXIT);
+                return List.of();
+            }
+            if (statement instanceof ThrowStmt) {
+                int node = node(((ThrowStmt) statement).getExpression(), predecessors);
+                successors.get(node).add(EXIT);
+                return List.of();
+            }
+            if (statement instanceof BreakStmt) {
+                int node = node(null, predecessors);
+                String target = ((BreakStmt) statement).getLabel().map(SimpleName::getIdentifier).orElse(null);
+                jumpTarget(target, false).ifPresentOrElse(t -> t.breaks.add(node),
+                        () -> successors.get(node).add(EXIT));
+                return List.of();
+            }
+            if (statement instanceof ContinueStmt) {
+                int node = node(null, predecessors);
+                String target = ((ContinueStmt) statement).getLabel().map(SimpleName::getIdentifier).orElse(null);
+                jumpTarget(target, true).ifPresentOrElse(t -> t.continues.add(node),
+                        () -> successors.get(node).add(EXIT));
+                return List.of();
+            }
+            if (statement instanceof YieldStmt) {
+                return List.of(node(((YieldStmt) statement).getExpression(), predecessors));
+            }
+            if (statement instanceof AssertStmt) {
+                return List.of(node(((AssertStmt) statement).getCheck(), predecessors));
+            }
+            // Empty statements, local classes and explicit constructor calls: nothing a dataflow rule tracks
+            return List.of(node(null, predecessors));
+        }
+
+        /**
+         * Adds the body of a loop whose head has been added.
+         *
+         * @param continueTo  The node continue statements and the end of the body go to.
+         * @param normalExits The nodes the loop ends from when its condition fails.
+         */
+        private List<Integer> loop(String label, int head, Statement body, int continueTo, List<Integer> normalExits) {
+            JumpTarget target = push(label, true, false);
+            List<Integer> bodyExits = statement(body, List.of(head));
+            targets.pop();
+            link(bodyExits, continueTo);
+            link(target.continues, continueTo);
+            List<Integer> exits = new ArrayList<>(normalExits);
+            exits.addAll(target.breaks);
+            return exits;
+        }
+
+        private List<Integer> switchStatement(SwitchStmt switchStmt, String label, List<Integer> predecessors) {
+            int selector = node(switchStmt.getSelector(), predecessors);
+            JumpTarget target = push(label, false, true);
+            List<Integer> fallThrough = List.of();
+            List<Integer> exits = new ArrayList<>();
+            boolean hasDefault = false;
+            for (SwitchEntry entry : switchStmt.getEntries()) {
+                hasDefault |= entry.getLabels().isEmpty();
+                List<Integer> entryPredecessors = new ArrayList<>(fallThrough);
+                entryPredecessors.add(selector);
+                List<Integer> entryExits = entryPredecessors;
+                for (Statement inner : entry.getStatements()) {
+                    entryExits = statement(inner, entryExits);
+                }
+                if (entry.getType() == SwitchEntry.Type.STATEMENT_GROUP) {
+                    fallThrough = entryExits;
+                } else {
+                    exits.addAll(entryExits); // Arrow cases do not fall through
+                    fallThrough = List.of();
+                }
+            }
+            targets.pop();
+            exits.addAll(fallThrough);
+            exits.addAll(target.breaks);
+            if (!hasDefault) {
+                exits.add(selector);
+            }
+            return exits;
+        }
+
+        private List<Integer> tryStatement(TryStmt tryStmt, List<Integer> predecessors) {
+            List<Integer> exits = predecessors;
+            for (Expression resource : tryStmt.getResources()) {
+                exits = List.of(node(resource, exits));
+            }
+            int firstTryNode = elements.size();
+            List<Integer> tryExits = statement(tryStmt.getTryBlock(), exits);
+
+            // Any node of the try block may throw into a catch clause
+            List<Integer> throwing = new ArrayList<>(exits);
+            for (int node = firstTryNode; node < elements.size(); node++) {
+                throwing.add(node);
+            }
+            List<Integer> completed = new ArrayList<>(tryExits);
+            for (CatchClause catchClause : tryStmt.getCatchClauses()) {
+                int parameter = node(null, throwing);
+                completed.addAll(statement(catchClause.getBody(), List.of(parameter)));
+            }
+            if (tryStmt.getFinallyBlock().isPresent()) {
+                if (tryStmt.getCatchClauses().isEmpty()) {
+                    completed.addAll(throwing);
+                }
+                return statement(tryStmt.getFinallyBlock().get(), completed);
+            }
+            return completed;
+        }
+
+        private JumpTarget push(String label, boolean loop, boolean switchStatement) {
+            JumpTarget target = new JumpTarget(label, loop, switchStatement);
+            targets.push(target);
+            return target;
+        }
+
+        /**
+         * Finds the target of a break or continue: the statement with the label, or else the innermost loop, or for a
+         * break also the innermost switch.
+         */
+        private Optional<JumpTarget> jumpTarget(String label, boolean isContinue) {
+            for (JumpTarget target : targets) {
+                boolean matches = label != null
+                        ? label.equals(target.label)
+                        : target.loop || (!isContinue && target.switchStatement);
+                if (matches) {
+                    return Optional.of(target);
+                }
+            }
+            return Optional.empty();
+        }
+
+        private static boolean isLoopOrSwitch(Statement statement) {
+            return statement instanceof WhileStmt || statement instanceof DoStmt || statement instanceof ForStmt
+                    || statement instanceof ForEachStmt || statement instanceof SwitchStmt;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Set of method signatures compiled for matching calls, hashed by method name so that checking a call costs one
+ * lookup whatever the number of signatures.
+ *
+ * A signature is a method name, optionally qualified by what the method is called on and followed by its number of
+ * arguments:
+ * <ul>
+ *     <li>{@code getParameter} matches any call of the method;</li>
+ *     <li>{@code addAttribute/2} only calls with two arguments;</li>
+ *     <li>{@code Model.addAttribute} only calls on a variable declared as a {@code Model}, on a new {@code Model} or,
+ *     when the declaration is not in sight, such as for a field, on a variable named after the type, like
+ *     {@code model}, or for static methods on the class itself;</li>
+ *     <li>{@code getWriter().write} only calls on the result of a {@code getWriter} call.</li>
+ * </ul>
+ * Types are compared by simple name as they are declared, so no symbol resolution is needed.
+ */
+public final class MethodMatcher {
+
+    private final Map<String, List<Signature>> signaturesByName = new HashMap<>();
+
+    /**
+     * Compiles signatures.
+     *
+     * @param signatures The signatures.
+     * @throws IllegalArgumentException if a signature is malformed.
+     */
+    public MethodMatcher(Collection<String> signatures) {
+        for (String signature : signatures) {
+            Signature compiled = Signature.parse(signature);
+            signaturesByName.computeIfAbsent(compiled.name, name -> new ArrayList<>(1)).add(compiled);
+        }
+    }
+
+    /**
+     * Gets the names of the methods the signatures match, whatever their receiver and arity.
+     *
+     * @return The method names.
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(signaturesByName.keySet());
+    }
+
+    /**
+     * Determines whether a call matches one of the signatures.
+     *
+     * @param call         The call.
+     * @param declaredType The simple name of the declared type of a variable, or null if it is not known.
+     * @return true if the call matches.
+     */
+    public boolean matches(MethodCallExpr call, Function<String, String> declaredType) {
+        List<Signature> candidates = signaturesByName.get(call.getNameAsString());
+        if (candidates == null) {
+            return false;
+        }
+        for (Signature signature : candidates) {
+            if (signature.matches(call, declaredType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Signature {
+
+        private final String name;
+        private final int arity; // -1 for any
+        private final String receiverType; // null for any
+        private final String receiverVariable; // The receiver type starting in lower case, null for any
+        private final String receiverCall; // null for any
+
+        private Signature(String name, int arity, String receiverType, String receiverCall) {
+            this.name = name;
+            this.arity = arity;
+            this.receiverType = receiverType;
+            this.receiverVariable = receiverType == null ? null
+                    : Character.toLowerCase(receiverType.charAt(0)) + receiverType.substring(1);
+            this.receiverCall = receiverCall;
+        }
+
+        private static Signature parse(String signature) {
+            String rest = signature.trim();
+            int arity = -1;
+            int slash = rest.lastIndexOf('/');
+            if (slash >= 0) {
+                try {
+                    arity = Integer.parseInt(rest.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Malformed method signature: '" + signature + "'", e);
+                }
+                rest = rest.substring(0, slash);
+            }
+            String receiverType = null;
+            String receiverCall = null;
+            int dot = rest.lastIndexOf('.');
+            if (dot >= 0) {
+                String receiver = rest.substring(0, dot);
+                if (receiver.endsWith("()")) {
+                    receiverCall = receiver.substring(0, receiver.length() - 2);
+                } else {
+                    receiverType = receiver;
+                }
+                rest = rest.substring(dot + 1);
+            }
+            if (rest.isEmpty() || !rest.chars().allMatch(Character::isJavaIdentifierPart)) {
+                throw new IllegalArgumentException("Malformed method signature: '" + signature + "'");
+            }
+            return new Signature(rest, arity, receiverType, receiverCall);
+        }
+
+        private boolean matches(MethodCallExpr call, Function<String, String> declaredType) {
+            if (arity >= 0 && call.getArguments().size() != arity) {
+                return false;
+            }
+            if (receiverCall != null) {
+                return call.getScope()
+                        .filter(scope -> scope instanceof MethodCallExpr
+                                && ((MethodCallExpr) scope).getNameAsString().equals(receiverCall))
+                        .isPresent();
+            }
+            if (receiverType != null) {
+                Expression scope = call.getScope().orElse(null);
+                if (scope instanceof NameExpr) {
+                    String variable = ((NameExpr) scope).getNameAsString();
+                    String type = declaredType.apply(variable);
+                    return receiverType.equals(type) || (type == null && (receiverType.equals(variable)
+                            || receiverVariable.equals(variable)));
+                }
+                return scope instanceof ObjectCreationExpr
+                        && receiverType.equals(((ObjectCreationExpr) scope).getType().getNameAsString());
+            }
+            return true;
+        }
+    }
+}
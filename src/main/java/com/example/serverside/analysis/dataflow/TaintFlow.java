@@ -0,0 +1,56 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.ast.expr.MethodCallExpr;
+
+import java.util.List;
+
+/**
+ * A path along which untrusted input reaches a sink, found by a {@link TaintFlowAnalysis}.
+ */
+public final class TaintFlow {
+
+    private final MethodCallExpr sink;
+    private final List<String> path;
+
+    TaintFlow(MethodCallExpr sink, List<String> path) {
+        this.sink = sink;
+        this.path = List.copyOf(path);
+    }
+
+    /**
+     * Gets the sink call.
+     *
+     * @return The call receiving the tainted argument.
+     */
+    public MethodCallExpr getSink() {
+        return sink;
+    }
+
+    /**
+     * Gets the line of the sink call.
+     *
+     * @return The line, or -1 if the call has no position.
+     */
+    public int getLine() {
+        return sink.getBegin().map(position -> position.line).orElse(-1);
+    }
+
+    /**
+     * Gets the steps of the path, from the source to the sink call, such as {@code parameter 'name' (line 2)},
+     * {@code 'query' (line 3)} and {@code executeQuery (line 4)}.
+     *
+     * @return The steps.
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    /**
+     * Describes the path.
+     *
+     * @return The steps joined by arrows.
+     */
+    public String describe() {
+        return String.join(" -> ", path);
+    }
+}
@@ -0,0 +1,667 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.ArrayCreationExpr;
+import com.github.javaparser.ast.expr.ArrayInitializerExpr;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.CastExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.InstanceOfExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.SwitchExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Intra-procedural taint analysis of one body, finding where untrusted input can reach a sink of some
+ * {@link TaintRules}.
+ *
+ * The local variables and parameters of the body are numbered by their declaration, each name being bound to the
+ * declaration in scope where it is used, so two variables of the same name in different blocks are told apart. The set
+ * of tainted variables at each node of the {@link ControlFlowGraph} is a bit set. A worklist propagates the sets along
+ * the edges, joining them by union, until none changes. As a set only ever grows and a node is queued again only when
+ * its set does, a node is evaluated at most once more per variable, and usually once or twice in all. Assignments are
+ * evaluated in order, so a variable reassigned a constant before it reaches a sink is no longer tainted there, and a
+ * variable tainted on one branch only is tainted after the branches join.
+ *
+ * The results of source methods are untrusted, and so are text parameters when the rules say so: strings, char
+ * sequences, and arrays or generic types of them such as {@code List<String>}. A lambda is analysed on its own,
+ * starting from the variables it captures that are tainted where the enclosing body creates it, as given by
+ * {@link #getTaintedCaptures(LambdaExpr)}. Fields are not tracked.
+ */
+public final class TaintFlowAnalysis {
+
+    private static final Set<String> UNTRUSTED_PARAMETER_TYPES = Set.of(
+            "String", "CharSequence", "java.lang.String", "java.lang.CharSequence");
+
+    private static final Set<String> TEXT_TYPES = Set.of(
+            "String", "StringBuilder", "StringBuffer", "java.lang.String", "java.lang.StringBuilder",
+            "java.lang.StringBuffer");
+
+    private final TaintRules rules;
+    private final ControlFlowGraph graph;
+    private final Map<Node, Integer> declarations = new IdentityHashMap<>(); // Parameters and declarators
+    private final Map<NameExpr, Integer> references = new IdentityHashMap<>(); // Names of variables in scope
+    private final Map<LambdaExpr, Map<String, Integer>> lambdaScopes = new IdentityHashMap<>(); // Capturable names
+    private final List<String> names = new ArrayList<>();
+    private final List<String> declaredTypes = new ArrayList<>(); // Simple type names, for the rules
+    private final int words;
+    private final Witness[] witnesses; // How each variable first became tainted
+
+    // Collected on the last pass only
+    private List<TaintFlow> flows;
+    private final Set<MethodCallExpr> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Expression, Boolean> results = new IdentityHashMap<>(); // Node equality is structural
+    private final Map<LambdaExpr, Map<String, List<String>>> taintedCaptures = new IdentityHashMap<>();
+
+    /**
+     * Constructs an analysis.
+     *
+     * @param captures The variables of the enclosing body visible to a lambda body, by name, with their declared
+     *                 types and, for the tainted ones, the steps that tainted them; empty for other bodies.
+     */
+    private TaintFlowAnalysis(NodeList<Parameter> parameters, Statement body, TaintRules rules,
+                              Map<String, Capture> captures) {
+        this.rules = rules;
+        this.graph = ControlFlowGraph.of(body);
+        Deque<Map<String, Integer>> scopes = new ArrayDeque<>();
+        scopes.push(new HashMap<>());
+        for (Map.Entry<String, Capture> capture : captures.entrySet()) {
+            declare(scopes, capture.getKey(), capture.getValue().type);
+        }
+        for (Parameter parameter : parameters) {
+            declare(scopes, parameter.getNameAsString(), simpleName(parameter.getType()));
+        }
+        bind(body, scopes);
+
+        this.words = Math.max(1, (names.size() + 63) >>> 6);
+        this.witnesses = new Witness[names.size()];
+        int variable = 0;
+        for (Capture capture : captures.values()) {
+            if (capture.steps != null) {
+                witnesses[variable] = new Witness(capture.steps);
+            }
+            variable++;
+        }
+        for (Parameter parameter : parameters) {
+            if (rules.hasUntrustedParameters() && isUntrusted(parameter.getType())) {
+                witnesses[variable] = new Witness("parameter '" + parameter.getNameAsString() + "'", line(parameter),
+                        null);
+            }
+            variable++;
+        }
+    }
+
+    /**
+     * Numbers the variables declared in a node and binds the names used in it to the declarations in scope, visiting
+     * the children in source order so a name is bound to the declarations before it.
+     */
+    private void bind(Node node, Deque<Map<String, Integer>> scopes) {
+        if (node instanceof LambdaExpr) {
+            Map<String, Integer> visible = new HashMap<>();
+            for (Map<String, Integer> scope : scopes) {
+                scope.forEach(visible::putIfAbsent); // Innermost scopes come first
+            }
+            lambdaScopes.put((LambdaExpr) node, visible);
+        }
+        boolean opensScope = node instanceof BlockStmt || node instanceof ForStmt || node instanceof ForEachStmt
+                || node instanceof CatchClause || node instanceof TryStmt || node instanceof LambdaExpr
+                || node instanceof SwitchStmt || node instanceof SwitchExpr || node instanceof CallableDeclaration
+                || node instanceof TypeDeclaration || node instanceof ObjectCreationExpr;
+        if (opensScope) {
+            scopes.push(new HashMap<>());
+        }
+        if (node instanceof VariableDeclarator) {
+            VariableDeclarator declarator = (VariableDeclarator) node;
+            declarations.put(declarator, declare(scopes, declarator.getNameAsString(),
+                    simpleName(declarator.getType())));
+        } else if (node instanceof Parameter) {
+            Parameter parameter = (Parameter) node;
+            declarations.put(parameter, declare(scopes, parameter.getNameAsString(),
+                    simpleName(parameter.getType())));
+        } else if (node instanceof NameExpr) {
+            String name = ((NameExpr) node).getNameAsString();
+            for (Map<String, Integer> scope : scopes) {
+                Integer variable = scope.get(name);
+                if (variable != null) {
+                    references.put((NameExpr) node, variable);
+                    break;
+                }
+            }
+        }
+        List<Node> children = new ArrayList<>(node.getChildNodes());
+        children.sort(Node.NODE_BY_BEGIN_POSITION);
+        for (Node child : children) {
+            bind(child, scopes);
+        }
+        if (opensScope) {
+            scopes.pop();
+        }
+    }
+
+    private int declare(Deque<Map<String, Integer>> scopes, String name, String type) {
+        int variable = names.size();
+        names.add(name);
+        declaredTypes.add(type);
+        scopes.peek().put(name, variable);
+        return variable;
+    }
+
+    /**
+     * Finds the flows of untrusted input into sinks in a body.
+     *
+     * @param parameters The parameters of the method, constructor or lambda the body belongs to.
+     * @param body       The body.
+     * @param rules      The sources, propagators, sanitisers and sinks.
+     * @return The flows, one per sink call reached, in order of the calls.
+     */
+    public static List<TaintFlow> analyse(NodeList<Parameter> parameters, Statement body, TaintRules rules) {
+        return of(parameters, body, rules).getFlows();
+    }
+
+    /**
+     * Finds the flows of untrusted input into sinks in the body of a lambda, given the analysis of the body that
+     * creates it.
+     *
+     * @param lambda    The lambda.
+     * @param enclosing The analysis of the enclosing body, or null if the lambda is not in an analysed body.
+     * @param rules     The sources, propagators, sanitisers and sinks.
+     * @return The analysis.
+     */
+    public static TaintFlowAnalysis ofLambda(LambdaExpr lambda, TaintFlowAnalysis enclosing, TaintRules rules) {
+        Map<String, Capture> captures = new LinkedHashMap<>();
+        if (enclosing != null) {
+            Map<String, List<String>> tainted = enclosing.getTaintedCaptures(lambda);
+            enclosing.lambdaScopes.getOrDefault(lambda, Collections.emptyMap()).forEach((name, variable) ->
+                    captures.put(name, new Capture(enclosing.declaredTypes.get(variable), tainted.get(name))));
+        }
+        TaintFlowAnalysis analysis = new TaintFlowAnalysis(new NodeList<>(), lambda.getBody(), rules, captures);
+        analysis.run();
+        return analysis;
+    }
+
+    /**
+     * Analyses a body, keeping the taint of each of its expressions.
+     *
+     * @param parameters The parameters of the method, constructor or lambda the body belongs to.
+     * @param body       The body.
+     * @param rules      The sources, propagators, sanitisers and sinks.
+     * @return The analysis.
+     */
+    public static TaintFlowAnalysis of(NodeList<Parameter> parameters, Statement body, TaintRules rules) {
+        TaintFlowAnalysis analysis = new TaintFlowAnalysis(parameters, body, rules, Collections.emptyMap());
+        analysis.run();
+        return analysis;
+    }
+
+    /**
+     * Gets the flows of untrusted input into sinks.
+     *
+     * @return The flows, one per sink call reached, in order of the calls.
+     */
+    public List<TaintFlow> getFlows() {
+        return flows;
+    }
+
+    /**
+     * Determines whether the value of an expression of the body can hold untrusted input. Each expression is
+     * evaluated once when the analysis ends, so asking about every expression of a long concatenation costs no more
+     * than the concatenation itself.
+     *
+     * @param expression An expression of the body, outside lambdas and local classes.
+     * @return true if the expression is tainted where it is evaluated; false if it is not, or never evaluated.
+     */
+    public boolean isTainted(Expression expression) {
+        return results.getOrDefault(expression, false);
+    }
+
+    /**
+     * Gets the variables of the body a lambda in it captures that are tainted where the lambda is created, so the
+     * lambda can be analysed from them.
+     *
+     * @param lambda A lambda directly in the body, outside other lambdas and local classes.
+     * @return The names of the tainted variables, mapped to the steps that tainted them; empty if there are none or
+     *         the lambda is never created.
+     */
+    public Map<String, List<String>> getTaintedCaptures(LambdaExpr lambda) {
+        return taintedCaptures.getOrDefault(lambda, Collections.emptyMap());
+    }
+
+    private void run() {
+        long[][] in = new long[graph.size()][];
+        long[] entry = new long[words];
+        for (int variable = 0; variable < witnesses.length; variable++) {
+            if (witnesses[variable] != null) {
+                set(entry, variable, true); // Untrusted parameters and tainted captured variables
+            }
+        }
+        in[ControlFlowGraph.ENTRY] = entry;
+
+        Deque<Integer> worklist = new ArrayDeque<>();
+        boolean[] queued = new boolean[graph.size()];
+        worklist.add(ControlFlowGraph.ENTRY);
+        queued[ControlFlowGraph.ENTRY] = true;
+        while (!worklist.isEmpty()) {
+            int node = worklist.poll();
+            queued[node] = false;
+            long[] out = in[node].clone();
+            transfer(graph.getElement(node), out);
+            for (int successor : graph.getSuccessors(node)) {
+                if (join(in, successor, out) && !queued[successor]) {
+                    worklist.add(successor);
+                    queued[successor] = true;
+                }
+            }
+        }
+
+        // The sets are stable: evaluate each reached node once more, now recording the sinks reached
+        flows = new ArrayList<>();
+        for (int node = 0; node < graph.size(); node++) {
+            if (in[node] != null) {
+                transfer(graph.getElement(node), in[node].clone());
+            }
+        }
+        flows.sort(Comparator.comparingInt(TaintFlow::getLine));
+    }
+
+    /**
+     * Joins the set leaving a node into the set entering a successor.
+     *
+     * @return true if the successor's set changed.
+     */
+    private static boolean join(long[][] in, int successor, long[] out) {
+        long[] target = in[successor];
+        if (target == null) {
+            in[successor] = out.clone();
+            return true;
+        }
+        boolean changed = false;
+        for (int i = 0; i < target.length; i++) {
+            long joined = target[i] | out[i];
+            changed |= joined != target[i];
+            target[i] = joined;
+        }
+        return changed;
+    }
+
+    private void transfer(Node element, long[] state) {
+        if (element instanceof ForEachStmt) {
+            ForEachStmt forEach = (ForEachStmt) element;
+            boolean tainted = evaluate(forEach.getIterable(), state);
+            for (VariableDeclarator declarator : forEach.getVariable().getVariables()) {
+                assign(declarations.get(declarator), tainted, forEach.getIterable(), line(forEach), state);
+            }
+        } else if (element instanceof Expression) {
+            evaluate((Expression) element, state);
+        }
+    }
+
+    /**
+     * Evaluates an expression, applying the assignments in it to the state in evaluation order.
+     *
+     * @return true if the value of the expression is tainted.
+     */
+    private boolean evaluate(Expression expression, long[] state) {
+        boolean tainted = evaluateUncached(expression, state);
+        if (flows != null && tainted) {
+            results.put(expression, true);
+        }
+        return tainted;
+    }
+
+    private boolean evaluateUncached(Expression expression, long[] state) {
+        if (expression instanceof NameExpr) {
+            Integer variable = references.get(expression);
+            return variable != null && get(state, variable);
+        }
+        if (expression instanceof EnclosedExpr) {
+            return evaluate(((EnclosedExpr) expression).getInner(), state);
+        }
+        if (expression instanceof CastExpr) {
+            CastExpr cast = (CastExpr) expression;
+            return evaluate(cast.getExpression(), state) && !cast.getType().isPrimitiveType();
+        }
+        if (expression instanceof BinaryExpr) {
+            BinaryExpr binary = (BinaryExpr) expression;
+            boolean left = evaluate(binary.getLeft(), state);
+            boolean right = evaluate(binary.getRight(), state);
+            return binary.getOperator() == BinaryExpr.Operator.PLUS && (left || right);
+        }
+        if (expression instanceof ConditionalExpr) {
+            ConditionalExpr conditional = (ConditionalExpr) expression;
+            evaluate(conditional.getCondition(), state);
+            boolean thenTainted = evaluate(conditional.getThenExpr(), state);
+            return evaluate(conditional.getElseExpr(), state) || thenTainted;
+        }
+        if (expression instanceof AssignExpr) {
+            return evaluateAssignment((AssignExpr) expression, state);
+        }
+        if (expression instanceof VariableDeclarationExpr) {
+            for (VariableDeclarator declarator : ((VariableDeclarationExpr) expression).getVariables()) {
+                if (declarator.getInitializer().isPresent()) {
+                    Expression initializer = declarator.getInitializer().get();
+                    boolean tainted = evaluate(initializer, state);
+                    assign(declarations.get(declarator), tainted, initializer, line(declarator), state);
+                }
+            }
+            return false;
+        }
+        if (expression instanceof MethodCallExpr) {
+            return evaluateCall((MethodCallExpr) expression, state);
+        }
+        if (expression instanceof ObjectCreationExpr) {
+            ObjectCreationExpr creation = (ObjectCreationExpr) expression;
+            creation.getScope().ifPresent(scope -> evaluate(scope, state));
+            boolean tainted = evaluateAll(creation.getArguments(), state);
+            return tainted && TEXT_TYPES.contains(creation.getType().getNameWithScope());
+        }
+        if (expression instanceof ArrayAccessExpr) {
+            ArrayAccessExpr access = (ArrayAccessExpr) expression;
+            evaluate(access.getIndex(), state);
+            return evaluate(access.getName(), state);
+        }
+        if (expression instanceof ArrayCreationExpr) {
+            ArrayCreationExpr creation = (ArrayCreationExpr) expression;
+            return creation.getInitializer().map(initializer -> evaluate(initializer, state)).orElse(false);
+        }
+        if (expression instanceof ArrayInitializerExpr) {
+            return evaluateAll(((ArrayInitializerExpr) expression).getValues(), state);
+        }
+        if (expression instanceof FieldAccessExpr) {
+            return evaluate(((FieldAccessExpr) expression).getScope(), state);
+        }
+        if (expression instanceof UnaryExpr) {
+            evaluate(((UnaryExpr) expression).getExpression(), state);
+            return false;
+        }
+        if (expression instanceof InstanceOfExpr) {
+            evaluate(((InstanceOfExpr) expression).getExpression(), state);
+            return false;
+        }
+        if (expression instanceof LambdaExpr) {
+            recordCaptures((LambdaExpr) expression, state);
+            return false;
+        }
+        // Literals, this, class literals and method references carry no input
+        return false;
+    }
+
+    private boolean evaluateAll(List<Expression> expressions, long[] state) {
+        boolean tainted = false;
+        for (Expression expression : expressions) {
+            tainted |= evaluate(expression, state);
+        }
+        return tainted;
+    }
+
+    private boolean evaluateAssignment(AssignExpr assignment, long[] state) {
+        Expression target = assignment.getTarget();
+        boolean value = evaluate(assignment.getValue(), state);
+        if (target instanceof NameExpr) {
+            Integer variable = references.get(target);
+            if (variable == null) {
+                return value; // A field
+            }
+            boolean tainted = assignment.getOperator() == AssignExpr.Operator.ASSIGN
+                    ? value
+                    : get(state, variable) || (value && assignment.getOperator() == AssignExpr.Operator.PLUS);
+            assign(variable, tainted, assignment.getValue(), line(assignment), state);
+            return tainted;
+        }
+        if (target instanceof ArrayAccessExpr) {
+            ArrayAccessExpr access = (ArrayAccessExpr) target;
+            evaluate(access.getIndex(), state);
+            if (value && access.getName() instanceof NameExpr) {
+                // One element does not untaint the others, so an array is only ever tainted
+                assign(references.get(access.getName()), true, assignment.getValue(), line(assignment), state);
+            }
+            return value;
+        }
+        evaluate(target, state);
+        return value;
+    }
+
+    private boolean evaluateCall(MethodCallExpr call, long[] state) {
+        boolean receiver = call.getScope().map(scope -> evaluate(scope, state)).orElse(false);
+        Expression firstTainted = null;
+        for (Expression argument : call.getArguments()) {
+            if (evaluate(argument, state) && firstTainted == null) {
+                firstTainted = argument;
+            }
+        }
+        boolean arguments = firstTainted != null;
+        Function<String, String> types = declaredTypes(call);
+
+        if (flows != null && arguments && rules.isSink(call, types) && reported.add(call)) {
+            List<String> path = new ArrayList<>();
+            trace(firstTainted, new HashSet<>(), path);
+            path.add(call.getNameAsString() + " (line " + line(call) + ")");
+            flows.add(new TaintFlow(call, path));
+        }
+
+        if (rules.isSanitizer(call, types)) {
+            return false;
+        }
+        if (rules.isSource(call, types)) {
+            return true;
+        }
+        if (rules.isPropagator(call, types)) {
+            if (arguments) {
+                Integer builder = builderVariable(call);
+                if (builder != null) {
+                    assign(builder, true, call, line(call), state);
+                }
+            }
+            return receiver || arguments;
+        }
+        return receiver;
+    }
+
+    /**
+     * Gets the variable a chain of propagator calls is made on, such as {@code sb} in
+     * {@code sb.append(a).append(b)}.
+     */
+    private Integer builderVariable(MethodCallExpr call) {
+        Expression scope = call.getScope().orElse(null);
+        while (scope instanceof MethodCallExpr
+                && rules.isPropagator((MethodCallExpr) scope, declaredTypes((MethodCallExpr) scope))) {
+            scope = ((MethodCallExpr) scope).getScope().orElse(null);
+        }
+        return scope instanceof NameExpr ? references.get(scope) : null;
+    }
+
+    /**
+     * Gets the declared types the rules see for a call: that of the variable the call is made on, bound to its
+     * declaration like any other name.
+     */
+    private Function<String, String> declaredTypes(MethodCallExpr call) {
+        Integer variable = call.getScope().map(references::get).orElse(null);
+        return name -> variable != null && names.get(variable).equals(name) ? declaredTypes.get(variable) : null;
+    }
+
+    private void assign(Integer variable, boolean tainted, Expression value, int line, long[] state) {
+        if (variable == null) {
+            return;
+        }
+        set(state, variable, tainted);
+        if (tainted && witnesses[variable] == null) {
+            witnesses[variable] = new Witness("'" + names.get(variable) + "'", line, value);
+        }
+    }
+
+    /**
+     * Records, on the last pass, the variables a lambda captures that are tainted where it is created, with the steps
+     * that tainted each.
+     */
+    private void recordCaptures(LambdaExpr lambda, long[] state) {
+        if (flows == null) {
+            return;
+        }
+        Map<String, Integer> scope = lambdaScopes.getOrDefault(lambda, Collections.emptyMap());
+        for (Map.Entry<String, Integer> visible : scope.entrySet()) {
+            int variable = visible.getValue();
+            if (get(state, variable)) {
+                List<String> path = new ArrayList<>();
+                traceVariable(variable, new HashSet<>(), path);
+                taintedCaptures.computeIfAbsent(lambda, key -> new HashMap<>()).putIfAbsent(visible.getKey(), path);
+            }
+        }
+    }
+
+    /**
+     * Adds to a path the steps that brought taint into an expression, following the first tainted variable or source
+     * call in it back through the assignments that tainted it.
+     *
+     * @return true if an origin was found.
+     */
+    private boolean trace(Node node, Set<Integer> visited, List<String> path) {
+        if (node instanceof LambdaExpr) {
+            return false;
+        }
+        if (node instanceof MethodCallExpr) {
+            MethodCallExpr call = (MethodCallExpr) node;
+            if (rules.isSanitizer(call, declaredTypes(call))) {
+                return false;
+            }
+            if (rules.isSource(call, declaredTypes(call))) {
+                path.add(call.getNameAsString() + " (line " + line(call) + ")");
+                return true;
+            }
+        }
+        if (node instanceof NameExpr) {
+            Integer variable = references.get(node);
+            return variable != null && traceVariable(variable, visited, path);
+        }
+        for (Node child : node.getChildNodes()) {
+            if (trace(child, visited, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean traceVariable(int variable, Set<Integer> visited, List<String> path) {
+        Witness witness = witnesses[variable];
+        if (witness == null || !visited.add(variable)) {
+            return false;
+        }
+        if (witness.steps != null) {
+            path.addAll(witness.steps);
+            return true;
+        }
+        if (witness.value != null) {
+            trace(witness.value, visited, path);
+        }
+        path.add(witness.description + " (line " + witness.line + ")");
+        return true;
+    }
+
+    private static String simpleName(Type type) {
+        return type.isClassOrInterfaceType() ? type.asClassOrInterfaceType().getNameAsString() : type.asString();
+    }
+
+    private static boolean isUntrusted(Type type) {
+        if (type.isArrayType()) {
+            return isUntrusted(type.asArrayType().getComponentType());
+        }
+        if (!type.isClassOrInterfaceType()) {
+            return false;
+        }
+        ClassOrInterfaceType classType = type.asClassOrInterfaceType();
+        return UNTRUSTED_PARAMETER_TYPES.contains(classType.getNameWithScope()) || classType.getTypeArguments()
+                .map(arguments -> arguments.stream().anyMatch(TaintFlowAnalysis::isUntrusted))
+                .orElse(false);
+    }
+
+    private static int line(Node node) {
+        return node.getBegin().map(position -> position.line).orElse(-1);
+    }
+
+    private static boolean get(long[] state, int variable) {
+        return (state[variable >>> 6] & (1L << variable)) != 0;
+    }
+
+    private static void set(long[] state, int variable, boolean tainted) {
+        if (tainted) {
+            state[variable >>> 6] |= 1L << variable;
+        } else {
+            state[variable >>> 6] &= ~(1L << variable);
+        }
+    }
+
+    /**
+     * A variable of an enclosing body visible to a lambda.
+     */
+    private static final class Capture {
+
+        private final String type;
+        private final List<String> steps; // Null if the variable is not tainted where the lambda is created
+
+        private Capture(String type, List<String> steps) {
+            this.type = type;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * The assignment or parameter that first tainted a variable, or for a variable captured by a lambda, the steps
+     * that tainted it in the enclosing body.
+     */
+    private static final class Witness {
+
+        private final String description;
+        private final int line;
+        private final Expression value;
+        private final List<String> steps;
+
+        private Witness(String description, int line, Expression value) {
+            this.description = description;
+            this.line = line;
+            this.value = value;
+            this.steps = null;
+        }
+
+        private Witness(List<String> steps) {
+            this.description = null;
+            this.line = -1;
+            this.value = null;
+            this.steps = steps;
+        }
+    }
+}
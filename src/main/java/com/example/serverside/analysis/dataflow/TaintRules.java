@@ -0,0 +1,138 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The methods a {@link TaintFlowAnalysis} treats specially, as {@link MethodMatcher} signatures:
+ * <ul>
+ *     <li>sources, whose result is untrusted input;</li>
+ *     <li>propagators, whose result carries the taint of the receiver and of every argument, and which taint the
+ *     builder they are called on, such as {@code StringBuilder.append};</li>
+ *     <li>sanitisers, whose result is safe whatever their arguments;</li>
+ *     <li>sinks, which must not receive a tainted argument.</li>
+ * </ul>
+ * Any other method call is tainted when its receiver is, so getters of untrusted objects stay untrusted.
+ *
+ * The rules of each vulnerability are a catalogue on the classpath, such as:
+ * <pre>
+ * {
+ *   "untrustedParameters": true,
+ *   "sources": ["getParameter"],
+ *   "propagators": ["append", "String.format"],
+ *   "sanitizers": ["Integer.parseInt"],
+ *   "sinks": ["executeQuery"]
+ * }
+ * </pre>
+ */
+public final class TaintRules {
+
+    /**
+     * Rules for SQL injection: untrusted text reaching the query string of a JDBC statement.
+     */
+    public static final TaintRules SQL_INJECTION = load("/taint/sql-injection.json");
+
+    /**
+     * Rules for cross-site scripting: request input reaching a response writer, a model or a template unescaped.
+     */
+    public static final TaintRules XSS = load("/taint/xss.json");
+
+    private final boolean untrustedParameters;
+    private final MethodMatcher sources;
+    private final MethodMatcher propagators;
+    private final MethodMatcher sanitizers;
+    private final MethodMatcher sinks;
+
+    /**
+     * Constructs a set of rules.
+     *
+     * @param untrustedParameters Whether text parameters hold untrusted input.
+     * @param sources             Signatures of the methods returning untrusted input.
+     * @param propagators         Signatures of the methods passing the taint of their receiver and arguments on.
+     * @param sanitizers          Signatures of the methods returning safe values.
+     * @param sinks               Signatures of the methods whose arguments must not be tainted.
+     */
+    public TaintRules(boolean untrustedParameters, List<String> sources, List<String> propagators,
+                      List<String> sanitizers, List<String> sinks) {
+        this.untrustedParameters = untrustedParameters;
+        this.sources = new MethodMatcher(sources);
+        this.propagators = new MethodMatcher(propagators);
+        this.sanitizers = new MethodMatcher(sanitizers);
+        this.sinks = new MethodMatcher(sinks);
+    }
+
+    /**
+     * Loads rules from a catalogue on the classpath.
+     *
+     * @param resource The location of the catalogue.
+     * @return The rules.
+     * @throws UncheckedIOException if the catalogue is missing or malformed.
+     */
+    public static TaintRules load(String resource) {
+        try (InputStream in = TaintRules.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Resource not found on the classpath: " + resource);
+            }
+            JsonNode catalogue = new ObjectMapper().readTree(in);
+            return new TaintRules(catalogue.path("untrustedParameters").asBoolean(false),
+                    strings(catalogue, "sources"), strings(catalogue, "propagators"),
+                    strings(catalogue, "sanitizers"), strings(catalogue, "sinks"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the taint rules " + resource, e);
+        }
+    }
+
+    private static List<String> strings(JsonNode catalogue, String field) {
+        List<String> values = new ArrayList<>();
+        catalogue.path(field).forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    /**
+     * Gets the names of the source methods. Without untrusted parameters, a body calls one of them before any taint
+     * can be found in it.
+     *
+     * @return The method names.
+     */
+    public Set<String> getSourceNames() {
+        return sources.getNames();
+    }
+
+    /**
+     * Gets the names of the sink methods. A body calls one of them before any flow can be found in it.
+     *
+     * @return The method names.
+     */
+    public Set<String> getSinkNames() {
+        return sinks.getNames();
+    }
+
+    boolean hasUntrustedParameters() {
+        return untrustedParameters;
+    }
+
+    boolean isSource(MethodCallExpr call, Function<String, String> declaredType) {
+        return sources.matches(call, declaredType);
+    }
+
+    boolean isPropagator(MethodCallExpr call, Function<String, String> declaredType) {
+        return propagators.matches(call, declaredType);
+    }
+
+    boolean isSanitizer(MethodCallExpr call, Function<String, String> declaredType) {
+        return sanitizers.matches(call, declaredType);
+    }
+
+    boolean isSink(MethodCallExpr call, Function<String, String> declaredType) {
+        return call.getArguments().isNonEmpty() && sinks.matches(call, declaredType);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Visitor running a {@link TaintFlowAnalysis} over the body of each method, constructor, initializer and lambda of a
+ * tree, for rules built on one set of {@link TaintRules}.
+ *
+ * The parameters of methods and constructors are passed to the analysis. Those of lambdas are not, as they are
+ * usually supplied by library code, such as the elements of a stream; a lambda starts instead from the variables it
+ * captures that are tainted where the enclosing body creates it, so each body is analysed before the lambdas in it.
+ */
+public abstract class TaintVisitor extends VoidVisitorAdapter<Void> {
+
+    private final TaintRules rules;
+    private final Deque<TaintFlowAnalysis> enclosing = new ArrayDeque<>(); // Analyses of the bodies being visited
+
+    /**
+     * Constructs a TaintVisitor.
+     *
+     * @param rules The rules to analyse bodies with.
+     */
+    protected TaintVisitor(TaintRules rules) {
+        this.rules = rules;
+    }
+
+    @Override
+    public void visit(MethodDeclaration methodDeclaration, Void arg) {
+        if (methodDeclaration.getBody().isEmpty()) {
+            super.visit(methodDeclaration, arg);
+            return;
+        }
+        Statement body = methodDeclaration.getBody().get();
+        analyse(body, TaintFlowAnalysis.of(methodDeclaration.getParameters(), body, rules),
+                () -> super.visit(methodDeclaration, arg));
+    }
+
+    @Override
+    public void visit(ConstructorDeclaration constructorDeclaration, Void arg) {
+        Statement body = constructorDeclaration.getBody();
+        analyse(body, TaintFlowAnalysis.of(constructorDeclaration.getParameters(), body, rules),
+                () -> super.visit(constructorDeclaration, arg));
+    }
+
+    @Override
+    public void visit(InitializerDeclaration initializerDeclaration, Void arg) {
+        Statement body = initializerDeclaration.getBody();
+        analyse(body, TaintFlowAnalysis.of(new NodeList<>(), body, rules),
+                () -> super.visit(initializerDeclaration, arg));
+    }
+
+    @Override
+    public void visit(LambdaExpr lambdaExpr, Void arg) {
+        analyse(lambdaExpr.getBody(), TaintFlowAnalysis.ofLambda(lambdaExpr, enclosing.peek(), rules),
+                () -> super.visit(lambdaExpr, arg));
+    }
+
+    /**
+     * Visits the bodies inside an analysed body with its analysis as the enclosing one, then reports the analysis.
+     */
+    private void analyse(Statement body, TaintFlowAnalysis analysis, Runnable visitInner) {
+        enclosing.push(analysis);
+        try {
+            visitInner.run();
+        } finally {
+            enclosing.pop();
+        }
+        analysed(body, analysis);
+    }
+
+    /**
+     * Called with the analysis of each body, inner bodies first.
+     *
+     * @param body     The body analysed.
+     * @param analysis The analysis of the body.
+     */
+    protected abstract void analysed(Statement body, TaintFlowAnalysis analysis);
+}
@@ -0,0 +1,178 @@
+package com.example.serverside.analysis.deprecation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalogue of deprecated or insecure APIs with the alternative recommended for each, compiled into a
+ * {@link PackageTrie} so imports and qualified names are matched by package, type or member prefix.
+ *
+ * The catalogue is read from the file set with {@link #setLocation(Path)} when there is one, so it can be edited
+ * without rebuilding the application, and otherwise from {@value #RESOURCE} on the classpath, which is found whether
+ * the application runs from its classes directory or from the packaged jar. A catalogue is immutable and numbered;
+ * {@link #reload()} reads the catalogue again and replaces the {@link #current()} one, which checks started afterwards
+ * pick up without a restart.
+ */
+public final class DeprecatedApiCatalogue {
+
+    /**
+     * Classpath location of the catalogue.
+     */
+    public static final String RESOURCE = "/deprecatedApis.json";
+
+    private static final AtomicLong versions = new AtomicLong();
+
+    private static volatile DeprecatedApiCatalogue current;
+    private static volatile Path location;
+
+    private final long version;
+    private final Map<String, String> entries;
+    private final PackageTrie<String> trie = new PackageTrie<>();
+
+    private DeprecatedApiCatalogue(Map<String, String> entries) {
+        this.version = versions.incrementAndGet();
+        this.entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+        for (Map.Entry<String, String> entry : this.entries.entrySet()) {
+            trie.put(stripWildcard(entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     * Compiles a catalogue.
+     *
+     * @param entries The deprecated API names, packages, types or members, mapped to the recommended alternatives.
+     *                A name may end with {@code .*}, which makes no difference as every entry covers the names
+     *                below it.
+     * @return The catalogue.
+     */
+    public static DeprecatedApiCatalogue of(Map<String, String> entries) {
+        return new DeprecatedApiCatalogue(entries);
+    }
+
+    /**
+     * Sets the file the catalogue is read from. The current catalogue is dropped, so the next check reads the file.
+     *
+     * @param file The catalogue file, or null to read the classpath resource. A file that does not exist is skipped
+     *             in favour of the classpath resource until it is created.
+     */
+    public static void setLocation(Path file) {
+        synchronized (DeprecatedApiCatalogue.class) {
+            location = file;
+            current = null;
+        }
+    }
+
+    /**
+     * Gets the file the catalogue is read from.
+     *
+     * @return The catalogue file, or null if only the classpath resource is read.
+     */
+    public static Path getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the catalogue loaded from the configured file or the classpath, loading it on first use.
+     *
+     * @return The current catalogue.
+     */
+    public static DeprecatedApiCatalogue current() {
+        DeprecatedApiCatalogue catalogue = current;
+        if (catalogue == null) {
+            synchronized (DeprecatedApiCatalogue.class) {
+                catalogue = current;
+                if (catalogue == null) {
+                    catalogue = load();
+                    current = catalogue;
+                }
+            }
+        }
+        return catalogue;
+    }
+
+    /**
+     * Reads the catalogue from the configured file or the classpath again and makes it the current one. Checks
+     * already running keep the catalogue they started with.
+     *
+     * @return The new current catalogue.
+     * @throws UncheckedIOException if the catalogue is missing or malformed; the current catalogue is then kept.
+     */
+    public static DeprecatedApiCatalogue reload() {
+        DeprecatedApiCatalogue catalogue = load();
+        synchronized (DeprecatedApiCatalogue.class) {
+            current = catalogue;
+        }
+        return catalogue;
+    }
+
+    private static DeprecatedApiCatalogue load() {
+        Path file = location;
+        try (InputStream in = file != null && Files.isRegularFile(file)
+                ? Files.newInputStream(file)
+                : DeprecatedApiCatalogue.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Resource not found on the classpath: " + RESOURCE);
+            }
+            Map<String, Map<String, String>> data = new ObjectMapper().readValue(
+                    in, new TypeReference<Map<String, Map<String, String>>>() {}
+            );
+            Map<String, String> insecureImports = data.get("insecureImports");
+            return of(insecureImports == null ? Collections.emptyMap() : insecureImports);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the deprecated API catalogue", e);
+        }
+    }
+
+    /**
+     * Gets the number of the catalogue. Every catalogue compiled gets a higher number than the ones before it.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the entries of the catalogue.
+     *
+     * @return The names mapped to their recommended alternatives, unmodifiable.
+     */
+    public Map<String, String> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Finds the entry covering a dotted name, such as a single-type or static import, or a qualified name in code.
+     *
+     * @param name The dotted name.
+     * @return The entry with the longest name that is the name or a prefix of it, or null if there is none.
+     */
+    public Map.Entry<String, String> find(CharSequence name) {
+        return trie.findCovering(name);
+    }
+
+    /**
+     * Finds the entries directly inside a package, the types a wildcard import of it brings in.
+     *
+     * @param packageName The name imported on demand, without the {@code .*}.
+     * @return The entries, empty if the package holds no catalogued type.
+     */
+    public List<Map.Entry<String, String>> findMembers(CharSequence packageName) {
+        return trie.findMembers(packageName);
+    }
+
+    private static String stripWildcard(String name) {
+        return name.endsWith(".*") ? name.substring(0, name.length() - 2) : name;
+    }
+}
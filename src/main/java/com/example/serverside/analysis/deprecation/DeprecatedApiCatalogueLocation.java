@@ -0,0 +1,23 @@
+package com.example.serverside.analysis.deprecation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Points the {@link DeprecatedApiCatalogue} at the file configured with {@code analysis.deprecated-apis.location}.
+ * Without that property the catalogue is read from the classpath.
+ */
+@Component
+public class DeprecatedApiCatalogueLocation {
+
+    /**
+     * Constructs a DeprecatedApiCatalogueLocation and sets the catalogue file.
+     *
+     * @param location Path of the catalogue file, or an empty string to read the classpath resource.
+     */
+    public DeprecatedApiCatalogueLocation(@Value("${analysis.deprecated-apis.location:}") String location) {
+        DeprecatedApiCatalogue.setLocation(location.isBlank() ? null : Path.of(location));
+    }
+}
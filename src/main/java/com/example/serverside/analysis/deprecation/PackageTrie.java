@@ -0,0 +1,128 @@
+package com.example.serverside.analysis.deprecation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie of dotted Java names, such as packages, types and members, keyed by name segment.
+ *
+ * An entry for a name also covers every name it is a segment prefix of: an entry for {@code sun.misc} matches
+ * {@code sun.misc.Unsafe}, and one for {@code java.util.Date} matches {@code java.util.Date.from}, but not
+ * {@code java.util.DateFormat}. Lookups walk one node per segment, so they cost time in the length of the name looked
+ * up and not in the number of entries.
+ *
+ * A trie is filled before it is shared; it can then be read by any number of threads.
+ *
+ * @param <V> The type of the values attached to the entries.
+ */
+public final class PackageTrie<V> {
+
+    private final Node<V> root = new Node<>(null);
+    private int size;
+
+    /**
+     * Adds an entry, replacing the value of an entry with the same name.
+     *
+     * @param name  The dotted name, without a trailing {@code .*}.
+     * @param value The value of the entry.
+     */
+    public void put(String name, V value) {
+        Node<V> node = root;
+        int start = 0;
+        while (start <= name.length()) {
+            int end = segmentEnd(name, start);
+            String segment = name.substring(start, end);
+            Node<V> parent = node;
+            node = parent.children.computeIfAbsent(segment, s -> new Node<>(qualify(parent.name, s)));
+            start = end + 1;
+        }
+        if (node.value == null) {
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Finds the entry covering a name: the entry with the longest name that is the name itself or a segment prefix
+     * of it.
+     *
+     * @param name The dotted name.
+     * @return The entry, or null if no entry covers the name.
+     */
+    public Map.Entry<String, V> findCovering(CharSequence name) {
+        Node<V> node = root;
+        Node<V> covering = null;
+        int start = 0;
+        while (start <= name.length()) {
+            int end = segmentEnd(name, start);
+            node = node.children.get(name.subSequence(start, end).toString());
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                covering = node;
+            }
+            start = end + 1;
+        }
+        return covering == null ? null : Map.entry(covering.name, covering.value);
+    }
+
+    /**
+     * Finds the entries a wildcard import of a package brings in: the entries directly inside the package.
+     *
+     * @param packageName The dotted name of the package.
+     * @return The entries, empty if there are none.
+     */
+    public List<Map.Entry<String, V>> findMembers(CharSequence packageName) {
+        Node<V> node = root;
+        int start = 0;
+        while (node != null && start <= packageName.length()) {
+            int end = segmentEnd(packageName, start);
+            node = node.children.get(packageName.subSequence(start, end).toString());
+            start = end + 1;
+        }
+        List<Map.Entry<String, V>> members = new ArrayList<>(0);
+        if (node != null) {
+            for (Node<V> child : node.children.values()) {
+                if (child.value != null) {
+                    members.add(Map.entry(child.name, child.value));
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int segmentEnd(CharSequence name, int start) {
+        int end = start;
+        while (end < name.length() && name.charAt(end) != '.') {
+            end++;
+        }
+        return end;
+    }
+
+    private static String qualify(String parent, String segment) {
+        return parent == null ? segment : parent + "." + segment;
+    }
+
+    private static final class Node<V> {
+
+        private final String name;
+        private final Map<String, Node<V>> children = new HashMap<>(4);
+        private V value;
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.example.serverside.analysis.lexical;
+
+import com.example.serverside.analysis.parser.LineIndex;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Style checks that work on the raw characters of a source file, without building an AST.
+ *
+ * The source is scanned once, line by line through its {@link LineIndex}, by a small state machine that knows when
+ * it is in code, a comment, a string, a character literal or a text block, and keeps a stack of the open braces. From
+ * that it reports tabs in indentation, trailing whitespace outside block comments and long lines for every file, and
+ * the indentation of statements and the placement of opening braces in a form that needs no parse, so they can be
+ * checked on files the parser rejects and on very large generated files.
+ *
+ * Braces are classified from the code before them: a type body after {@code class}, {@code interface}, {@code enum},
+ * {@code record} or an anonymous class, a switch body, an array initializer, or otherwise a block of statements. Only
+ * statements directly in blocks are checked for indentation, one level deeper than the line that opened the block,
+ * as {@link com.example.serverside.analysis.util.IndentationCheckerUtil} does on the AST.
+ */
+public final class LexicalStyleScanner {
+
+    /**
+     * Longest line, in characters, that is not reported.
+     */
+    public static final int MAX_LINE_LENGTH = 120;
+
+    private static final int INDENTATION_SPACES = 4;
+
+    private static final int CODE = 0;
+    private static final int LINE_COMMENT = 1;
+    private static final int BLOCK_COMMENT = 2;
+    private static final int STRING = 3;
+    private static final int CHAR = 4;
+    private static final int TEXT_BLOCK = 5;
+
+    private static final int BLOCK = 0;
+    private static final int TYPE_BODY = 1;
+    private static final int OTHER = 2; // Switch bodies and array initializers
+
+    private final LineIndex lines;
+    private final CharSequence source;
+    private final Findings findings = new Findings();
+
+    private int state = CODE;
+    private int line;
+    private int lineStart;
+    private int lineEnd;
+    private int lineStartState = CODE;
+    private boolean lineHasCode;
+    private char lastCode; // Last code character before the current one, across lines
+
+    // Open braces: kind, indentation of the line that opened them, and the parenthesis depth outside them
+    private int[] braceKinds = new int[32];
+    private int[] braceIndents = new int[32];
+    private int[] braceParens = new int[32];
+    private int braceDepth;
+    private int parenDepth;
+
+    // The code since the last statement or brace, which decides what a following brace opens
+    private char headerLast;
+    private boolean headerType;
+    private boolean headerNew;
+    private boolean headerSwitch;
+    private boolean headerIf;
+    private boolean headerControl;
+    private boolean headerThrows;
+    private boolean headerArrow;
+
+    private LexicalStyleScanner(LineIndex lines) {
+        this.lines = lines;
+        this.source = lines.getSource();
+    }
+
+    /**
+     * Scans source code.
+     *
+     * @param code The source code. A null value is treated as an empty file.
+     * @return The findings.
+     */
+    public static Findings scan(String code) {
+        return scan(LineIndex.of(code));
+    }
+
+    /**
+     * Scans the first {@code length} characters of a buffer, without copying them.
+     *
+     * @param source The buffer holding the source code.
+     * @param length The number of characters to scan.
+     * @return The findings.
+     */
+    public static Findings scan(char[] source, int length) {
+        return scan(LineIndex.of(CharBuffer.wrap(source, 0, length)));
+    }
+
+    /**
+     * Scans source code that is already indexed by line.
+     *
+     * @param lines The line index of the source code.
+     * @return The findings.
+     */
+    public static Findings scan(LineIndex lines) {
+        LexicalStyleScanner scanner = new LexicalStyleScanner(lines);
+        scanner.run();
+        return scanner.findings;
+    }
+
+    private void run() {
+        for (line = 1; line <= lines.getLineCount(); line++) {
+            startLine(lines.getLineStart(line), lines.getLineEnd(line));
+            for (int i = lineStart; i < lineEnd; i++) {
+                char c = source.charAt(i);
+                switch (state) {
+                    case LINE_COMMENT:
+                        i = lineEnd;
+                        break;
+                    case BLOCK_COMMENT:
+                        if (c == '*' && next(i) == '/') {
+                            state = CODE;
+                            i++;
+                        }
+                        break;
+                    case STRING:
+                    case CHAR:
+                        if (c == '\\') {
+                            i++;
+                        } else if (c == (state == STRING ? '"' : '\'')) {
+                            state = CODE;
+                        }
+                        break;
+                    case TEXT_BLOCK:
+                        if (c == '\\') {
+                            i++;
+                        } else if (c == '"' && next(i) == '"' && next(i + 1) == '"') {
+                            state = CODE;
+                            i += 2;
+                        }
+                        break;
+                    default:
+                        i = code(i, c);
+                }
+            }
+            endLine();
+        }
+        findings.lineCount = lines.getLineCount();
+    }
+
+    /**
+     * Handles a character in code.
+     *
+     * @return The index of the last character consumed.
+     */
+    private int code(int i, char c) {
+        if (isBlank(c)) {
+            return i;
+        }
+        if (c == '/' && next(i) == '/') {
+            state = LINE_COMMENT;
+            return i + 1;
+        }
+        if (c == '/' && next(i) == '*') {
+            state = BLOCK_COMMENT;
+            return i + 1;
+        }
+        if (!lineHasCode) {
+            lineHasCode = true;
+            firstCodeOfLine(i, c);
+        }
+
+        if (Character.isJavaIdentifierStart(c)) {
+            int end = i + 1;
+            while (end < lineEnd && Character.isJavaIdentifierPart(source.charAt(end))) {
+                end++;
+            }
+            keyword(i, end);
+            lastCode = source.charAt(end - 1);
+            headerLast = lastCode;
+            return end - 1;
+        }
+        switch (c) {
+            case '"':
+                if (next(i) == '"' && next(i + 1) == '"') {
+                    state = TEXT_BLOCK;
+                    i += 2;
+                } else {
+                    state = STRING;
+                }
+                break;
+            case '\'':
+                state = CHAR;
+                break;
+            case '(':
+                parenDepth++;
+                break;
+            case ')':
+                parenDepth = Math.max(0, parenDepth - 1);
+                break;
+            case ';':
+                if (parenDepth == 0) {
+                    resetHeader();
+                    lastCode = c;
+                    return i;
+                }
+                break;
+            case '{':
+                openBrace(i);
+                lastCode = c;
+                return i;
+            case '}':
+                closeBrace();
+                lastCode = c;
+                return i;
+            case '>':
+                if (lastCode == '-') {
+                    headerArrow = true;
+                }
+                break;
+            default:
+                break;
+        }
+        lastCode = c;
+        headerLast = c;
+        return i;
+    }
+
+    /**
+     * Checks the first code character of a line: a statement directly in a block must be indented one level deeper
+     * than the line that opened the block.
+     */
+    private void firstCodeOfLine(int i, char c) {
+        if (lineStartState != CODE || braceDepth == 0 || braceKinds[braceDepth - 1] != BLOCK || parenDepth != 0
+                || c == '}' || (lastCode != ';' && lastCode != '{' && lastCode != '}')
+                || startsWithWord(i, "else") || startsWithWord(i, "catch") || startsWithWord(i, "finally")
+                || leadingWhitespaceHasTab()) {
+            return;
+        }
+        int expected = braceIndents[braceDepth - 1] + INDENTATION_SPACES;
+        int actual = leadingSpaces();
+        if (actual != expected) {
+            findings.indentation.add(String.format("Violation at line %d: Incorrect indentation . Expected: %d spaces but got: %d. Line: \"%s\"",
+                    line, expected, actual, lines.getTrimmedLine(line)));
+        }
+    }
+
+    private void openBrace(int i) {
+        int kind;
+        if (headerType || (headerNew && headerLast == ')')) {
+            kind = TYPE_BODY;
+        } else if (headerSwitch) {
+            kind = OTHER;
+        } else if (headerLast == 0) {
+            kind = braceDepth == 0 ? TYPE_BODY : braceKinds[braceDepth - 1] == OTHER ? OTHER : BLOCK;
+        } else if (headerLast == '=' || headerLast == ',' || headerLast == '(' || headerLast == '['
+                || headerLast == ']') {
+            kind = OTHER;
+        } else {
+            kind = BLOCK;
+        }
+
+        boolean braceStartsLine = lineStartState == CODE && firstCodeIndex() == i;
+        boolean signature = headerLast == ')' && !headerControl && !headerNew && !headerArrow;
+        if (braceStartsLine && lastCode != ';' && lastCode != '{' && lastCode != '}'
+                && (kind == TYPE_BODY || headerIf || signature || headerThrows)) {
+            findings.braces.add(String.format("Violation at line %d: Opening brace should be on the same line as its parent statement.", line));
+        }
+
+        if (braceDepth == braceKinds.length) {
+            braceKinds = Arrays.copyOf(braceKinds, braceDepth * 2);
+            braceIndents = Arrays.copyOf(braceIndents, braceDepth * 2);
+            braceParens = Arrays.copyOf(braceParens, braceDepth * 2);
+        }
+        braceKinds[braceDepth] = kind;
+        braceIndents[braceDepth] = lineStartState == CODE ? leadingSpaces() : 0;
+        braceParens[braceDepth] = parenDepth;
+        braceDepth++;
+        parenDepth = 0;
+        resetHeader();
+    }
+
+    private void closeBrace() {
+        if (braceDepth > 0) {
+            braceDepth--;
+            parenDepth = braceParens[braceDepth];
+        }
+        resetHeader();
+    }
+
+    /**
+     * Updates the header from an identifier, comparing its characters in place so that no string is allocated per
+     * identifier. Keywords are told apart by length first.
+     */
+    private void keyword(int start, int end) {
+        switch (end - start) {
+            case 2:
+                if (isWord(start, "if")) {
+                    headerIf = true;
+                } else if (isWord(start, "do")) {
+                    headerControl = true;
+                }
+                break;
+            case 3:
+                if (isWord(start, "new")) {
+                    headerNew = true;
+                } else if (isWord(start, "for") || isWord(start, "try")) {
+                    headerControl = true;
+                }
+                break;
+            case 4:
+                if (isWord(start, "enum")) {
+                    headerType = true;
+                } else if (isWord(start, "else")) {
+                    headerControl = true;
+                }
+                break;
+            case 5:
+                if (isWord(start, "class")) {
+                    headerType = true;
+                } else if (isWord(start, "while") || isWord(start, "catch")) {
+                    headerControl = true;
+                }
+                break;
+            case 6:
+                if (isWord(start, "record")) {
+                    headerType = true;
+                } else if (isWord(start, "switch")) {
+                    headerSwitch = true;
+                    headerControl = true;
+                } else if (isWord(start, "throws")) {
+                    headerThrows = true;
+                }
+                break;
+            case 7:
+                if (isWord(start, "finally")) {
+                    headerControl = true;
+                }
+                break;
+            case 9:
+                if (isWord(start, "interface")) {
+                    headerType = true;
+                }
+                break;
+            case 12:
+                if (isWord(start, "synchronized")) {
+                    headerControl = true;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Compares the source from an index with a word of the same length as the identifier there.
+     */
+    private boolean isWord(int start, String word) {
+        for (int k = 0; k < word.length(); k++) {
+            if (source.charAt(start + k) != word.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resetHeader() {
+        headerLast = 0;
+        headerType = false;
+        headerNew = false;
+        headerSwitch = false;
+        headerIf = false;
+        headerControl = false;
+        headerThrows = false;
+        headerArrow = false;
+    }
+
+    private void startLine(int start, int end) {
+        lineStart = start;
+        lineEnd = end;
+        if (state == LINE_COMMENT || state == STRING || state == CHAR) {
+            state = CODE; // Strings and character literals cannot span lines
+        }
+        lineStartState = state;
+        lineHasCode = false;
+    }
+
+    /**
+     * Checks the layout of a finished line: tabs in its indentation, trailing whitespace and its length. Whitespace at
+     * the end of a line inside a block comment or a text block is part of the comment or literal.
+     */
+    private void endLine() {
+        if (lineStartState == CODE && leadingWhitespaceHasTab()) {
+            findings.layout.add(String.format("Violation at line %d: Tab Indentation : Line is indented with tabs instead of spaces.", line));
+        }
+        if (lineStartState != TEXT_BLOCK && state != BLOCK_COMMENT && firstCodeIndex() < lineEnd
+                && (source.charAt(lineEnd - 1) == ' ' || source.charAt(lineEnd - 1) == '\t')) {
+            findings.layout.add(String.format("Violation at line %d: Trailing Whitespace : Line ends with whitespace.", line));
+        }
+        if (lineEnd - lineStart > MAX_LINE_LENGTH) {
+            findings.layout.add(String.format("Violation at line %d: Line Length : Line is %d characters long, more than %d.",
+                    line, lineEnd - lineStart, MAX_LINE_LENGTH));
+        }
+    }
+
+    private int leadingSpaces() {
+        return lines.getIndentation(line);
+    }
+
+    private boolean leadingWhitespaceHasTab() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            char c = source.charAt(i);
+            if (c == '\t') {
+                return true;
+            }
+            if (c != ' ' && c != '\f') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private int firstCodeIndex() {
+        int i = lineStart;
+        while (i < lineEnd && isBlank(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean startsWithWord(int i, String word) {
+        int end = i + word.length();
+        if (end > lineEnd) {
+            return false;
+        }
+        for (int k = 0; k < word.length(); k++) {
+            if (source.charAt(i + k) != word.charAt(k)) {
+                return false;
+            }
+        }
+        return end == lineEnd || !Character.isJavaIdentifierPart(source.charAt(end));
+    }
+
+    /**
+     * Gets the character after an index on the current line.
+     *
+     * @return The character, or 0 at the end of the line.
+     */
+    private char next(int i) {
+        return i + 1 < lineEnd ? source.charAt(i + 1) : 0;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * The violations found by a scan, by kind, each in line order.
+     */
+    public static final class Findings {
+
+        private final List<String> layout = new ArrayList<>();
+        private final List<String> indentation = new ArrayList<>();
+        private final List<String> braces = new ArrayList<>();
+        private int lineCount;
+
+        /**
+         * Gets the tab indentation, trailing whitespace and line length violations.
+         *
+         * @return The layout violation messages.
+         */
+        public List<String> getLayoutViolations() {
+            return layout;
+        }
+
+        /**
+         * Gets the indentation violations of statements in blocks.
+         *
+         * @return The indentation violation messages.
+         */
+        public List<String> getIndentationViolations() {
+            return indentation;
+        }
+
+        /**
+         * Gets the opening braces placed on a line of their own.
+         *
+         * @return The brace style violation messages.
+         */
+        public List<String> getBraceViolations() {
+            return braces;
+        }
+
+        /**
+         * Gets the number of lines scanned.
+         *
+         * @return The line count.
+         */
+        public int getLineCount() {
+            return lineCount;
+        }
+    }
+}
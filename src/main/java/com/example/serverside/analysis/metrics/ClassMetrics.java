@@ -0,0 +1,127 @@
+package com.example.serverside.analysis.metrics;
+
+/**
+ * Structural metrics of one class or interface.
+ */
+public class ClassMetrics {
+
+    private String name; // Simple name of the class or interface
+
+    private boolean interfaceType; // Whether the declaration is an interface
+
+    private int beginLine; // First line, or -1 if unknown
+
+    private int endLine; // Last line, or -1 if unknown
+
+    private int lineCount; // Lines from the first to the last, or 0 if unknown
+
+    private int methodCount; // Methods declared directly in the class
+
+    /**
+     * Gets the simple name of the class or interface.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the simple name of the class or interface.
+     *
+     * @param name The name.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Determines whether the declaration is an interface.
+     *
+     * @return true for an interface, false for a class.
+     */
+    public boolean isInterfaceType() {
+        return interfaceType;
+    }
+
+    /**
+     * Sets whether the declaration is an interface.
+     *
+     * @param interfaceType true for an interface, false for a class.
+     */
+    public void setInterfaceType(boolean interfaceType) {
+        this.interfaceType = interfaceType;
+    }
+
+    /**
+     * Gets the first line.
+     *
+     * @return The first line, or -1 if unknown.
+     */
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    /**
+     * Sets the first line.
+     *
+     * @param beginLine The first line, or -1 if unknown.
+     */
+    public void setBeginLine(int beginLine) {
+        this.beginLine = beginLine;
+    }
+
+    /**
+     * Gets the last line.
+     *
+     * @return The last line, or -1 if unknown.
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Sets the last line.
+     *
+     * @param endLine The last line, or -1 if unknown.
+     */
+    public void setEndLine(int endLine) {
+        this.endLine = endLine;
+    }
+
+    /**
+     * Gets the number of lines from the first to the last.
+     *
+     * @return The line count, or 0 if unknown.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Sets the number of lines from the first to the last.
+     *
+     * @param lineCount The line count, or 0 if unknown.
+     */
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Gets the number of methods declared directly in the class, not counting constructors or nested types.
+     *
+     * @return The method count.
+     */
+    public int getMethodCount() {
+        return methodCount;
+    }
+
+    /**
+     * Sets the number of methods declared directly in the class.
+     *
+     * @param methodCount The method count.
+     */
+    public void setMethodCount(int methodCount) {
+        this.methodCount = methodCount;
+    }
+}
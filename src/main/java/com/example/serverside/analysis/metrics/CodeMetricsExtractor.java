@@ -0,0 +1,158 @@
+package com.example.serverside.analysis.metrics;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.DoStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Extracts the {@link FileMetrics} of a compilation unit in a single walk of the tree.
+ *
+ * The metrics are stored in the compilation unit's data and computed on first use, so every smell check of a file
+ * reads the same record. They are a snapshot and must not be modified.
+ */
+public final class CodeMetricsExtractor {
+
+    private static final DataKey<FileMetrics> KEY = new DataKey<>() {
+    };
+
+    private CodeMetricsExtractor() {
+    }
+
+    /**
+     * Gets the metrics of a compilation unit, extracting them on first use.
+     *
+     * @param cu The compilation unit.
+     * @return The metrics of its classes, methods and constructors.
+     */
+    public static FileMetrics extract(CompilationUnit cu) {
+        synchronized (cu) {
+            if (cu.containsData(KEY)) {
+                return cu.getData(KEY);
+            }
+            FileMetrics metrics = new FileMetrics();
+            walk(cu, metrics, null, 0);
+            cu.setData(KEY, metrics);
+            return metrics;
+        }
+    }
+
+    /**
+     * Visits a node and its descendants in pre-order, attributing statements, nesting and calls to the innermost
+     * method or constructor. Members of a nested type are not attributed to the method around it.
+     */
+    private static void walk(Node node, FileMetrics metrics, Callable callable, int depth) {
+        Callable inner = callable;
+        int innerDepth = depth;
+        if (node instanceof TypeDeclaration) {
+            if (node instanceof ClassOrInterfaceDeclaration) {
+                metrics.getClasses().add(classMetrics((ClassOrInterfaceDeclaration) node));
+            }
+            inner = null;
+            innerDepth = 0;
+        } else if (node instanceof CallableDeclaration) {
+            MethodMetrics method = methodMetrics((CallableDeclaration<?>) node);
+            metrics.getMethods().add(method);
+            inner = new Callable(method);
+            innerDepth = 0;
+        } else if (callable != null) {
+            if (node instanceof Statement && !(node instanceof BlockStmt)) {
+                callable.metrics.setStatementCount(callable.metrics.getStatementCount() + 1);
+            }
+            if (node instanceof MethodCallExpr) {
+                MethodCallExpr call = (MethodCallExpr) node;
+                callable.calls.add(call.getNameAsString() + "/" + call.getArguments().size());
+            }
+            if (isNesting(node)) {
+                innerDepth = depth + 1;
+                callable.metrics.setNestingDepth(Math.max(callable.metrics.getNestingDepth(), innerDepth));
+            }
+        }
+
+        for (Node child : node.getChildNodes()) {
+            walk(child, metrics, inner, innerDepth);
+        }
+        if (inner != null && inner != callable) {
+            inner.metrics.setFanOut(inner.calls.size());
+        }
+    }
+
+    private static boolean isNesting(Node node) {
+        if (node instanceof IfStmt) {
+            // An else-if continues its if rather than nesting inside it
+            return node.getParentNode()
+                    .filter(parent -> parent instanceof IfStmt
+                            && ((IfStmt) parent).getElseStmt().filter(elseStmt -> elseStmt == node).isPresent())
+                    .isEmpty();
+        }
+        return node instanceof ForStmt || node instanceof ForEachStmt || node instanceof WhileStmt
+                || node instanceof DoStmt || node instanceof SwitchStmt || node instanceof TryStmt
+                || node instanceof SynchronizedStmt;
+    }
+
+    private static ClassMetrics classMetrics(ClassOrInterfaceDeclaration declaration) {
+        ClassMetrics metrics = new ClassMetrics();
+        metrics.setName(declaration.getNameAsString());
+        metrics.setInterfaceType(declaration.isInterface());
+        setLines(declaration, metrics::setBeginLine, metrics::setEndLine, metrics::setLineCount);
+        metrics.setMethodCount(declaration.getMethods().size());
+        return metrics;
+    }
+
+    private static MethodMetrics methodMetrics(CallableDeclaration<?> declaration) {
+        MethodMetrics metrics = new MethodMetrics();
+        boolean constructor = declaration instanceof ConstructorDeclaration;
+        metrics.setKind(constructor ? MethodMetrics.Kind.CONSTRUCTOR : MethodMetrics.Kind.METHOD);
+        metrics.setName(declaration.getNameAsString());
+        metrics.setDeclaration(constructor ? declaration.getDeclarationAsString() : null);
+        setLines(declaration, metrics::setBeginLine, metrics::setEndLine, metrics::setLineCount);
+        metrics.setParameterCount(declaration.getParameters().size());
+        metrics.setPrimitiveParameterCount((int) declaration.getParameters().stream()
+                .filter(parameter -> parameter.getType().isPrimitiveType())
+                .count());
+        return metrics;
+    }
+
+    private static void setLines(Node node, IntSetter begin, IntSetter end, IntSetter count) {
+        int beginLine = node.getBegin().map(position -> position.line).orElse(-1);
+        int endLine = node.getEnd().map(position -> position.line).orElse(-1);
+        begin.set(beginLine);
+        end.set(endLine);
+        count.set(beginLine >= 0 && endLine >= 0 ? endLine - beginLine + 1 : 0);
+    }
+
+    @FunctionalInterface
+    private interface IntSetter {
+        void set(int value);
+    }
+
+    /**
+     * The method or constructor being walked, with the calls seen in it so far.
+     */
+    private static final class Callable {
+
+        private final MethodMetrics metrics;
+        private final Set<String> calls = new HashSet<>();
+
+        private Callable(MethodMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+}
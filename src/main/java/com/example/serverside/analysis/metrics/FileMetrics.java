@@ -0,0 +1,50 @@
+package com.example.serverside.analysis.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structural metrics of the classes, methods and constructors of one file, each in source order.
+ */
+public class FileMetrics {
+
+    private List<ClassMetrics> classes = new ArrayList<>(); // Classes and interfaces, nested ones included
+
+    private List<MethodMetrics> methods = new ArrayList<>(); // Methods and constructors, of nested types included
+
+    /**
+     * Gets the metrics of the classes and interfaces of the file.
+     *
+     * @return The class metrics in source order.
+     */
+    public List<ClassMetrics> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Sets the metrics of the classes and interfaces of the file.
+     *
+     * @param classes The class metrics in source order.
+     */
+    public void setClasses(List<ClassMetrics> classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * Gets the metrics of the methods and constructors of the file.
+     *
+     * @return The method metrics in source order.
+     */
+    public List<MethodMetrics> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Sets the metrics of the methods and constructors of the file.
+     *
+     * @param methods The method metrics in source order.
+     */
+    public void setMethods(List<MethodMetrics> methods) {
+        this.methods = methods;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.serverside.analysis.metrics;
+
+/**
+ * Structural metrics of one method or constructor.
+ */
+public class MethodMetrics {
+
+    /**
+     * The kind of callable the metrics describe.
+     */
+    public enum Kind {
+        METHOD,
+        CONSTRUCTOR
+    }
+
+    private Kind kind; // Method or constructor
+
+    private String name; // Simple name of the method or constructor
+
+    private String declaration; // Declaration of a constructor as written, null for a method
+
+    private int beginLine; // First line, or -1 if unknown
+
+    private int endLine; // Last line, or -1 if unknown
+
+    private int lineCount; // Lines from the first to the last, or 0 if unknown
+
+    private int parameterCount; // Declared parameters
+
+    private int primitiveParameterCount; // Declared parameters of a primitive type
+
+    private int statementCount; // Statements other than blocks, not counting those of nested types
+
+    private int nestingDepth; // Deepest nesting of control-flow statements
+
+    private int fanOut; // Distinct methods called, by name and argument count
+
+    /**
+     * Gets the kind of callable.
+     *
+     * @return METHOD or CONSTRUCTOR.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Sets the kind of callable.
+     *
+     * @param kind METHOD or CONSTRUCTOR.
+     */
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * Gets the simple name of the method or constructor.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the simple name of the method or constructor.
+     *
+     * @param name The name.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the declaration of a constructor as written, such as {@code public Point(int x, int y)}.
+     *
+     * @return The declaration, or null for a method.
+     */
+    public String getDeclaration() {
+        return declaration;
+    }
+
+    /**
+     * Sets the declaration of a constructor as written.
+     *
+     * @param declaration The declaration, or null for a method.
+     */
+    public void setDeclaration(String declaration) {
+        this.declaration = declaration;
+    }
+
+    /**
+     * Gets the first line.
+     *
+     * @return The first line, or -1 if unknown.
+     */
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    /**
+     * Sets the first line.
+     *
+     * @param beginLine The first line, or -1 if unknown.
+     */
+    public void setBeginLine(int beginLine) {
+        this.beginLine = beginLine;
+    }
+
+    /**
+     * Gets the last line.
+     *
+     * @return The last line, or -1 if unknown.
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Sets the last line.
+     *
+     * @param endLine The last line, or -1 if unknown.
+     */
+    public void setEndLine(int endLine) {
+        this.endLine = endLine;
+    }
+
+    /**
+     * Gets the number of lines from the first to the last.
+     *
+     * @return The line count, or 0 if unknown.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Sets the number of lines from the first to the last.
+     *
+     * @param lineCount The line count, or 0 if unknown.
+     */
+    public void setLineCount(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Gets the number of declared parameters.
+     *
+     * @return The parameter count.
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Sets the number of declared parameters.
+     *
+     * @param parameterCount The parameter count.
+     */
+    public void setParameterCount(int parameterCount) {
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Gets the number of declared parameters of a primitive type.
+     *
+     * @return The primitive parameter count.
+     */
+    public int getPrimitiveParameterCount() {
+        return primitiveParameterCount;
+    }
+
+    /**
+     * Sets the number of declared parameters of a primitive type.
+     *
+     * @param primitiveParameterCount The primitive parameter count.
+     */
+    public void setPrimitiveParameterCount(int primitiveParameterCount) {
+        this.primitiveParameterCount = primitiveParameterCount;
+    }
+
+    /**
+     * Gets the number of statements other than blocks, including those in lambdas but not those of nested types.
+     *
+     * @return The statement count.
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Sets the number of statements other than blocks.
+     *
+     * @param statementCount The statement count.
+     */
+    public void setStatementCount(int statementCount) {
+        this.statementCount = statementCount;
+    }
+
+    /**
+     * Gets the deepest nesting of control-flow statements; an {@code else if} is at the depth of its {@code if}.
+     *
+     * @return The nesting depth, 0 for straight-line code.
+     */
+    public int getNestingDepth() {
+        return nestingDepth;
+    }
+
+    /**
+     * Sets the deepest nesting of control-flow statements.
+     *
+     * @param nestingDepth The nesting depth.
+     */
+    public void setNestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+    }
+
+    /**
+     * Gets the number of distinct methods called, told apart by name and argument count.
+     *
+     * @return The fan-out.
+     */
+    public int getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * Sets the number of distinct methods called.
+     *
+     * @param fanOut The fan-out.
+     */
+    public void setFanOut(int fanOut) {
+        this.fanOut = fanOut;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.serverside.analysis.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates the code smells that depend only on structural metrics against a set of thresholds.
+ * Works the same on metrics extracted from a freshly parsed file and on metrics loaded from the database, so stored
+ * files can be re-evaluated under new thresholds without fetching or parsing them again.
+ */
+public final class MetricSmellEvaluator {
+
+    private MetricSmellEvaluator() {
+    }
+
+    /**
+     * Evaluates every metric-based smell of a file.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @return The smell messages, grouped by smell in the order the code smell analysis reports them.
+     */
+    public static List<String> evaluate(FileMetrics metrics, SmellThresholds thresholds) {
+        List<String> smells = new ArrayList<>();
+        checkParameters(metrics, thresholds, smells);
+        checkLongMethod(metrics, thresholds, smells);
+        checkGodClass(metrics, thresholds, smells);
+        checkLargeClass(metrics, thresholds, smells);
+        checkDataClumps(metrics, thresholds, smells);
+        checkPrimitives(metrics, thresholds, smells);
+        return smells;
+    }
+
+    /**
+     * Reports methods with at least the threshold number of parameters.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @param smells     The list violation messages are added to.
+     */
+    public static void checkParameters(FileMetrics metrics, SmellThresholds thresholds, List<String> smells) {
+        for (MethodMetrics method : metrics.getMethods()) {
+            if (method.getKind() == MethodMetrics.Kind.METHOD
+                    && method.getParameterCount() >= thresholds.getMaxMethodParams()) {
+                smells.add(String.format("Violation at line %d: Method Parameters : The Method '%s' has too many parameters (%d).",
+                        method.getBeginLine(), method.getName(), method.getParameterCount()));
+            }
+        }
+    }
+
+    /**
+     * Reports methods longer than the threshold number of lines.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @param smells     The list violation messages are added to.
+     */
+    public static void checkLongMethod(FileMetrics metrics, SmellThresholds thresholds, List<String> smells) {
+        for (MethodMetrics method : metrics.getMethods()) {
+            if (method.getKind() == MethodMetrics.Kind.METHOD
+                    && method.getLineCount() > thresholds.getMaxMethodLength()) {
+                smells.add(String.format("Violation at line %d: Method Length : The Method '%s' is too long (%d lines).",
+                        method.getBeginLine(), method.getName(), method.getLineCount()));
+            }
+        }
+    }
+
+    /**
+     * Reports classes, not interfaces, with more methods than the threshold.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @param smells     The list violation messages are added to.
+     */
+    public static void checkGodClass(FileMetrics metrics, SmellThresholds thresholds, List<String> smells) {
+        for (ClassMetrics type : metrics.getClasses()) {
+            if (!type.isInterfaceType() && type.getMethodCount() > thresholds.getMaxClassMethods()) {
+                smells.add(String.format("Violation at line %d: God Class : Class '%s' has too many methods (%d methods).",
+                        type.getBeginLine(), type.getName(), type.getMethodCount()));
+            }
+        }
+    }
+
+    /**
+     * Reports classes, not interfaces, longer than the threshold number of lines.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @param smells     The list violation messages are added to.
+     */
+    public static void checkLargeClass(FileMetrics metrics, SmellThresholds thresholds, List<String> smells) {
+        for (ClassMetrics type : metrics.getClasses()) {
+            if (!type.isInterfaceType() && type.getLineCount() > thresholds.getMaxClassLength()) {
+                smells.add(String.format("Violation at line %d: Large Class : Class '%s' is too large (%d lines).",
+                        type.getBeginLine(), type.getName(), type.getLineCount()));
+            }
+        }
+    }
+
+    /**
+     * Reports constructors with more parameters than the threshold.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @param smells     The list violation messages are added to.
+     */
+    public static void checkDataClumps(FileMetrics metrics, SmellThresholds thresholds, List<String> smells) {
+        for (MethodMetrics constructor : metrics.getMethods()) {
+            if (constructor.getKind() == MethodMetrics.Kind.CONSTRUCTOR
+                    && constructor.getParameterCount() > thresholds.getMaxConstructorParams()) {
+                smells.add(String.format("Violation at line %d: Data Clumps : Constructor '%s' has too many parameters (%d).",
+                        constructor.getBeginLine(), constructor.getDeclaration(), constructor.getParameterCount()));
+            }
+        }
+    }
+
+    /**
+     * Reports methods with more primitive parameters than the threshold.
+     *
+     * @param metrics    The metrics of the file.
+     * @param thresholds The thresholds to apply.
+     * @param smells     The list violation messages are added to.
+     */
+    public static void checkPrimitives(FileMetrics metrics, SmellThresholds thresholds, List<String> smells) {
+        for (MethodMetrics method : metrics.getMethods()) {
+            if (method.getKind() == MethodMetrics.Kind.METHOD
+                    && method.getPrimitiveParameterCount() > thresholds.getMaxPrimitiveParams()) {
+                smells.add(String.format("Violation at line %d: Primitive Obsession : Method '%s' has primitive obsession with %d primitive parameters.",
+                        method.getBeginLine(), method.getName(), method.getPrimitiveParameterCount()));
+            }
+        }
+    }
+}
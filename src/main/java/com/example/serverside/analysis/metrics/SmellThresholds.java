@@ -0,0 +1,129 @@
+package com.example.serverside.analysis.metrics;
+
+/**
+ * Thresholds for the code smells evaluated from {@link FileMetrics}.
+ * A new instance holds the defaults the code smell analysis has always used; request parameters of the same names
+ * override them.
+ */
+public class SmellThresholds {
+
+    private int maxMethodParams = 3; // Methods with this many parameters or more
+
+    private int maxMethodLength = 30; // Methods longer than this many lines
+
+    private int maxClassMethods = 10; // Classes with more methods than this
+
+    private int maxClassLength = 200; // Classes longer than this many lines
+
+    private int maxConstructorParams = 5; // Constructors with more parameters than this
+
+    private int maxPrimitiveParams = 3; // Methods with more primitive parameters than this
+
+    /**
+     * Gets the parameter count at which a method has too many parameters.
+     *
+     * @return The parameter threshold, reached at or above.
+     */
+    public int getMaxMethodParams() {
+        return maxMethodParams;
+    }
+
+    /**
+     * Sets the parameter count at which a method has too many parameters.
+     *
+     * @param maxMethodParams The parameter threshold, reached at or above.
+     */
+    public void setMaxMethodParams(int maxMethodParams) {
+        this.maxMethodParams = maxMethodParams;
+    }
+
+    /**
+     * Gets the number of lines above which a method is too long.
+     *
+     * @return The method length threshold.
+     */
+    public int getMaxMethodLength() {
+        return maxMethodLength;
+    }
+
+    /**
+     * Sets the number of lines above which a method is too long.
+     *
+     * @param maxMethodLength The method length threshold.
+     */
+    public void setMaxMethodLength(int maxMethodLength) {
+        this.maxMethodLength = maxMethodLength;
+    }
+
+    /**
+     * Gets the number of methods above which a class is a God Class.
+     *
+     * @return The method count threshold.
+     */
+    public int getMaxClassMethods() {
+        return maxClassMethods;
+    }
+
+    /**
+     * Sets the number of methods above which a class is a God Class.
+     *
+     * @param maxClassMethods The method count threshold.
+     */
+    public void setMaxClassMethods(int maxClassMethods) {
+        this.maxClassMethods = maxClassMethods;
+    }
+
+    /**
+     * Gets the number of lines above which a class is too large.
+     *
+     * @return The class length threshold.
+     */
+    public int getMaxClassLength() {
+        return maxClassLength;
+    }
+
+    /**
+     * Sets the number of lines above which a class is too large.
+     *
+     * @param maxClassLength The class length threshold.
+     */
+    public void setMaxClassLength(int maxClassLength) {
+        this.maxClassLength = maxClassLength;
+    }
+
+    /**
+     * Gets the number of parameters above which a constructor is a Data Clump.
+     *
+     * @return The constructor parameter threshold.
+     */
+    public int getMaxConstructorParams() {
+        return maxConstructorParams;
+    }
+
+    /**
+     * Sets the number of parameters above which a constructor is a Data Clump.
+     *
+     * @param maxConstructorParams The constructor parameter threshold.
+     */
+    public void setMaxConstructorParams(int maxConstructorParams) {
+        this.maxConstructorParams = maxConstructorParams;
+    }
+
+    /**
+     * Gets the number of primitive parameters above which a method has Primitive Obsession.
+     *
+     * @return The primitive parameter threshold.
+     */
+    public int getMaxPrimitiveParams() {
+        return maxPrimitiveParams;
+    }
+
+    /**
+     * Sets the number of primitive parameters above which a method has Primitive Obsession.
+     *
+     * @param maxPrimitiveParams The primitive parameter threshold.
+     */
+    public void setMaxPrimitiveParams(int maxPrimitiveParams) {
+        this.maxPrimitiveParams = maxPrimitiveParams;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.observer.AstObserver;
+import com.github.javaparser.ast.observer.ObservableProperty;
+import com.github.javaparser.printer.DefaultPrettyPrinter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache of parsed sources keyed by a hash of the content and the parse profile, so that calling the
+ * analysers one after another on the same file parses it once.
+ *
+ * Entries are weighed by an estimate of their retained heap, derived from the node count and the source size, and
+ * the least recently used entries are evicted once the total weight exceeds the budget. The budget is the smaller of
+ * a fixed byte limit and a percentage of the maximum heap.
+ *
+ * Cached compilation units are shared between requests and threads, so they are handed out read-only: any attempt to
+ * modify a node throws an {@link UnsupportedOperationException}.
+ */
+@Component
+public class CompilationUnitCache {
+
+    static final long BYTES_PER_NODE = 272; // Node, ranges, child lists, observer registration and index slots
+    static final long BYTES_PER_SOURCE_CHAR = 12; // Tokens keep their text and links to their neighbours
+
+    private static final AstObserver READ_ONLY = new ReadOnlyObserver();
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a CompilationUnitCache with a 64 MiB budget, capped at 10% of the maximum heap.
+     */
+    public CompilationUnitCache() {
+        this(64L * 1024 * 1024, 10);
+    }
+
+    /**
+     * Constructs a CompilationUnitCache.
+     *
+     * @param maxBytes       Upper bound on the estimated heap held by cached entries.
+     * @param maxHeapPercent Upper bound on the same estimate as a percentage of the maximum heap.
+     */
+    @Autowired
+    public CompilationUnitCache(@Value("${analysis.ast-cache.max-bytes:67108864}") long maxBytes,
+                                @Value("${analysis.ast-cache.max-heap-percent:10}") int maxHeapPercent) {
+        this.maxBytes = Math.min(maxBytes, Runtime.getRuntime().maxMemory() / 100 * maxHeapPercent);
+    }
+
+    /**
+     * Gets the parsed form of source code, parsing it only if it is not cached yet.
+     * The returned compilation unit is read-only and may be shared with other callers.
+     *
+     * @param code    The source code to parse. A null value is treated as an empty file.
+     * @param profile The parse profile matching what the calling analysis needs.
+     * @return The recovered compilation unit and any parse problems.
+     */
+    public ParsedSource parse(String code, ParseProfile profile) {
+        String source = code == null ? "" : code;
+        String key = key(source, profile);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                return entry.parsed;
+            }
+            missCount++;
+        }
+
+        ParsedSource parsed = JavaSourceParser.parse(source, profile);
+        long entryWeight = seal(parsed.getCompilationUnit(), source);
+        if (entryWeight <= maxBytes) {
+            synchronized (this) {
+                Entry previous = entries.put(key, new Entry(parsed, entryWeight));
+                if (previous != null) {
+                    weight -= previous.weight;
+                }
+                weight += entryWeight;
+                putCount++;
+                evictIfNeeded();
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Makes a compilation unit read-only and estimates the heap it retains.
+     * The pretty printer and the node index are also set up front, as they would otherwise be stored in the unit on
+     * first use, which is not safe once the unit is shared between threads.
+     *
+     * @param cu     The compilation unit to seal.
+     * @param source The source it was parsed from.
+     * @return The estimated retained heap in bytes.
+     */
+    private static long seal(CompilationUnit cu, String source) {
+        cu.printer(new DefaultPrettyPrinter());
+        cu.registerForSubtree(READ_ONLY);
+        return NodeIndex.of(cu).size() * BYTES_PER_NODE + source.length() * BYTES_PER_SOURCE_CHAR;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (weight > maxBytes && iterator.hasNext()) {
+            weight -= iterator.next().getValue().weight;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static String key(String source, ParseProfile profile) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return profile.name() + ":" + HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Gets the budget for the estimated heap held by cached entries.
+     *
+     * @return The budget in bytes.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Gets the estimated heap held by cached entries.
+     *
+     * @return The estimate in bytes.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return The number of entries.
+     */
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that had to parse the source.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of entries added to the cache.
+     *
+     * @return The put count.
+     */
+    public synchronized long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the budget.
+     *
+     * @return The eviction count.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * A cached parse together with its estimated weight.
+     */
+    private static final class Entry {
+        private final ParsedSource parsed;
+        private final long weight;
+
+        private Entry(ParsedSource parsed, long weight) {
+            this.parsed = parsed;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Rejects every change to the nodes it observes. Observers are notified before a change is applied, so throwing
+     * here leaves the tree untouched.
+     */
+    private static final class ReadOnlyObserver implements AstObserver {
+
+        @Override
+        public void propertyChange(Node observedNode, ObservableProperty property, Object oldValue, Object newValue) {
+            throw readOnly();
+        }
+
+        @Override
+        public void parentChange(Node observedNode, Node previousParent, Node newParent) {
+            throw readOnly();
+        }
+
+        @Override
+        public void listChange(NodeList<?> observedNode, ListChangeType type, int index, Node nodeAddedOrRemoved) {
+            throw readOnly();
+        }
+
+        @Override
+        public void listReplacement(NodeList<?> observedNode, int index, Node oldNode, Node newNode) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Cached compilation units are read-only");
+        }
+    }
+}
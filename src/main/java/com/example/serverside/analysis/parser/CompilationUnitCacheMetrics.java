@@ -0,0 +1,69 @@
+package com.example.serverside.analysis.parser;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the standard cache metrics ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions},
+ * {@code cache.size}) for the {@link CompilationUnitCache} under the cache name {@code ast}, along with its
+ * estimated weight and budget. The hit rate is {@code cache.gets{result=hit}} over all {@code cache.gets}.
+ */
+@Component
+public class CompilationUnitCacheMetrics extends CacheMeterBinder<CompilationUnitCache> {
+
+    /**
+     * Constructs a CompilationUnitCacheMetrics.
+     *
+     * @param cache The cache to report on.
+     */
+    public CompilationUnitCacheMetrics(CompilationUnitCache cache) {
+        super(cache, "ast", Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        CompilationUnitCache cache = getCache();
+        return cache == null ? null : cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        CompilationUnitCache cache = getCache();
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        CompilationUnitCache cache = getCache();
+        return cache == null ? null : cache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        CompilationUnitCache cache = getCache();
+        return cache == null ? null : cache.getEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        CompilationUnitCache cache = getCache();
+        return cache == null ? 0 : cache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.weight", getCache(), CompilationUnitCache::getWeight)
+                .tags(getTagsWithCacheName())
+                .description("Estimated heap held by cached compilation units")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.max.weight", getCache(), CompilationUnitCache::getMaxBytes)
+                .tags(getTagsWithCacheName())
+                .description("Budget for the estimated heap held by cached compilation units")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.stmt.DoStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The enclosing context of every node of a compilation unit, computed in a single walk of the tree: the nearest
+ * enclosing type, method or constructor, synchronized scope, lambda, field and variable declaration, and the loop
+ * depth. Rules that used to walk up the parent chain for each node they visit read these in constant time instead.
+ *
+ * Like the {@link NodeIndex}, the contexts are stored in the compilation unit's data, built on first use, and are a
+ * snapshot of the tree. Nodes share one {@link Context} object until a node changes one of its attributes, so the
+ * cost is one map entry per node.
+ */
+public final class EnclosingContexts {
+
+    private static final DataKey<EnclosingContexts> KEY = new DataKey<>() {
+    };
+
+    private final Map<Node, Context> contexts = new IdentityHashMap<>(); // Node equality is structural
+
+    private EnclosingContexts(CompilationUnit cu) {
+        Deque<Node> pending = new ArrayDeque<>();
+        contexts.put(cu, Context.ROOT);
+        pending.push(cu);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            Context inner = contexts.get(node).enter(node);
+            for (Node child : node.getChildNodes()) {
+                contexts.put(child, inner);
+                pending.push(child);
+            }
+        }
+    }
+
+    /**
+     * Gets the contexts of the nodes of a compilation unit, computing them on first use.
+     *
+     * @param cu The compilation unit.
+     * @return The enclosing contexts of the compilation unit.
+     */
+    public static EnclosingContexts of(CompilationUnit cu) {
+        synchronized (cu) {
+            if (cu.containsData(KEY)) {
+                return cu.getData(KEY);
+            }
+            EnclosingContexts contexts = new EnclosingContexts(cu);
+            cu.setData(KEY, contexts);
+            return contexts;
+        }
+    }
+
+    /**
+     * Gets the context of a node, through the contexts of its compilation unit when it has one.
+     * Prefer {@link #of(CompilationUnit)} when the compilation unit is at hand, as finding it walks up the tree.
+     *
+     * @param node The node.
+     * @return The context the node is in.
+     */
+    public static Context contextOf(Node node) {
+        return node.findCompilationUnit().map(cu -> of(cu).get(node)).orElseGet(() -> derive(node));
+    }
+
+    /**
+     * Gets the context of a node of the compilation unit.
+     * A node added to the tree after the contexts were computed gets its context from its ancestors.
+     *
+     * @param node The node.
+     * @return The context the node is in.
+     */
+    public Context get(Node node) {
+        Context context = contexts.get(node);
+        return context != null ? context : derive(node);
+    }
+
+    private static Context derive(Node node) {
+        return node.getParentNode().map(parent -> derive(parent).enter(parent)).orElse(Context.ROOT);
+    }
+
+    /**
+     * What encloses a node, not counting the node itself. Type, method and field attributes reach as far out as the
+     * file, so a local or anonymous class is inside the method and synchronized scope around it. The loop depth and
+     * lambda only count within the nearest method, constructor or type.
+     */
+    public static final class Context {
+
+        static final Context ROOT = new Context(null, null, null, null, null, null, null, 0);
+
+        private final TypeDeclaration<?> type;
+        private final ClassOrInterfaceDeclaration classDeclaration;
+        private final CallableDeclaration<?> callable;
+        private final Node synchronizedScope;
+        private final LambdaExpr lambda;
+        private final FieldDeclaration field;
+        private final VariableDeclarator variable;
+        private final int loopDepth;
+
+        private Context(TypeDeclaration<?> type, ClassOrInterfaceDeclaration classDeclaration,
+                        CallableDeclaration<?> callable, Node synchronizedScope, LambdaExpr lambda,
+                        FieldDeclaration field, VariableDeclarator variable, int loopDepth) {
+            this.type = type;
+            this.classDeclaration = classDeclaration;
+            this.callable = callable;
+            this.synchronizedScope = synchronizedScope;
+            this.lambda = lambda;
+            this.field = field;
+            this.variable = variable;
+            this.loopDepth = loopDepth;
+        }
+
+        /**
+         * Gets the context of the children of a node in this context.
+         */
+        private Context enter(Node node) {
+            if (node instanceof TypeDeclaration) {
+                ClassOrInterfaceDeclaration innerClass = node instanceof ClassOrInterfaceDeclaration
+                        ? (ClassOrInterfaceDeclaration) node : classDeclaration;
+                return new Context((TypeDeclaration<?>) node, innerClass, callable, synchronizedScope, null,
+                        field, variable, 0);
+            }
+            if (node instanceof CallableDeclaration) {
+                boolean synchronizedMethod = node instanceof MethodDeclaration
+                        && ((MethodDeclaration) node).isSynchronized();
+                return new Context(type, classDeclaration, (CallableDeclaration<?>) node,
+                        synchronizedMethod ? node : synchronizedScope, null, field, variable, 0);
+            }
+            if (node instanceof SynchronizedStmt) {
+                return new Context(type, classDeclaration, callable, node, lambda, field, variable, loopDepth);
+            }
+            if (node instanceof ForStmt || node instanceof ForEachStmt || node instanceof WhileStmt
+                    || node instanceof DoStmt) {
+                return new Context(type, classDeclaration, callable, synchronizedScope, lambda, field, variable,
+                        loopDepth + 1);
+            }
+            if (node instanceof LambdaExpr) {
+                return new Context(type, classDeclaration, callable, synchronizedScope, (LambdaExpr) node,
+                        field, variable, loopDepth);
+            }
+            if (node instanceof FieldDeclaration) {
+                return new Context(type, classDeclaration, callable, synchronizedScope, lambda,
+                        (FieldDeclaration) node, variable, loopDepth);
+            }
+            if (node instanceof VariableDeclarator) {
+                return new Context(type, classDeclaration, callable, synchronizedScope, lambda, field,
+                        (VariableDeclarator) node, loopDepth);
+            }
+            return this;
+        }
+
+        /**
+         * Gets the nearest enclosing class, interface, enum, record or annotation declaration.
+         *
+         * @return The enclosing type, or empty at the top level of the file.
+         */
+        public Optional<TypeDeclaration<?>> getType() {
+            return Optional.ofNullable(type);
+        }
+
+        /**
+         * Gets the nearest enclosing class or interface declaration, skipping enums, records and annotations.
+         *
+         * @return The enclosing class or interface, or empty if there is none.
+         */
+        public Optional<ClassOrInterfaceDeclaration> getClassDeclaration() {
+            return Optional.ofNullable(classDeclaration);
+        }
+
+        /**
+         * Gets the nearest enclosing method or constructor.
+         *
+         * @return The enclosing method or constructor, or empty outside of one.
+         */
+        public Optional<CallableDeclaration<?>> getCallable() {
+            return Optional.ofNullable(callable);
+        }
+
+        /**
+         * Gets the nearest enclosing synchronized block or synchronized method.
+         *
+         * @return The synchronized scope, or empty if the node is not synchronized.
+         */
+        public Optional<Node> getSynchronizedScope() {
+            return Optional.ofNullable(synchronizedScope);
+        }
+
+        /**
+         * Determines whether the node is inside a synchronized block or synchronized method.
+         *
+         * @return true if the node is synchronized, false otherwise.
+         */
+        public boolean isSynchronized() {
+            return synchronizedScope != null;
+        }
+
+        /**
+         * Gets the nearest enclosing lambda within the enclosing method, constructor or type.
+         *
+         * @return The enclosing lambda, or empty outside of one.
+         */
+        public Optional<LambdaExpr> getLambda() {
+            return Optional.ofNullable(lambda);
+        }
+
+        /**
+         * Gets the nearest enclosing field declaration.
+         *
+         * @return The enclosing field declaration, or empty outside of one.
+         */
+        public Optional<FieldDeclaration> getField() {
+            return Optional.ofNullable(field);
+        }
+
+        /**
+         * Gets the nearest enclosing variable declarator, of a field or of a local variable.
+         *
+         * @return The enclosing variable declarator, or empty outside of one.
+         */
+        public Optional<VariableDeclarator> getVariable() {
+            return Optional.ofNullable(variable);
+        }
+
+        /**
+         * Gets the number of loops around the node within the enclosing method, constructor or type. A loop's header
+         * counts as inside it.
+         *
+         * @return The loop depth, 0 outside of any loop.
+         */
+        public int getLoopDepth() {
+            return loopDepth;
+        }
+    }
+}
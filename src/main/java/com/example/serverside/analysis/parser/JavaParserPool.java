@@ -0,0 +1,29 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.JavaParser;
+
+import java.util.EnumMap;
+
+/**
+ * Holds one reusable {@link JavaParser} per thread and profile.
+ * {@code JavaParser} instances are not thread-safe, so rather than sharing one global configuration like
+ * {@code StaticJavaParser}, each worker thread keeps its own parsers and their configurations for its lifetime.
+ */
+public final class JavaParserPool {
+
+    private static final ThreadLocal<EnumMap<ParseProfile, JavaParser>> PARSERS =
+            ThreadLocal.withInitial(() -> new EnumMap<>(ParseProfile.class));
+
+    private JavaParserPool() {
+    }
+
+    /**
+     * Gets the calling thread's parser for a profile, creating it on first use.
+     *
+     * @param profile The parse profile.
+     * @return A parser that must only be used by the calling thread.
+     */
+    public static JavaParser get(ParseProfile profile) {
+        return PARSERS.get().computeIfAbsent(profile, key -> new JavaParser(key.newConfiguration()));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.Problem;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.comments.CommentsCollection;
+import com.github.javaparser.ast.comments.JavadocComment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Error-tolerant entry point for parsing source code in the analysers.
+ * Unlike {@code StaticJavaParser.parse}, which throws on the first syntax error, this returns the partial AST the
+ * parser recovered along with the reported problems, so one broken construct does not discard the whole analysis.
+ */
+public final class JavaSourceParser {
+
+    private static final Pattern CONFLICT_MARKER = Pattern.compile("^(<{7}|\\|{7}|={7}|>{7})(?: .*)?$", Pattern.MULTILINE);
+
+    private JavaSourceParser() {
+    }
+
+    /**
+     * Parses source code with the {@link ParseProfile#DOCUMENTED} profile, recovering as much of the AST as possible.
+     *
+     * @param code The source code to parse. A null value is treated as an empty file.
+     * @return The recovered compilation unit and any parse problems.
+     */
+    public static ParsedSource parse(String code) {
+        return parse(code, ParseProfile.DOCUMENTED);
+    }
+
+    /**
+     * Parses source code with the calling thread's parser for a profile, recovering as much of the AST as possible.
+     * Lines holding merge conflict markers are blanked before parsing, keeping both sides of the conflict, because a
+     * single marker at class level would otherwise leave nothing to analyse.
+     *
+     * @param code    The source code to parse. A null value is treated as an empty file.
+     * @param profile The parse profile matching what the calling analysis needs.
+     * @return The recovered compilation unit and any parse problems.
+     */
+    public static ParsedSource parse(String code, ParseProfile profile) {
+        List<String> problems = new ArrayList<>();
+        String original = code == null ? "" : code;
+        String source = blankConflictMarkers(original, problems);
+        ParseResult<CompilationUnit> parseResult = JavaParserPool.get(profile).parse(source);
+        for (Problem problem : parseResult.getProblems()) {
+            problems.add(formatProblem(problem));
+        }
+        CompilationUnit cu = parseResult.getResult().orElseGet(CompilationUnit::new);
+        if (profile.isAttributeComments() && !parseResult.isSuccessful()) {
+            parseResult.getCommentsCollection().ifPresent(comments -> attributeJavadoc(cu, comments));
+        }
+        return new ParsedSource(cu, problems, original);
+    }
+
+    /**
+     * Attaches Javadoc comments to the declarations directly below them.
+     * The parser only attributes comments when the whole file parsed, so without this every declaration in a
+     * partially parsed file would appear to lack Javadoc.
+     *
+     * @param cu       The recovered compilation unit.
+     * @param comments The comments collected while parsing.
+     */
+    static void attributeJavadoc(CompilationUnit cu, CommentsCollection comments) {
+        List<BodyDeclaration<?>> declarations = new ArrayList<>();
+        for (BodyDeclaration<?> declaration : cu.findAll(BodyDeclaration.class)) {
+            if (declaration.getBegin().isPresent()) {
+                declarations.add(declaration);
+            }
+        }
+        declarations.sort(Comparator.comparing(declaration -> declaration.getBegin().get()));
+        for (Comment comment : comments.getComments()) {
+            if (!(comment instanceof JavadocComment) || comment.getEnd().isEmpty()) {
+                continue;
+            }
+            int endLine = comment.getEnd().get().line;
+            for (BodyDeclaration<?> declaration : declarations) {
+                if (declaration.getBegin().get().isAfter(comment.getEnd().get())) {
+                    if (declaration.getBegin().get().line - endLine <= 1 && declaration.getComment().isEmpty()) {
+                        declaration.setComment(comment);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces merge conflict marker lines with empty lines, so line numbers in results still match the file.
+     *
+     * @param code     The source code.
+     * @param problems The list receiving one problem per marker found.
+     * @return The source code without conflict markers.
+     */
+    static String blankConflictMarkers(String code, List<String> problems) {
+        Matcher matcher = CONFLICT_MARKER.matcher(code);
+        if (!matcher.find()) {
+            return code;
+        }
+        StringBuilder cleaned = new StringBuilder(code.length());
+        LineIndex lines = LineIndex.of(code);
+        int last = 0;
+        do {
+            int line = lines.getLineOf(matcher.start());
+            problems.add(String.format("Parse problem at line %d: Unresolved merge conflict marker", line));
+            cleaned.append(code, last, matcher.start());
+            last = matcher.end();
+        } while (matcher.find());
+        cleaned.append(code, last, code.length());
+        return cleaned.toString();
+    }
+
+    /**
+     * Formats a parse problem in the same style as rule violations. The list of expected tokens is dropped, as it
+     * is noise in a result.
+     *
+     * @param problem The problem reported by the parser.
+     * @return The formatted problem.
+     */
+    static String formatProblem(Problem problem) {
+        String message = problem.getMessage();
+        int newline = message.indexOf('\n');
+        if (newline >= 0) {
+            message = message.substring(0, newline).trim();
+        }
+        int expected = message.indexOf(", expected one of");
+        if (expected >= 0) {
+            message = message.substring(0, expected);
+        }
+        int line = problem.getLocation()
+                .flatMap(range -> range.getBegin().getRange())
+                .map(range -> range.begin.line)
+                .orElse(-1);
+        return line > 0 ? String.format("Parse problem at line %d: %s", line, message) : "Parse problem: " + message;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.serverside.analysis.parser;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * The start offset of every line of a source file, computed in one pass over the characters.
+ *
+ * Rules that report or inspect lines read them through the index instead of splitting the source, so a line is a
+ * {@link CharSequence} view over the source and text is only copied for the lines that end up in a message. Lines
+ * are numbered from 1 and end at {@code \n}, {@code \r\n} or a lone {@code \r}, as the parser counts them, so line
+ * numbers from AST positions can be used directly.
+ */
+public final class LineIndex {
+
+    private final CharSequence source;
+    private final int[] starts; // Offset of the first character of each line, then the length of the source
+    private final int lineCount;
+
+    private LineIndex(CharSequence source) {
+        this.source = source;
+        int length = source.length();
+        int[] offsets = new int[Math.max(16, length / 32)];
+        int count = 0;
+        offsets[count++] = 0;
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < length && source.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = i + 1;
+            }
+        }
+        // A final line break does not start another line, except in an empty source, which has one empty line
+        this.lineCount = count > 1 && offsets[count - 1] == length ? count - 1 : count;
+        this.starts = Arrays.copyOf(offsets, lineCount + 1);
+        this.starts[lineCount] = length;
+    }
+
+    /**
+     * Builds the line index of source code.
+     *
+     * @param source The source code. A null value is treated as an empty file.
+     * @return The line index.
+     */
+    public static LineIndex of(CharSequence source) {
+        return new LineIndex(source == null ? "" : source);
+    }
+
+    /**
+     * Gets the source the index was built from.
+     *
+     * @return The source code.
+     */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the number of lines.
+     *
+     * @return The line count, at least 1.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Gets the offset of the first character of a line.
+     *
+     * @param line The line number, from 1.
+     * @return The offset of the line in the source.
+     * @throws IndexOutOfBoundsException if there is no such line.
+     */
+    public int getLineStart(int line) {
+        checkLine(line);
+        return starts[line - 1];
+    }
+
+    /**
+     * Gets the offset just past the last character of a line, not counting its line break.
+     *
+     * @param line The line number, from 1.
+     * @return The end offset of the line in the source.
+     * @throws IndexOutOfBoundsException if there is no such line.
+     */
+    public int getLineEnd(int line) {
+        checkLine(line);
+        int end = starts[line];
+        if (line < lineCount || (end > starts[line - 1] && isLineBreak(source.charAt(end - 1)))) {
+            end--;
+            if (end > starts[line - 1] && source.charAt(end) == '\n' && source.charAt(end - 1) == '\r') {
+                end--;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Gets the length of a line, not counting its line break.
+     *
+     * @param line The line number, from 1.
+     * @return The number of characters in the line.
+     */
+    public int getLineLength(int line) {
+        return getLineEnd(line) - getLineStart(line);
+    }
+
+    /**
+     * Gets the text of a line as a view over the source, without its line break. Nothing is copied until the view is
+     * turned into a string.
+     *
+     * @param line The line number, from 1.
+     * @return The characters of the line.
+     * @throws IndexOutOfBoundsException if there is no such line.
+     */
+    public CharSequence getLine(int line) {
+        return CharBuffer.wrap(source, getLineStart(line), getLineEnd(line));
+    }
+
+    /**
+     * Gets the text of a line without leading or trailing whitespace, for use in a message.
+     *
+     * @param line The line number, from 1.
+     * @return The trimmed line.
+     */
+    public String getTrimmedLine(int line) {
+        int start = getLineStart(line);
+        int end = getLineEnd(line);
+        while (start < end && source.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && source.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return source.subSequence(start, end).toString();
+    }
+
+    /**
+     * Gets the number of spaces a line starts with.
+     *
+     * @param line The line number, from 1.
+     * @return The number of leading spaces.
+     */
+    public int getIndentation(int line) {
+        int start = getLineStart(line);
+        int end = getLineEnd(line);
+        int i = start;
+        while (i < end && source.charAt(i) == ' ') {
+            i++;
+        }
+        return i - start;
+    }
+
+    /**
+     * Gets the line holding a character.
+     *
+     * @param offset The offset of the character in the source.
+     * @return The line number, from 1.
+     * @throws IndexOutOfBoundsException if the offset is outside the source.
+     */
+    public int getLineOf(int offset) {
+        if (offset < 0 || offset > source.length()) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " is outside the source");
+        }
+        int found = Arrays.binarySearch(starts, 0, lineCount, offset);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private void checkLine(int line) {
+        if (line < 1 || line > lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " is outside 1 to " + lineCount);
+        }
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+}
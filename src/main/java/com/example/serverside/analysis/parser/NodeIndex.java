@@ -0,0 +1,119 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Index of the nodes of a compilation unit by type, built in a single walk of the tree.
+ * Lookups return the same nodes, in the same pre-order, as {@link Node#findAll(Class)} on the compilation unit, so
+ * checks that each need all methods, classes or calls of a file no longer walk the whole tree again.
+ *
+ * The index is stored in the compilation unit's data and built on first use. It is a snapshot, so the compilation
+ * unit must not be modified afterwards; units from the {@link CompilationUnitCache} are read-only anyway.
+ */
+public final class NodeIndex {
+
+    private static final DataKey<NodeIndex> KEY = new DataKey<>() {
+    };
+
+    private final List<Node> nodes = new ArrayList<>(); // Every node in pre-order
+    private final Map<Class<?>, List<Node>> byExactType = new HashMap<>();
+    private final ConcurrentMap<Class<?>, List<? extends Node>> byRequestedType = new ConcurrentHashMap<>();
+
+    private NodeIndex(CompilationUnit cu) {
+        cu.walk(node -> {
+            nodes.add(node);
+            byExactType.computeIfAbsent(node.getClass(), type -> new ArrayList<>()).add(node);
+        });
+    }
+
+    /**
+     * Gets the index of a compilation unit, building it on first use.
+     *
+     * @param cu The compilation unit.
+     * @return The node index of the compilation unit.
+     */
+    public static NodeIndex of(CompilationUnit cu) {
+        synchronized (cu) {
+            if (cu.containsData(KEY)) {
+                return cu.getData(KEY);
+            }
+            NodeIndex index = new NodeIndex(cu);
+            cu.setData(KEY, index);
+            return index;
+        }
+    }
+
+    /**
+     * Gets all nodes of a type, including subtypes, in pre-order.
+     *
+     * @param type The node type.
+     * @param <T>  The node type.
+     * @return An unmodifiable list of the matching nodes.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Node> List<T> ofType(Class<T> type) {
+        return (List<T>) byRequestedType.computeIfAbsent(type, this::collect);
+    }
+
+    /**
+     * Gets all nodes of a type, including subtypes, that match a predicate, in pre-order.
+     *
+     * @param type      The node type.
+     * @param predicate The condition the nodes must meet.
+     * @param <T>       The node type.
+     * @return A list of the matching nodes.
+     */
+    public <T extends Node> List<T> ofType(Class<T> type, Predicate<T> predicate) {
+        List<T> matches = new ArrayList<>();
+        for (T node : ofType(type)) {
+            if (predicate.test(node)) {
+                matches.add(node);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the number of nodes in the compilation unit.
+     *
+     * @return The node count.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Collects the nodes of a requested type. When no indexed class is a proper subtype of the requested one, the
+     * nodes are exactly one bucket of the walk; otherwise the buckets are merged by filtering the pre-order list.
+     */
+    private List<? extends Node> collect(Class<?> type) {
+        boolean exactOnly = true;
+        for (Class<?> indexed : byExactType.keySet()) {
+            if (indexed != type && type.isAssignableFrom(indexed)) {
+                exactOnly = false;
+                break;
+            }
+        }
+        if (exactOnly) {
+            return Collections.unmodifiableList(byExactType.getOrDefault(type, Collections.emptyList()));
+        }
+        List<Node> matches = new ArrayList<>();
+        for (Node node : nodes) {
+            if (type.isInstance(node)) {
+                matches.add(node);
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ParserConfiguration;
+
+/**
+ * Parser configurations tuned to what the rules of an analysis need from the AST.
+ * Every profile keeps token storage on, as node ranges and therefore the line numbers in violations depend on it,
+ * and uses an explicit language level so results do not change with the parser library's default.
+ */
+public enum ParseProfile {
+
+    /**
+     * Attributes comments to nodes, for rules that inspect Javadoc or commented-out code.
+     */
+    DOCUMENTED(true),
+
+    /**
+     * Skips comment attribution, for rules that only look at declarations, statements and expressions.
+     */
+    STRUCTURAL(false);
+
+    private static final ParserConfiguration.LanguageLevel LANGUAGE_LEVEL = ParserConfiguration.LanguageLevel.JAVA_17;
+
+    private final boolean attributeComments;
+
+    ParseProfile(boolean attributeComments) {
+        this.attributeComments = attributeComments;
+    }
+
+    /**
+     * Indicates whether this profile attributes comments to nodes.
+     *
+     * @return true if comments are attributed.
+     */
+    public boolean isAttributeComments() {
+        return attributeComments;
+    }
+
+    /**
+     * Creates a new parser configuration for this profile. Each parser gets its own configuration, as
+     * {@link ParserConfiguration} is mutable and not safe to share between threads.
+     *
+     * @return The parser configuration.
+     */
+    ParserConfiguration newConfiguration() {
+        return new ParserConfiguration()
+                .setLanguageLevel(LANGUAGE_LEVEL)
+                .setStoreTokens(true)
+                .setAttributeComments(attributeComments);
+    }
+}
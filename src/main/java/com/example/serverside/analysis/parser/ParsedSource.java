@@ -0,0 +1,88 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of parsing one source file.
+ * Holds whatever AST could be recovered together with the problems the parser reported, so rules can still run on
+ * the parts of a file that parsed.
+ */
+public class ParsedSource {
+
+    private final CompilationUnit compilationUnit; // Recovered AST, empty if nothing could be recovered
+
+    private final List<String> problems; // Parse problems, formatted for display in results
+
+    private final String source; // The parsed source code
+
+    private volatile LineIndex lineIndex; // Built on first use
+
+    /**
+     * Constructs a ParsedSource without its source code, which then has an empty line index.
+     *
+     * @param compilationUnit The recovered compilation unit.
+     * @param problems        The parse problems, empty if the source parsed cleanly.
+     */
+    public ParsedSource(CompilationUnit compilationUnit, List<String> problems) {
+        this(compilationUnit, problems, "");
+    }
+
+    /**
+     * Constructs a ParsedSource.
+     *
+     * @param compilationUnit The recovered compilation unit.
+     * @param problems        The parse problems, empty if the source parsed cleanly.
+     * @param source          The source code the compilation unit was parsed from.
+     */
+    public ParsedSource(CompilationUnit compilationUnit, List<String> problems, String source) {
+        this.compilationUnit = compilationUnit;
+        this.problems = Collections.unmodifiableList(problems);
+        this.source = source;
+    }
+
+    /**
+     * Gets the recovered compilation unit. It is never null; a file that could not be parsed at all yields an
+     * empty compilation unit.
+     *
+     * @return The compilation unit.
+     */
+    public CompilationUnit getCompilationUnit() {
+        return compilationUnit;
+    }
+
+    /**
+     * Gets the line index of the source code, building it on first use. Cached sources share their index between
+     * requests, so each file is indexed once.
+     *
+     * @return The line index.
+     */
+    public LineIndex getLineIndex() {
+        LineIndex index = lineIndex;
+        if (index == null) {
+            index = LineIndex.of(source);
+            lineIndex = index; // Building it twice in a race is harmless
+        }
+        return index;
+    }
+
+    /**
+     * Gets the parse problems.
+     *
+     * @return An unmodifiable list of problem descriptions.
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Indicates whether the source parsed without problems.
+     *
+     * @return true if no problems were reported.
+     */
+    public boolean isSuccessful() {
+        return problems.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.serverside.analysis.prefilter;
+
+import com.example.serverside.analysis.dataflow.TaintRules;
+import com.example.serverside.analysis.secrets.SecretScanner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The families of rules run by the security analysis, with the keywords the source of a file must contain for a rule
+ * of the family to report anything. A family without keywords is run on every file.
+ *
+ * Keywords are matched regardless of case, anywhere in the source, comments and literals included, so they can only
+ * cause a rule to run needlessly, never to be skipped wrongly.
+ */
+public enum SecurityRule {
+
+    /**
+     * Deprecated and insecure APIs. The catalogue can be extended at runtime, so this family always runs.
+     */
+    DEPRECATED_API(List.of()),
+
+    /**
+     * SQL injection: parameters are untrusted, so a flow needs a call to one of the sinks.
+     */
+    SQL_INJECTION(TaintRules.SQL_INJECTION.getSinkNames()),
+
+    /**
+     * Cross-site scripting: parameters are trusted, so any taint comes from a call to one of the sources.
+     */
+    XSS(TaintRules.XSS.getSourceNames()),
+
+    /**
+     * Insecure deserialization: reported on the creation of an ObjectInputStream or a call to readObject.
+     */
+    INSECURE_DESERIALIZATION(List.of("ObjectInputStream", "readObject")),
+
+    /**
+     * Hardcoded credentials: reported on names and values holding a credential keyword.
+     */
+    HARDCODED_CREDENTIALS(SecretScanner.CREDENTIAL_KEYWORDS),
+
+    /**
+     * Race conditions: reported on static and volatile fields, and on fields accessed under a lock.
+     */
+    RACE_CONDITION(List.of("static", "volatile", "synchronized", "lock")),
+
+    /**
+     * Weak cryptographic algorithms: reported on calls to getInstance.
+     */
+    INSECURE_CRYPTO(List.of("getInstance")),
+
+    /**
+     * Hardcoded secrets: reported on string literals and text blocks.
+     */
+    HARDCODED_SECRETS(List.of("\""));
+
+    private final Set<String> keywords;
+
+    SecurityRule(Collection<String> keywords) {
+        this.keywords = Set.copyOf(keywords);
+    }
+
+    /**
+     * Gets the keywords one of which the source of a file must contain for the family to run on it.
+     *
+     * @return The keywords, empty if the family runs on every file.
+     */
+    public Set<String> getKeywords() {
+        return keywords;
+    }
+}
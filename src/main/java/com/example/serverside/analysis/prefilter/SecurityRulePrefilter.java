@@ -0,0 +1,151 @@
+package com.example.serverside.analysis.prefilter;
+
+import com.example.serverside.analysis.secrets.KeywordAutomaton;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides which {@link SecurityRule} families can report anything on a file, from one pass of a
+ * {@link KeywordAutomaton} over its source, so the security analysis only walks the tree for those.
+ *
+ * The keywords of every family share one automaton. A keyword containing another one is dropped, its families being
+ * moved to the shorter keyword, which occurs wherever it does; the scan stops as soon as every keyword has been seen.
+ * The automaton only takes {@link KeywordAutomaton#MAX_KEYWORDS} ASCII keywords: the families of a keyword it cannot
+ * take, the longest ones being left out first, are run on every file rather than failing to load the class.
+ * The prefilter counts the files it is asked about and, for each family, the files it skipped, for
+ * {@link SecurityRulePrefilterMetrics}.
+ */
+@Component
+public class SecurityRulePrefilter {
+
+    private static final SecurityRule[] RULES = SecurityRule.values();
+
+    private static final KeywordAutomaton KEYWORDS;
+    private static final int[] KEYWORD_RULES; // Bit mask of the families of each keyword of the automaton
+    private static final int ALWAYS_ACTIVE; // Bit mask of the families without keywords the automaton can take
+    private static final int ALL_KEYWORDS;
+
+    static {
+        Map<String, Integer> rulesByKeyword = new LinkedHashMap<>();
+        int alwaysActive = 0;
+        for (SecurityRule rule : RULES) {
+            if (rule.getKeywords().isEmpty()) {
+                alwaysActive |= 1 << rule.ordinal();
+            }
+            for (String keyword : rule.getKeywords()) {
+                rulesByKeyword.merge(keyword.toLowerCase(Locale.ROOT), 1 << rule.ordinal(), (a, b) -> a | b);
+            }
+        }
+
+        List<String> candidates = new ArrayList<>(rulesByKeyword.keySet());
+        candidates.sort(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        List<String> keywords = new ArrayList<>();
+        List<Integer> keywordRules = new ArrayList<>();
+        for (String candidate : candidates) {
+            int shorter = -1;
+            for (int k = 0; k < keywords.size() && shorter < 0; k++) {
+                if (candidate.contains(keywords.get(k))) {
+                    shorter = k;
+                }
+            }
+            if (shorter < 0 && !candidate.chars().allMatch(c -> c < 128)) {
+                alwaysActive |= rulesByKeyword.get(candidate);
+            } else if (shorter < 0) {
+                keywords.add(candidate);
+                keywordRules.add(rulesByKeyword.get(candidate));
+            } else {
+                keywordRules.set(shorter, keywordRules.get(shorter) | rulesByKeyword.get(candidate));
+            }
+        }
+        while (keywords.size() > KeywordAutomaton.MAX_KEYWORDS) {
+            keywords.remove(keywords.size() - 1);
+            alwaysActive |= keywordRules.remove(keywordRules.size() - 1);
+        }
+
+        KEYWORDS = new KeywordAutomaton(keywords, true);
+        KEYWORD_RULES = keywordRules.stream().mapToInt(Integer::intValue).toArray();
+        ALWAYS_ACTIVE = alwaysActive;
+        ALL_KEYWORDS = keywords.size() == Integer.SIZE ? -1 : (1 << keywords.size()) - 1;
+    }
+
+    private final AtomicLong fileCount = new AtomicLong();
+    private final AtomicLongArray skippedCounts = new AtomicLongArray(RULES.length);
+
+
+    /**
+     * Finds the rule families that can report anything on a file.
+     *
+     * @param source The source of the file.
+     * @return The families to run on the file.
+     */
+    public Set<SecurityRule> activeRules(CharSequence source) {
+        int seen = 0;
+        int state = KEYWORDS.start();
+        for (int i = 0, length = source.length(); i < length; i++) {
+            state = KEYWORDS.next(state, source.charAt(i));
+            int matches = KEYWORDS.matches(state);
+            if (matches != 0) {
+                seen |= matches;
+                if (seen == ALL_KEYWORDS) {
+                    break;
+                }
+            }
+        }
+
+        int active = ALWAYS_ACTIVE;
+        for (int mask = seen; mask != 0; mask &= mask - 1) {
+            active |= KEYWORD_RULES[Integer.numberOfTrailingZeros(mask)];
+        }
+
+        fileCount.incrementAndGet();
+        Set<SecurityRule> rules = EnumSet.noneOf(SecurityRule.class);
+        for (SecurityRule rule : RULES) {
+            if ((active & 1 << rule.ordinal()) != 0) {
+                rules.add(rule);
+            } else {
+                skippedCounts.incrementAndGet(rule.ordinal());
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Gets the number of files the prefilter was asked about.
+     *
+     * @return The number of files.
+     */
+    public long getFileCount() {
+        return fileCount.get();
+    }
+
+    /**
+     * Gets the number of files a rule family was skipped on.
+     *
+     * @param rule The rule family.
+     * @return The number of files.
+     */
+    public long getSkippedCount(SecurityRule rule) {
+        return skippedCounts.get(rule.ordinal());
+    }
+
+    /**
+     * Gets the share of files a rule family was skipped on.
+     *
+     * @param rule The rule family.
+     * @return The skip rate, between 0 and 1, or 0 if no file was filtered yet.
+     */
+    public double getSkipRate(SecurityRule rule) {
+        long files = fileCount.get();
+        return files == 0 ? 0 : (double) getSkippedCount(rule) / files;
+    }
+}
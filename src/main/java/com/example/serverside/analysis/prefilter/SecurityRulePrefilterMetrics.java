@@ -0,0 +1,47 @@
+package com.example.serverside.analysis.prefilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Publishes, for each {@link SecurityRule} family, the number of files the {@link SecurityRulePrefilter} skipped it on
+ * ({@code security.rule.skipped}) and its skip rate ({@code security.rule.skip.rate}), tagged with the family name,
+ * along with the number of files filtered ({@code security.rule.files}).
+ */
+@Component
+public class SecurityRulePrefilterMetrics implements MeterBinder {
+
+    private final SecurityRulePrefilter prefilter;
+
+    /**
+     * Constructs a SecurityRulePrefilterMetrics.
+     *
+     * @param prefilter The prefilter to report on.
+     */
+    public SecurityRulePrefilterMetrics(SecurityRulePrefilter prefilter) {
+        this.prefilter = prefilter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.rule.files", prefilter, SecurityRulePrefilter::getFileCount)
+                .description("Files the security rules were filtered for")
+                .register(registry);
+        for (SecurityRule rule : SecurityRule.values()) {
+            String name = rule.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("security.rule.skipped", prefilter, p -> p.getSkippedCount(rule))
+                    .tag("rule", name)
+                    .description("Files the security rule was skipped on, as none of its keywords occurs in them")
+                    .register(registry);
+            Gauge.builder("security.rule.skip.rate", prefilter, p -> p.getSkipRate(rule))
+                    .tag("rule", name)
+                    .description("Share of files the security rule was skipped on")
+                    .register(registry);
+        }
+    }
+}
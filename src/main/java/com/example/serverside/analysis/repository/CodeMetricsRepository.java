@@ -0,0 +1,18 @@
+package com.example.serverside.analysis.repository;
+
+import com.example.serverside.mongoDB.document.CodeMetricsDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+/**
+ * MongoDB repository interface for CodeMetricsDocument.
+ * Extends MongoRepository to store the metrics of a file under its ID and to load the metrics of every file of a
+ * repository.
+ */
+public interface CodeMetricsRepository extends MongoRepository<CodeMetricsDocument, String> {
+
+    @Query("{'repositoryInfo.username': ?0, 'repositoryInfo.repo': ?1}")
+    List<CodeMetricsDocument> findByRepository(String username, String repo);
+}
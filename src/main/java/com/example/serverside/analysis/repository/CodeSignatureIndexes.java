@@ -0,0 +1,53 @@
+package com.example.serverside.analysis.repository;
+
+import com.example.serverside.mongoDB.document.CodeSignatureDocument;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes of the code signature collection at startup. Spring Boot does not create the indexes declared
+ * on documents unless automatic index creation is switched on, and without them every similarity query and every
+ * re-indexed file would scan the whole collection.
+ */
+@Component
+public class CodeSignatureIndexes {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeSignatureIndexes.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs a CodeSignatureIndexes.
+     *
+     * @param mongoTemplate Template used to reach the collection.
+     */
+    public CodeSignatureIndexes(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Creates the multikey index on the bucket keys, used to look up candidates, and the index on the file a
+     * signature was indexed from, used to replace the signatures of a file. Existing indexes are left as they are.
+     */
+    @PostConstruct
+    public void createIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(CodeSignatureDocument.class);
+            indexOps.ensureIndex(new Index().on("bandKeys", Sort.Direction.ASC).named("bandKeys"));
+            indexOps.ensureIndex(new Index()
+                    .on("repositoryInfo.username", Sort.Direction.ASC)
+                    .on("repositoryInfo.repo", Sort.Direction.ASC)
+                    .on("repositoryInfo.path", Sort.Direction.ASC)
+                    .named("repositoryInfo_file"));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to create the code signature indexes; similarity queries will scan the collection", e);
+        }
+    }
+}
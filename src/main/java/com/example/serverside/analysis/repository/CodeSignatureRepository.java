@@ -0,0 +1,41 @@
+package com.example.serverside.analysis.repository;
+
+import com.example.serverside.mongoDB.document.CodeSignatureDocument;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * MongoDB repository interface for CodeSignatureDocument.
+ * Extends MongoRepository to look up signatures by their bucket keys and to replace the signatures of a file when it
+ * is indexed again.
+ */
+public interface CodeSignatureRepository extends MongoRepository<CodeSignatureDocument, String> {
+
+    /**
+     * Finds the signatures in any of the given buckets, those sharing the most buckets first. The number of shared
+     * buckets grows with the similarity of two signatures, so the limit drops the least similar candidates. Only the
+     * first {@code maxScanned} signatures read from the buckets are ranked, so a bucket shared by a large part of the
+     * corpus, such as that of trivial getters, does not make every query rank all of it.
+     *
+     * @param bandKeys   The bucket keys to look up.
+     * @param limit      The maximum number of signatures returned.
+     * @param maxScanned The maximum number of signatures ranked.
+     * @return The signatures, most shared buckets first, ties in ID order.
+     */
+    @Aggregation(pipeline = {
+            "{'$match': {'bandKeys': {'$in': ?0}}}",
+            "{'$limit': ?2}",
+            "{'$addFields': {'sharedBands': {'$size': {'$setIntersection': ['$bandKeys', ?0]}}}}",
+            "{'$sort': {'sharedBands': -1, '_id': 1}}",
+            "{'$limit': ?1}",
+            "{'$project': {'sharedBands': 0}}"
+    })
+    List<CodeSignatureDocument> findByMostSharedBandKeys(Collection<String> bandKeys, int limit, int maxScanned);
+
+    @Query(value = "{'repositoryInfo.username': ?0, 'repositoryInfo.repo': ?1, 'repositoryInfo.path': ?2}", delete = true)
+    void deleteByFile(String username, String repo, String path);
+}
@@ -0,0 +1,116 @@
+package com.example.serverside.analysis.resolution;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Type solver that remembers what another type solver resolved each name to, including names it could not resolve.
+ * The least recently used names are forgotten beyond a fixed number.
+ *
+ * A shared solver is used under several parents at once, such as the JDK types under every repository snapshot. It
+ * stays its own root, so the declarations it remembers never refer to one particular snapshot; this is safe as long
+ * as the types it resolves only refer to each other.
+ */
+public class MemoizingTypeSolver implements TypeSolver {
+
+    private final TypeSolver delegate;
+    private final boolean shared;
+    private final LinkedHashMap<String, SymbolReference<ResolvedReferenceTypeDeclaration>> solved;
+    private final ThreadLocal<Set<String>> recordedNames = new ThreadLocal<>();
+    private TypeSolver parent;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructs a MemoizingTypeSolver.
+     *
+     * @param delegate   The type solver whose results are remembered.
+     * @param maxEntries Number of names remembered.
+     * @param shared     Whether the solver is used under several parents and so ignores the parent it is given.
+     */
+    public MemoizingTypeSolver(TypeSolver delegate, int maxEntries, boolean shared) {
+        this.delegate = delegate;
+        this.shared = shared;
+        this.solved = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SymbolReference<ResolvedReferenceTypeDeclaration>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        delegate.setParent(this);
+    }
+
+    @Override
+    public synchronized TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public synchronized void setParent(TypeSolver parent) {
+        if (!shared) {
+            this.parent = parent;
+        }
+    }
+
+    @Override
+    public synchronized SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference = solved.get(name);
+        if (reference != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            reference = delegate.tryToSolveType(name);
+            solved.put(name, reference);
+        }
+        Set<String> recording = recordedNames.get();
+        if (recording != null && reference.isSolved()) {
+            recording.add(name);
+        }
+        return reference;
+    }
+
+    /**
+     * Starts or stops recording the names the current thread resolves, whether they are answered from memory or not.
+     *
+     * @param names The set the names are added to, or null to stop recording.
+     */
+    void recordSolvedNames(Set<String> names) {
+        if (names == null) {
+            recordedNames.remove();
+        } else {
+            recordedNames.set(names);
+        }
+    }
+
+    /**
+     * Gets the number of names answered from memory.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of names passed on to the underlying solver.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of names currently remembered.
+     *
+     * @return The entry count.
+     */
+    public synchronized int size() {
+        return solved.size();
+    }
+}
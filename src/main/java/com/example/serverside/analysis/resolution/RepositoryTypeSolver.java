@@ -0,0 +1,312 @@
+package com.example.serverside.analysis.resolution;
+
+import com.example.serverside.analysis.parser.JavaSourceParser;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Type solver for the types declared in one snapshot of a repository.
+ * Sources are loaded on demand: a type {@code a.b.C} is looked for in a file whose path ends in {@code a/b/C.java},
+ * and a nested type {@code a.b.C.D} in the same file. The list of files is only requested the first time a type has
+ * to be looked up, so analyses that never leave the JDK do not pay for it.
+ *
+ * Resolution runs with the snapshot locked, so files are fetched from GitHub beforehand by {@link #prefetch}, without
+ * the lock, and only attached to the symbol solver once resolution uses them. A bounded number of parsed files is
+ * kept, the least recently used being dropped first; a dropped file is fetched again if it is needed later.
+ */
+public class RepositoryTypeSolver implements TypeSolver {
+
+    /**
+     * Lists the paths of the files in the snapshot.
+     */
+    @FunctionalInterface
+    public interface PathLister {
+        Collection<String> listPaths() throws Exception;
+    }
+
+    /**
+     * Loads the source of a file in the snapshot.
+     */
+    @FunctionalInterface
+    public interface SourceLoader {
+        String load(String path) throws Exception;
+    }
+
+    private static final int PREFETCH_DEPTH = 2; // The files an analysed file refers to, and those they refer to
+    private static final int DEFAULT_MAX_FILES = 1000;
+
+    private final PathLister pathLister;
+    private final SourceLoader sourceLoader;
+    private final AtomicReference<CompletableFuture<Map<String, String>>> paths = new AtomicReference<>();
+    private final Map<String, CompletableFuture<Optional<CompilationUnit>>> sources; // Guarded by itself
+    private TypeSolver parent;
+
+    /**
+     * Constructs a RepositoryTypeSolver keeping the default number of parsed files.
+     *
+     * @param pathLister   Lists the paths of the files in the snapshot.
+     * @param sourceLoader Loads the source of a file in the snapshot.
+     */
+    public RepositoryTypeSolver(PathLister pathLister, SourceLoader sourceLoader) {
+        this(pathLister, sourceLoader, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Constructs a RepositoryTypeSolver.
+     *
+     * @param pathLister   Lists the paths of the files in the snapshot.
+     * @param sourceLoader Loads the source of a file in the snapshot.
+     * @param maxFiles     Number of parsed files kept.
+     */
+    public RepositoryTypeSolver(PathLister pathLister, SourceLoader sourceLoader, int maxFiles) {
+        this.pathLister = pathLister;
+        this.sourceLoader = sourceLoader;
+        this.sources = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, CompletableFuture<Optional<CompilationUnit>>> eldest) {
+                return size() > maxFiles;
+            }
+        };
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Fetches and parses the files of the snapshot declaring the types a compilation unit refers to, and the files
+     * those refer to in turn, so that resolving the unit later finds them loaded. This is meant to run before the
+     * snapshot is locked for resolution; files already fetched or being fetched by another thread are not fetched
+     * again.
+     *
+     * @param typeNames The names the unit refers to types by, as given by {@link #referencedTypeNames}.
+     */
+    public void prefetch(Collection<String> typeNames) {
+        Set<String> seen = new HashSet<>();
+        Collection<String> level = typeNames;
+        for (int depth = 0; depth < PREFETCH_DEPTH && !level.isEmpty(); depth++) {
+            Collection<String> next = new ArrayList<>();
+            for (String name : level) {
+                String path = pathOf(name);
+                if (path != null && seen.add(path)) {
+                    source(path).ifPresent(cu -> next.addAll(referencedTypeNames(cu)));
+                }
+            }
+            level = next;
+        }
+    }
+
+    /**
+     * Lists the qualified names a compilation unit may refer to types declared in the snapshot by: the names of its
+     * single-type imports, and each simple type name qualified by its package and by its on-demand imports. Only the
+     * names of files present in the snapshot are ever fetched, so extra candidates cost a map lookup.
+     *
+     * @param cu The compilation unit.
+     * @return The candidate names.
+     */
+    public static Set<String> referencedTypeNames(CompilationUnit cu) {
+        Map<String, String> singleImports = new HashMap<>();
+        List<String> onDemandPackages = new ArrayList<>();
+        onDemandPackages.add(cu.getPackageDeclaration().map(declaration -> declaration.getNameAsString()).orElse(""));
+        for (ImportDeclaration declaration : cu.getImports()) {
+            if (declaration.isStatic()) {
+                continue;
+            }
+            if (declaration.isAsterisk()) {
+                onDemandPackages.add(declaration.getNameAsString());
+            } else {
+                singleImports.put(declaration.getName().getIdentifier(), declaration.getNameAsString());
+            }
+        }
+        Set<String> names = new LinkedHashSet<>(singleImports.values());
+        for (ClassOrInterfaceType type : cu.findAll(ClassOrInterfaceType.class)) {
+            if (type.getScope().isPresent()) {
+                names.add(type.getNameWithScope());
+                continue;
+            }
+            String simpleName = type.getNameAsString();
+            if (!singleImports.containsKey(simpleName)) {
+                for (String packageName : onDemandPackages) {
+                    names.add(packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Looks a type up among the files of the snapshot. Files not fetched by {@link #prefetch} are fetched here, which
+     * only happens for types reached through more files than the prefetch follows.
+     */
+    @Override
+    public synchronized SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        String[] parts = name.split("\\.");
+        for (int fileParts = parts.length; fileParts >= 1; fileParts--) {
+            String path = paths().get(String.join("/", Arrays.copyOf(parts, fileParts)) + ".java");
+            if (path == null) {
+                continue;
+            }
+            int typeStart = fileParts;
+            Optional<TypeDeclaration<?>> type = source(path).map(this::publish)
+                    .flatMap(cu -> findType(cu, parts, typeStart));
+            if (type.isPresent()) {
+                return SymbolReference.solved(JavaParserFacade.get(getRoot()).getTypeDeclaration(type.get()));
+            }
+        }
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    /**
+     * Finds the file of the snapshot a type would be declared in.
+     *
+     * @param name The qualified name of the type.
+     * @return The path of the file, or null if the snapshot has no such file.
+     */
+    String pathOf(String name) {
+        String[] parts = name.split("\\.");
+        for (int fileParts = parts.length; fileParts >= 1; fileParts--) {
+            String path = paths().get(String.join("/", Arrays.copyOf(parts, fileParts)) + ".java");
+            if (path != null) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, String> paths() {
+        CompletableFuture<Map<String, String>> future = paths.get();
+        if (future == null) {
+            CompletableFuture<Map<String, String>> created = new CompletableFuture<>();
+            future = paths.compareAndExchange(null, created);
+            if (future == null) {
+                created.complete(listPaths());
+                return created.join();
+            }
+        }
+        return future.join();
+    }
+
+    private Map<String, String> listPaths() {
+        Map<String, String> pathsBySuffix = new HashMap<>(); // Relative path such as a/b/C.java to the full path
+        try {
+            for (String path : pathLister.listPaths()) {
+                if (!path.endsWith(".java")) {
+                    continue;
+                }
+                pathsBySuffix.putIfAbsent(path, path);
+                for (int slash = path.indexOf('/'); slash >= 0; slash = path.indexOf('/', slash + 1)) {
+                    pathsBySuffix.putIfAbsent(path.substring(slash + 1), path);
+                }
+            }
+        } catch (Exception e) {
+            // Without a file list only JDK types can be resolved; rules fall back to what they can see
+        }
+        return pathsBySuffix;
+    }
+
+    /**
+     * Gets the parsed file at a path, fetching it the first time. A thread asking for a file another thread is
+     * fetching waits for that fetch instead of starting its own.
+     */
+    private Optional<CompilationUnit> source(String path) {
+        CompletableFuture<Optional<CompilationUnit>> future;
+        CompletableFuture<Optional<CompilationUnit>> created = null;
+        synchronized (sources) {
+            future = sources.get(path);
+            if (future == null) {
+                created = new CompletableFuture<>();
+                sources.put(path, created);
+            }
+        }
+        if (created != null) {
+            created.complete(load(path));
+            return created.join();
+        }
+        return future.join();
+    }
+
+    private Optional<CompilationUnit> load(String path) {
+        try {
+            return Optional.of(JavaSourceParser.parse(sourceLoader.load(path), ParseProfile.STRUCTURAL)
+                    .getCompilationUnit());
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Attaches the symbol solver to a fetched file the first time it is used for resolution. This runs with the
+     * snapshot locked, as the solver keeps what it resolves in the nodes of the file.
+     */
+    private CompilationUnit publish(CompilationUnit cu) {
+        if (!cu.containsData(Node.SYMBOL_RESOLVER_KEY)) {
+            new JavaSymbolSolver(getRoot()).inject(cu);
+        }
+        return cu;
+    }
+
+    /**
+     * Gets the number of parsed files kept, including those being fetched.
+     *
+     * @return The file count.
+     */
+    int getFileCount() {
+        synchronized (sources) {
+            return sources.size();
+        }
+    }
+
+    /**
+     * Finds the type named by {@code parts} in a file whose path covers the first {@code fileParts} of them.
+     */
+    private static Optional<TypeDeclaration<?>> findType(CompilationUnit cu, String[] parts, int fileParts) {
+        String packageName = cu.getPackageDeclaration().map(declaration -> declaration.getNameAsString()).orElse("");
+        String expectedPackage = String.join(".", Arrays.copyOf(parts, fileParts - 1));
+        if (!packageName.equals(expectedPackage)) {
+            return Optional.empty();
+        }
+        Optional<TypeDeclaration<?>> type = cu.getTypes().stream()
+                .filter(candidate -> candidate.getNameAsString().equals(parts[fileParts - 1]))
+                .findFirst();
+        for (int i = fileParts; i < parts.length && type.isPresent(); i++) {
+            String memberName = parts[i];
+            type = type.get().getMembers().stream()
+                    .filter(BodyDeclaration::isTypeDeclaration)
+                    .<TypeDeclaration<?>>map(BodyDeclaration::asTypeDeclaration)
+                    .filter(member -> member.getNameAsString().equals(memberName))
+                    .findFirst();
+        }
+        return type;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.serverside.analysis.resolution;
+
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+import java.util.Optional;
+
+/**
+ * Type checks for rules that work with or without a symbol resolver.
+ * When a type can be resolved its qualified name is compared, which tells {@code java.io.ObjectInputStream} from an
+ * unrelated class of the same name and sees through {@code var}. Otherwise the type is compared as written, as rules
+ * did before types could be resolved.
+ */
+public final class ResolvedTypes {
+
+    private ResolvedTypes() {
+    }
+
+    /**
+     * Determines whether a type is the given class.
+     *
+     * @param type          The type.
+     * @param qualifiedName The qualified name of the class, such as {@code java.lang.String}.
+     * @return true if the type resolves to the class, or cannot be resolved and is written as its simple or qualified
+     * name; false otherwise.
+     */
+    public static boolean is(Type type, String qualifiedName) {
+        Optional<String> resolved = qualifiedName(type);
+        if (resolved.isPresent()) {
+            return resolved.get().equals(qualifiedName);
+        }
+        String written = type.asString();
+        return written.equals(qualifiedName) || written.equals(simpleName(qualifiedName));
+    }
+
+    /**
+     * Resolves the qualified name of a type.
+     *
+     * @param type The type.
+     * @return The qualified name, or empty if the type is not a class or cannot be resolved.
+     */
+    public static Optional<String> qualifiedName(Type type) {
+        try {
+            return TypeResolutionContext.solve(() -> qualifiedName(type.resolve()));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Resolves the qualified name of the type of an expression.
+     *
+     * @param expression The expression.
+     * @return The qualified name, or empty if the type is not a class or cannot be resolved.
+     */
+    public static Optional<String> qualifiedTypeName(Expression expression) {
+        try {
+            return TypeResolutionContext.solve(() -> qualifiedName(expression.calculateResolvedType()));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> qualifiedName(ResolvedType type) {
+        return type.isReferenceType() ? Optional.of(type.asReferenceType().getQualifiedName()) : Optional.empty();
+    }
+
+    private static String simpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+}
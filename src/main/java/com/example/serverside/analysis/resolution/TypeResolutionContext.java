@@ -0,0 +1,196 @@
+package com.example.serverside.analysis.resolution;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The type solver analyses of one repository snapshot resolve symbols with.
+ *
+ * JDK types are resolved by reflection through a single memoising solver shared by every snapshot, so a JDK type is
+ * only looked up once per process. A snapshot adds the types declared in its repository on top.
+ *
+ * The symbol solver keeps what it resolves in the nodes of the compilation unit and in per-solver caches, neither of
+ * which may be used by two threads at once. An analysis therefore runs with its compilation unit locked, and for a
+ * repository snapshot each call into the symbol solver, made through {@link #solve}, holds the snapshot lock, so
+ * analyses of the same snapshot only wait for each other while resolving. JDK-only contexts are cheap and not shared,
+ * so they need no lock of their own. The repository files a compilation unit refers to are fetched before it is
+ * analysed, so one slow fetch does not hold up every analysis of the snapshot.
+ */
+public final class TypeResolutionContext {
+
+    private static final int MAX_JDK_TYPES = 8192;
+
+    // Types the analysers ask about most; resolving them at startup keeps the first analyses fast
+    private static final List<String> COMMON_JDK_TYPES = List.of(
+            "java.lang.Object", "java.lang.String", "java.lang.StringBuilder", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Boolean", "java.lang.Math", "java.lang.System", "java.lang.Thread", "java.lang.Runnable",
+            "java.lang.Exception", "java.lang.RuntimeException", "java.lang.Iterable", "java.util.Collection",
+            "java.util.List", "java.util.ArrayList", "java.util.Map", "java.util.HashMap", "java.util.Set",
+            "java.util.HashSet", "java.util.Optional", "java.util.Arrays", "java.util.Collections",
+            "java.util.Random", "java.util.stream.Stream", "java.util.stream.Collectors",
+            "java.util.concurrent.ConcurrentHashMap", "java.io.InputStream", "java.io.OutputStream",
+            "java.io.ObjectInputStream", "java.sql.Connection", "java.sql.Statement", "java.sql.PreparedStatement",
+            "java.sql.ResultSet", "java.security.MessageDigest", "java.security.SecureRandom", "javax.crypto.Cipher");
+
+    private static final MemoizingTypeSolver JDK_TYPES = new MemoizingTypeSolver(new ReflectionTypeSolver(),
+            MAX_JDK_TYPES, true);
+
+    // Lock of the snapshot the current thread is analysing against, held by each call into the symbol solver
+    private static final ThreadLocal<Object> SOLVER_LOCK = new ThreadLocal<>();
+
+    private final TypeSolver typeSolver;
+    private final JavaSymbolSolver symbolSolver;
+    private final Object lock;
+    private final RepositoryTypeSolver repositoryTypes;
+
+    /**
+     * Constructs a TypeResolutionContext.
+     *
+     * @param typeSolver The root type solver.
+     * @param lock       Object to hold while resolving, or null if only the compilation unit needs locking.
+     */
+    TypeResolutionContext(TypeSolver typeSolver, Object lock) {
+        this(typeSolver, lock, null);
+    }
+
+    /**
+     * Constructs a TypeResolutionContext for a repository snapshot.
+     *
+     * @param typeSolver      The root type solver.
+     * @param lock            Object to hold while resolving, or null if only the compilation unit needs locking.
+     * @param repositoryTypes The solver of the snapshot's own types, asked to fetch what a compilation unit refers to
+     *                        before resolution starts, or null.
+     */
+    TypeResolutionContext(TypeSolver typeSolver, Object lock, RepositoryTypeSolver repositoryTypes) {
+        this.typeSolver = typeSolver;
+        this.symbolSolver = new JavaSymbolSolver(typeSolver);
+        this.lock = lock;
+        this.repositoryTypes = repositoryTypes;
+    }
+
+    /**
+     * Gets a context that resolves JDK types only, for code analysed without its repository.
+     *
+     * @return A new JDK context backed by the shared JDK type solver.
+     */
+    public static TypeResolutionContext jdk() {
+        return new TypeResolutionContext(new CombinedTypeSolver(JDK_TYPES), null);
+    }
+
+    /**
+     * Gets the shared solver of JDK types, which every snapshot delegates to.
+     *
+     * @return The JDK type solver.
+     */
+    static MemoizingTypeSolver jdkTypes() {
+        return JDK_TYPES;
+    }
+
+    /**
+     * Resolves the JDK types the analysers use most, so the reflection cost is paid before the first analysis.
+     */
+    public static void preloadJdkTypes() {
+        for (String name : COMMON_JDK_TYPES) {
+            JDK_TYPES.tryToSolveType(name);
+        }
+    }
+
+    /**
+     * Runs an analysis that resolves symbols of a compilation unit against this context.
+     *
+     * @param cu       The compilation unit the analysis resolves symbols of.
+     * @param analysis The analysis.
+     * @param <T>      The result type.
+     * @return The result of the analysis.
+     */
+    public <T> T resolve(CompilationUnit cu, Supplier<T> analysis) {
+        return resolve(cu, analysis, null);
+    }
+
+    /**
+     * Runs an analysis that resolves symbols of a compilation unit against this context, noting the files of the
+     * snapshot declaring the types it resolved. A result computed from other files is only valid while they are
+     * unchanged, such as the method a call resolves to, which may move to a supertype declared elsewhere.
+     *
+     * @param cu           The compilation unit the analysis resolves symbols of.
+     * @param analysis     The analysis.
+     * @param dependencies Collection the paths of the files are added to, or null if they are not needed. Nothing is
+     *                     added for a JDK-only context.
+     * @param <T>          The result type.
+     * @return The result of the analysis.
+     */
+    public <T> T resolve(CompilationUnit cu, Supplier<T> analysis, Collection<String> dependencies) {
+        if (dependencies == null || repositoryTypes == null || !(typeSolver instanceof MemoizingTypeSolver)) {
+            return resolveLocked(cu, analysis);
+        }
+        Set<String> typeNames = new HashSet<>();
+        ((MemoizingTypeSolver) typeSolver).recordSolvedNames(typeNames);
+        try {
+            return resolveLocked(cu, analysis);
+        } finally {
+            ((MemoizingTypeSolver) typeSolver).recordSolvedNames(null);
+            for (String typeName : typeNames) {
+                String path = repositoryTypes.pathOf(typeName);
+                if (path != null) {
+                    dependencies.add(path);
+                }
+            }
+        }
+    }
+
+    private <T> T resolveLocked(CompilationUnit cu, Supplier<T> analysis) {
+        if (repositoryTypes != null) {
+            Set<String> typeNames;
+            synchronized (cu) {
+                typeNames = RepositoryTypeSolver.referencedTypeNames(cu);
+            }
+            repositoryTypes.prefetch(typeNames);
+        }
+        synchronized (cu) {
+            symbolSolver.inject(cu);
+            Object outerLock = SOLVER_LOCK.get();
+            SOLVER_LOCK.set(lock);
+            try {
+                return analysis.get();
+            } finally {
+                SOLVER_LOCK.set(outerLock);
+            }
+        }
+    }
+
+    /**
+     * Makes one call into the symbol solver, such as resolving a type or a method call, from an analysis run by
+     * {@link #resolve}. The call holds the lock of the snapshot the analysis resolves against, if it has one.
+     *
+     * @param resolution The call.
+     * @param <T>        The result type.
+     * @return The result of the call.
+     */
+    public static <T> T solve(Supplier<T> resolution) {
+        Object lock = SOLVER_LOCK.get();
+        if (lock == null) {
+            return resolution.get();
+        }
+        synchronized (lock) {
+            return resolution.get();
+        }
+    }
+
+    /**
+     * Gets the root type solver.
+     *
+     * @return The type solver.
+     */
+    public TypeSolver getTypeSolver() {
+        return typeSolver;
+    }
+}
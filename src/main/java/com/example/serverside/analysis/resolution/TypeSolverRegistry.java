@@ -0,0 +1,98 @@
+package com.example.serverside.analysis.resolution;
+
+import com.example.serverside.github.cache.SourceBlobStore;
+import com.example.serverside.github.service.GitHubService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one {@link TypeResolutionContext} per repository snapshot (repository and commit), shared by every file and
+ * analyser working on that snapshot. Each snapshot remembers a bounded number of resolved types, and the least
+ * recently used snapshots are dropped beyond a fixed number.
+ */
+@Component
+public class TypeSolverRegistry {
+
+    private final GitHubService gitHubService;
+    private final int maxTypesPerSnapshot;
+    private final int maxFilesPerSnapshot;
+    private final LinkedHashMap<String, TypeResolutionContext> snapshots;
+
+    /**
+     * Constructs a TypeSolverRegistry.
+     *
+     * @param gitHubService       Service used to list and fetch the files of a snapshot.
+     * @param maxSnapshots        Number of snapshots kept.
+     * @param maxTypesPerSnapshot Number of resolved type names remembered per snapshot.
+     * @param maxFilesPerSnapshot Number of parsed source files kept per snapshot.
+     */
+    @Autowired
+    public TypeSolverRegistry(GitHubService gitHubService,
+                              @Value("${analysis.type-solver.max-snapshots:8}") int maxSnapshots,
+                              @Value("${analysis.type-solver.max-types:20000}") int maxTypesPerSnapshot,
+                              @Value("${analysis.type-solver.max-files:1000}") int maxFilesPerSnapshot) {
+        this.gitHubService = gitHubService;
+        this.maxTypesPerSnapshot = maxTypesPerSnapshot;
+        this.maxFilesPerSnapshot = maxFilesPerSnapshot;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TypeResolutionContext> eldest) {
+                return size() > maxSnapshots;
+            }
+        };
+    }
+
+    /**
+     * Resolves the most used JDK types at startup.
+     */
+    @PostConstruct
+    public void preloadJdkTypes() {
+        TypeResolutionContext.preloadJdkTypes();
+    }
+
+    /**
+     * Gets the resolution context of a repository snapshot, creating it on first use. A snapshot is only kept for a
+     * full commit SHA: a branch or tag can move to another commit while its context is kept, so for those only JDK
+     * types are resolved.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @param commitId The commit of the snapshot.
+     * @return The snapshot's resolution context, or a JDK-only context if the commit is not a full SHA.
+     */
+    public synchronized TypeResolutionContext forSnapshot(String username, String repo, String commitId) {
+        if (!SourceBlobStore.isImmutableCommit(commitId)) {
+            return TypeResolutionContext.jdk();
+        }
+        return snapshots.computeIfAbsent(username + "/" + repo + "@" + commitId, key -> {
+            RepositoryTypeSolver repositoryTypes = new RepositoryTypeSolver(
+                    () -> listPaths(username, repo, commitId),
+                    path -> gitHubService.getRaw(username, repo, commitId, path), maxFilesPerSnapshot);
+            MemoizingTypeSolver root = new MemoizingTypeSolver(
+                    new CombinedTypeSolver(TypeResolutionContext.jdkTypes(), repositoryTypes),
+                    maxTypesPerSnapshot, false);
+            return new TypeResolutionContext(root, new Object(), repositoryTypes);
+        });
+    }
+
+    private List<String> listPaths(String username, String repo, String commitId) throws Exception {
+        JsonNode tree = new ObjectMapper().readTree(gitHubService.getRecursiveTree(username, repo, commitId));
+        List<String> paths = new ArrayList<>();
+        for (JsonNode entry : tree.path("tree")) {
+            if ("blob".equals(entry.path("type").asText())) {
+                paths.add(entry.path("path").asText());
+            }
+        }
+        return paths;
+    }
+}
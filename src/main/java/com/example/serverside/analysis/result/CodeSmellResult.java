@@ -2,6 +2,7 @@ package com.example.serverside.analysis.result;
 
 import com.example.serverside.mongoDB.info.RepositoryInfo;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,6 +14,8 @@ public class CodeSmellResult {
 
     private RepositoryInfo repositoryInfo; // Information about the associated repository
 
+    private List<String> parseProblems = new ArrayList<>(); // Problems reported while parsing the analysed source
+
     private String id; // MongoDB document ID
 
     private String customId; // Custom identifier
@@ -109,6 +112,25 @@ public class CodeSmellResult {
         this.smellsCount = smellsCount;
     }
 
+    /**
+     * Gets the problems reported while parsing the analysed source.
+     * The result still reflects the parts of the file that could be parsed.
+     *
+     * @return A list of parse problems, empty if the source parsed cleanly.
+     */
+    public List<String> getParseProblems() {
+        return parseProblems;
+    }
+
+    /**
+     * Sets the problems reported while parsing the analysed source.
+     *
+     * @param parseProblems A list of parse problems.
+     */
+    public void setParseProblems(List<String> parseProblems) {
+        this.parseProblems = parseProblems;
+    }
+
     /**
      * Provides a string representation of the CodeSmellResults object.
      * This representation includes details about all the analysis results contained in the object
@@ -2,6 +2,9 @@ package com.example.serverside.analysis.result;
 
 import com.example.serverside.mongoDB.info.RepositoryInfo;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Class representing the results of a complexity analysis.
  * Contains information about cyclomatic complexity and repository details.
@@ -16,6 +19,8 @@ public class ComplexityResult {
 
     private RepositoryInfo repositoryInfo; // Information about the associated repository
 
+    private List<String> parseProblems = new ArrayList<>(); // Problems reported while parsing the analysed source
+
     /**
      * Sets the custom identifier.
      *
@@ -97,6 +102,25 @@ public class ComplexityResult {
         this.id = id;
     }
 
+    /**
+     * Gets the problems reported while parsing the analysed source.
+     * The result still reflects the parts of the file that could be parsed.
+     *
+     * @return A list of parse problems, empty if the source parsed cleanly.
+     */
+    public List<String> getParseProblems() {
+        return parseProblems;
+    }
+
+    /**
+     * Sets the problems reported while parsing the analysed source.
+     *
+     * @param parseProblems A list of parse problems.
+     */
+    public void setParseProblems(List<String> parseProblems) {
+        this.parseProblems = parseProblems;
+    }
+
     /**
      * Provides a string representation of the ComplexityResult object.
      * This representation includes details about all the analysis results contained in the object
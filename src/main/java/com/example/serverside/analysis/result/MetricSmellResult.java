@@ -0,0 +1,74 @@
+package com.example.serverside.analysis.result;
+
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing the code smells of one file evaluated from its stored metrics.
+ * Contains the repository information the metrics were extracted from and the smells found under the requested
+ * thresholds.
+ */
+public class MetricSmellResult {
+
+    private RepositoryInfo repositoryInfo; // Repository, commit and path the metrics were extracted from
+
+    private List<String> smells = new ArrayList<>(); // Smells found under the requested thresholds
+
+    private int smellsCount; // Count of smells found
+
+    /**
+     * Gets the repository information the metrics were extracted from.
+     *
+     * @return The repository information.
+     */
+    public RepositoryInfo getRepositoryInfo() {
+        return repositoryInfo;
+    }
+
+    /**
+     * Sets the repository information the metrics were extracted from.
+     *
+     * @param repositoryInfo The repository information to set.
+     */
+    public void setRepositoryInfo(RepositoryInfo repositoryInfo) {
+        this.repositoryInfo = repositoryInfo;
+    }
+
+    /**
+     * Gets the smells found.
+     *
+     * @return A list of code smell violation messages.
+     */
+    public List<String> getSmells() {
+        return smells;
+    }
+
+    /**
+     * Sets the smells found.
+     *
+     * @param smells A list of code smell violation messages.
+     */
+    public void setSmells(List<String> smells) {
+        this.smells = smells;
+    }
+
+    /**
+     * Gets the count of smells found.
+     *
+     * @return The smells count.
+     */
+    public int getSmellsCount() {
+        return smellsCount;
+    }
+
+    /**
+     * Sets the count of smells found.
+     *
+     * @param smellsCount The smells count.
+     */
+    public void setSmellsCount(int smellsCount) {
+        this.smellsCount = smellsCount;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.serverside.analysis.result;
+
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing the results of a repository scan.
+ * Contains the code duplicated between files, the methods nothing in the repository calls, the secrets found in the
+ * other text files, the files that could not be analysed, and counts of the files scanned.
+ */
+public class RepositoryScanResult {
+
+    private RepositoryInfo repositoryInfo; // Information about the scanned repository
+
+    private List<String> duplications = new ArrayList<>(); // Code duplicated between files
+
+    private List<String> unusedMethods = new ArrayList<>(); // Public or package-private methods nothing calls
+
+    private List<String> secrets = new ArrayList<>(); // Hardcoded secrets found in files other than Java sources
+
+    private List<String> failures = new ArrayList<>(); // Files that could not be fetched or analysed, with the reason
+
+    private int fileCount; // Java files in the repository at the scanned commit
+
+    private int indexedFileCount; // Files fetched and indexed by this scan
+
+    private int unchangedFileCount; // Files skipped because they were indexed at the same version before
+
+    private int secretScannedFileCount; // Text files other than Java sources scanned for secrets
+
+    /**
+     * Gets the repository information.
+     *
+     * @return The RepositoryInfo of the scanned repository.
+     */
+    public RepositoryInfo getRepositoryInfo() {
+        return repositoryInfo;
+    }
+
+    /**
+     * Sets the repository information.
+     *
+     * @param repositoryInfo The RepositoryInfo of the scanned repository.
+     */
+    public void setRepositoryInfo(RepositoryInfo repositoryInfo) {
+        this.repositoryInfo = repositoryInfo;
+    }
+
+    /**
+     * Gets the code duplicated between files.
+     *
+     * @return A list of duplicate code violation messages.
+     */
+    public List<String> getDuplications() {
+        return duplications;
+    }
+
+    /**
+     * Sets the code duplicated between files.
+     *
+     * @param duplications A list of duplicate code violation messages.
+     */
+    public void setDuplications(List<String> duplications) {
+        this.duplications = duplications;
+    }
+
+    /**
+     * Gets the public and package-private methods that nothing in the repository calls.
+     *
+     * @return A list of dead method violation messages.
+     */
+    public List<String> getUnusedMethods() {
+        return unusedMethods;
+    }
+
+    /**
+     * Sets the public and package-private methods that nothing in the repository calls.
+     *
+     * @param unusedMethods A list of dead method violation messages.
+     */
+    public void setUnusedMethods(List<String> unusedMethods) {
+        this.unusedMethods = unusedMethods;
+    }
+
+    /**
+     * Gets the hardcoded secrets found in files other than Java sources.
+     *
+     * @return A list of secret violation messages.
+     */
+    public List<String> getSecrets() {
+        return secrets;
+    }
+
+    /**
+     * Sets the hardcoded secrets found in files other than Java sources.
+     *
+     * @param secrets A list of secret violation messages.
+     */
+    public void setSecrets(List<String> secrets) {
+        this.secrets = secrets;
+    }
+
+    /**
+     * Gets the files that could not be fetched or analysed.
+     *
+     * @return A list of file paths with the reason each one failed.
+     */
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Sets the files that could not be fetched or analysed.
+     *
+     * @param failures A list of file paths with the reason each one failed.
+     */
+    public void setFailures(List<String> failures) {
+        this.failures = failures;
+    }
+
+    /**
+     * Gets the number of Java files in the repository at the scanned commit.
+     *
+     * @return The file count.
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Sets the number of Java files in the repository at the scanned commit.
+     *
+     * @param fileCount The file count.
+     */
+    public void setFileCount(int fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    /**
+     * Gets the number of files fetched and indexed by this scan.
+     *
+     * @return The indexed file count.
+     */
+    public int getIndexedFileCount() {
+        return indexedFileCount;
+    }
+
+    /**
+     * Sets the number of files fetched and indexed by this scan.
+     *
+     * @param indexedFileCount The indexed file count.
+     */
+    public void setIndexedFileCount(int indexedFileCount) {
+        this.indexedFileCount = indexedFileCount;
+    }
+
+    /**
+     * Gets the number of files skipped because they had not changed since an earlier scan.
+     *
+     * @return The unchanged file count.
+     */
+    public int getUnchangedFileCount() {
+        return unchangedFileCount;
+    }
+
+    /**
+     * Sets the number of files skipped because they had not changed since an earlier scan.
+     *
+     * @param unchangedFileCount The unchanged file count.
+     */
+    public void setUnchangedFileCount(int unchangedFileCount) {
+        this.unchangedFileCount = unchangedFileCount;
+    }
+
+    /**
+     * Gets the number of text files other than Java sources that were scanned for secrets.
+     *
+     * @return The secret scanned file count.
+     */
+    public int getSecretScannedFileCount() {
+        return secretScannedFileCount;
+    }
+
+    /**
+     * Sets the number of text files other than Java sources that were scanned for secrets.
+     *
+     * @param secretScannedFileCount The secret scanned file count.
+     */
+    public void setSecretScannedFileCount(int secretScannedFileCount) {
+        this.secretScannedFileCount = secretScannedFileCount;
+    }
+}
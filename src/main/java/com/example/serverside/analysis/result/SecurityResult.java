@@ -2,6 +2,7 @@ package com.example.serverside.analysis.result;
 
 import com.example.serverside.mongoDB.info.RepositoryInfo;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,6 +15,8 @@ public class SecurityResult {
 
     private RepositoryInfo repositoryInfo; // Information about the associated repository
 
+    private List<String> parseProblems = new ArrayList<>(); // Problems reported while parsing the analysed source
+
     private String id; // MongoDB document ID
 
     private String customId; // Custom identifier
@@ -110,6 +113,25 @@ public class SecurityResult {
         this.vulnerabilitiesCount = vulnerabilitiesCount;
     }
 
+    /**
+     * Gets the problems reported while parsing the analysed source.
+     * The result still reflects the parts of the file that could be parsed.
+     *
+     * @return A list of parse problems, empty if the source parsed cleanly.
+     */
+    public List<String> getParseProblems() {
+        return parseProblems;
+    }
+
+    /**
+     * Sets the problems reported while parsing the analysed source.
+     *
+     * @param parseProblems A list of parse problems.
+     */
+    public void setParseProblems(List<String> parseProblems) {
+        this.parseProblems = parseProblems;
+    }
+
     /**
      * Provides a string representation of the SecurityResult object.
      * This representation includes details about all the analysis results contained in the object
@@ -0,0 +1,189 @@
+package com.example.serverside.analysis.result;
+
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+
+/**
+ * Class representing code elsewhere in the organisation that is similar to a file or method being queried.
+ */
+public class SimilarCodeMatch {
+
+    private String unitType; // FILE or METHOD
+
+    private String unitName; // Queried method or constructor signature, null for a file
+
+    private int beginLine; // First line of the queried code
+
+    private int endLine; // Last line of the queried code
+
+    private RepositoryInfo matchRepositoryInfo; // Repository, commit and path of the similar code
+
+    private String matchUnitName; // Similar method or constructor signature, null for a file
+
+    private int matchBeginLine; // First line of the similar code
+
+    private int matchEndLine; // Last line of the similar code
+
+    private double similarity; // Estimated Jaccard similarity of the two pieces of code
+
+    /**
+     * Gets the kind of code that was matched.
+     *
+     * @return FILE or METHOD.
+     */
+    public String getUnitType() {
+        return unitType;
+    }
+
+    /**
+     * Sets the kind of code that was matched.
+     *
+     * @param unitType FILE or METHOD.
+     */
+    public void setUnitType(String unitType) {
+        this.unitType = unitType;
+    }
+
+    /**
+     * Gets the queried method or constructor signature.
+     *
+     * @return The unit name, or null for a file.
+     */
+    public String getUnitName() {
+        return unitName;
+    }
+
+    /**
+     * Sets the queried method or constructor signature.
+     *
+     * @param unitName The unit name, or null for a file.
+     */
+    public void setUnitName(String unitName) {
+        this.unitName = unitName;
+    }
+
+    /**
+     * Gets the first line of the queried code.
+     *
+     * @return The first line.
+     */
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    /**
+     * Sets the first line of the queried code.
+     *
+     * @param beginLine The first line.
+     */
+    public void setBeginLine(int beginLine) {
+        this.beginLine = beginLine;
+    }
+
+    /**
+     * Gets the last line of the queried code.
+     *
+     * @return The last line.
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Sets the last line of the queried code.
+     *
+     * @param endLine The last line.
+     */
+    public void setEndLine(int endLine) {
+        this.endLine = endLine;
+    }
+
+    /**
+     * Gets the repository information of the similar code.
+     *
+     * @return The repository, commit and path the similar code was indexed from.
+     */
+    public RepositoryInfo getMatchRepositoryInfo() {
+        return matchRepositoryInfo;
+    }
+
+    /**
+     * Sets the repository information of the similar code.
+     *
+     * @param matchRepositoryInfo The repository, commit and path the similar code was indexed from.
+     */
+    public void setMatchRepositoryInfo(RepositoryInfo matchRepositoryInfo) {
+        this.matchRepositoryInfo = matchRepositoryInfo;
+    }
+
+    /**
+     * Gets the similar method or constructor signature.
+     *
+     * @return The unit name, or null for a file.
+     */
+    public String getMatchUnitName() {
+        return matchUnitName;
+    }
+
+    /**
+     * Sets the similar method or constructor signature.
+     *
+     * @param matchUnitName The unit name, or null for a file.
+     */
+    public void setMatchUnitName(String matchUnitName) {
+        this.matchUnitName = matchUnitName;
+    }
+
+    /**
+     * Gets the first line of the similar code.
+     *
+     * @return The first line.
+     */
+    public int getMatchBeginLine() {
+        return matchBeginLine;
+    }
+
+    /**
+     * Sets the first line of the similar code.
+     *
+     * @param matchBeginLine The first line.
+     */
+    public void setMatchBeginLine(int matchBeginLine) {
+        this.matchBeginLine = matchBeginLine;
+    }
+
+    /**
+     * Gets the last line of the similar code.
+     *
+     * @return The last line.
+     */
+    public int getMatchEndLine() {
+        return matchEndLine;
+    }
+
+    /**
+     * Sets the last line of the similar code.
+     *
+     * @param matchEndLine The last line.
+     */
+    public void setMatchEndLine(int matchEndLine) {
+        this.matchEndLine = matchEndLine;
+    }
+
+    /**
+     * Gets the estimated similarity of the two pieces of code.
+     *
+     * @return The estimated Jaccard similarity of their token shingles, between 0 and 1.
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    /**
+     * Sets the estimated similarity of the two pieces of code.
+     *
+     * @param similarity The estimated Jaccard similarity of their token shingles, between 0 and 1.
+     */
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.serverside.analysis.secrets;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton finding every occurrence of a set of ASCII keywords in one pass over the text.
+ *
+ * The failure links are folded into a full transition table when the automaton is built, so matching costs one array
+ * lookup per character whatever the number of keywords, and never backtracks. Each state carries a bit mask of the
+ * keywords that end there. Characters outside ASCII cannot be part of a keyword and return to the start state.
+ *
+ * The automaton is immutable and can be shared between threads. Callers that feed text in pieces, such as a file
+ * read in chunks, carry the state from {@link #next(int, char)} across the pieces.
+ */
+public final class KeywordAutomaton {
+
+    /**
+     * Largest number of keywords, the width of the match masks.
+     */
+    public static final int MAX_KEYWORDS = 32;
+
+    private static final int ALPHABET = 128;
+
+    private final String[] keywords;
+    private final boolean ignoreCase;
+    private final int[] transitions; // State times ALPHABET plus character, to the next state
+    private final int[] matches; // Keywords ending in each state, as a bit mask
+
+    /**
+     * Callback for the keywords found in a text.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+
+        /**
+         * Called for each keyword occurrence, in order of its end, then of the keyword index.
+         *
+         * @param keyword The index of the keyword in the list the automaton was built from.
+         * @param start   The offset of the first character of the occurrence.
+         * @param end     The offset just past the last character of the occurrence.
+         */
+        void onMatch(int keyword, int start, int end);
+    }
+
+    /**
+     * Builds an automaton.
+     *
+     * @param keywords   The keywords, ASCII only, at most {@link #MAX_KEYWORDS}.
+     * @param ignoreCase Whether keywords match regardless of the case of ASCII letters.
+     * @throws IllegalArgumentException if there are too many keywords or a keyword is empty or not ASCII.
+     */
+    public KeywordAutomaton(List<String> keywords, boolean ignoreCase) {
+        if (keywords.size() > MAX_KEYWORDS) {
+            throw new IllegalArgumentException("At most " + MAX_KEYWORDS + " keywords are supported");
+        }
+        this.keywords = keywords.toArray(new String[0]);
+        this.ignoreCase = ignoreCase;
+
+        int maxStates = 1;
+        for (String keyword : this.keywords) {
+            if (keyword.isEmpty() || !keyword.chars().allMatch(c -> c < ALPHABET)) {
+                throw new IllegalArgumentException("Keywords must be non-empty ASCII: '" + keyword + "'");
+            }
+            maxStates += keyword.length();
+        }
+
+        // Trie of the keywords, -1 marking a missing edge
+        int[] trie = new int[maxStates * ALPHABET];
+        Arrays.fill(trie, -1);
+        int[] output = new int[maxStates];
+        int states = 1;
+        for (int k = 0; k < this.keywords.length; k++) {
+            int state = 0;
+            for (char c : this.keywords[k].toCharArray()) {
+                int edge = state * ALPHABET + fold(c);
+                if (trie[edge] < 0) {
+                    trie[edge] = states++;
+                }
+                state = trie[edge];
+            }
+            output[state] |= 1 << k;
+        }
+
+        // Breadth-first over the trie, resolving missing edges through the failure links
+        int[] failure = new int[states];
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            if (trie[c] < 0) {
+                trie[c] = 0;
+            } else {
+                failure[trie[c]] = 0;
+                pending.add(trie[c]);
+            }
+        }
+        while (!pending.isEmpty()) {
+            int state = pending.poll();
+            output[state] |= output[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int edge = state * ALPHABET + c;
+                int fallback = trie[failure[state] * ALPHABET + c];
+                if (trie[edge] < 0) {
+                    trie[edge] = fallback;
+                } else {
+                    failure[trie[edge]] = fallback;
+                    pending.add(trie[edge]);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(trie, states * ALPHABET);
+        this.matches = Arrays.copyOf(output, states);
+        if (ignoreCase) {
+            for (int state = 0; state < states; state++) {
+                for (char c = 'A'; c <= 'Z'; c++) {
+                    transitions[state * ALPHABET + c] = transitions[state * ALPHABET + Character.toLowerCase(c)];
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the state before any text has been read.
+     *
+     * @return The start state.
+     */
+    public int start() {
+        return 0;
+    }
+
+    /**
+     * Moves the automaton over one character.
+     *
+     * @param state The current state.
+     * @param c     The next character of the text.
+     * @return The new state.
+     */
+    public int next(int state, char c) {
+        return c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+    }
+
+    /**
+     * Gets the keywords that end in a state.
+     *
+     * @param state The state.
+     * @return A bit mask with bit {@code k} set if keyword {@code k} ends here, 0 if none does.
+     */
+    public int matches(int state) {
+        return matches[state];
+    }
+
+    /**
+     * Determines whether a text contains any of the keywords.
+     *
+     * @param text The text.
+     * @return true if a keyword occurs in the text.
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+            if (matches[state] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports every occurrence of the keywords in part of a text, overlapping ones included.
+     *
+     * @param text    The text.
+     * @param from    The offset to start at.
+     * @param to      The offset to stop before.
+     * @param handler The callback receiving the occurrences.
+     */
+    public void forEachMatch(CharSequence text, int from, int to, MatchHandler handler) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+            for (int mask = matches[state]; mask != 0; mask &= mask - 1) {
+                int keyword = Integer.numberOfTrailingZeros(mask);
+                handler.onMatch(keyword, i + 1 - keywords[keyword].length(), i + 1);
+            }
+        }
+    }
+
+    /**
+     * Gets a keyword.
+     *
+     * @param keyword The index of the keyword.
+     * @return The keyword as given when the automaton was built.
+     */
+    public String getKeyword(int keyword) {
+        return keywords[keyword];
+    }
+
+    private int fold(char c) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+}
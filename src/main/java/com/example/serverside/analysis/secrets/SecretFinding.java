@@ -0,0 +1,63 @@
+package com.example.serverside.analysis.secrets;
+
+/**
+ * A secret found on a line of a file that is scanned as text, with the secret already masked. Findings do not hold
+ * the path, so the findings of a blob can be reused for every path it appears at.
+ */
+public final class SecretFinding {
+
+    private final int line;
+    private final String description;
+    private final String maskedSecret;
+
+    /**
+     * Constructs a SecretFinding.
+     *
+     * @param line         The line number, from 1.
+     * @param description  What was found, such as {@code AWS access key ID}.
+     * @param maskedSecret The secret with most of its characters masked.
+     */
+    public SecretFinding(int line, String description, String maskedSecret) {
+        this.line = line;
+        this.description = description;
+        this.maskedSecret = maskedSecret;
+    }
+
+    /**
+     * Gets the line number.
+     *
+     * @return The line the secret is on, from 1.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets what was found.
+     *
+     * @return The description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the masked secret.
+     *
+     * @return The secret with most of its characters masked.
+     */
+    public String getMaskedSecret() {
+        return maskedSecret;
+    }
+
+    /**
+     * Formats the finding as a violation message for a file.
+     *
+     * @param path The path of the file.
+     * @return The violation message.
+     */
+    public String toMessage(String path) {
+        return String.format("Violation at %s line %d: Hardcoded Secret : %s detected: \"%s\".",
+                path, line, description, maskedSecret);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.serverside.analysis.secrets;
+
+import java.util.List;
+
+/**
+ * Catalogue of token formats issued by well-known services, recognised by a fixed prefix and the characters after
+ * it. The {@link SecretScanner} finds the prefixes of every format in one pass and only then checks the rest of the
+ * token with {@link #matchLength(CharSequence, int, int)}, so no regular expression runs over the text.
+ */
+public enum SecretFormat {
+
+    AWS_ACCESS_KEY_ID("AWS access key ID", List.of("AKIA", "ASIA")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            int length = run(text, start + 4, end, SecretFormat::isUpperOrDigit);
+            return length == 16 ? 20 : -1;
+        }
+    },
+
+    GITHUB_TOKEN("GitHub token", List.of("ghp_", "gho_", "ghu_", "ghs_", "ghr_", "github_pat_")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            if (text.charAt(start + 1) == 'i') {
+                int length = run(text, start + 11, end, c -> isAlphanumeric(c) || c == '_');
+                return length >= 82 ? 11 + length : -1;
+            }
+            int length = run(text, start + 4, end, SecretFormat::isAlphanumeric);
+            return length == 36 ? 40 : -1;
+        }
+    },
+
+    GOOGLE_API_KEY("Google API key", List.of("AIza")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            int length = run(text, start + 4, end, SecretFormat::isBase64Url);
+            return length == 35 ? 39 : -1;
+        }
+    },
+
+    SLACK_TOKEN("Slack token", List.of("xoxa-", "xoxb-", "xoxp-", "xoxr-", "xoxs-")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            int length = run(text, start + 5, end, c -> isAlphanumeric(c) || c == '-');
+            return length >= 10 ? 5 + length : -1;
+        }
+    },
+
+    STRIPE_SECRET_KEY("Stripe secret key", List.of("sk_live_", "rk_live_")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            int length = run(text, start + 8, end, SecretFormat::isAlphanumeric);
+            return length >= 24 ? 8 + length : -1;
+        }
+    },
+
+    JSON_WEB_TOKEN("JSON web token", List.of("eyJ")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            int header = run(text, start, end, SecretFormat::isBase64Url);
+            int payloadStart = start + header + 1;
+            if (header < 10 || payloadStart + 3 > end || text.charAt(payloadStart - 1) != '.'
+                    || text.charAt(payloadStart) != 'e' || text.charAt(payloadStart + 1) != 'y'
+                    || text.charAt(payloadStart + 2) != 'J') {
+                return -1;
+            }
+            int payload = run(text, payloadStart, end, SecretFormat::isBase64Url);
+            int signatureStart = payloadStart + payload + 1;
+            if (payload < 10 || signatureStart > end || text.charAt(signatureStart - 1) != '.') {
+                return -1;
+            }
+            int signature = run(text, signatureStart, end, SecretFormat::isBase64Url);
+            return signature >= 10 ? signatureStart + signature - start : -1;
+        }
+    },
+
+    PRIVATE_KEY("private key", List.of("-----BEGIN ")) {
+        @Override
+        int tokenLength(CharSequence text, int start, int end) {
+            String marker = "PRIVATE KEY-----";
+            int limit = Math.min(end, start + 11 + 16 + marker.length()); // "-----BEGIN ", an algorithm, the marker
+            for (int i = start + 11; i + marker.length() <= limit; i++) {
+                if (regionMatches(text, i, marker)) {
+                    return i + marker.length() - start;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        boolean needsBoundary() {
+            return false;
+        }
+    };
+
+    private final String description;
+    private final List<String> prefixes;
+
+    SecretFormat(String description, List<String> prefixes) {
+        this.description = description;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Gets a description of the format for messages.
+     *
+     * @return The description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the prefixes a token of this format starts with.
+     *
+     * @return The prefixes.
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Checks whether a token of this format starts at an offset where one of its prefixes was found.
+     *
+     * @param text  The text.
+     * @param start The offset of the prefix.
+     * @param end   The offset the token must end by.
+     * @return The length of the token, or -1 if the text there is not a token of this format.
+     */
+    public int matchLength(CharSequence text, int start, int end) {
+        if (needsBoundary() && start > 0 && isAlphanumeric(text.charAt(start - 1))) {
+            return -1;
+        }
+        int length = tokenLength(text, start, end);
+        if (length < 0 || (needsBoundary() && start + length < end && isAlphanumeric(text.charAt(start + length)))) {
+            return -1;
+        }
+        return length;
+    }
+
+    /**
+     * Measures a token of this format whose prefix starts at an offset.
+     *
+     * @return The length of the token, or -1 if it does not have the format.
+     */
+    abstract int tokenLength(CharSequence text, int start, int end);
+
+    /**
+     * Whether the token must not be glued to letters or digits on either side, which would make it part of a longer
+     * random string rather than a token.
+     */
+    boolean needsBoundary() {
+        return true;
+    }
+
+    private interface CharClass {
+        boolean test(char c);
+    }
+
+    private static int run(CharSequence text, int from, int end, CharClass charClass) {
+        int i = from;
+        while (i < end && charClass.test(text.charAt(i))) {
+            i++;
+        }
+        return i - from;
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, String expected) {
+        for (int k = 0; k < expected.length(); k++) {
+            if (text.charAt(start + k) != expected.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpperOrDigit(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || isUpperOrDigit(c);
+    }
+
+    private static boolean isBase64Url(char c) {
+        return isAlphanumeric(c) || c == '-' || c == '_';
+    }
+}
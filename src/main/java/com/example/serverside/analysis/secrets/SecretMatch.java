@@ -0,0 +1,78 @@
+package com.example.serverside.analysis.secrets;
+
+/**
+ * A token of a known {@link SecretFormat} found in a text.
+ */
+public final class SecretMatch {
+
+    private final SecretFormat format;
+    private final int start;
+    private final int end;
+    private final String token;
+
+    /**
+     * Constructs a SecretMatch.
+     *
+     * @param format The format of the token.
+     * @param start  The offset of the token in the text.
+     * @param end    The offset just past the token.
+     * @param token  The token.
+     */
+    public SecretMatch(SecretFormat format, int start, int end, String token) {
+        this.format = format;
+        this.start = start;
+        this.end = end;
+        this.token = token;
+    }
+
+    /**
+     * Gets the format of the token.
+     *
+     * @return The format.
+     */
+    public SecretFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets the offset of the token in the text.
+     *
+     * @return The start offset.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the offset just past the token.
+     *
+     * @return The end offset.
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the token with all but its first and last four characters masked, so that results do not spread the
+     * secret further.
+     *
+     * @return The masked token.
+     */
+    public String getMaskedToken() {
+        return mask(token);
+    }
+
+    /**
+     * Masks a secret, keeping its first and last four characters when it is long enough to spare them.
+     *
+     * @param secret The secret.
+     * @return The masked secret.
+     */
+    static String mask(CharSequence secret) {
+        int length = secret.length();
+        if (length <= 12) {
+            return "*".repeat(length);
+        }
+        return secret.subSequence(0, 4) + "*".repeat(length - 8) + secret.subSequence(length - 4, length);
+    }
+}
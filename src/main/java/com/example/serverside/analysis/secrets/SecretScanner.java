@@ -0,0 +1,119 @@
+package com.example.serverside.analysis.secrets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine behind the hardcoded secret checks. It looks for three things in text:
+ * <ul>
+ *     <li>credential keywords such as {@code password}, in any case, found by a {@link KeywordAutomaton};</li>
+ *     <li>tokens of a known {@link SecretFormat}, whose prefixes are found by a second automaton in the same way;</li>
+ *     <li>random-looking strings, by their {@link ShannonEntropy}.</li>
+ * </ul>
+ * Each check is a single pass over the characters without backtracking, and the text is never copied, so it can be
+ * used on every string literal of a file or on every line of a configuration file.
+ */
+public final class SecretScanner {
+
+    /**
+     * Words that mark a name or value as holding a credential.
+     */
+    public static final List<String> CREDENTIAL_KEYWORDS = List.of("password", "passwd", "secret", "token");
+
+    /**
+     * Entropy in bits per character above which a string is considered random.
+     */
+    public static final double ENTROPY_THRESHOLD = 4.0;
+
+    /**
+     * Shortest string whose entropy is considered; shorter strings cannot reach a meaningful entropy.
+     */
+    public static final int MIN_ENTROPY_LENGTH = 8;
+
+    private static final KeywordAutomaton CREDENTIALS = new KeywordAutomaton(CREDENTIAL_KEYWORDS, true);
+
+    private static final KeywordAutomaton TOKEN_PREFIXES;
+    private static final SecretFormat[] PREFIX_FORMATS; // Format of each prefix of the automaton
+
+    static {
+        List<String> prefixes = new ArrayList<>();
+        List<SecretFormat> formats = new ArrayList<>();
+        for (SecretFormat format : SecretFormat.values()) {
+            for (String prefix : format.getPrefixes()) {
+                prefixes.add(prefix);
+                formats.add(format);
+            }
+        }
+        TOKEN_PREFIXES = new KeywordAutomaton(prefixes, false);
+        PREFIX_FORMATS = formats.toArray(new SecretFormat[0]);
+    }
+
+    private SecretScanner() {
+    }
+
+    /**
+     * Determines whether a text contains a credential keyword, such as a variable named {@code dbPassword}.
+     *
+     * @param text The text. A null value contains nothing.
+     * @return true if a credential keyword occurs in the text, in any case.
+     */
+    public static boolean hasCredentialKeyword(CharSequence text) {
+        return text != null && CREDENTIALS.containsAny(text);
+    }
+
+    /**
+     * Gets the automaton for the credential keywords, for callers that feed text in pieces.
+     *
+     * @return The credential keyword automaton.
+     */
+    public static KeywordAutomaton credentialKeywords() {
+        return CREDENTIALS;
+    }
+
+    /**
+     * Finds the tokens of known formats in a text.
+     *
+     * @param text The text.
+     * @return The tokens found, in order.
+     */
+    public static List<SecretMatch> findTokens(CharSequence text) {
+        return findTokens(text, 0, text.length());
+    }
+
+    /**
+     * Finds the tokens of known formats in part of a text.
+     *
+     * @param text The text.
+     * @param from The offset to start at.
+     * @param to   The offset to stop before; tokens must end by it.
+     * @return The tokens found, in order, with offsets into the whole text.
+     */
+    public static List<SecretMatch> findTokens(CharSequence text, int from, int to) {
+        List<SecretMatch> found = new ArrayList<>(0);
+        TOKEN_PREFIXES.forEachMatch(text, from, to, (prefix, start, end) -> {
+            if (!found.isEmpty() && start < found.get(found.size() - 1).getEnd()) {
+                return; // Inside a token already found
+            }
+            SecretFormat format = PREFIX_FORMATS[prefix];
+            int length = format.matchLength(text, start, to);
+            if (length > 0) {
+                found.add(new SecretMatch(format, start, start + length,
+                        text.subSequence(start, start + length).toString()));
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Determines whether part of a text is long and random enough to be a generated secret.
+     *
+     * @param text  The text.
+     * @param start The offset of the first character.
+     * @param end   The offset just past the last character.
+     * @return true if the text is at least {@link #MIN_ENTROPY_LENGTH} long with an entropy above
+     *         {@link #ENTROPY_THRESHOLD}.
+     */
+    public static boolean isHighEntropy(CharSequence text, int start, int end) {
+        return end - start >= MIN_ENTROPY_LENGTH && ShannonEntropy.of(text, start, end) > ENTROPY_THRESHOLD;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.serverside.analysis.secrets;
+
+import java.util.Arrays;
+
+/**
+ * Shannon entropy of text in bits per character, computed without allocating.
+ *
+ * Characters are counted in a per-thread histogram of Latin-1 characters, which is cleared again while the entropy is
+ * summed, and {@code count * log2(count)} comes from a table for the counts secrets have. With {@code n} characters
+ * the entropy is {@code log2(n) - sum(count * log2(count)) / n}, so no probability is ever divided out. Text with
+ * characters beyond Latin-1 is rare in secrets and counted by sorting a copy instead.
+ */
+public final class ShannonEntropy {
+
+    private static final int TABLE_SIZE = 4096;
+    private static final double LN_2 = Math.log(2);
+
+    private static final double[] LOG2 = new double[TABLE_SIZE]; // log2(i)
+    private static final double[] COUNT_LOG2 = new double[TABLE_SIZE]; // i * log2(i)
+
+    private static final ThreadLocal<int[]> HISTOGRAM = ThreadLocal.withInitial(() -> new int[256]);
+
+    static {
+        for (int i = 1; i < TABLE_SIZE; i++) {
+            LOG2[i] = log2(i);
+            COUNT_LOG2[i] = i * LOG2[i];
+        }
+    }
+
+    private ShannonEntropy() {
+    }
+
+    /**
+     * Calculates the Shannon entropy of a text.
+     *
+     * @param text The text. A null value has no entropy.
+     * @return The entropy in bits per character, 0 for empty text.
+     */
+    public static double of(CharSequence text) {
+        return text == null ? 0.0 : of(text, 0, text.length());
+    }
+
+    /**
+     * Calculates the Shannon entropy of part of a text.
+     *
+     * @param text  The text.
+     * @param start The offset of the first character.
+     * @param end   The offset just past the last character.
+     * @return The entropy in bits per character, 0 for an empty range.
+     */
+    public static double of(CharSequence text, int start, int end) {
+        int n = end - start;
+        if (n <= 0) {
+            return 0.0;
+        }
+        int[] counts = HISTOGRAM.get();
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c > 0xFF) {
+                for (int j = start; j < i; j++) {
+                    counts[text.charAt(j)] = 0;
+                }
+                return ofWide(text, start, end);
+            }
+            counts[c]++;
+        }
+        double sum = 0.0;
+        int distinct = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            int count = counts[c];
+            if (count != 0) {
+                sum += countLog2(count);
+                distinct++;
+                counts[c] = 0;
+            }
+        }
+        return entropy(n, sum, distinct);
+    }
+
+    private static double ofWide(CharSequence text, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = text.charAt(i);
+        }
+        Arrays.sort(chars);
+        double sum = 0.0;
+        int distinct = 0;
+        for (int i = 0; i < chars.length; ) {
+            int run = i + 1;
+            while (run < chars.length && chars[run] == chars[i]) {
+                run++;
+            }
+            sum += countLog2(run - i);
+            distinct++;
+            i = run;
+        }
+        return entropy(chars.length, sum, distinct);
+    }
+
+    private static double entropy(int n, double sum, int distinct) {
+        if (distinct <= 1) {
+            return 0.0;
+        }
+        double log2n = n < TABLE_SIZE ? LOG2[n] : log2(n);
+        return Math.max(0.0, log2n - sum / n);
+    }
+
+    private static double countLog2(int count) {
+        return count < TABLE_SIZE ? COUNT_LOG2[count] : count * log2(count);
+    }
+
+    private static double log2(int value) {
+        return Math.log(value) / LN_2;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.serverside.analysis.secrets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scans text files that are not Java sources, such as {@code application.properties}, YAML, {@code .env} files and
+ * shell scripts, for hardcoded secrets without loading them into a {@link String}.
+ *
+ * The content is read in fixed-size chunks. The first bytes are sniffed for a NUL byte or the signature of a common
+ * binary format, and binary files are skipped without reading further. Each line of a text file is collected into a
+ * reusable buffer, one character per byte, which is enough as every secret format and credential keyword is ASCII,
+ * and the line is checked through the {@link SecretScanner}:
+ * <ul>
+ *     <li>for tokens of a known {@link SecretFormat};</li>
+ *     <li>otherwise, for a {@code key = value} or {@code key: value} assignment whose key names a credential, or
+ *     whose value is random-looking, unless the line is a comment or the value refers to a variable.</li>
+ * </ul>
+ * Lines longer than the buffer, as in minified files, are checked one buffer at a time, so a token spanning two
+ * pieces can be missed.
+ */
+public final class StreamingSecretScanner {
+
+    static final int CHUNK_BYTES = 64 * 1024;
+    static final int SNIFF_BYTES = 8000; // As git does to tell binary files apart
+    static final int MAX_LINE_CHARS = 4096;
+
+    private static final byte[][] BINARY_SIGNATURES = {
+            {(byte) 0x89, 'P', 'N', 'G'}, // PNG
+            {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}, // JPEG
+            {'G', 'I', 'F', '8'}, // GIF
+            {'P', 'K', 3, 4}, // ZIP, JAR and Office documents
+            {'%', 'P', 'D', 'F'}, // PDF
+            {(byte) 0x1F, (byte) 0x8B}, // GZIP
+            {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}, // Java class file
+            {(byte) 0x7F, 'E', 'L', 'F'}, // ELF executable
+            {(byte) 0xFF, (byte) 0xFE}, // UTF-16 little endian, not scanned byte by byte
+            {(byte) 0xFE, (byte) 0xFF}, // UTF-16 big endian
+    };
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final char[] line = new char[MAX_LINE_CHARS];
+    private final CharBuffer lineView = CharBuffer.wrap(line);
+    private final List<SecretFinding> findings = new ArrayList<>();
+    private int lineLength;
+    private int lineNumber = 1;
+
+    private StreamingSecretScanner() {
+    }
+
+    /**
+     * Scans a file.
+     *
+     * @param content The content of the file. It is read to the end unless the file is binary, and not closed.
+     * @return The secrets found, or a binary result if the file is not text.
+     * @throws IOException if the content cannot be read.
+     */
+    public static Result scan(InputStream content) throws IOException {
+        byte[] chunk = new byte[CHUNK_BYTES];
+        int filled = 0;
+        while (filled < SNIFF_BYTES) {
+            int read = content.read(chunk, filled, chunk.length - filled);
+            if (read < 0) {
+                break;
+            }
+            filled += read;
+        }
+        if (isBinary(chunk, Math.min(filled, SNIFF_BYTES))) {
+            return new Result(true, Collections.emptyList());
+        }
+
+        StreamingSecretScanner scanner = new StreamingSecretScanner();
+        int start = filled >= 3 && startsWith(chunk, UTF8_BOM) ? UTF8_BOM.length : 0;
+        while (filled > 0) {
+            scanner.accept(chunk, start, filled);
+            start = 0;
+            filled = content.read(chunk);
+        }
+        scanner.endLine();
+        return new Result(false, scanner.findings);
+    }
+
+    /**
+     * Determines whether the start of a file is binary: it holds a NUL byte or starts with a known binary signature.
+     *
+     * @param head   The first bytes of the file.
+     * @param length The number of bytes to look at.
+     * @return true if the file is binary.
+     */
+    static boolean isBinary(byte[] head, int length) {
+        for (byte[] signature : BINARY_SIGNATURES) {
+            if (length >= signature.length && startsWith(head, signature)) {
+                return true;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (head[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void accept(byte[] chunk, int start, int length) {
+        for (int i = start; i < length; i++) {
+            byte b = chunk[i];
+            if (b == '\n') {
+                endLine();
+                lineNumber++;
+            } else if (b != '\r') {
+                if (lineLength == MAX_LINE_CHARS) {
+                    endLine();
+                }
+                line[lineLength++] = (char) (b & 0xFF);
+            }
+        }
+    }
+
+    private void endLine() {
+        if (lineLength > 0) {
+            scanLine(lineView, lineLength);
+        }
+        lineLength = 0;
+    }
+
+    private void scanLine(CharSequence text, int length) {
+        List<SecretMatch> tokens = SecretScanner.findTokens(text, 0, length);
+        for (SecretMatch token : tokens) {
+            findings.add(new SecretFinding(lineNumber, token.getFormat().getDescription(), token.getMaskedToken()));
+        }
+        if (tokens.isEmpty()) {
+            scanAssignment(text, length);
+        }
+    }
+
+    /**
+     * Checks a line holding an assignment, such as {@code db.password=hunter2}, {@code password: hunter2} or
+     * {@code export API_TOKEN="hunter2"}.
+     */
+    private void scanAssignment(CharSequence text, int length) {
+        int keyStart = skipBlanks(text, 0, length);
+        if (keyStart == length || isComment(text, keyStart, length)) {
+            return;
+        }
+        int separator = keyStart;
+        while (separator < length && text.charAt(separator) != '=' && text.charAt(separator) != ':') {
+            if (!isKeyChar(text.charAt(separator))) {
+                return; // Not a key, such as a command or a sentence
+            }
+            separator++;
+        }
+        if (separator == length || separator == keyStart) {
+            return;
+        }
+
+        int valueStart = skipBlanks(text, separator + 1, length);
+        int valueEnd = length;
+        for (int i = valueStart; i < length; i++) {
+            if (text.charAt(i) == '#' && i > valueStart && isBlank(text.charAt(i - 1))) {
+                valueEnd = i; // Trailing comment
+                break;
+            }
+        }
+        while (valueEnd > valueStart && isBlank(text.charAt(valueEnd - 1))) {
+            valueEnd--;
+        }
+        if (valueEnd - valueStart >= 2 && isQuote(text.charAt(valueStart))
+                && text.charAt(valueEnd - 1) == text.charAt(valueStart)) {
+            valueStart++;
+            valueEnd--;
+        }
+        if (valueEnd == valueStart || isReference(text, valueStart, valueEnd)) {
+            return;
+        }
+
+        CharSequence key = text.subSequence(keyStart, separator);
+        CharSequence value = text.subSequence(valueStart, valueEnd);
+        if (SecretScanner.hasCredentialKeyword(key)) {
+            findings.add(new SecretFinding(lineNumber, "credential assigned to '" + keyName(key) + "'",
+                    SecretMatch.mask(value)));
+        } else if (!containsBlank(value) && !isUrl(value) && SecretScanner.isHighEntropy(text, valueStart, valueEnd)) {
+            findings.add(new SecretFinding(lineNumber, "high entropy value assigned to '" + keyName(key) + "'",
+                    SecretMatch.mask(value)));
+        }
+    }
+
+    private static String keyName(CharSequence key) {
+        String name = key.toString().trim();
+        return name.startsWith("export ") ? name.substring("export ".length()).trim() : name;
+    }
+
+    private static boolean isComment(CharSequence text, int start, int length) {
+        char c = text.charAt(start);
+        return c == '#' || c == ';' || c == '!'
+                || (start + 1 < length && ((c == '/' && text.charAt(start + 1) == '/')
+                || (c == '-' && text.charAt(start + 1) == '-')));
+    }
+
+    /**
+     * Whether a value refers to a variable or template instead of holding the secret, such as {@code ${DB_PASSWORD}}
+     * or {@code <your-token>}.
+     */
+    private static boolean isReference(CharSequence text, int start, int end) {
+        char c = text.charAt(start);
+        return c == '$' || c == '<' || (c == '{' && end - start > 1 && text.charAt(start + 1) == '{');
+    }
+
+    private static boolean isUrl(CharSequence value) {
+        for (int i = 0; i + 2 < value.length(); i++) {
+            if (value.charAt(i) == ':' && value.charAt(i + 1) == '/' && value.charAt(i + 2) == '/') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isKeyChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '.' || c == '-' || c == ' ' || c == '\t' || c == '"' || c == '\'';
+    }
+
+    private static boolean containsBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isBlank(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipBlanks(CharSequence text, int from, int length) {
+        int i = from;
+        while (i < length && isBlank(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The outcome of scanning one file.
+     */
+    public static final class Result {
+
+        private final boolean binary;
+        private final List<SecretFinding> findings;
+
+        Result(boolean binary, List<SecretFinding> findings) {
+            this.binary = binary;
+            this.findings = Collections.unmodifiableList(findings);
+        }
+
+        /**
+         * Indicates whether the file was skipped as binary.
+         *
+         * @return true if the file is binary.
+         */
+        public boolean isBinary() {
+            return binary;
+        }
+
+        /**
+         * Gets the secrets found, in line order.
+         *
+         * @return The findings, empty for a binary file.
+         */
+        public List<SecretFinding> getFindings() {
+            return findings;
+        }
+    }
+}
@@ -1,18 +1,40 @@
 package com.example.serverside.analysis.service;
 
+import com.example.serverside.analysis.parser.CompilationUnitCache;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.parser.ParsedSource;
 import com.example.serverside.analysis.result.ComplexityResult;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.stmt.*;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class CodeComplexityAnalysisService {
 
+    private final CompilationUnitCache compilationUnitCache;
+
+    /**
+     * Constructs a CodeComplexityAnalysisService with its own compilation unit cache.
+     */
+    public CodeComplexityAnalysisService() {
+        this(new CompilationUnitCache());
+    }
+
+    /**
+     * Constructs a CodeComplexityAnalysisService.
+     *
+     * @param compilationUnitCache Cache of parsed sources, shared with the other analysers.
+     */
+    @Autowired
+    public CodeComplexityAnalysisService(CompilationUnitCache compilationUnitCache) {
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
     /**
      * Calculates the cyclomatic complexity of a given piece of code.
      * Cyclomatic complexity is a software metric used to indicate the complexity of a program.
@@ -21,10 +43,13 @@ public class CodeComplexityAnalysisService {
      * @return The complexity result which includes the cyclomatic complexity score.
      */
     public ComplexityResult calculateComplexity(String code) {
-        CompilationUnit cu = StaticJavaParser.parse(code);
+        ParsedSource parsed = compilationUnitCache.parse(code, ParseProfile.STRUCTURAL);
+        CompilationUnit cu = parsed.getCompilationUnit();
         int complexityScore = calculateComplexity(cu);
         System.out.println("Final Calculated Complexity: " + complexityScore);
-        return new ComplexityResult(complexityScore);
+        ComplexityResult result = new ComplexityResult(complexityScore);
+        result.setParseProblems(parsed.getProblems());
+        return result;
     }
 
 
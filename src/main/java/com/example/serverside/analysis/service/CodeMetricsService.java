@@ -0,0 +1,115 @@
+package com.example.serverside.analysis.service;
+
+import com.example.serverside.analysis.metrics.CodeMetricsExtractor;
+import com.example.serverside.analysis.metrics.FileMetrics;
+import com.example.serverside.analysis.metrics.MetricSmellEvaluator;
+import com.example.serverside.analysis.metrics.SmellThresholds;
+import com.example.serverside.analysis.parser.CompilationUnitCache;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.repository.CodeMetricsRepository;
+import com.example.serverside.analysis.result.MetricSmellResult;
+import com.example.serverside.mongoDB.document.CodeMetricsDocument;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import com.github.javaparser.ast.CompilationUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for storing the structural metrics of files and evaluating code smells from them.
+ * Each file keeps the metrics of the last commit it was analysed at, so smell thresholds can be changed and a whole
+ * repository re-evaluated without fetching or parsing any source.
+ */
+@Service
+public class CodeMetricsService {
+
+    private final CodeMetricsRepository codeMetricsRepository;
+
+    private final CompilationUnitCache compilationUnitCache;
+
+    /**
+     * Constructs a CodeMetricsService.
+     *
+     * @param codeMetricsRepository Repository storing the metrics.
+     * @param compilationUnitCache  Cache of parsed sources, shared with the other analysers.
+     */
+    @Autowired
+    public CodeMetricsService(CodeMetricsRepository codeMetricsRepository, CompilationUnitCache compilationUnitCache) {
+        this.codeMetricsRepository = codeMetricsRepository;
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
+    /**
+     * Extracts and stores the metrics of a file, replacing those stored for an earlier version of it.
+     *
+     * @param repositoryInfo The repository, commit and path of the file.
+     * @param code           The source of the file.
+     * @return The stored metrics.
+     */
+    public FileMetrics store(RepositoryInfo repositoryInfo, String code) {
+        return store(repositoryInfo, compilationUnitCache.parse(code, ParseProfile.DOCUMENTED).getCompilationUnit());
+    }
+
+    /**
+     * Extracts and stores the metrics of a parsed file, replacing those stored for an earlier version of it.
+     *
+     * @param repositoryInfo The repository, commit and path of the file.
+     * @param cu             The parsed file.
+     * @return The stored metrics.
+     */
+    public FileMetrics store(RepositoryInfo repositoryInfo, CompilationUnit cu) {
+        FileMetrics metrics = CodeMetricsExtractor.extract(cu);
+        CodeMetricsDocument document = new CodeMetricsDocument();
+        document.setId(CodeMetricsDocument.idOf(repositoryInfo.getUsername(), repositoryInfo.getRepo(),
+                repositoryInfo.getPath()));
+        document.setRepositoryInfo(repositoryInfo);
+        document.setClasses(metrics.getClasses());
+        document.setMethods(metrics.getMethods());
+        document.setTimestamp(LocalDateTime.now());
+        codeMetricsRepository.save(document);
+        return metrics;
+    }
+
+    /**
+     * Gets the stored metrics of a file.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @param path     The path of the file.
+     * @return The stored metrics, or empty if the file has not been analysed.
+     */
+    public Optional<CodeMetricsDocument> findMetrics(String username, String repo, String path) {
+        return codeMetricsRepository.findById(CodeMetricsDocument.idOf(username, repo, path));
+    }
+
+    /**
+     * Evaluates the metric-based code smells of stored files under the given thresholds.
+     *
+     * @param username   The username of the repository owner.
+     * @param repo       The name of the repository.
+     * @param path       The path of one file to evaluate, or null to evaluate every stored file of the repository.
+     * @param thresholds The thresholds to apply.
+     * @return The smells of each file, ordered by path.
+     */
+    public List<MetricSmellResult> evaluate(String username, String repo, String path, SmellThresholds thresholds) {
+        List<CodeMetricsDocument> documents = path != null
+                ? findMetrics(username, repo, path).map(List::of).orElse(List.of())
+                : codeMetricsRepository.findByRepository(username, repo);
+        List<MetricSmellResult> results = new ArrayList<>();
+        for (CodeMetricsDocument document : documents) {
+            MetricSmellResult result = new MetricSmellResult();
+            result.setRepositoryInfo(document.getRepositoryInfo());
+            result.setSmells(MetricSmellEvaluator.evaluate(document.toFileMetrics(), thresholds));
+            result.setSmellsCount(result.getSmells().size());
+            results.add(result);
+        }
+        results.sort(Comparator.comparing(result -> result.getRepositoryInfo().getPath(),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        return results;
+    }
+}
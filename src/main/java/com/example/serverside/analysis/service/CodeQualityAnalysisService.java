@@ -1,34 +1,52 @@
 package com.example.serverside.analysis.service;
 
+import com.example.serverside.analysis.parser.CompilationUnitCache;
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.parser.ParsedSource;
 import com.example.serverside.analysis.result.QualityResult;
-import com.github.javaparser.Position;
-import com.github.javaparser.StaticJavaParser;
+import com.example.serverside.analysis.util.MemberUsageIndex;
+import com.example.serverside.analysis.util.TokenCloneDetector;
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.BodyDeclaration;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.BinaryExpr;
 import com.github.javaparser.ast.expr.Expression;
-import com.github.javaparser.ast.expr.FieldAccessExpr;
-import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.stmt.*;
 import com.github.javaparser.ast.body.VariableDeclarator;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.stream.Collectors;
 
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 @Service
 public class CodeQualityAnalysisService {
 
+    private final CompilationUnitCache compilationUnitCache;
+
+    /**
+     * Constructs a CodeQualityAnalysisService with its own compilation unit cache.
+     */
+    public CodeQualityAnalysisService() {
+        this(new CompilationUnitCache());
+    }
+
+    /**
+     * Constructs a CodeQualityAnalysisService.
+     *
+     * @param compilationUnitCache Cache of parsed sources, shared with the other analysers.
+     */
+    @Autowired
+    public CodeQualityAnalysisService(CompilationUnitCache compilationUnitCache) {
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
     public QualityResult analyse(String code) {
-        CompilationUnit cu = StaticJavaParser.parse(code);
+        ParsedSource parsed = compilationUnitCache.parse(code, ParseProfile.STRUCTURAL);
+        CompilationUnit cu = parsed.getCompilationUnit();
         QualityResult result = new QualityResult();
         List<String> quality = new ArrayList<>();
 
@@ -38,88 +56,28 @@ public class CodeQualityAnalysisService {
 
         result.setQualityCount(quality.size());
         result.setDuplications(quality);
+        result.setParseProblems(parsed.getProblems());
         return result;
     }
 
 
     /**
-     * Checks for duplicate code blocks within a given {@link CompilationUnit}.
-     * Duplicate blocks are identified based on a hash of their normalized contents.
+     * Checks for duplicated code within a given {@link CompilationUnit}.
+     * Copies are found on the token stream with identifiers and literals normalised, so code that only differs in
+     * names or constant values is reported too.
      *
      * @param cu The {@link CompilationUnit} representing the code to be analyzed.
      * @param smells A list to which detected duplicate code violation messages are added.
+     * @see TokenCloneDetector
      */
     public void checkForDuplicates(CompilationUnit cu, List<String> smells) {
-        Map<String, List<Position>> subtrees = new HashMap<>();
-
-        cu.findAll(BlockStmt.class).forEach(block -> {
-            String normalizedBlock = normalizeBlock(block);
-            String blockHash = generateHash(normalizedBlock);
-
-            block.getBegin().ifPresent(begin -> block.getEnd().ifPresent(end -> {
-                Position pos = new Position(begin.line, end.line);
-                subtrees.computeIfAbsent(blockHash, k -> new ArrayList<>()).add(pos);
-            }));
-        });
-
-        subtrees.forEach((hash, positions) -> {
-            if (positions.size() > 1) {
-                String positionDetails = positions.stream()
-                        .map(pos -> String.format("lines %d to %d", pos.line, pos.column))
-                        .collect(Collectors.joining(", "));
-                String message = String.format("Violation: Duplicate code found in blocks at %s.", positionDetails);
-                smells.add(message);
-            }
-        });
-    }
-
-
-    /**
-     * Normalizes a block of code by removing comments, variable names, and whitespace to facilitate duplicate detection.
-     *
-     * @param block The {@link BlockStmt} representing the block of code to normalize.
-     * @return A normalized string representation of the code block.
-     */
-    private String normalizeBlock(BlockStmt block) {
-        // Normalize the block to remove comments, variable names, and whitespace
-        String normalizedCode = block.toString();
-        // Perform normalization steps
-        return normalizedCode;
-    }
-
-
-    /**
-     * Generates a hash for a given string of data. This hash is used to identify duplicate code blocks.
-     *
-     * @param data The string to hash.
-     * @return A hash string representing the input data.
-     */
-    private String generateHash(String data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(data.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Hashing algorithm not found", e);
-        }
-    }
-
-    /**
-     * Converts an array of bytes to a hexadecimal string. This is used in generating hash strings.
-     *
-     * @param bytes The byte array to convert.
-     * @return A hexadecimal string representation of the byte array.
-     */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder(2 * bytes.length);
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
+        for (List<TokenCloneDetector.CloneRegion> copies : TokenCloneDetector.detect(cu)) {
+            String positionDetails = copies.stream()
+                    .map(copy -> String.format("lines %d to %d", copy.getBeginLine(), copy.getEndLine()))
+                    .collect(Collectors.joining(", "));
+            String message = String.format("Violation: Duplicate code found in blocks at %s.", positionDetails);
+            smells.add(message);
         }
-        return hexString.toString();
     }
 
 
@@ -131,7 +89,7 @@ public class CodeQualityAnalysisService {
      * @param violations A list to which potential refactoring opportunities will be added.
      */
     public void checkUseOfLambdasAndStreams(CompilationUnit cu, List<String> violations) {
-        cu.findAll(ForEachStmt.class).forEach(loop -> {
+        NodeIndex.of(cu).ofType(ForEachStmt.class).forEach(loop -> {
             if (canBeRefactoredToStream(loop)) {
                 int line = loop.getBegin().map(pos -> pos.line).orElse(-1);
                 String message = String.format("Violation at line %d: Consider refactoring loop at line %d to use streams and lambdas.", line, line);
@@ -226,8 +184,9 @@ public class CodeQualityAnalysisService {
      * @param violations A list to which detected access modifier violation messages are added.
      */
     public void checkAccessModifiers(CompilationUnit cu, List<String> violations) {
-        cu.findAll(BodyDeclaration.class).forEach(declaration -> {
-            if (canHaveMoreRestrictiveAccess(declaration, cu)) {
+        MemberUsageIndex usages = MemberUsageIndex.of(cu);
+        NodeIndex.of(cu).ofType(BodyDeclaration.class).forEach(declaration -> {
+            if (canHaveMoreRestrictiveAccess(declaration, usages)) {
                 String declarationInfo = getDeclarationInfo(declaration);
                 int line = declaration.getRange().map(r -> r.begin.line).orElse(-1);
                 String message = String.format("Violation at line %d: Access modifier for %s can be more restrictive.", line, declarationInfo);
@@ -264,16 +223,16 @@ public class CodeQualityAnalysisService {
      * This method checks if the declaration is used in a way that allows for more restrictive access.
      *
      * @param declaration The {@link BodyDeclaration} to check.
-     * @param cu The {@link CompilationUnit} where the declaration is located.
+     * @param usages The {@link MemberUsageIndex} of the compilation unit where the declaration is located.
      * @return true if the declaration can have a more restrictive access modifier, false otherwise.
      */
-    private boolean canHaveMoreRestrictiveAccess(BodyDeclaration<?> declaration, CompilationUnit cu) {
+    private boolean canHaveMoreRestrictiveAccess(BodyDeclaration<?> declaration, MemberUsageIndex usages) {
         if (declaration instanceof FieldDeclaration) {
             // Check field declarations
-            return checkFieldAccess((FieldDeclaration) declaration, cu);
+            return checkFieldAccess((FieldDeclaration) declaration, usages);
         } else if (declaration instanceof MethodDeclaration) {
             // Check method declarations
-            return checkMethodAccess((MethodDeclaration) declaration, cu);
+            return checkMethodAccess((MethodDeclaration) declaration, usages);
         }
 
         return false;
@@ -285,56 +244,40 @@ public class CodeQualityAnalysisService {
      * The method checks if the field is used outside of its declaring class.
      *
      * @param field The {@link FieldDeclaration} to check.
-     * @param cu The {@link CompilationUnit} containing the field.
+     * @param usages The {@link MemberUsageIndex} of the compilation unit containing the field.
      * @return true if the field access can be more restrictive, false otherwise.
      */
 
-    private boolean checkFieldAccess(FieldDeclaration field, CompilationUnit cu) {
+    private boolean checkFieldAccess(FieldDeclaration field, MemberUsageIndex usages) {
         // If the field is private, it cannot be more restrictive
         if (field.isPrivate()) {
             return false;
         }
 
         String fieldName = field.getVariables().get(0).getNameAsString();
-        boolean isUsedOutsideClass = !cu.findAll(FieldAccessExpr.class, fa ->
-                fa.getNameAsString().equals(fieldName) && !isSameClass(fa, field)).isEmpty();
+        boolean isUsedOutsideClass = usages.isFieldAccessedOutside(fieldName, field);
 
         // The field can be more restrictive if it's not private and not used outside its class
         return !isUsedOutsideClass;
     }
 
 
-    /**
-     * Determines if a node is in the same class as the given declaration.
-     * This is used to check if a field or method is accessed only within its declaring class.
-     *
-     * @param node The {@link Node} to check.
-     * @param declaration The {@link Node} representing the declaration to compare against.
-     * @return true if both nodes are in the same class, false otherwise.
-     */
-    private boolean isSameClass(Node node, Node declaration) {
-        return node.findAncestor(ClassOrInterfaceDeclaration.class)
-                .equals(declaration.findAncestor(ClassOrInterfaceDeclaration.class));
-    }
-
-
     /**
      * Checks if a method declaration can have a more restrictive access modifier.
      * The method checks if the method is called outside its declaring class.
      *
      * @param method The {@link MethodDeclaration} to check.
-     * @param cu The {@link CompilationUnit} containing the method.
+     * @param usages The {@link MemberUsageIndex} of the compilation unit containing the method.
      * @return true if the method access can be more restrictive, false otherwise.
      */
-    private boolean checkMethodAccess(MethodDeclaration method, CompilationUnit cu) {
+    private boolean checkMethodAccess(MethodDeclaration method, MemberUsageIndex usages) {
         // If the method is private, it cannot be more restrictive
         if (method.isPrivate()) {
             return false;
         }
 
         String methodName = method.getNameAsString();
-        boolean isCalledOutsideClass = !cu.findAll(MethodCallExpr.class, mc ->
-                mc.getNameAsString().equals(methodName) && !isSameClass(mc, method)).isEmpty();
+        boolean isCalledOutsideClass = usages.isMethodCalledOutside(methodName, method);
 
         // The method can be more restrictive if it's not private and not called outside its class
         return !isCalledOutsideClass;
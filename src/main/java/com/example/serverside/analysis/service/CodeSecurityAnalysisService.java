@@ -1,68 +1,152 @@
 package com.example.serverside.analysis.service;
 
+import com.example.serverside.analysis.dataflow.ConstantFolder;
+import com.example.serverside.analysis.parser.CompilationUnitCache;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.parser.ParsedSource;
+import com.example.serverside.analysis.prefilter.SecurityRule;
+import com.example.serverside.analysis.prefilter.SecurityRulePrefilter;
+import com.example.serverside.analysis.resolution.TypeResolutionContext;
 import com.example.serverside.analysis.result.SecurityResult;
+import com.example.serverside.analysis.secrets.SecretMatch;
+import com.example.serverside.analysis.secrets.SecretScanner;
 import com.example.serverside.analysis.util.*;
 
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class CodeSecurityAnalysisService {
 
+    private final CompilationUnitCache compilationUnitCache;
+    private final SecurityRulePrefilter prefilter;
+
+    /**
+     * Constructs a CodeSecurityAnalysisService with its own compilation unit cache.
+     */
+    public CodeSecurityAnalysisService() {
+        this(new CompilationUnitCache());
+    }
+
+    /**
+     * Constructs a CodeSecurityAnalysisService with its own rule prefilter.
+     *
+     * @param compilationUnitCache Cache of parsed sources, shared with the other analysers.
+     */
+    public CodeSecurityAnalysisService(CompilationUnitCache compilationUnitCache) {
+        this(compilationUnitCache, new SecurityRulePrefilter());
+    }
+
+    /**
+     * Constructs a CodeSecurityAnalysisService.
+     *
+     * @param compilationUnitCache Cache of parsed sources, shared with the other analysers.
+     * @param prefilter            Prefilter deciding which rules run on each file, publishing its skip rates.
+     */
+    @Autowired
+    public CodeSecurityAnalysisService(CompilationUnitCache compilationUnitCache, SecurityRulePrefilter prefilter) {
+        this.compilationUnitCache = compilationUnitCache;
+        this.prefilter = prefilter;
+    }
+
+    /**
+     * Analyses code for security vulnerabilities, resolving JDK types only.
+     *
+     * @param code The source code to analyse.
+     * @return The security analysis result.
+     * @throws Exception if the code cannot be analysed.
+     */
     public SecurityResult analyse(String code) throws Exception {
-        CompilationUnit cu = StaticJavaParser.parse(code);
+        return analyse(code, TypeResolutionContext.jdk());
+    }
+
+    /**
+     * Analyses code for security vulnerabilities, resolving types in the given context. Only the rules whose keywords
+     * occur in the code are run, as found by the {@link SecurityRulePrefilter}.
+     *
+     * @param code    The source code to analyse.
+     * @param context The context types are resolved in, such as the repository snapshot the code belongs to.
+     * @return The security analysis result.
+     * @throws Exception if the code cannot be analysed.
+     */
+    public SecurityResult analyse(String code, TypeResolutionContext context) throws Exception {
+        ParsedSource parsed = compilationUnitCache.parse(code, ParseProfile.STRUCTURAL);
+        CompilationUnit cu = parsed.getCompilationUnit();
         SecurityResult result = new SecurityResult();
-        List<String> vulnerabilities = new ArrayList<>();
+        Set<SecurityRule> rules = prefilter.activeRules(code);
+        List<String> vulnerabilities = context.resolve(cu, () -> findVulnerabilities(cu, rules));
+        result.setVulnerabilitiesCount(vulnerabilities.size());
+        result.setVulnerabilities(vulnerabilities);
 
-        DeprecatedApiCheckerUtil deprecatedApiChecker = new DeprecatedApiCheckerUtil(vulnerabilities);
-        deprecatedApiChecker.visit(cu, null);
+        result.setParseProblems(parsed.getProblems());
+        return result;
 
+    }
 
-        SQLInjectionCheckerUtil sqlInjectionChecker = new SQLInjectionCheckerUtil(vulnerabilities);
-        sqlInjectionChecker.visit(cu, null); // This will start the analysis
+    private List<String> findVulnerabilities(CompilationUnit cu, Set<SecurityRule> rules) {
+        List<String> vulnerabilities = new ArrayList<>();
+        ConstantFolder constantFolder = new ConstantFolder();
 
-        XSSCheckUtil xssCheckUtil = new XSSCheckUtil(vulnerabilities);
-        xssCheckUtil.visit(cu, null); // This will start the analysis
+        if (rules.contains(SecurityRule.DEPRECATED_API)) {
+            DeprecatedApiCheckerUtil deprecatedApiChecker = new DeprecatedApiCheckerUtil(vulnerabilities);
+            deprecatedApiChecker.visit(cu, null);
+        }
 
-        InsecureDeserializationCheck insecureDeserializationCheck = new InsecureDeserializationCheck(vulnerabilities);
-        insecureDeserializationCheck.visit(cu, null); // This will start the analysis
+        if (rules.contains(SecurityRule.SQL_INJECTION)) {
+            SQLInjectionCheckerUtil sqlInjectionChecker = new SQLInjectionCheckerUtil(vulnerabilities);
+            sqlInjectionChecker.visit(cu, null); // This will start the analysis
+        }
 
-        HardcodedCredentialsCheckerUtil credentialsChecker = new HardcodedCredentialsCheckerUtil(vulnerabilities);
-        credentialsChecker.visit(cu, null);
+        if (rules.contains(SecurityRule.XSS)) {
+            XSSCheckUtil xssCheckUtil = new XSSCheckUtil(vulnerabilities);
+            xssCheckUtil.visit(cu, null); // This will start the analysis
+        }
 
-        RaceConditionCheck raceConditionCheck = new RaceConditionCheck(vulnerabilities);
-        raceConditionCheck.visit(cu, null);
+        if (rules.contains(SecurityRule.INSECURE_DESERIALIZATION)) {
+            InsecureDeserializationCheck insecureDeserializationCheck = new InsecureDeserializationCheck(vulnerabilities);
+            insecureDeserializationCheck.visit(cu, null); // This will start the analysis
+        }
 
-        InsecureCryptoPracticesCheck insecureCryptoPracticesCheck = new InsecureCryptoPracticesCheck(vulnerabilities);
-        insecureCryptoPracticesCheck.visit(cu, null);
+        if (rules.contains(SecurityRule.HARDCODED_CREDENTIALS)) {
+            HardcodedCredentialsCheckerUtil credentialsChecker = new HardcodedCredentialsCheckerUtil(vulnerabilities);
+            credentialsChecker.visit(cu, null);
+        }
 
-        checkHighEntropyStrings(cu, vulnerabilities);
-        result.setVulnerabilitiesCount(vulnerabilities.size());
-        result.setVulnerabilities(vulnerabilities);
+        if (rules.contains(SecurityRule.RACE_CONDITION)) {
+            RaceConditionCheck raceConditionCheck = new RaceConditionCheck(vulnerabilities);
+            raceConditionCheck.visit(cu, null);
+        }
 
-        return result;
+        if (rules.contains(SecurityRule.INSECURE_CRYPTO)) {
+            InsecureCryptoPracticesCheck insecureCryptoPracticesCheck =
+                    new InsecureCryptoPracticesCheck(vulnerabilities, constantFolder);
+            insecureCryptoPracticesCheck.visit(cu, null);
+        }
 
+        if (rules.contains(SecurityRule.HARDCODED_SECRETS)) {
+            checkHighEntropyStrings(cu, vulnerabilities);
+        }
+        return vulnerabilities;
     }
 
 
-    private static final double ENTROPY_THRESHOLD = 4.0; // Configurable threshold
-    private static final int MIN_STRING_LENGTH = 8; // Minimum length to consider for entropy check
-
-    // High Entropy Strings Check
+    // Hardcoded Secrets Check
     private void checkHighEntropyStrings(CompilationUnit cu, List<String> vulnerabilities) {
         HighEntropyStringVisitor visitor = new HighEntropyStringVisitor(vulnerabilities);
         visitor.visit(cu, null);
     }
 
     /**
-     * Custom Visitor for detecting high entropy strings in a {@link CompilationUnit}.
-     * This visitor checks each string literal's entropy and reports those with unusually high values.
+     * Custom Visitor for detecting hardcoded secrets in a {@link CompilationUnit}.
+     * This visitor reports string literals holding a token of a known format, such as an AWS access key, and
+     * otherwise those whose entropy is unusually high, using the {@link SecretScanner}.
      */
     private static class HighEntropyStringVisitor extends VoidVisitorAdapter<Void> {
         private final List<String> vulnerabilities;
@@ -75,13 +159,16 @@ public class CodeSecurityAnalysisService {
         public void visit(StringLiteralExpr n, Void arg) {
             super.visit(n, arg);
             String value = n.getValue();
-            if (value.length() >= MIN_STRING_LENGTH) {
-                double entropy = EntropyAnalysisUtil.calculateShannonEntropy(value);
-                if (entropy > ENTROPY_THRESHOLD) {
-                    int line = n.getRange().map(r -> r.begin.line).orElse(-1);
-                    String message = String.format("Violation at line %d: High entropy string detected: \"%s\".", line, value);
-                    vulnerabilities.add(message);
-                }
+            int line = n.getRange().map(r -> r.begin.line).orElse(-1);
+            List<SecretMatch> tokens = SecretScanner.findTokens(value);
+            for (SecretMatch token : tokens) {
+                String message = String.format("Violation at line %d: Hardcoded %s detected: \"%s\".", line,
+                        token.getFormat().getDescription(), token.getMaskedToken());
+                vulnerabilities.add(message);
+            }
+            if (tokens.isEmpty() && SecretScanner.isHighEntropy(value, 0, value.length())) {
+                String message = String.format("Violation at line %d: High entropy string detected: \"%s\".", line, value);
+                vulnerabilities.add(message);
             }
         }
     }
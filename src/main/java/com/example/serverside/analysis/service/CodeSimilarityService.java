@@ -0,0 +1,170 @@
+package com.example.serverside.analysis.service;
+
+import com.example.serverside.analysis.clone.CodeSignature;
+import com.example.serverside.analysis.clone.MinHash;
+import com.example.serverside.analysis.repository.CodeSignatureRepository;
+import com.example.serverside.analysis.result.SimilarCodeMatch;
+import com.example.serverside.mongoDB.document.CodeSignatureDocument;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import com.github.javaparser.ast.CompilationUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Service for finding near-duplicate code across all indexed repositories.
+ * Files and their methods are stored in MongoDB as MinHash signatures under locality-sensitive hashing bucket keys.
+ * A query looks up the buckets of its own signatures in one indexed query and only compares the signatures found
+ * there, so its cost depends on the number of similar pieces of code rather than on the size of the corpus. The
+ * signatures read from the buckets are capped before they are ranked, which bounds the cost of crowded buckets.
+ */
+@Service
+public class CodeSimilarityService {
+
+    /**
+     * Similarity at or above which code is reported when no other threshold is given.
+     */
+    public static final double DEFAULT_MIN_SIMILARITY = 0.5;
+
+    private static final int DEFAULT_MAX_SCANNED = 10000;
+
+    private final CodeSignatureRepository codeSignatureRepository;
+
+    private final int maxCandidates;
+    private final int maxScanned;
+
+    /**
+     * Constructs a CodeSimilarityService ranking at most the default number of stored signatures per query.
+     *
+     * @param codeSignatureRepository Repository storing the signatures.
+     * @param maxCandidates           Upper bound on the stored signatures compared per query, those sharing the most
+     *                                buckets with the query being kept.
+     */
+    public CodeSimilarityService(CodeSignatureRepository codeSignatureRepository, int maxCandidates) {
+        this(codeSignatureRepository, maxCandidates, DEFAULT_MAX_SCANNED);
+    }
+
+    /**
+     * Constructs a CodeSimilarityService.
+     *
+     * @param codeSignatureRepository Repository storing the signatures.
+     * @param maxCandidates           Upper bound on the stored signatures compared per query, those sharing the most
+     *                                buckets with the query being kept.
+     * @param maxScanned              Upper bound on the stored signatures read from the buckets and ranked per query.
+     */
+    @Autowired
+    public CodeSimilarityService(CodeSignatureRepository codeSignatureRepository,
+                                 @Value("${analysis.similarity.max-candidates:1000}") int maxCandidates,
+                                 @Value("${analysis.similarity.max-scanned:10000}") int maxScanned) {
+        this.codeSignatureRepository = codeSignatureRepository;
+        this.maxCandidates = maxCandidates;
+        this.maxScanned = Math.max(maxScanned, maxCandidates);
+    }
+
+    /**
+     * Stores the signatures of a file and its methods, replacing those stored for an earlier version of the file.
+     *
+     * @param repositoryInfo The repository, commit and path of the file.
+     * @param cu             The parsed file.
+     */
+    public void indexFile(RepositoryInfo repositoryInfo, CompilationUnit cu) {
+        codeSignatureRepository.deleteByFile(repositoryInfo.getUsername(), repositoryInfo.getRepo(),
+                repositoryInfo.getPath());
+        List<CodeSignatureDocument> documents = new ArrayList<>();
+        LocalDateTime timestamp = LocalDateTime.now();
+        for (CodeSignature signature : MinHash.signaturesOf(cu)) {
+            CodeSignatureDocument document = new CodeSignatureDocument();
+            document.setRepositoryInfo(repositoryInfo);
+            document.setUnitType(signature.getUnitType().name());
+            document.setUnitName(signature.getUnitName());
+            document.setBeginLine(signature.getBeginLine());
+            document.setEndLine(signature.getEndLine());
+            document.setSignature(signature.getSignature());
+            document.setBandKeys(signature.getBandKeys());
+            document.setTimestamp(timestamp);
+            documents.add(document);
+        }
+        if (!documents.isEmpty()) {
+            codeSignatureRepository.saveAll(documents);
+        }
+    }
+
+    /**
+     * Finds indexed code similar to a file or any of its methods. Code indexed from the same file of the same
+     * repository is not reported.
+     *
+     * @param repositoryInfo The repository, commit and path of the queried file.
+     * @param cu             The parsed file.
+     * @param minSimilarity  The lowest estimated similarity to report, between 0 and 1.
+     * @return The matches, most similar first.
+     */
+    public List<SimilarCodeMatch> findSimilar(RepositoryInfo repositoryInfo, CompilationUnit cu, double minSimilarity) {
+        Map<String, List<CodeSignature>> signaturesByKey = new HashMap<>();
+        for (CodeSignature signature : MinHash.signaturesOf(cu)) {
+            for (String key : signature.getBandKeys()) {
+                signaturesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(signature);
+            }
+        }
+        List<SimilarCodeMatch> matches = new ArrayList<>();
+        if (signaturesByKey.isEmpty()) {
+            return matches;
+        }
+
+        List<CodeSignatureDocument> candidates = codeSignatureRepository.findByMostSharedBandKeys(
+                new ArrayList<>(signaturesByKey.keySet()), maxCandidates, maxScanned);
+        for (CodeSignatureDocument candidate : candidates) {
+            if (isSameFile(repositoryInfo, candidate.getRepositoryInfo()) || candidate.getBandKeys() == null) {
+                continue;
+            }
+            // A candidate shares several buckets with the code it resembles; compare each pair once
+            Set<CodeSignature> compared = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String key : candidate.getBandKeys()) {
+                for (CodeSignature signature : signaturesByKey.getOrDefault(key, Collections.emptyList())) {
+                    if (!compared.add(signature)) {
+                        continue;
+                    }
+                    double similarity = MinHash.similarity(signature.getSignature(), candidate.getSignature());
+                    if (similarity >= minSimilarity) {
+                        matches.add(toMatch(signature, candidate, similarity));
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(SimilarCodeMatch::getSimilarity).reversed()
+                .thenComparingInt(SimilarCodeMatch::getBeginLine));
+        return matches;
+    }
+
+    private static boolean isSameFile(RepositoryInfo first, RepositoryInfo second) {
+        return second != null
+                && Objects.equals(first.getUsername(), second.getUsername())
+                && Objects.equals(first.getRepo(), second.getRepo())
+                && Objects.equals(first.getPath(), second.getPath());
+    }
+
+    private static SimilarCodeMatch toMatch(CodeSignature signature, CodeSignatureDocument candidate,
+                                            double similarity) {
+        SimilarCodeMatch match = new SimilarCodeMatch();
+        match.setUnitType(signature.getUnitType().name());
+        match.setUnitName(signature.getUnitName());
+        match.setBeginLine(signature.getBeginLine());
+        match.setEndLine(signature.getEndLine());
+        match.setMatchRepositoryInfo(candidate.getRepositoryInfo());
+        match.setMatchUnitName(candidate.getUnitName());
+        match.setMatchBeginLine(candidate.getBeginLine());
+        match.setMatchEndLine(candidate.getEndLine());
+        match.setSimilarity(similarity);
+        return match;
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.serverside.analysis.service;
 
+import com.example.serverside.analysis.metrics.CodeMetricsExtractor;
+import com.example.serverside.analysis.metrics.MetricSmellEvaluator;
+import com.example.serverside.analysis.metrics.SmellThresholds;
+import com.example.serverside.analysis.parser.CompilationUnitCache;
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.parser.ParsedSource;
 import com.example.serverside.analysis.result.CodeSmellResult;
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.stmt.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -18,15 +24,30 @@ import java.util.*;
 @Service
 public class CodeSmellAnalysisService {
 
-    private static final int MAX_METHOD_PARAMS = 3;
-    private static final int MAX_METHOD_LENGTH = 30;
-    private static final int MAX_CLASS_METHODS = 10;
-    private static final int MAX_CLASS_LENGTH = 200;
-    private static final int MAX_CONSTRUCTOR_PARAMS = 5;
-    private static final int MAX_PRIMITIVE_PARAMS = 3;
+    private static final SmellThresholds THRESHOLDS = new SmellThresholds(); // Default thresholds
+
+    private final CompilationUnitCache compilationUnitCache;
+
+    /**
+     * Constructs a CodeSmellAnalysisService with its own compilation unit cache.
+     */
+    public CodeSmellAnalysisService() {
+        this(new CompilationUnitCache());
+    }
+
+    /**
+     * Constructs a CodeSmellAnalysisService.
+     *
+     * @param compilationUnitCache Cache of parsed sources, shared with the other analysers.
+     */
+    @Autowired
+    public CodeSmellAnalysisService(CompilationUnitCache compilationUnitCache) {
+        this.compilationUnitCache = compilationUnitCache;
+    }
 
     public CodeSmellResult analyse(String code) {
-        CompilationUnit cu = StaticJavaParser.parse(code);
+        ParsedSource parsed = compilationUnitCache.parse(code, ParseProfile.DOCUMENTED);
+        CompilationUnit cu = parsed.getCompilationUnit();
         CodeSmellResult result = new CodeSmellResult();
         List<String> smells = new ArrayList<>();
 
@@ -45,12 +66,13 @@ public class CodeSmellAnalysisService {
 
         result.setSmellsCount(smells.size());
         result.setSmells(smells);
+        result.setParseProblems(parsed.getProblems());
         return result;
     }
 
     /**
      * Checks each method in the given {@link CompilationUnit} for an excessive number of parameters.
-     * Methods with parameters equal to or greater than MAX_METHOD_PARAMS are considered to have too many.
+     * Methods with parameters equal to or greater than the parameter threshold are considered to have too many.
      * Any identified violations are added to the provided list.
      *
      * @param cu The {@link CompilationUnit} to be analyzed. If null, the method will return immediately.
@@ -61,20 +83,12 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
-            int paramCount = method.getParameters().size();
-            if (paramCount >= MAX_METHOD_PARAMS) {
-                int line = method.getBegin().map(pos -> pos.line).orElse(-1);
-                String message = String.format("Violation at line %d: Method Parameters : The Method '%s' has too many parameters (%d).",
-                        line, method.getNameAsString(), paramCount);
-                smells.add(message);
-            }
-        });
+        MetricSmellEvaluator.checkParameters(CodeMetricsExtractor.extract(cu), THRESHOLDS, smells);
     }
 
     /**
      * Checks each method in the given {@link CompilationUnit} for excessive length.
-     * Methods longer than MAX_METHOD_LENGTH lines are identified as violations.
+     * Methods longer than the method length threshold are identified as violations.
      * Any identified violations are added to the provided list.
      *
      * @param cu The {@link CompilationUnit} to be analyzed. If null, the method will return immediately.
@@ -85,22 +99,13 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
-            method.getBegin().ifPresent(begin -> method.getEnd().ifPresent(end -> {
-                int lineCount = end.line - begin.line + 1;
-                if (lineCount > MAX_METHOD_LENGTH) {
-                    String message = String.format("Violation at line %d: Method Length : The Method '%s' is too long (%d lines).",
-                            begin.line, method.getNameAsString(), lineCount);
-                    smells.add(message);
-                }
-            }));
-        });
+        MetricSmellEvaluator.checkLongMethod(CodeMetricsExtractor.extract(cu), THRESHOLDS, smells);
     }
 
     /**
      * Checks each class in the given {@link CompilationUnit} for having too many methods, which might indicate a "God Class".
      * A "God Class" typically has too many responsibilities and can be difficult to maintain.
-     * The threshold for the number of methods is defined by MAX_CLASS_METHODS.
+     * The threshold for the number of methods is defined by {@link SmellThresholds}.
      *
      * @param cu The {@link CompilationUnit} to be analyzed. If null, the method will return immediately.
      * @param smells A list to which violation messages will be added. If null, the method will return immediately.
@@ -110,22 +115,12 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classOrInterface -> {
-            if (!classOrInterface.isInterface()) {
-                int methodCount = classOrInterface.getMethods().size();
-                if (methodCount > MAX_CLASS_METHODS) {
-                    int line = classOrInterface.getBegin().map(pos -> pos.line).orElse(-1);
-                    String message = String.format("Violation at line %d: God Class : Class '%s' has too many methods (%d methods).",
-                            line, classOrInterface.getNameAsString(), methodCount);
-                    smells.add(message);
-                }
-            }
-        });
+        MetricSmellEvaluator.checkGodClass(CodeMetricsExtractor.extract(cu), THRESHOLDS, smells);
     }
 
     /**
      * Checks each class in the given {@link CompilationUnit} for excessive length, which might indicate a "Large Class".
-     * A "Large Class" can be difficult to maintain due to its size. The threshold for class length is defined by  MAX_CLASS_LENGTH.
+     * A "Large Class" can be difficult to maintain due to its size. The threshold for class length is defined by {@link SmellThresholds}.
      *
      * @param cu The {@link CompilationUnit} to be analyzed. If null, the method will return immediately.
      * @param smells A list to which violation messages will be added. If null, the method will return immediately.
@@ -135,18 +130,7 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classOrInterface -> {
-            if (!classOrInterface.isInterface()) {
-                classOrInterface.getBegin().ifPresent(begin -> classOrInterface.getEnd().ifPresent(end -> {
-                    int lineCount = end.line - begin.line + 1;
-                    if (lineCount > MAX_CLASS_LENGTH) {
-                        String message = String.format("Violation at line %d: Large Class : Class '%s' is too large (%d lines).",
-                                begin.line, classOrInterface.getNameAsString(), lineCount);
-                        smells.add(message);
-                    }
-                }));
-            }
-        });
+        MetricSmellEvaluator.checkLargeClass(CodeMetricsExtractor.extract(cu), THRESHOLDS, smells);
     }
 
     /**
@@ -161,7 +145,7 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(TryStmt.class).forEach(tryStmt -> {
+        NodeIndex.of(cu).ofType(TryStmt.class).forEach(tryStmt -> {
             BlockStmt tryBlock = tryStmt.getTryBlock();
             int startLine = tryBlock.getBegin().map(pos -> pos.line).orElse(-1);
             int endLine = tryBlock.getEnd().map(pos -> pos.line).orElse(-1);
@@ -190,7 +174,7 @@ public class CodeSmellAnalysisService {
 
     /**
      * Checks each constructor in the given {@link CompilationUnit} for having an excessive number of parameters,
-     * potentially indicating a "Data Clump" code smell. Constructors with more than MAX_CONSTRUCTOR_PARAMS parameters are identified.
+     * potentially indicating a "Data Clump" code smell. Constructors with more parameters than the constructor threshold are identified.
      * Any identified violations are added to the provided list.
      *
      * @param cu The {@link CompilationUnit} to be analyzed. If null, the method will return immediately.
@@ -201,20 +185,12 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(ConstructorDeclaration.class).forEach(constructor -> {
-            int paramCount = constructor.getParameters().size();
-            if (paramCount > MAX_CONSTRUCTOR_PARAMS) {
-                int line = constructor.getBegin().map(pos -> pos.line).orElse(-1);
-                String message = String.format("Violation at line %d: Data Clumps : Constructor '%s' has too many parameters (%d).",
-                        line, constructor.getDeclarationAsString(), paramCount);
-                smells.add(message);
-            }
-        });
+        MetricSmellEvaluator.checkDataClumps(CodeMetricsExtractor.extract(cu), THRESHOLDS, smells);
     }
 
     /**
      * Checks each method in the given {@link CompilationUnit} for an excessive number of primitive type parameters,
-     * potentially indicating a "Primitive Obsession" code smell. Methods with more than MAX_PRIMITIVE_PARAMS primitive parameters are identified.
+     * potentially indicating a "Primitive Obsession" code smell. Methods with more primitive parameters than the primitive threshold are identified.
      * Any identified violations are added to the provided list.
      *
      * @param cu The {@link CompilationUnit} to be analyzed. If null, the method will return immediately.
@@ -225,17 +201,7 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
-            long primitiveCount = method.getParameters().stream()
-                    .filter(param -> param.getType().isPrimitiveType())
-                    .count();
-            if (primitiveCount > MAX_PRIMITIVE_PARAMS) {
-                int line = method.getBegin().map(pos -> pos.line).orElse(-1);
-                String message = String.format("Violation at line %d: Primitive Obsession : Method '%s' has primitive obsession with %d primitive parameters.",
-                        line, method.getNameAsString(), primitiveCount);
-                smells.add(message);
-            }
-        });
+        MetricSmellEvaluator.checkPrimitives(CodeMetricsExtractor.extract(cu), THRESHOLDS, smells);
     }
 
     /**
@@ -250,7 +216,7 @@ public class CodeSmellAnalysisService {
             return;
         }
 
-        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classOrInterface -> {
+        NodeIndex.of(cu).ofType(ClassOrInterfaceDeclaration.class).forEach(classOrInterface -> {
             if (!classOrInterface.getJavadocComment().isPresent()) {
                 int line = classOrInterface.getBegin().map(pos -> pos.line).orElse(-1);
                 String message = String.format("Violation at line %d: Javadoc Class Comments : Class '%s' lacks a Javadoc comment.",
@@ -284,9 +250,9 @@ public class CodeSmellAnalysisService {
         }
 
         Set<String> calledMethodNames = new HashSet<>();
-        cu.findAll(MethodCallExpr.class).forEach(mce -> calledMethodNames.add(mce.getNameAsString()));
+        NodeIndex.of(cu).ofType(MethodCallExpr.class).forEach(mce -> calledMethodNames.add(mce.getNameAsString()));
 
-        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(cls -> {
+        NodeIndex.of(cu).ofType(ClassOrInterfaceDeclaration.class).forEach(cls -> {
             cls.getMethods().stream()
                     .filter(MethodDeclaration::isPrivate)
                     .filter(method -> !calledMethodNames.contains(method.getNameAsString()))
@@ -318,7 +284,7 @@ public class CodeSmellAnalysisService {
 
         Set<MethodCallExpr> processedChains = new HashSet<>();
 
-        cu.findAll(MethodCallExpr.class).forEach(methodCall -> {
+        NodeIndex.of(cu).ofType(MethodCallExpr.class).forEach(methodCall -> {
             MethodCallExpr topMethodCall = getTopMethodCall(methodCall);
 
             if (!processedChains.contains(topMethodCall)) {
@@ -395,7 +361,7 @@ public class CodeSmellAnalysisService {
      * @param smells A list to which violation messages will be added.
      */
     public void checkExceptionHandling(CompilationUnit cu, List<String> smells) {
-        cu.findAll(CatchClause.class).forEach(catchClause -> {
+        NodeIndex.of(cu).ofType(CatchClause.class).forEach(catchClause -> {
             String catchType = catchClause.getParameter().getType().asString();
             int catchLine = catchClause.getBegin().map(pos -> pos.line).orElse(-1);
 
@@ -1,5 +1,12 @@
 package com.example.serverside.analysis.service;
 
+import com.example.serverside.analysis.lexical.LexicalStyleScanner;
+import com.example.serverside.analysis.parser.CompilationUnitCache;
+import com.example.serverside.analysis.parser.EnclosingContexts;
+import com.example.serverside.analysis.parser.LineIndex;
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.parser.ParsedSource;
 import com.example.serverside.analysis.result.StyleResult;
 import com.example.serverside.analysis.util.IndentationCheckerUtil;
 import com.github.javaparser.Position;
@@ -10,9 +17,9 @@ import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import com.github.javaparser.ast.stmt.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 
 import java.util.ArrayList;
@@ -28,16 +35,40 @@ public class CodeStyleAnalysisService {
     private static final int N_THREADS = Runtime.getRuntime().availableProcessors();
     private final ExecutorService executor = Executors.newFixedThreadPool(N_THREADS);
 
+    private final CompilationUnitCache compilationUnitCache;
+
+    /**
+     * Constructs a CodeStyleAnalysisService with its own compilation unit cache.
+     */
+    public CodeStyleAnalysisService() {
+        this(new CompilationUnitCache());
+    }
+
+    /**
+     * Constructs a CodeStyleAnalysisService.
+     *
+     * @param compilationUnitCache Cache of parsed sources, shared with the other analysers.
+     */
+    @Autowired
+    public CodeStyleAnalysisService(CompilationUnitCache compilationUnitCache) {
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
     public StyleResult analyse(String code) {
-        CompilationUnit cu = StaticJavaParser.parse(code);
+        ParsedSource parsed = compilationUnitCache.parse(code, ParseProfile.STRUCTURAL);
+        CompilationUnit cu = parsed.getCompilationUnit();
         StyleResult result = new StyleResult();
         List<String> violations = Collections.synchronizedList(new ArrayList<>());
 
         List<CompletableFuture<Void>> tasks = new ArrayList<>();
 
         // CompletableFuture.runAsync for non-blocking operations
-        tasks.add(CompletableFuture.runAsync(() -> checkIndentationConsistency(code, violations), executor));
-        tasks.add(CompletableFuture.runAsync(() -> checkBraceStyle(cu, violations), executor));
+        LineIndex lines = parsed.getLineIndex();
+        tasks.add(CompletableFuture.runAsync(() -> checkLayout(lines, parsed.isSuccessful(), violations), executor));
+        if (parsed.isSuccessful()) {
+            tasks.add(CompletableFuture.runAsync(() -> checkIndentationConsistency(lines, cu, violations), executor));
+            tasks.add(CompletableFuture.runAsync(() -> checkBraceStyle(cu, violations), executor));
+        }
         tasks.add(CompletableFuture.runAsync(() -> checkImportOrganization(cu, violations), executor));
         tasks.add(CompletableFuture.runAsync(() -> checkVariableNamingConventions(cu, violations), executor));
         tasks.add(CompletableFuture.runAsync(() -> checkMagicNumbers(cu, violations), executor));
@@ -55,6 +86,7 @@ public class CodeStyleAnalysisService {
 
         result.setViolations(violations);
         result.setViolationCount(violations.size());
+        result.setParseProblems(parsed.getProblems());
         return result;
     }
 
@@ -70,7 +102,7 @@ public class CodeStyleAnalysisService {
      *                   the line number and the name of the class or interface that violates
      *                   the naming convention.
      *
-     * @see CompilationUnit#findAll(Class)
+     * @see NodeIndex#ofType(Class)
      * @see ClassOrInterfaceDeclaration
      */
     public void checkNamingConventionViolations(CompilationUnit cu, List<String> violations) {
@@ -78,7 +110,7 @@ public class CodeStyleAnalysisService {
             return;
         }
 
-        for (ClassOrInterfaceDeclaration classOrInterface : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+        for (ClassOrInterfaceDeclaration classOrInterface : NodeIndex.of(cu).ofType(ClassOrInterfaceDeclaration.class)) {
             String name = classOrInterface.getNameAsString();
             if (!name.isEmpty() && !Character.isUpperCase(name.charAt(0))) {
                 Optional<Position> beginPos = classOrInterface.getBegin();
@@ -103,7 +135,7 @@ public class CodeStyleAnalysisService {
             return;
         }
 
-        for (MethodDeclaration method : cu.findAll(MethodDeclaration.class)) {
+        for (MethodDeclaration method : NodeIndex.of(cu).ofType(MethodDeclaration.class)) {
             String name = method.getNameAsString();
             if (!name.isEmpty() && !Character.isLowerCase(name.charAt(0))) {
                 // Retrieving the line number from the method's position
@@ -126,8 +158,9 @@ public class CodeStyleAnalysisService {
             return;
         }
 
-        cu.findAll(IntegerLiteralExpr.class).forEach(literal -> {
-            if (literal.findAncestor(VariableDeclarator.class).isEmpty()) {
+        EnclosingContexts contexts = EnclosingContexts.of(cu);
+        NodeIndex.of(cu).ofType(IntegerLiteralExpr.class).forEach(literal -> {
+            if (contexts.get(literal).getVariable().isEmpty()) {
                 int line = literal.getRange().map(r -> r.begin.line).orElse(-1);
                 String message = String.format("Violation at line %d: Magic number '%s' found without a named constant declaration.", line, literal.asInt());
                 violations.add(message);
@@ -152,6 +185,42 @@ public class CodeStyleAnalysisService {
             indentationChecker.check();
     }
 
+    /**
+     * Checks the indentation of the code against a compilation unit already parsed from it, so the code is neither
+     * parsed nor split into lines a second time.
+     *
+     * @param lines The line index of the code to be analysed. If null, the method will return immediately.
+     * @param cu The {@link CompilationUnit} parsed from the code. If null, the method will return immediately.
+     * @param violations A list to which violation messages will be added. If null, the method will return immediately.
+     */
+    public static void checkIndentationConsistency(LineIndex lines, CompilationUnit cu, List<String> violations) {
+        if (lines == null || cu == null || violations == null) {
+            return;
+        }
+        new IndentationCheckerUtil(violations, lines).check(cu);
+    }
+
+    /**
+     * Checks the layout of the code from its characters alone, using {@link LexicalStyleScanner}: tabs in indentation,
+     * trailing whitespace and long lines. When the code could not be parsed, the scanner's indentation and brace
+     * placement findings stand in for the checks that need a {@link CompilationUnit}.
+     *
+     * @param lines The line index of the code to be analysed. If null, the method will return immediately.
+     * @param parsed Whether the code parsed without errors, in which case the AST checks cover indentation and braces.
+     * @param violations A list to which violation messages will be added. If null, the method will return immediately.
+     */
+    public static void checkLayout(LineIndex lines, boolean parsed, List<String> violations) {
+        if (lines == null || violations == null) {
+            return;
+        }
+        LexicalStyleScanner.Findings findings = LexicalStyleScanner.scan(lines);
+        violations.addAll(findings.getLayoutViolations());
+        if (!parsed) {
+            violations.addAll(findings.getIndentationViolations());
+            violations.addAll(findings.getBraceViolations());
+        }
+    }
+
     /**
      * Checks if the opening braces of block statements in the given {@link CompilationUnit} are placed
      * correctly according to the specified style. It verifies whether each opening brace is on the same
@@ -165,7 +234,7 @@ public class CodeStyleAnalysisService {
             return;
         }
 
-        cu.findAll(BlockStmt.class).forEach(block -> {
+        NodeIndex.of(cu).ofType(BlockStmt.class).forEach(block -> {
             block.getBegin().ifPresent(blockPos -> {
                 block.getParentNode().ifPresent(parent -> {
                     boolean isRelevantParentType = parent instanceof MethodDeclaration || parent instanceof ConstructorDeclaration || parent instanceof ClassOrInterfaceDeclaration ||
@@ -246,11 +315,12 @@ public class CodeStyleAnalysisService {
         final Pattern camelCasePattern = Pattern.compile("^[a-z][a-zA-Z0-9]*$");
 
 
-        cu.findAll(VariableDeclarator.class).forEach(variable -> {
+        EnclosingContexts contexts = EnclosingContexts.of(cu);
+        NodeIndex.of(cu).ofType(VariableDeclarator.class).forEach(variable -> {
             String name = variable.getNameAsString();
 
             // Check if it is a field (class-level variable)
-            Optional<FieldDeclaration> field = variable.findAncestor(FieldDeclaration.class);
+            Optional<FieldDeclaration> field = contexts.get(variable).getField();
             if (field.isPresent()) {
                 if (field.get().isFinal() && !name.matches("[A-Z_]+")) {
                     addViolation(variable, "Constant variable name '%s' should be all uppercase.", name, violations);
@@ -0,0 +1,299 @@
+package com.example.serverside.analysis.service;
+
+import com.example.serverside.analysis.callgraph.CallGraph;
+import com.example.serverside.analysis.callgraph.CallGraphRegistry;
+import com.example.serverside.analysis.callgraph.CallSummaryExtractor;
+import com.example.serverside.analysis.callgraph.UnusedMethod;
+import com.example.serverside.analysis.clone.CloneIndexRegistry;
+import com.example.serverside.analysis.clone.CrossFileClone;
+import com.example.serverside.analysis.clone.CrossFileCloneIndex;
+import com.example.serverside.analysis.parser.JavaSourceParser;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.example.serverside.analysis.resolution.TypeResolutionContext;
+import com.example.serverside.analysis.resolution.TypeSolverRegistry;
+import com.example.serverside.analysis.result.RepositoryScanResult;
+import com.example.serverside.analysis.secrets.SecretFinding;
+import com.example.serverside.analysis.secrets.StreamingSecretScanner;
+import com.example.serverside.analysis.util.TokenCloneDetector;
+import com.example.serverside.github.service.GitHubService;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javaparser.ast.CompilationUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scans every Java file of a repository at a commit for code duplicated between files and for methods nothing in the
+ * repository calls. Files are indexed into the repository's {@link CrossFileCloneIndex} and {@link CallGraph} under
+ * their blob SHA, so scanning a later commit only fetches, parses and resolves the files that changed. Each changed
+ * file is also stored in the organisation-wide similarity index, and its structural metrics are stored for
+ * re-evaluating code smells. A file that cannot be fetched, parsed or indexed is reported as a failure and does not
+ * stop the rest of the scan. Scans of the same repository run one at a time, as they update the same index and graph.
+ *
+ * The other text files of the repository, such as properties, YAML, {@code .env} files and shell scripts, are streamed
+ * through the {@link StreamingSecretScanner} for hardcoded secrets. Files with a known binary extension or over
+ * {@link #MAX_SECRET_SCAN_BYTES} are not fetched, and the findings of each blob are kept so an unchanged file is not
+ * fetched again.
+ */
+@Service
+public class RepositoryScanService implements DisposableBean {
+
+    /**
+     * Largest file, in bytes, that is scanned for secrets.
+     */
+    static final long MAX_SECRET_SCAN_BYTES = 1024 * 1024;
+
+    private static final int MAX_CACHED_SECRET_SCANS = 50_000;
+
+    private static final int SCAN_LOCK_STRIPES = 64; // Scans of repositories sharing a stripe wait for each other
+
+    private static final Set<String> BINARY_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "ico", "bmp", "webp",
+            "pdf", "zip", "jar", "war", "ear", "gz", "tgz", "7z", "class", "so", "dll", "exe", "bin", "woff", "woff2",
+            "ttf", "otf", "eot", "mp3", "mp4", "mov", "avi", "xls", "xlsx", "doc", "docx", "ppt", "pptx");
+
+    private final GitHubService gitHubService;
+
+    private final CloneIndexRegistry cloneIndexRegistry;
+
+    private final CallGraphRegistry callGraphRegistry;
+
+    private final CodeSimilarityService codeSimilarityService;
+
+    private final CodeMetricsService codeMetricsService;
+
+    private final TypeSolverRegistry typeSolverRegistry;
+
+    private final ExecutorService executor;
+
+    private final ReentrantLock[] scanLocks = new ReentrantLock[SCAN_LOCK_STRIPES];
+
+    private final Map<String, StreamingSecretScanner.Result> secretScansByBlob = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StreamingSecretScanner.Result> eldest) {
+                    return size() > MAX_CACHED_SECRET_SCANS;
+                }
+            });
+
+    /**
+     * Constructs a RepositoryScanService.
+     *
+     * @param gitHubService         Service used to list and fetch the repository's files.
+     * @param cloneIndexRegistry    Registry holding the clone index of each repository.
+     * @param callGraphRegistry     Registry holding the call graph of each repository.
+     * @param codeSimilarityService Service storing files in the organisation-wide similarity index.
+     * @param codeMetricsService    Service storing the structural metrics of files.
+     * @param typeSolverRegistry    Registry of the type solvers calls are resolved with, one per snapshot.
+     * @param parallelism           Number of files fetched and indexed at the same time.
+     */
+    @Autowired
+    public RepositoryScanService(GitHubService gitHubService,
+                                 CloneIndexRegistry cloneIndexRegistry,
+                                 CallGraphRegistry callGraphRegistry,
+                                 CodeSimilarityService codeSimilarityService,
+                                 CodeMetricsService codeMetricsService,
+                                 TypeSolverRegistry typeSolverRegistry,
+                                 @Value("${analysis.repository-scan.parallelism:4}") int parallelism) {
+        this.gitHubService = gitHubService;
+        this.cloneIndexRegistry = cloneIndexRegistry;
+        this.callGraphRegistry = callGraphRegistry;
+        this.codeSimilarityService = codeSimilarityService;
+        this.codeMetricsService = codeMetricsService;
+        this.typeSolverRegistry = typeSolverRegistry;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        for (int i = 0; i < scanLocks.length; i++) {
+            scanLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Scans a repository at a commit for code duplicated between its Java files, for uncalled methods and for secrets
+     * in its other text files. A scan started while another scan of the same repository is running waits for it.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @param commitId The commit to scan.
+     * @return The duplicated code, uncalled methods and secrets found, the files that failed, and counts of the files
+     *         scanned.
+     * @throws Exception if the repository tree cannot be retrieved or the scan is interrupted.
+     */
+    public RepositoryScanResult scan(String username, String repo, String commitId) throws Exception {
+        ReentrantLock lock = scanLocks[Math.floorMod((username + "/" + repo).hashCode(), SCAN_LOCK_STRIPES)];
+        lock.lockInterruptibly();
+        try {
+            return scanLocked(username, repo, commitId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RepositoryScanResult scanLocked(String username, String repo, String commitId) throws Exception {
+        JsonNode tree = new ObjectMapper().readTree(gitHubService.getRecursiveTree(username, repo, commitId));
+        Map<String, String> files = new LinkedHashMap<>(); // Path to blob SHA
+        Map<String, String> textFiles = new LinkedHashMap<>(); // Other files scanned for secrets, path to blob SHA
+        for (JsonNode entry : tree.path("tree")) {
+            String path = entry.path("path").asText();
+            if (!"blob".equals(entry.path("type").asText())) {
+                continue;
+            }
+            if (path.endsWith(".java")) {
+                files.put(path, entry.path("sha").asText(null));
+            } else if (isSecretScanCandidate(path, entry.path("size").asLong(0))) {
+                textFiles.put(path, entry.path("sha").asText(null));
+            }
+        }
+
+        CrossFileCloneIndex index = cloneIndexRegistry.forRepository(username, repo);
+        index.retainOnly(files.keySet());
+        CallGraph callGraph = callGraphRegistry.forRepository(username, repo);
+        callGraph.retainOnly(files.keySet());
+        TypeResolutionContext types = typeSolverRegistry.forSnapshot(username, repo, commitId);
+
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        if (tree.path("truncated").asBoolean(false)) {
+            failures.add("Repository tree is too large to list in full; only the files returned by GitHub were scanned.");
+        }
+        AtomicInteger indexed = new AtomicInteger();
+        AtomicInteger unchanged = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            tasks.add(executor.submit(() -> {
+                String path = file.getKey();
+                if (index.isCurrent(path, file.getValue()) && callGraph.isCurrent(path, file.getValue(), files)) {
+                    unchanged.incrementAndGet();
+                    return;
+                }
+                try {
+                    String code = gitHubService.getRaw(username, repo, commitId, path);
+                    CompilationUnit cu = JavaSourceParser.parse(code, ParseProfile.STRUCTURAL).getCompilationUnit();
+                    TokenCloneDetector.Fingerprints fingerprints = new TokenCloneDetector(index.getWindow())
+                            .fingerprint(cu, index.getWinnowWindow());
+                    RepositoryInfo fileInfo = repositoryInfo(username, repo, commitId, path);
+                    codeSimilarityService.indexFile(fileInfo, cu);
+                    codeMetricsService.store(fileInfo, cu);
+                    index.index(path, file.getValue(), fingerprints);
+                    callGraph.update(path, file.getValue(), CallSummaryExtractor.summarize(cu, types), files);
+                    indexed.incrementAndGet();
+                } catch (Exception e) {
+                    index.remove(path);
+                    callGraph.remove(path);
+                    failures.add(path + ": " + e.getMessage());
+                }
+            }));
+        }
+        List<String> secrets = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger secretScanned = new AtomicInteger();
+        for (Map.Entry<String, String> file : textFiles.entrySet()) {
+            tasks.add(executor.submit(() -> {
+                String path = file.getKey();
+                try {
+                    StreamingSecretScanner.Result scan = scanForSecrets(username, repo, commitId, path, file.getValue());
+                    if (!scan.isBinary()) {
+                        secretScanned.incrementAndGet();
+                        for (SecretFinding finding : scan.getFindings()) {
+                            secrets.add(finding.toMessage(path));
+                        }
+                    }
+                } catch (Exception e) {
+                    failures.add(path + ": " + e.getMessage());
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Repository scan task failed", e.getCause());
+            }
+        }
+
+        List<String> duplications = new ArrayList<>();
+        for (CrossFileClone clone : index.findClones()) {
+            duplications.add(clone.toString());
+        }
+        List<String> unusedMethods = new ArrayList<>();
+        for (UnusedMethod method : callGraph.findUnusedMethods()) {
+            unusedMethods.add(method.toString());
+        }
+        List<String> sortedFailures = new ArrayList<>(failures);
+        Collections.sort(sortedFailures);
+        List<String> sortedSecrets = new ArrayList<>(secrets);
+        Collections.sort(sortedSecrets);
+
+        RepositoryScanResult result = new RepositoryScanResult();
+        result.setRepositoryInfo(repositoryInfo(username, repo, commitId, null));
+        result.setDuplications(duplications);
+        result.setUnusedMethods(unusedMethods);
+        result.setSecrets(sortedSecrets);
+        result.setFailures(sortedFailures);
+        result.setFileCount(files.size());
+        result.setIndexedFileCount(indexed.get());
+        result.setUnchangedFileCount(unchanged.get());
+        result.setSecretScannedFileCount(secretScanned.get());
+        return result;
+    }
+
+    /**
+     * Scans a text file for secrets, reusing the result of an earlier scan of the same blob.
+     */
+    private StreamingSecretScanner.Result scanForSecrets(String username, String repo, String commitId, String path,
+                                                         String blobSha) throws Exception {
+        StreamingSecretScanner.Result cached = blobSha != null ? secretScansByBlob.get(blobSha) : null;
+        if (cached != null) {
+            return cached;
+        }
+        StreamingSecretScanner.Result scan = gitHubService.readRaw(username, repo, commitId, path,
+                StreamingSecretScanner::scan);
+        if (blobSha != null) {
+            secretScansByBlob.put(blobSha, scan);
+        }
+        return scan;
+    }
+
+    /**
+     * Determines whether a file other than a Java source is worth fetching to scan for secrets: it is small enough
+     * and its extension is not one of a binary format.
+     */
+    static boolean isSecretScanCandidate(String path, long size) {
+        if (size > MAX_SECRET_SCAN_BYTES) {
+            return false;
+        }
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 || !BINARY_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static RepositoryInfo repositoryInfo(String username, String repo, String commitId, String path) {
+        RepositoryInfo repositoryInfo = new RepositoryInfo();
+        repositoryInfo.setUsername(username);
+        repositoryInfo.setRepo(repo);
+        repositoryInfo.setCommitId(commitId);
+        repositoryInfo.setPath(path);
+        return repositoryInfo;
+    }
+
+    /**
+     * Stops the scan threads when the application shuts down.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
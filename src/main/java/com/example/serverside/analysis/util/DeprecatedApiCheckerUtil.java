@@ -1,35 +1,45 @@
 package com.example.serverside.analysis.util;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.serverside.analysis.deprecation.DeprecatedApiCatalogue;
 import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
  * This class is used to check for deprecated or insecure API usage in Java source code.
- * It extends VoidVisitorAdapter to traverse the AST nodes and identify deprecated imports.
+ * It extends VoidVisitorAdapter to traverse the AST nodes and identify deprecated imports, wildcard imports of
+ * packages holding deprecated types, and fully qualified usages of deprecated APIs in code, using the
+ * {@link DeprecatedApiCatalogue}.
  */
 public class DeprecatedApiCheckerUtil extends VoidVisitorAdapter<Void> {
     private List<String> vulnerabilities;
-    static final Map<String, String> insecureImports = new HashMap<>();
 
-    static {
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            File file = new File("src/main/resources/deprecatedApis.json");
-            Map<String, Map<String, String>> data = objectMapper.readValue(
-                    file, new TypeReference<Map<String, Map<String, String>>>() {}
-            );
-            insecureImports.putAll(data.get("insecureImports"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
+    /**
+     * Entries registered in code on top of the catalogue loaded from the classpath, such as by tests.
+     */
+    static final Map<String, String> insecureImports = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(DeprecatedApiCheckerUtil.class);
+
+    private static final AtomicReference<Combined> combined = new AtomicReference<>();
+
+    private final DeprecatedApiCatalogue catalogue;
+
+    // Catalogued types brought in by wildcard imports, by simple name, and the simple names imported explicitly
+    private final Map<String, Map.Entry<String, String>> onDemandTypes = new HashMap<>();
+    private final Set<String> singleTypeImports = new HashSet<>();
 
 
     /**
@@ -39,12 +49,56 @@ public class DeprecatedApiCheckerUtil extends VoidVisitorAdapter<Void> {
      */
     public DeprecatedApiCheckerUtil(List<String> vulnerabilities) {
         this.vulnerabilities = vulnerabilities;
+        this.catalogue = catalogue();
+    }
+
+    /**
+     * Gets the catalogue to check against: the current one, with the entries of {@link #insecureImports} added when
+     * there are any. The combined catalogue is kept with the version of the catalogue and the entries it was compiled
+     * from, and compiled again only when either has changed.
+     */
+    private static DeprecatedApiCatalogue catalogue() {
+        DeprecatedApiCatalogue base;
+        try {
+            base = DeprecatedApiCatalogue.current();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load the deprecated API catalogue; deprecated APIs are not reported", e);
+            base = DeprecatedApiCatalogue.of(Collections.emptyMap());
+        }
+        if (insecureImports.isEmpty()) {
+            return base;
+        }
+        Combined current = combined.get();
+        if (current == null || current.baseVersion != base.getVersion() || !current.extras.equals(insecureImports)) {
+            current = new Combined(base, Map.copyOf(insecureImports));
+            combined.set(current);
+        }
+        return current.catalogue;
+    }
+
+    /**
+     * A catalogue with the entries of {@link #insecureImports} added, and what it was compiled from.
+     */
+    private static final class Combined {
+
+        private final long baseVersion;
+        private final Map<String, String> extras;
+        private final DeprecatedApiCatalogue catalogue;
+
+        private Combined(DeprecatedApiCatalogue base, Map<String, String> extras) {
+            Map<String, String> entries = new LinkedHashMap<>(base.getEntries());
+            entries.putAll(extras);
+            this.baseVersion = base.getVersion();
+            this.extras = extras;
+            this.catalogue = DeprecatedApiCatalogue.of(entries);
+        }
     }
 
 
     /**
      * Visits an ImportDeclaration node in the AST.
-     * If the import matches any entry in the insecureImports map, a vulnerability is recorded.
+     * If the import is covered by an entry of the catalogue, a vulnerability is recorded. The catalogued types a
+     * wildcard import brings in are remembered, and recorded where the file uses them by their simple name.
      *
      * @param importDeclaration The ImportDeclaration node.
      * @param arg A user argument (not used in this implementation).
@@ -53,12 +107,142 @@ public class DeprecatedApiCheckerUtil extends VoidVisitorAdapter<Void> {
     public void visit(ImportDeclaration importDeclaration, Void arg) {
         super.visit(importDeclaration, arg);
         String importName = importDeclaration.getNameAsString();
-        if (insecureImports.containsKey(importName)) {
-            importDeclaration.getRange().ifPresent(range -> {
-                String message = String.format("Violation at line %d: Insecure import used: %s. Recommended alternative: %s",
-                        range.begin.line, importName, insecureImports.get(importName));
-                vulnerabilities.add(message);
-            });
+        if (importDeclaration.isAsterisk()) {
+            Map.Entry<String, String> covering = catalogue.find(importName);
+            if (covering != null) {
+                report(importDeclaration, "Insecure import used: " + importName + ".*", covering.getValue());
+                return;
+            }
+            for (Map.Entry<String, String> entry : catalogue.findMembers(importName)) {
+                String simpleName = entry.getKey().substring(entry.getKey().lastIndexOf('.') + 1);
+                onDemandTypes.putIfAbsent(simpleName, entry);
+            }
+        } else {
+            singleTypeImports.add(importDeclaration.getName().getIdentifier());
+            Map.Entry<String, String> entry = catalogue.find(importName);
+            if (entry != null) {
+                report(importDeclaration, "Insecure import used: " + importName, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Visits a ClassOrInterfaceType node in the AST.
+     * A fully qualified type, such as {@code java.util.Date} in a declaration, is checked as a whole, and a simple
+     * one against the types brought in by wildcard imports.
+     *
+     * @param type The ClassOrInterfaceType node.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(ClassOrInterfaceType type, Void arg) {
+        super.visit(type, arg);
+        if (type.getScope().isPresent()) {
+            if (!isScopeOfParent(type)) {
+                checkQualifiedName(type, type.getNameWithScope());
+            }
+        } else {
+            checkOnDemandType(type, type.getNameAsString());
+        }
+    }
+
+    /**
+     * Visits a MethodCallExpr node in the AST.
+     * A call on a fully qualified type, such as {@code java.util.Date.from(instant)}, is checked with the method name,
+     * so catalogue entries can name single methods. A call on a type brought in by a wildcard import, such as
+     * {@code Date.from(instant)}, is checked against that type.
+     *
+     * @param methodCall The MethodCallExpr node.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(MethodCallExpr methodCall, Void arg) {
+        super.visit(methodCall, arg);
+        methodCall.getScope()
+                .filter(NameExpr.class::isInstance)
+                .ifPresent(scope -> checkOnDemandType(methodCall, ((NameExpr) scope).getNameAsString()));
+        methodCall.getScope()
+                .filter(FieldAccessExpr.class::isInstance)
+                .map(DeprecatedApiCheckerUtil::qualifiedName)
+                .ifPresent(scope -> checkQualifiedName(methodCall, scope + "." + methodCall.getNameAsString()));
+    }
+
+    /**
+     * Visits a FieldAccessExpr node in the AST.
+     * A fully qualified name in an expression, such as a constant of a catalogued type, is checked as a whole.
+     *
+     * @param fieldAccess The FieldAccessExpr node.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(FieldAccessExpr fieldAccess, Void arg) {
+        super.visit(fieldAccess, arg);
+        if (!isScopeOfParent(fieldAccess)) {
+            String name = qualifiedName(fieldAccess);
+            if (name != null) {
+                checkQualifiedName(fieldAccess, name);
+            }
+        }
+    }
+
+    private void checkQualifiedName(Node node, String name) {
+        Map.Entry<String, String> entry = catalogue.find(name);
+        if (entry != null) {
+            report(node, "Insecure API used: " + name, entry.getValue());
+        }
+    }
+
+    private void checkOnDemandType(Node node, String simpleName) {
+        Map.Entry<String, String> entry = onDemandTypes.get(simpleName);
+        if (entry != null && !singleTypeImports.contains(simpleName)) {
+            String packageName = entry.getKey().substring(0, entry.getKey().length() - simpleName.length() - 1);
+            report(node, "Insecure API used: " + entry.getKey() + " (through " + packageName + ".*)", entry.getValue());
+        }
+    }
+
+    private void report(Node node, String usage, String alternative) {
+        node.getRange().ifPresent(range -> {
+            String message = String.format("Violation at line %d: %s. Recommended alternative: %s",
+                    range.begin.line, usage, alternative);
+            vulnerabilities.add(message);
+        });
+    }
+
+    /**
+     * Whether a node is the scope of its parent, as {@code java.util} is in {@code java.util.Date}, so that only the
+     * whole name is checked.
+     */
+    private static boolean isScopeOfParent(Node node) {
+        Optional<Node> parent = node.getParentNode();
+        if (parent.isEmpty()) {
+            return false;
+        }
+        if (parent.get() instanceof ClassOrInterfaceType) {
+            return ((ClassOrInterfaceType) parent.get()).getScope().filter(scope -> scope == node).isPresent();
+        }
+        if (parent.get() instanceof FieldAccessExpr) {
+            return ((FieldAccessExpr) parent.get()).getScope() == node;
+        }
+        if (parent.get() instanceof MethodCallExpr) {
+            return ((MethodCallExpr) parent.get()).getScope().filter(scope -> scope == node).isPresent();
+        }
+        return false;
+    }
+
+    /**
+     * Gets the dotted name of an expression made of names only, such as {@code java.util.Date}.
+     *
+     * @return The name, or null if the expression holds anything else, such as a method call.
+     */
+    private static String qualifiedName(Expression expression) {
+        if (expression instanceof NameExpr) {
+            return ((NameExpr) expression).getNameAsString();
+        }
+        if (expression instanceof FieldAccessExpr) {
+            FieldAccessExpr fieldAccess = (FieldAccessExpr) expression;
+            String scope = qualifiedName(fieldAccess.getScope());
+            return scope == null ? null : scope + "." + fieldAccess.getNameAsString();
         }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.serverside.analysis.util;
 
+import com.example.serverside.analysis.secrets.SecretScanner;
 import com.github.javaparser.Position;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.Expression;
@@ -7,17 +8,15 @@ import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 
 /**
  * Utility class that extends VoidVisitorAdapter to check for hardcoded credentials in Java source code.
  * It identifies potential security vulnerabilities where sensitive information like passwords,
- * tokens, or secrets are hardcoded.
+ * tokens, or secrets are hardcoded. Names and values are matched against the credential keywords of the
+ * {@link SecretScanner} in a single pass.
  */
 public class HardcodedCredentialsCheckerUtil extends VoidVisitorAdapter<Void> {
-    private static final Pattern CREDENTIALS_PATTERN = Pattern.compile(".*(password|secret|token).*", Pattern.CASE_INSENSITIVE);
     private final List<String> vulnerabilities;
 
 
@@ -71,8 +70,7 @@ public class HardcodedCredentialsCheckerUtil extends VoidVisitorAdapter<Void> {
     private void checkForHardcodedCredentials(String varName, Expression valueExpr, Position position) {
         if (valueExpr != null && valueExpr.isStringLiteralExpr()) {
             String value = valueExpr.asStringLiteralExpr().getValue();
-            Matcher valueMatcher = CREDENTIALS_PATTERN.matcher(value);
-            if ((varName != null && CREDENTIALS_PATTERN.matcher(varName).matches()) || valueMatcher.matches()) {
+            if (SecretScanner.hasCredentialKeyword(varName) || SecretScanner.hasCredentialKeyword(value)) {
                 String message = position != null ?
                         "Violation at line " + position.line + ": Potential hardcoded credentials detected: \"" + value + "\" at line " + position.line :
                         "Violation at line : Potential hardcoded credentials detected: \"" + value + "\"";
@@ -1,6 +1,8 @@
 package com.example.serverside.analysis.util;
 
-import com.github.javaparser.JavaParser;
+import com.example.serverside.analysis.parser.JavaParserPool;
+import com.example.serverside.analysis.parser.LineIndex;
+import com.example.serverside.analysis.parser.ParseProfile;
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.stmt.BlockStmt;
@@ -20,18 +22,28 @@ public class IndentationCheckerUtil extends VoidVisitorAdapter<Void> {
 
     private static final int INDENTATION_SPACES = 4; // Standard number of spaces per indentation level
     private List<String> violations; // List to store identified indentation violations
-    private String[] codeLines; // Array of code lines to check
+    private LineIndex lines; // Line offsets of the code to check
 
 
     /**
      * Constructs an {@code IndentationCheckerUtil} instance.
      *
      * @param violations A {@link List} that will be populated with messages about indentation violations.
-     * @param code The Java source code as a single string. It will be split into lines for processing.
+     * @param code The Java source code as a single string. It will be indexed by line for processing.
      */
     public IndentationCheckerUtil(List<String> violations, String code) {
+        this(violations, LineIndex.of(code));
+    }
+
+    /**
+     * Constructs an {@code IndentationCheckerUtil} instance over source code that is already indexed by line.
+     *
+     * @param violations A {@link List} that will be populated with messages about indentation violations.
+     * @param lines The line index of the Java source code.
+     */
+    public IndentationCheckerUtil(List<String> violations, LineIndex lines) {
         this.violations = violations;
-        this.codeLines = code.split("\\r?\\n"); // Splitting on both Unix and Windows line endings
+        this.lines = lines;
     }
 
 
@@ -40,13 +52,21 @@ public class IndentationCheckerUtil extends VoidVisitorAdapter<Void> {
      * Parses the source code into a {@link CompilationUnit} and starts the AST traversal to check indentation.
      */
     public void check() {
-        JavaParser javaParser = new JavaParser();
-        ParseResult<CompilationUnit> parseResult = javaParser.parse(String.join("\n", codeLines));
+        ParseResult<CompilationUnit> parseResult = JavaParserPool.get(ParseProfile.STRUCTURAL).parse(lines.getSource().toString());
         parseResult.getResult().ifPresent(compilationUnit -> {
             this.visit(compilationUnit, null);
         });
     }
 
+    /**
+     * Runs the indentation check on a compilation unit already parsed from the source code, without parsing it again.
+     *
+     * @param compilationUnit The compilation unit parsed from the code this checker was constructed with.
+     */
+    public void check(CompilationUnit compilationUnit) {
+        this.visit(compilationUnit, null);
+    }
+
     /**
      * Visits a {@link BlockStmt} node in the AST.
      * Checks the indentation level of the block statement and its child statements.
@@ -57,23 +77,21 @@ public class IndentationCheckerUtil extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(BlockStmt n, Void arg) {
         // First, find the block's own starting line to determine its indentation
-        int blockStartLine = n.getBegin().get().line - 1;
-        String blockStartLineText = codeLines[blockStartLine];
-        int blockIndentationLevel = getIndentationLevel(blockStartLineText);
+        int blockStartLine = n.getBegin().get().line;
+        int blockIndentationLevel = lines.getIndentation(blockStartLine);
 
         // Now check each statement in the block
         n.getStatements().forEach(statement -> {
-            int statementLine = statement.getBegin().get().line - 1;
-            String line = codeLines[statementLine];
-            int statementIndentationLevel = getIndentationLevel(line);
+            int statementLine = statement.getBegin().get().line;
+            int statementIndentationLevel = lines.getIndentation(statementLine);
 
             // Expect the statement to be indented one level deeper than the block's indentation
             if (statementIndentationLevel != blockIndentationLevel + INDENTATION_SPACES) {
                 String violationMessage = String.format("Violation at line %d: Incorrect indentation . Expected: %d spaces but got: %d. Line: \"%s\"",
-                        statementLine + 1,
+                        statementLine,
                         blockIndentationLevel + INDENTATION_SPACES,
                         statementIndentationLevel,
-                        line.trim());
+                        lines.getTrimmedLine(statementLine));
                 violations.add(violationMessage);
             }
         });
@@ -81,18 +99,4 @@ public class IndentationCheckerUtil extends VoidVisitorAdapter<Void> {
         // It's important to call super to ensure proper traversal of the AST
         super.visit(n, arg);
     }
-
-    /**
-     * Determines the indentation level of a given line of code.
-     *
-     * @param line The line of code whose indentation level is to be measured.
-     * @return The number of leading spaces in the line, representing its indentation level.
-     */
-    private int getIndentationLevel(String line) {
-        int level = 0;
-        while (level < line.length() && line.charAt(level) == ' ') {
-            level++;
-        }
-        return level; // Return the counted indentation level
-    }
 }
@@ -1,6 +1,6 @@
 package com.example.serverside.analysis.util;
 
-import com.github.javaparser.ast.body.VariableDeclarator;
+import com.example.serverside.analysis.dataflow.ConstantFolder;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 
@@ -9,11 +9,14 @@ import java.util.*;
 /**
  * This class is responsible for checking insecure cryptographic practices in Java source code.
  * It extends VoidVisitorAdapter to traverse the AST nodes and identify potential vulnerabilities.
+ * The algorithm of each {@code getInstance} call is resolved with a {@link ConstantFolder}, so constants, their
+ * concatenations and {@code String.format} calls are followed, and the algorithm of a transformation such as
+ * {@code "DES/ECB/PKCS5Padding"} is checked.
  */
 public class InsecureCryptoPracticesCheck extends VoidVisitorAdapter<Void> {
     private List<String> vulnerabilities;
     private Set<String> weakAlgorithms;
-    private Map<String, String> variableValues;
+    private final ConstantFolder constantFolder;
 
 
     /**
@@ -22,27 +25,19 @@ public class InsecureCryptoPracticesCheck extends VoidVisitorAdapter<Void> {
      * @param vulnerabilities A list to store detected vulnerabilities.
      */
     public InsecureCryptoPracticesCheck(List<String> vulnerabilities) {
-        this.vulnerabilities = vulnerabilities;
-        this.weakAlgorithms = new HashSet<>(Arrays.asList("DES", "MD5", "RC4"));
-        this.variableValues = new HashMap<>();
+        this(vulnerabilities, new ConstantFolder());
     }
 
-
     /**
-     * Visits a VariableDeclarator node in the AST.
-     * It captures the value of any string literals assigned to variables for later analysis.
+     * Constructs an InsecureCryptoPracticesCheck instance.
      *
-     * @param n   The VariableDeclarator node.
-     * @param arg A user argument (not used in this implementation).
+     * @param vulnerabilities A list to store detected vulnerabilities.
+     * @param constantFolder  The constant folder of the tree visited, shared with the other rules run on it.
      */
-    @Override
-    public void visit(VariableDeclarator n, Void arg) {
-        super.visit(n, arg);
-        n.getInitializer().ifPresent(initializer -> {
-            if (initializer.isStringLiteralExpr()) {
-                variableValues.put(n.getNameAsString(), initializer.asStringLiteralExpr().getValue());
-            }
-        });
+    public InsecureCryptoPracticesCheck(List<String> vulnerabilities, ConstantFolder constantFolder) {
+        this.vulnerabilities = vulnerabilities;
+        this.weakAlgorithms = new HashSet<>(Arrays.asList("DES", "MD5", "RC4"));
+        this.constantFolder = constantFolder;
     }
 
 
@@ -58,7 +53,7 @@ public class InsecureCryptoPracticesCheck extends VoidVisitorAdapter<Void> {
         super.visit(n, arg);
         if (n.getNameAsString().equals("getInstance") && !n.getArguments().isEmpty()) {
             String algorithm = resolveAlgorithm(n.getArgument(0));
-            if (algorithm != null && weakAlgorithms.contains(algorithm)) {
+            if (algorithm != null && weakAlgorithms.contains(algorithm.toUpperCase(Locale.ROOT))) {
                 reportVulnerability(algorithm, n.getBegin().map(r -> r.line).orElse(-1));
             }
         }
@@ -67,19 +62,17 @@ public class InsecureCryptoPracticesCheck extends VoidVisitorAdapter<Void> {
 
     /**
      * Resolves the algorithm name from an expression.
-     * It handles direct string literals and references to variables.
+     * The expression is folded to a constant string; for a transformation, such as {@code "DES/ECB/PKCS5Padding"},
+     * the algorithm is the part before the first slash.
      *
      * @param expression The expression potentially representing an algorithm name.
      * @return The resolved algorithm name, or null if it cannot be resolved.
      */
     private String resolveAlgorithm(Expression expression) {
-        if (expression.isStringLiteralExpr()) {
-            return expression.asStringLiteralExpr().getValue();
-        } else if (expression.isNameExpr()) {
-            return variableValues.getOrDefault(expression.asNameExpr().getNameAsString(), null);
-        }
-
-        return null;
+        return constantFolder.foldString(expression)
+                .map(value -> value.indexOf('/') < 0 ? value : value.substring(0, value.indexOf('/')))
+                .map(String::trim)
+                .orElse(null);
     }
 
     private void reportVulnerability(String algorithm, int line) {
@@ -1,5 +1,6 @@
 package com.example.serverside.analysis.util;
 
+import com.example.serverside.analysis.resolution.ResolvedTypes;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
@@ -19,6 +20,8 @@ import java.util.Set;
  */
 public class InsecureDeserializationCheck extends VoidVisitorAdapter<Void> {
 
+    private static final String OBJECT_INPUT_STREAM = "java.io.ObjectInputStream";
+
     private final List<String> vulnerabilities;
     private final Set<String> objectInputStreamVariables;
     private final Set<String> userControlledDataSources;
@@ -47,7 +50,7 @@ public class InsecureDeserializationCheck extends VoidVisitorAdapter<Void> {
     public void visit(VariableDeclarator var, Void arg) {
         super.visit(var, arg);
         String varName = var.getNameAsString();
-        if (var.getType().asString().equals("ObjectInputStream")) {
+        if (ResolvedTypes.is(var.getType(), OBJECT_INPUT_STREAM)) {
             objectInputStreamVariables.add(varName);
         } else if (var.getInitializer().isPresent()) {
             Expression initializer = var.getInitializer().get();
@@ -68,7 +71,7 @@ public class InsecureDeserializationCheck extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(ObjectCreationExpr n, Void arg) {
         super.visit(n, arg);
-        if (n.getType().asString().equals("ObjectInputStream")) {
+        if (ResolvedTypes.is(n.getType(), OBJECT_INPUT_STREAM)) {
             n.getArguments().forEach(argExpr -> {
                 if (argExpr instanceof NameExpr && userControlledDataSources.contains(((NameExpr) argExpr).getNameAsString())) {
                     reportInsecureDeserialization(n.getRange().map(r -> r.begin.line).orElse(-1));
@@ -80,7 +83,8 @@ public class InsecureDeserializationCheck extends VoidVisitorAdapter<Void> {
 
     /**
      * Visits MethodCallExpr nodes, especially looking for 'readObject' calls on ObjectInputStream
-     * instances to detect potential deserialization vulnerabilities.
+     * instances to detect potential deserialization vulnerabilities. When types can be resolved, calls on
+     * fields and parameters of type ObjectInputStream are found as well as calls on local variables.
      *
      * @param n   The MethodCallExpr node.
      * @param arg A user argument (not used in this implementation).
@@ -89,8 +93,9 @@ public class InsecureDeserializationCheck extends VoidVisitorAdapter<Void> {
     public void visit(MethodCallExpr n, Void arg) {
         super.visit(n, arg);
         if (n.getNameAsString().equals("readObject") && n.getScope().isPresent()) {
-            String scopeName = n.getScope().get().toString();
-            if (objectInputStreamVariables.contains(scopeName)) {
+            Expression scope = n.getScope().get();
+            if (objectInputStreamVariables.contains(scope.toString())
+                    || ResolvedTypes.qualifiedTypeName(scope).filter(OBJECT_INPUT_STREAM::equals).isPresent()) {
                 reportInsecureDeserialization(n.getRange().map(r -> r.begin.line).orElse(-1));
             }
         }
@@ -0,0 +1,90 @@
+package com.example.serverside.analysis.util;
+
+import com.example.serverside.analysis.parser.EnclosingContexts;
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps member names to the classes they are used from within one compilation unit.
+ * Field accesses and method calls are recorded by name together with their enclosing class, resolved once while the
+ * index is built, so asking whether a member is used outside its declaring class is a lookup rather than a scan of
+ * the whole file.
+ *
+ * Classes are compared by identity. Usages outside any class share a single placeholder.
+ */
+public final class MemberUsageIndex {
+
+    private static final Object NO_CLASS = new Object();
+
+    private final EnclosingContexts contexts;
+    private final Map<String, Set<Object>> fieldAccessClasses = new HashMap<>();
+    private final Map<String, Set<Object>> methodCallClasses = new HashMap<>();
+
+    private MemberUsageIndex(CompilationUnit cu) {
+        contexts = EnclosingContexts.of(cu);
+        NodeIndex index = NodeIndex.of(cu);
+        for (FieldAccessExpr access : index.ofType(FieldAccessExpr.class)) {
+            record(fieldAccessClasses, access.getNameAsString(), access);
+        }
+        for (MethodCallExpr call : index.ofType(MethodCallExpr.class)) {
+            record(methodCallClasses, call.getNameAsString(), call);
+        }
+    }
+
+    /**
+     * Builds the usage index of a compilation unit.
+     *
+     * @param cu The compilation unit.
+     * @return The usage index.
+     */
+    public static MemberUsageIndex of(CompilationUnit cu) {
+        return new MemberUsageIndex(cu);
+    }
+
+    /**
+     * Determines whether a field is accessed by name from a class other than the one declaring it.
+     *
+     * @param fieldName   The name of the field.
+     * @param declaration The field declaration.
+     * @return true if there is an access from another class, false otherwise.
+     */
+    public boolean isFieldAccessedOutside(String fieldName, Node declaration) {
+        return isUsedOutside(fieldAccessClasses.get(fieldName), declaration);
+    }
+
+    /**
+     * Determines whether a method is called by name from a class other than the one declaring it.
+     *
+     * @param methodName  The name of the method.
+     * @param declaration The method declaration.
+     * @return true if there is a call from another class, false otherwise.
+     */
+    public boolean isMethodCalledOutside(String methodName, Node declaration) {
+        return isUsedOutside(methodCallClasses.get(methodName), declaration);
+    }
+
+    private boolean isUsedOutside(Set<Object> usingClasses, Node declaration) {
+        if (usingClasses == null) {
+            return false;
+        }
+        return usingClasses.size() > 1 || !usingClasses.contains(enclosingClass(declaration));
+    }
+
+    private void record(Map<String, Set<Object>> usages, String name, Node usage) {
+        usages.computeIfAbsent(name, key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                .add(enclosingClass(usage));
+    }
+
+    private Object enclosingClass(Node node) {
+        return contexts.get(node).getClassDeclaration().<Object>map(type -> type).orElse(NO_CLASS);
+    }
+}
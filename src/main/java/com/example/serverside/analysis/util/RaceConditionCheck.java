@@ -1,28 +1,82 @@
 package com.example.serverside.analysis.util;
 
+import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.ThisExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
 import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * This class extends VoidVisitorAdapter to check for potential race conditions in Java source code.
- * It identifies accesses to shared resources (like static or volatile fields) and checks if these accesses
- * are properly synchronized to prevent race conditions.
+ * It walks the tree once, keeping the set of locks held at each point: the monitor of a synchronized method or block,
+ * and explicit {@link java.util.concurrent.locks.Lock} regions from {@code lock()} to {@code unlock()}. Every access
+ * to a non-final field of the file is recorded with the locks held, and when the walk ends two kinds of accesses are
+ * reported:
+ * <ul>
+ *     <li>accesses holding no lock to fields shared by declaration, that is static or volatile fields;</li>
+ *     <li>accesses to a field that other accesses guard with a lock, without holding that lock.</li>
+ * </ul>
+ * Accesses to instance fields in constructors and initializers are not reported, as the object is not shared yet.
+ * Local variables and parameters shadowing a field are told apart from it.
  */
 public class RaceConditionCheck extends VoidVisitorAdapter<Void> {
 
+    private static final Set<String> ASYNCHRONOUS_METHODS = Set.of(
+            "execute", "submit", "schedule", "scheduleAtFixedRate", "scheduleWithFixedDelay", "startVirtualThread",
+            "newThread", "unstarted", "invokeLater");
+
     private final List<String> raceConditions;
-    private final Set<String> sharedResources;
+
+    private final Deque<Map<String, SharedField>> typeFields = new ArrayDeque<>();
+    private final Deque<String> typeNames = new ArrayDeque<>();
+    private final List<SharedField> fields = new ArrayList<>();
+
+    // Locks held at the current point, innermost last; a lock appears once per acquisition
+    private List<String> heldLocks = new ArrayList<>();
+
+    // Local variables and parameters in scope, counted so that leaving a scope can forget its own
+    private final Map<String, Integer> locals = new HashMap<>();
+    private final Deque<List<String>> localScopes = new ArrayDeque<>();
+
+    private Phase phase = Phase.RUNNING;
 
 
     /**
@@ -32,28 +86,165 @@ public class RaceConditionCheck extends VoidVisitorAdapter<Void> {
      */
     public RaceConditionCheck(List<String> raceConditions) {
         this.raceConditions = raceConditions;
-        this.sharedResources = new HashSet<>();
     }
 
 
     /**
-     * Visits FieldDeclaration nodes to identify shared resources.
-     * Marks static or volatile fields as shared resources.
+     * Visits the CompilationUnit, recording the accesses to fields in it, then reports the unsafe ones in line order.
      *
-     * @param n   The FieldDeclaration node.
+     * @param n   The CompilationUnit node.
      * @param arg A user argument (not used in this implementation).
      */
     @Override
-    public void visit(FieldDeclaration n, Void arg) {
+    public void visit(CompilationUnit n, Void arg) {
+        super.visit(n, arg);
+        report();
+    }
+
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Void arg) {
+        enterType(n);
         super.visit(n, arg);
-        if (n.isStatic() || n.isVolatile()) {
-            sharedResources.add(n.getVariables().get(0).getNameAsString());
+        exitType();
+    }
+
+    @Override
+    public void visit(EnumDeclaration n, Void arg) {
+        enterType(n);
+        super.visit(n, arg);
+        exitType();
+    }
+
+    @Override
+    public void visit(RecordDeclaration n, Void arg) {
+        enterType(n);
+        super.visit(n, arg);
+        exitType();
+    }
+
+
+    /**
+     * Registers the non-final fields of a type, all variables of each declaration, before its members are visited,
+     * so that accesses are recognised whatever the order of the members.
+     */
+    private void enterType(TypeDeclaration<?> type) {
+        Map<String, SharedField> declared = new HashMap<>();
+        for (FieldDeclaration field : type.getFields()) {
+            if (field.isFinal()) {
+                continue;
+            }
+            for (VariableDeclarator variable : field.getVariables()) {
+                SharedField shared = new SharedField(variable.getNameAsString(), field.isStatic(), field.isVolatile());
+                declared.put(shared.name, shared);
+                fields.add(shared);
+            }
         }
+        typeFields.push(declared);
+        typeNames.push(type.getNameAsString());
+    }
+
+    private void exitType() {
+        typeFields.pop();
+        typeNames.pop();
     }
 
 
     /**
-     * Visits MethodCallExpr nodes to detect accesses to shared resources that might lead to race conditions.
+     * Visits MethodDeclaration nodes. A synchronized method holds the monitor of its object, or of its class if it is
+     * static; other methods start holding no lock, even in a class declared inside a synchronized block.
+     *
+     * @param n   The MethodDeclaration node.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(MethodDeclaration n, Void arg) {
+        List<String> locks = new ArrayList<>();
+        if (n.isSynchronized()) {
+            locks.add(n.isStatic() ? typeNames.peek() + ".class" : "this");
+        }
+        n.getBody().ifPresent(body -> visitMember(Phase.RUNNING, locks, n.getParameters(), body));
+    }
+
+    @Override
+    public void visit(ConstructorDeclaration n, Void arg) {
+        visitMember(Phase.CONSTRUCTING, new ArrayList<>(), n.getParameters(), n.getBody());
+    }
+
+    @Override
+    public void visit(InitializerDeclaration n, Void arg) {
+        Phase phase = n.isStatic() ? Phase.INITIALISING_CLASS : Phase.CONSTRUCTING;
+        visitMember(phase, new ArrayList<>(), new NodeList<>(), n.getBody());
+    }
+
+    @Override
+    public void visit(FieldDeclaration n, Void arg) {
+        Phase phase = n.isStatic() ? Phase.INITIALISING_CLASS : Phase.CONSTRUCTING;
+        for (VariableDeclarator variable : n.getVariables()) {
+            variable.getInitializer().ifPresent(
+                    initializer -> visitMember(phase, new ArrayList<>(), new NodeList<>(), initializer));
+        }
+    }
+
+    /**
+     * Visits the body of a member in the given phase, holding the given locks, with its parameters in scope.
+     */
+    private void visitMember(Phase memberPhase, List<String> locks, NodeList<Parameter> parameters, Node body) {
+        List<String> outerLocks = heldLocks;
+        Phase outerPhase = phase;
+        heldLocks = locks;
+        phase = memberPhase;
+        enterScope();
+        parameters.forEach(parameter -> declareLocal(parameter.getNameAsString()));
+        body.accept(this, null);
+        exitScope();
+        heldLocks = outerLocks;
+        phase = outerPhase;
+    }
+
+
+    /**
+     * Visits SynchronizedStmt nodes, holding the monitor of the expression while visiting the body.
+     *
+     * @param n   The SynchronizedStmt node.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(SynchronizedStmt n, Void arg) {
+        n.getExpression().accept(this, arg);
+        heldLocks.add(lockName(n.getExpression()));
+        n.getBody().accept(this, arg);
+        heldLocks.remove(heldLocks.size() - 1);
+    }
+
+
+    /**
+     * Visits IfStmt nodes in source order. The then branch of {@code if (lock.tryLock())} holds the lock.
+     *
+     * @param n   The IfStmt node.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(IfStmt n, Void arg) {
+        Expression condition = n.getCondition();
+        condition.accept(this, arg);
+        String tried = null;
+        if (condition instanceof MethodCallExpr && ((MethodCallExpr) condition).getNameAsString().equals("tryLock")
+                && ((MethodCallExpr) condition).getScope().isPresent()) {
+            tried = lockName(((MethodCallExpr) condition).getScope().get());
+            heldLocks.add(tried);
+        }
+        n.getThenStmt().accept(this, arg);
+        if (tried != null) {
+            heldLocks.remove(tried);
+        }
+        n.getElseStmt().ifPresent(elseStmt -> elseStmt.accept(this, arg));
+    }
+
+
+    /**
+     * Visits MethodCallExpr nodes. Calls to {@code lock()} and {@code lockInterruptibly()} acquire the lock they are
+     * made on, and {@code unlock()} releases it.
      *
      * @param n   The MethodCallExpr node.
      * @param arg A user argument (not used in this implementation).
@@ -61,56 +252,126 @@ public class RaceConditionCheck extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(MethodCallExpr n, Void arg) {
         super.visit(n, arg);
-        if (sharedResources.contains(n.getNameAsString()) && !isSynchronized(n)) {
-            raceConditions.add("Violation at line " +
-                    n.getRange().map(r -> r.begin.line).orElse(-1) +
-                    ": Potential race condition detected with shared resource '" +
-                    n.getNameAsString() + "'");
+        if (n.getScope().isEmpty() || n.getArguments().isNonEmpty()) {
+            return;
+        }
+        String method = n.getNameAsString();
+        if (method.equals("lock") || method.equals("lockInterruptibly")) {
+            heldLocks.add(lockName(n.getScope().get()));
+        } else if (method.equals("unlock")) {
+            heldLocks.remove(lockName(n.getScope().get()));
         }
     }
 
 
     /**
-     * Visits FieldAccessExpr nodes to check for race conditions related to shared resource access.
+     * Visits BlockStmt nodes. Explicit locks still held when the block that acquired them ends are released, so a
+     * missing {@code unlock()} does not guard the rest of the file.
      *
-     * @param n   The FieldAccessExpr node being visited.
+     * @param n   The BlockStmt node.
      * @param arg A user argument (not used in this implementation).
      */
     @Override
-    public void visit(FieldAccessExpr n, Void arg) {
+    public void visit(BlockStmt n, Void arg) {
+        List<String> locksBefore = new ArrayList<>(heldLocks);
+        enterScope();
         super.visit(n, arg);
-        if (sharedResources.contains(n.getNameAsString()) && !isSynchronized(n)) {
-            raceConditions.add("Violation at line " +
-                    n.getRange().map(r -> r.begin.line).orElse(-1) +
-                    ": Potential race condition detected with shared resource '" +
-                    n.getNameAsString() + "'");
+        exitScope();
+        if (heldLocks.size() > locksBefore.size()) {
+            heldLocks.retainAll(locksBefore);
         }
     }
 
-
     /**
-     * Visits AssignExpr nodes to detect race conditions in assignments to shared resources.
+     * Visits LambdaExpr nodes. A lambda handed to an asynchronous API runs on another thread, after the code creating
+     * it may have released its locks or finished constructing, as with {@code executor.submit(() -> count++)}, so its
+     * body starts holding no lock and runs in the RUNNING phase. Other lambdas, such as {@code forEach} callbacks, are
+     * taken to run where they are created, holding the same locks.
      *
-     * @param n   The AssignExpr node being visited.
+     * @param n   The LambdaExpr node.
      * @param arg A user argument (not used in this implementation).
      */
     @Override
-    public void visit(AssignExpr n, Void arg) {
-        super.visit(n, arg);
-        if (n.getTarget() instanceof NameExpr) {
-            NameExpr nameExpr = (NameExpr) n.getTarget();
-            if (sharedResources.contains(nameExpr.getNameAsString()) && !isSynchronized(n)) {
-                raceConditions.add("Violation at line " +
-                        n.getRange().map(r -> r.begin.line).orElse(-1) +
-                        ": Potential race condition detected in assignment to shared resource '" +
-                        nameExpr.getNameAsString() + "'");
-            }
+    public void visit(LambdaExpr n, Void arg) {
+        if (isAsynchronous(n)) {
+            visitMember(Phase.RUNNING, new ArrayList<>(), n.getParameters(), n.getBody());
+        } else {
+            visitMember(phase, new ArrayList<>(heldLocks), n.getParameters(), n.getBody());
+        }
+    }
+
+    /**
+     * Determines whether a lambda is passed to a thread or to a method running it asynchronously, such as
+     * {@code Executor.execute}, {@code ExecutorService.submit} or {@code CompletableFuture.supplyAsync}.
+     */
+    private static boolean isAsynchronous(LambdaExpr lambda) {
+        Node parent = lambda.getParentNode().orElse(null);
+        if (parent instanceof ObjectCreationExpr) {
+            return ((ObjectCreationExpr) parent).getType().getNameAsString().equals("Thread");
+        }
+        if (parent instanceof MethodCallExpr && ((MethodCallExpr) parent).getArguments().contains(lambda)) {
+            String method = ((MethodCallExpr) parent).getNameAsString();
+            return ASYNCHRONOUS_METHODS.contains(method) || method.endsWith("Async");
+        }
+        return false;
+    }
+
+    // The statements below are visited in source order, as the order of lock() and unlock() calls matters
+
+    @Override
+    public void visit(ForStmt n, Void arg) {
+        enterScope();
+        n.getInitialization().forEach(initialization -> initialization.accept(this, arg));
+        n.getCompare().ifPresent(compare -> compare.accept(this, arg));
+        n.getBody().accept(this, arg);
+        n.getUpdate().forEach(update -> update.accept(this, arg));
+        exitScope();
+    }
+
+    @Override
+    public void visit(ForEachStmt n, Void arg) {
+        n.getIterable().accept(this, arg);
+        enterScope();
+        n.getVariable().accept(this, arg);
+        n.getBody().accept(this, arg);
+        exitScope();
+    }
+
+    @Override
+    public void visit(WhileStmt n, Void arg) {
+        n.getCondition().accept(this, arg);
+        n.getBody().accept(this, arg);
+    }
+
+    @Override
+    public void visit(CatchClause n, Void arg) {
+        enterScope();
+        declareLocal(n.getParameter().getNameAsString());
+        n.getBody().accept(this, arg);
+        exitScope();
+    }
+
+    @Override
+    public void visit(TryStmt n, Void arg) {
+        enterScope();
+        n.getResources().forEach(resource -> resource.accept(this, arg));
+        n.getTryBlock().accept(this, arg);
+        exitScope();
+        n.getCatchClauses().forEach(catchClause -> catchClause.accept(this, arg));
+        n.getFinallyBlock().ifPresent(finallyBlock -> finallyBlock.accept(this, arg));
+    }
+
+    @Override
+    public void visit(VariableDeclarationExpr n, Void arg) {
+        for (VariableDeclarator variable : n.getVariables()) {
+            variable.accept(this, arg);
+            declareLocal(variable.getNameAsString());
         }
     }
 
 
     /**
-     * Visits NameExpr nodes to identify usage of shared resources and check for race conditions.
+     * Visits NameExpr nodes, recording an access if the name refers to a field.
      *
      * @param n   The NameExpr node being visited.
      * @param arg A user argument (not used in this implementation).
@@ -118,32 +379,197 @@ public class RaceConditionCheck extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(NameExpr n, Void arg) {
         super.visit(n, arg);
-        if (sharedResources.contains(n.getNameAsString()) && !isSynchronized(n)) {
-            raceConditions.add("Violation at line " +
-                    n.getRange().map(r -> r.begin.line).orElse(-1) +
-                    ": Potential race condition detected with shared resource '" +
-                    n.getNameAsString() + "'");
+        if (!locals.containsKey(n.getNameAsString())) {
+            SharedField field = findField(n.getNameAsString());
+            if (field != null) {
+                recordAccess(field, n);
+            }
         }
     }
 
+
     /**
-     * Checks if the provided node is within a synchronized context.
-     * This can be a synchronized method or a synchronized block.
+     * Visits FieldAccessExpr nodes, recording an access to a field of this file through {@code this} or the name of
+     * its class.
      *
-     * @param node The AST node to check.
-     * @return True if the node is within a synchronized context, false otherwise.
-     */
-    private boolean isSynchronized(Node node) {
-        // Check for synchronization in the current context
-        Node current = node;
-        while (current != null) {
-            if (current instanceof SynchronizedStmt ||
-                    (current instanceof MethodDeclaration && ((MethodDeclaration) current).isSynchronized())) {
-                return true;
+     * @param n   The FieldAccessExpr node being visited.
+     * @param arg A user argument (not used in this implementation).
+     */
+    @Override
+    public void visit(FieldAccessExpr n, Void arg) {
+        super.visit(n, arg);
+        Expression scope = n.getScope();
+        boolean ownField = scope instanceof ThisExpr
+                || (scope instanceof NameExpr && typeNames.contains(((NameExpr) scope).getNameAsString()));
+        if (ownField) {
+            SharedField field = findField(n.getNameAsString());
+            if (field != null) {
+                recordAccess(field, n);
             }
-            current = current.getParentNode().orElse(null);
         }
-        return false;
     }
 
+
+    private SharedField findField(String name) {
+        for (Map<String, SharedField> declared : typeFields) {
+            SharedField field = declared.get(name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private void recordAccess(SharedField field, Expression access) {
+        if (phase == Phase.INITIALISING_CLASS || (phase == Phase.CONSTRUCTING && !field.isStatic)) {
+            return;
+        }
+        Node parent = access.getParentNode().orElse(null);
+        boolean assignment = parent instanceof AssignExpr && ((AssignExpr) parent).getTarget() == access;
+        boolean write = assignment || (parent instanceof UnaryExpr && isIncrementOrDecrement((UnaryExpr) parent));
+        int line = access.getRange().map(r -> r.begin.line).orElse(-1);
+        field.accesses.add(new Access(line, assignment, write, heldLocks.isEmpty() ? Set.of() : Set.copyOf(heldLocks)));
+    }
+
+
+    /**
+     * Reports the accesses holding no lock to static or volatile fields, and the accesses missing the lock other
+     * accesses to the same field hold.
+     */
+    private void report() {
+        List<Access> reported = new ArrayList<>();
+        Map<Access, String> messages = new HashMap<>();
+        for (SharedField field : fields) {
+            Set<String> guard = null; // Locks held by the first guarded access
+            for (Access access : field.accesses) {
+                if (!access.locks.isEmpty()) {
+                    guard = access.locks;
+                    break;
+                }
+            }
+            for (Access access : field.accesses) {
+                if (access.locks.isEmpty() && field.isSharedByDeclaration()) {
+                    String kind = access.assignment ? "in assignment to" : "with";
+                    messages.put(access, "Violation at line " + access.line + ": Potential race condition detected "
+                            + kind + " shared resource '" + field.name + "'");
+                    reported.add(access);
+                } else if (guard != null && Collections.disjoint(access.locks, guard)) {
+                    messages.put(access, "Violation at line " + access.line + ": Potential race condition detected "
+                            + "with shared resource '" + field.name + "': " + (access.write ? "written" : "read")
+                            + " holding " + describe(access.locks) + ", but guarded by " + describe(guard)
+                            + " elsewhere");
+                    reported.add(access);
+                }
+            }
+        }
+        reported.sort(Comparator.comparingInt(access -> access.line));
+        Set<String> seen = new HashSet<>();
+        for (Access access : reported) {
+            String message = messages.get(access);
+            if (seen.add(message)) {
+                raceConditions.add(message);
+            }
+        }
+    }
+
+    private static boolean isIncrementOrDecrement(UnaryExpr n) {
+        switch (n.getOperator()) {
+            case PREFIX_INCREMENT:
+            case PREFIX_DECREMENT:
+            case POSTFIX_INCREMENT:
+            case POSTFIX_DECREMENT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String describe(Set<String> locks) {
+        if (locks.isEmpty()) {
+            return "no lock";
+        }
+        List<String> names = new ArrayList<>(locks);
+        names.sort(null);
+        return "'" + String.join("', '", names) + "'";
+    }
+
+    /**
+     * Names the lock an expression denotes, the same way wherever it is written: {@code this.lock} and {@code lock}
+     * are the same lock.
+     */
+    private static String lockName(Expression expression) {
+        if (expression instanceof FieldAccessExpr && ((FieldAccessExpr) expression).getScope() instanceof ThisExpr) {
+            return ((FieldAccessExpr) expression).getNameAsString();
+        }
+        return expression.toString();
+    }
+
+    private void enterScope() {
+        localScopes.push(new ArrayList<>(0));
+    }
+
+    private void exitScope() {
+        for (String name : localScopes.pop()) {
+            locals.computeIfPresent(name, (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private void declareLocal(String name) {
+        if (!localScopes.isEmpty()) {
+            localScopes.peek().add(name);
+            locals.merge(name, 1, Integer::sum);
+        }
+    }
+
+
+    /**
+     * The phase of the life of a class or object the code being visited runs in. Accesses made while the class is
+     * initialised, or to the fields of an object being constructed, happen before other threads can see them.
+     */
+    private enum Phase {
+        RUNNING,
+        CONSTRUCTING,
+        INITIALISING_CLASS
+    }
+
+
+    /**
+     * A non-final field of the file and the accesses to it.
+     */
+    private static final class SharedField {
+
+        private final String name;
+        private final boolean isStatic;
+        private final boolean isVolatile;
+        private final List<Access> accesses = new ArrayList<>();
+
+        private SharedField(String name, boolean isStatic, boolean isVolatile) {
+            this.name = name;
+            this.isStatic = isStatic;
+            this.isVolatile = isVolatile;
+        }
+
+        private boolean isSharedByDeclaration() {
+            return isStatic || isVolatile;
+        }
+    }
+
+
+    /**
+     * An access to a field with the locks held.
+     */
+    private static final class Access {
+
+        private final int line;
+        private final boolean assignment;
+        private final boolean write;
+        private final Set<String> locks;
+
+        private Access(int line, boolean assignment, boolean write, Set<String> locks) {
+            this.line = line;
+            this.assignment = assignment;
+            this.write = write;
+            this.locks = locks;
+        }
+    }
 }
@@ -1,24 +1,22 @@
 package com.example.serverside.analysis.util;
 
-import com.github.javaparser.ast.body.VariableDeclarator;
-import com.github.javaparser.ast.expr.AssignExpr;
-import com.github.javaparser.ast.expr.BinaryExpr;
-import com.github.javaparser.ast.expr.Expression;
-import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.example.serverside.analysis.dataflow.TaintFlow;
+import com.example.serverside.analysis.dataflow.TaintFlowAnalysis;
+import com.example.serverside.analysis.dataflow.TaintRules;
+import com.example.serverside.analysis.dataflow.TaintVisitor;
+import com.github.javaparser.ast.stmt.Statement;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 
 /**
- * This class extends VoidVisitorAdapter to check for potential SQL injection vulnerabilities in Java source code.
- * It identifies and flags instances where SQL queries are built using string concatenation, which might be susceptible to SQL injection attacks.
+ * This class extends TaintVisitor to check for potential SQL injection vulnerabilities in Java source code.
+ * It runs a {@link TaintFlowAnalysis} over the body of each method, constructor, initializer and lambda, and flags
+ * every SQL execution call whose query can hold untrusted input, such as a parameter or a request parameter,
+ * together with the path the input takes to it.
  */
-public class SQLInjectionCheckerUtil extends VoidVisitorAdapter<Void> {
+public class SQLInjectionCheckerUtil extends TaintVisitor {
     private final List<String> vulnerabilities;
-    private final Set<String> potentiallyUnsafeVariables = new HashSet<>();
 
 
     /**
@@ -27,90 +25,23 @@ public class SQLInjectionCheckerUtil extends VoidVisitorAdapter<Void> {
      * @param vulnerabilities A list to store detected SQL injection vulnerabilities.
      */
     public SQLInjectionCheckerUtil(List<String> vulnerabilities)  {
+        super(TaintRules.SQL_INJECTION);
         this.vulnerabilities = vulnerabilities;
     }
 
 
     /**
-     * Visits VariableDeclarator nodes in the AST.
-     * Checks for String variables that are initialized using concatenation, as they may be used unsafely in SQL queries.
+     * Records a vulnerability for each flow of untrusted input into an SQL execution method.
      *
-     * @param variableDeclarator The VariableDeclarator node being visited.
-     * @param arg A user argument (not used in this implementation).
+     * @param body The body analysed.
+     * @param analysis The analysis of the body.
      */
     @Override
-    public void visit(VariableDeclarator variableDeclarator, Void arg) {
-        super.visit(variableDeclarator, arg);
-        if (variableDeclarator.getType().asString().equals("String") && variableDeclarator.getInitializer().isPresent()) {
-            Expression initializer = variableDeclarator.getInitializer().get();
-            if (isPotentiallyUnsafeConcatenation(initializer)) {
-                potentiallyUnsafeVariables.add(variableDeclarator.getNameAsString());
-            }
+    protected void analysed(Statement body, TaintFlowAnalysis analysis) {
+        for (TaintFlow flow : analysis.getFlows()) {
+            String message = "Violation at line " + flow.getLine() + ": Potential SQL Injection detected: "
+                    + flow.describe();
+            vulnerabilities.add(message);
         }
     }
-
-
-    /**
-     * Visits AssignExpr nodes in the AST.
-     * Checks for assignments to String variables using concatenation that might be susceptible to SQL injection.
-     *
-     * @param assignExpr The AssignExpr node being visited.
-     * @param arg A user argument (not used in this implementation).
-     */
-    @Override
-    public void visit(AssignExpr assignExpr, Void arg) {
-        super.visit(assignExpr, arg);
-        if (assignExpr.getTarget().isNameExpr() && assignExpr.getValue().isBinaryExpr()) {
-            if (isPotentiallyUnsafeConcatenation(assignExpr.getValue())) {
-                potentiallyUnsafeVariables.add(assignExpr.getTarget().toString());
-            }
-        }
-    }
-
-
-    /**
-     * Determines if an expression involves potentially unsafe string concatenation.
-     *
-     * @param expr The expression to check.
-     * @return True if the expression involves concatenation, false otherwise.
-     */
-    private boolean isPotentiallyUnsafeConcatenation(Expression expr) {
-        // Logic to determine if the expression involves potentially unsafe string concatenation
-        return expr.isBinaryExpr() && expr.asBinaryExpr().getOperator() == BinaryExpr.Operator.PLUS;
-    }
-
-
-    /**
-     * Visits MethodCallExpr nodes in the AST.
-     * Checks for SQL execution methods that use potentially unsafe concatenated strings.
-     *
-     * @param methodCallExpr The MethodCallExpr node being visited.
-     * @param arg A user argument (not used in this implementation).
-     */
-    @Override
-    public void visit(MethodCallExpr methodCallExpr, Void arg) {
-        super.visit(methodCallExpr, arg);
-        if (isSqlExecuteMethod(methodCallExpr.getNameAsString())) {
-            for (Expression argExpr : methodCallExpr.getArguments()) {
-                if (argExpr.isNameExpr() && potentiallyUnsafeVariables.contains(argExpr.asNameExpr().getNameAsString())) {
-                    int line = argExpr.getBegin().map(r -> r.line).orElse(-1);
-                    String message = "Violation at line " + line + ": Potential SQL Injection detected with variable '" + argExpr.toString() + "' at line " + line;
-                    vulnerabilities.add(message);
-                }
-            }
-        }
-    }
-
-
-    /**
-     * Checks if a method name corresponds to an SQL execution method.
-     *
-     * @param methodName The name of the method to check.
-     * @return True if the method is a known SQL execution method, false otherwise.
-     */
-    private boolean isSqlExecuteMethod(String methodName) {
-        Set<String> sqlMethods = new HashSet<>(Set.of("executeQuery", "execute", "executeUpdate"));
-        return sqlMethods.contains(methodName);
-    }
 }
-
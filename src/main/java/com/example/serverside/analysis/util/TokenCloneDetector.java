@@ -0,0 +1,477 @@
+package com.example.serverside.analysis.util;
+
+import com.example.serverside.analysis.parser.NodeIndex;
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds duplicated code in the bodies of methods, constructors and initializers by comparing token streams.
+ *
+ * Identifiers and literals are normalised to placeholders, so code that differs only in names or constant values
+ * (type-2 clones) is still matched. Every window of a fixed number of tokens is hashed with a Rabin-Karp rolling
+ * hash, so each window costs constant time. Windows with equal hashes are verified token by token and extended as far
+ * as both copies stay equal, and overlapping matches are merged into maximal clone regions.
+ *
+ * Tokens are coded by the hash code of their normalised text, which is stable across files and runs, so the same
+ * windows also serve as fingerprints for matching code between files. The keywords, operators and separators of
+ * Java and the two placeholders all have distinct hash codes.
+ */
+public final class TokenCloneDetector {
+
+    /**
+     * Minimum number of tokens a clone must span.
+     */
+    public static final int DEFAULT_WINDOW = 20;
+
+    private static final long BASE = 1_000_003L; // Rolling hash base; arithmetic wraps modulo 2^64
+    private static final int MAX_OCCURRENCES = 32; // Bounds the comparisons per window on highly repetitive code
+    private static final String IDENTIFIER = "$id";
+    private static final String LITERAL = "$lit";
+
+    private final int window;
+
+    // Token stream of the file being analysed, one entry per significant token
+    private int[] codes = new int[256];
+    private int[] segmentEnd = new int[256]; // Exclusive end of the body each token belongs to
+    private JavaToken[] tokens = new JavaToken[256];
+    private int size;
+
+    /**
+     * Constructs a TokenCloneDetector.
+     *
+     * @param window Minimum number of tokens a clone must span.
+     */
+    public TokenCloneDetector(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+    }
+
+    /**
+     * Finds groups of duplicated code in a compilation unit.
+     *
+     * @param cu The compilation unit to analyse.
+     * @return One list per group of copies of the same code, each holding the copies in source order.
+     */
+    public static List<List<CloneRegion>> detect(CompilationUnit cu) {
+        return new TokenCloneDetector(DEFAULT_WINDOW).findClones(cu);
+    }
+
+    /**
+     * Finds groups of duplicated code in a compilation unit.
+     *
+     * @param cu The compilation unit to analyse.
+     * @return One list per group of copies of the same code, each holding the copies in source order.
+     */
+    public List<List<CloneRegion>> findClones(CompilationUnit cu) {
+        tokenize(cu);
+        List<int[]> matches = findMatches();
+        return group(matches);
+    }
+
+    /**
+     * Computes winnowed fingerprints of a compilation unit for matching code between files.
+     * Of every run of {@code winnowWindow} consecutive window hashes the smallest is kept, so any code shared with
+     * another file over at least {@code window + winnowWindow - 1} tokens yields at least one common fingerprint,
+     * while only about {@code 2 / (winnowWindow + 1)} of the windows are kept.
+     *
+     * @param cu           The compilation unit to fingerprint.
+     * @param winnowWindow Number of consecutive windows each kept fingerprint is chosen from.
+     * @return The fingerprints in token order.
+     */
+    public Fingerprints fingerprint(CompilationUnit cu, int winnowWindow) {
+        if (winnowWindow < 1) {
+            throw new IllegalArgumentException("winnowWindow must be positive");
+        }
+        tokenize(cu);
+        Fingerprints fingerprints = new Fingerprints();
+        long highestPower = highestPower();
+        int segmentStart = 0;
+        while (segmentStart < size) {
+            int end = segmentEnd[segmentStart];
+            int windows = end - segmentStart - window + 1;
+            if (windows > 0) {
+                long[] hashes = new long[windows];
+                long hash = 0;
+                for (int k = segmentStart; k < segmentStart + window; k++) {
+                    hash = hash * BASE + codes[k];
+                }
+                hashes[0] = hash;
+                for (int w = 1; w < windows; w++) {
+                    int i = segmentStart + w;
+                    hash = (hash - codes[i - 1] * highestPower) * BASE + codes[i + window - 1];
+                    hashes[w] = hash;
+                }
+                int lastSelected = -1;
+                for (int from = 0; from + Math.min(winnowWindow, windows) <= windows; from++) {
+                    int selected = from;
+                    for (int w = from + 1; w < from + Math.min(winnowWindow, windows); w++) {
+                        if (hashes[w] <= hashes[selected]) {
+                            selected = w;
+                        }
+                    }
+                    if (selected != lastSelected) {
+                        int start = segmentStart + selected;
+                        fingerprints.add(hashes[selected], start,
+                                line(tokens[start], true), line(tokens[start + window - 1], false));
+                        lastSelected = selected;
+                    }
+                }
+            }
+            segmentStart = end;
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Appends the significant tokens of every outermost body to the token stream. Nested bodies, such as methods of
+     * anonymous classes, are already covered by the body that contains them.
+     */
+    private void tokenize(CompilationUnit cu) {
+        size = 0;
+        List<BlockStmt> bodies = new ArrayList<>();
+        NodeIndex index = NodeIndex.of(cu);
+        index.ofType(MethodDeclaration.class).forEach(method -> method.getBody().ifPresent(bodies::add));
+        index.ofType(ConstructorDeclaration.class).forEach(constructor -> bodies.add(constructor.getBody()));
+        index.ofType(InitializerDeclaration.class).forEach(initializer -> bodies.add(initializer.getBody()));
+        bodies.removeIf(body -> body.getBegin().isEmpty() || body.getEnd().isEmpty() || body.getTokenRange().isEmpty());
+        bodies.sort(Comparator.comparing(body -> body.getBegin().get()));
+
+        BlockStmt enclosing = null;
+        for (BlockStmt body : bodies) {
+            if (enclosing != null && !body.getBegin().get().isAfter(enclosing.getEnd().get())) {
+                continue;
+            }
+            enclosing = body;
+            int start = size;
+            for (JavaToken token : body.getTokenRange().get()) {
+                String normalized = normalize(token);
+                if (normalized != null) {
+                    append(normalized.hashCode(), token);
+                }
+            }
+            Arrays.fill(segmentEnd, start, size, size);
+        }
+    }
+
+    /**
+     * Gets the normalised token codes of a node, the same codes the clone detection compares.
+     * Whitespace and comments are dropped, and identifiers and literals are replaced by placeholders.
+     *
+     * @param node The node, such as a method body.
+     * @return The token codes in source order, empty if the node has no tokens.
+     */
+    public static int[] tokenCodes(Node node) {
+        if (node.getTokenRange().isEmpty()) {
+            return new int[0];
+        }
+        int[] result = new int[64];
+        int count = 0;
+        for (JavaToken token : node.getTokenRange().get()) {
+            String normalized = normalize(token);
+            if (normalized != null) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = normalized.hashCode();
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static String normalize(JavaToken token) {
+        switch (token.getCategory()) {
+            case WHITESPACE_NO_EOL:
+            case EOL:
+            case COMMENT:
+                return null;
+            case IDENTIFIER:
+                return IDENTIFIER;
+            case LITERAL:
+                return LITERAL;
+            default:
+                return token.getText();
+        }
+    }
+
+    private void append(int code, JavaToken token) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            segmentEnd = Arrays.copyOf(segmentEnd, size * 2);
+            tokens = Arrays.copyOf(tokens, size * 2);
+        }
+        codes[size] = code;
+        tokens[size] = token;
+        size++;
+    }
+
+    /**
+     * Finds maximal pairs of equal, non-overlapping token runs of at least the window length.
+     *
+     * @return The matches as {start of first copy, start of second copy, length} in tokens.
+     */
+    private List<int[]> findMatches() {
+        List<int[]> matches = new ArrayList<>();
+        Map<Long, List<Integer>> occurrences = new HashMap<>();
+        boolean[] kept = new boolean[size]; // Whether the window at each token was kept as an occurrence
+        long highestPower = highestPower();
+
+        int segmentStart = 0;
+        while (segmentStart < size) {
+            int end = segmentEnd[segmentStart];
+            long hash = 0;
+            for (int i = segmentStart; i + window <= end; i++) {
+                if (i == segmentStart) {
+                    for (int k = i; k < i + window; k++) {
+                        hash = hash * BASE + codes[k];
+                    }
+                } else {
+                    hash = (hash - codes[i - 1] * highestPower) * BASE + codes[i + window - 1];
+                }
+                List<Integer> previous = occurrences.computeIfAbsent(hash, key -> new ArrayList<>());
+                for (int j : previous) {
+                    if (j + window <= i && equalRuns(j, i, window) && !continuesMatch(j, i, kept)) {
+                        matches.add(new int[]{j, i, extend(j, i)});
+                    }
+                }
+                if (previous.size() < MAX_OCCURRENCES) {
+                    previous.add(i);
+                    kept[i] = true;
+                }
+            }
+            segmentStart = end;
+        }
+        return matches;
+    }
+
+    private long highestPower() {
+        long power = 1;
+        for (int i = 1; i < window; i++) {
+            power *= BASE;
+        }
+        return power;
+    }
+
+    private boolean equalRuns(int first, int second, int length) {
+        for (int k = 0; k < length; k++) {
+            if (codes[first + k] != codes[second + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A pair of windows whose preceding tokens are also equal is part of a match that started earlier and has
+     * already been extended over it, provided the preceding pair was compared: on highly repetitive code the
+     * preceding window of the first copy may have been dropped from the occurrences.
+     */
+    private boolean continuesMatch(int first, int second, boolean[] kept) {
+        return first > 0 && kept[first - 1] && segmentEnd[first - 1] == segmentEnd[first]
+                && segmentEnd[second - 1] == segmentEnd[second]
+                && codes[first - 1] == codes[second - 1];
+    }
+
+    private int extend(int first, int second) {
+        int length = window;
+        while (second + length < segmentEnd[second] && first + length < segmentEnd[first] && first + length < second
+                && codes[first + length] == codes[second + length]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Merges overlapping copies into maximal regions and groups regions that are copies of each other.
+     */
+    private List<List<CloneRegion>> group(List<int[]> matches) {
+        TreeMap<Integer, Integer> regions = new TreeMap<>(); // Region start to exclusive end, in tokens
+        for (int[] match : matches) {
+            addInterval(regions, match[0], match[0] + match[2]);
+            addInterval(regions, match[1], match[1] + match[2]);
+        }
+        List<Integer> starts = new ArrayList<>(regions.keySet());
+        int[] parent = new int[starts.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (int[] match : matches) {
+            int first = find(parent, Collections.binarySearch(starts, regions.floorKey(match[0])));
+            int second = find(parent, Collections.binarySearch(starts, regions.floorKey(match[1])));
+            parent[Math.max(first, second)] = Math.min(first, second);
+        }
+
+        Map<Integer, List<CloneRegion>> groups = new TreeMap<>();
+        for (int i = 0; i < starts.size(); i++) {
+            int start = starts.get(i);
+            int end = regions.get(start);
+            CloneRegion region = new CloneRegion(line(tokens[start], true), line(tokens[end - 1], false), end - start);
+            groups.computeIfAbsent(find(parent, i), key -> new ArrayList<>()).add(region);
+        }
+        List<List<CloneRegion>> clones = new ArrayList<>();
+        for (List<CloneRegion> group : groups.values()) {
+            if (group.size() > 1) {
+                clones.add(group);
+            }
+        }
+        return clones;
+    }
+
+    private static void addInterval(TreeMap<Integer, Integer> intervals, int start, int end) {
+        Map.Entry<Integer, Integer> before = intervals.floorEntry(start);
+        if (before != null && before.getValue() > start) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue());
+        }
+        Map.Entry<Integer, Integer> after = intervals.ceilingEntry(start);
+        while (after != null && after.getKey() < end) {
+            end = Math.max(end, after.getValue());
+            intervals.remove(after.getKey());
+            after = intervals.ceilingEntry(start);
+        }
+        intervals.put(start, end);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static int line(JavaToken token, boolean begin) {
+        return token.getRange().map(range -> begin ? range.begin.line : range.end.line).orElse(-1);
+    }
+
+    /**
+     * Fingerprints of one file: the hash of each kept window with its token offset and line span.
+     */
+    public static final class Fingerprints {
+        private long[] hashes = new long[64];
+        private int[] offsets = new int[64];
+        private int[] beginLines = new int[64];
+        private int[] endLines = new int[64];
+        private int size;
+
+        private void add(long hash, int offset, int beginLine, int endLine) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+                beginLines = Arrays.copyOf(beginLines, size * 2);
+                endLines = Arrays.copyOf(endLines, size * 2);
+            }
+            hashes[size] = hash;
+            offsets[size] = offset;
+            beginLines[size] = beginLine;
+            endLines[size] = endLine;
+            size++;
+        }
+
+        /**
+         * Gets the number of fingerprints.
+         *
+         * @return The fingerprint count.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets the hash of a fingerprint.
+         *
+         * @param i The fingerprint index.
+         * @return The window hash.
+         */
+        public long getHash(int i) {
+            return hashes[i];
+        }
+
+        /**
+         * Gets the offset of the first token of a fingerprinted window within the file's token stream.
+         *
+         * @param i The fingerprint index.
+         * @return The token offset.
+         */
+        public int getOffset(int i) {
+            return offsets[i];
+        }
+
+        /**
+         * Gets the line a fingerprinted window starts on.
+         *
+         * @param i The fingerprint index.
+         * @return The first line.
+         */
+        public int getBeginLine(int i) {
+            return beginLines[i];
+        }
+
+        /**
+         * Gets the line a fingerprinted window ends on.
+         *
+         * @param i The fingerprint index.
+         * @return The last line.
+         */
+        public int getEndLine(int i) {
+            return endLines[i];
+        }
+    }
+
+    /**
+     * One copy of duplicated code.
+     */
+    public static final class CloneRegion {
+        private final int beginLine;
+        private final int endLine;
+        private final int tokenCount;
+
+        private CloneRegion(int beginLine, int endLine, int tokenCount) {
+            this.beginLine = beginLine;
+            this.endLine = endLine;
+            this.tokenCount = tokenCount;
+        }
+
+        /**
+         * Gets the line the copy starts on.
+         *
+         * @return The first line.
+         */
+        public int getBeginLine() {
+            return beginLine;
+        }
+
+        /**
+         * Gets the line the copy ends on.
+         *
+         * @return The last line.
+         */
+        public int getEndLine() {
+            return endLine;
+        }
+
+        /**
+         * Gets the number of significant tokens in the copy.
+         *
+         * @return The token count.
+         */
+        public int getTokenCount() {
+            return tokenCount;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.serverside.analysis.util;
 
-import com.github.javaparser.ast.body.VariableDeclarator;
+import com.example.serverside.analysis.dataflow.TaintFlow;
+import com.example.serverside.analysis.dataflow.TaintFlowAnalysis;
+import com.example.serverside.analysis.dataflow.TaintRules;
+import com.example.serverside.analysis.dataflow.TaintVisitor;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.expr.BinaryExpr;
-import com.github.javaparser.ast.expr.Expression;
-import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.github.javaparser.ast.stmt.Statement;
 
 import java.util.HashSet;
 import java.util.List;
@@ -12,14 +14,14 @@ import java.util.Set;
 
 
 /**
- * This class extends VoidVisitorAdapter to check for potential Cross-Site Scripting (XSS) vulnerabilities in Java source code.
- * It identifies and flags instances where user input might be unsafely included in string concatenations,
- * potentially leading to XSS attacks.
+ * This class extends TaintVisitor to check for potential Cross-Site Scripting (XSS) vulnerabilities in Java source code.
+ * It follows user input, such as request parameters and headers, with the {@link TaintRules#XSS} catalogue of sources,
+ * sinks and sanitisers, and flags input reaching a response writer, a model or a template, as well as string
+ * concatenations that include it.
  */
-public class XSSCheckUtil extends VoidVisitorAdapter<Void> {
+public class XSSCheckUtil extends TaintVisitor {
     private final List<String> vulnerabilities;
     private final Set<Integer> reportedLines;
-    private final Set<String> userInputVariables;
 
 
     /**
@@ -28,44 +30,32 @@ public class XSSCheckUtil extends VoidVisitorAdapter<Void> {
      * @param vulnerabilities A list to store detected XSS vulnerabilities.
      */
     public XSSCheckUtil(List<String> vulnerabilities) {
+        super(TaintRules.XSS);
         this.vulnerabilities = vulnerabilities;
         this.reportedLines = new HashSet<>();
-        this.userInputVariables = new HashSet<>();
     }
 
 
     /**
-     * Visits VariableDeclarator nodes in the AST.
-     * Checks if any variables are initialized with values that might be user input, potentially leading to XSS.
+     * Records a vulnerability for each flow of user input into a sink, then for each string concatenation including
+     * user input on a line not reported yet. Only the outermost expression of a concatenation is checked; its taint
+     * was computed once by the analysis, however long the concatenation.
      *
-     * @param var The VariableDeclarator node being visited.
-     * @param arg A user argument (not used in this implementation).
+     * @param body The body analysed.
+     * @param analysis The analysis of the body.
      */
     @Override
-    public void visit(VariableDeclarator var, Void arg) {
-        super.visit(var, arg);
-        if (var.getInitializer().isPresent()) {
-            Expression initializer = var.getInitializer().get();
-            if (isUserInputSource(initializer)) {
-                userInputVariables.add(var.getNameAsString());
+    protected void analysed(Statement body, TaintFlowAnalysis analysis) {
+        for (TaintFlow flow : analysis.getFlows()) {
+            int lineNum = flow.getLine();
+            if (reportedLines.add(lineNum)) {
+                vulnerabilities.add("Violation at line " + lineNum + ": Potential XSS vulnerability detected: "
+                        + flow.describe());
             }
         }
-    }
-
-
-    /**
-     * Visits BinaryExpr nodes in the AST.
-     * Checks for string concatenations that include user input, which might be vulnerable to XSS.
-     *
-     * @param n   The BinaryExpr node being visited.
-     * @param arg A user argument (not used in this implementation).
-     */
-    @Override
-    public void visit(BinaryExpr n, Void arg) {
-        super.visit(n, arg);
-        if (n.getOperator() == BinaryExpr.Operator.PLUS) {
+        for (BinaryExpr n : body.findAll(BinaryExpr.class, XSSCheckUtil::isOutermostConcatenation)) {
             int lineNum = n.getRange().map(r -> r.begin.line).orElse(-1);
-            if (!reportedLines.contains(lineNum) && containsUserInput(n)) {
+            if (!reportedLines.contains(lineNum) && analysis.isTainted(n)) {
                 vulnerabilities.add("Violation at line " + lineNum + ": Potential XSS vulnerability detected in string concatenation at line " + lineNum);
                 reportedLines.add(lineNum);
             }
@@ -74,44 +64,16 @@ public class XSSCheckUtil extends VoidVisitorAdapter<Void> {
 
 
     /**
-     * Determines if an expression contains user input.
-     * User input is considered a potential source of XSS vulnerabilities.
-     *
-     * @param expr The expression to check.
-     * @return True if the expression contains user input, false otherwise.
-     */
-    private boolean containsUserInput(Expression expr) {
-        if (expr.isMethodCallExpr() || expr.isNameExpr()) {
-            return isUserInputSource(expr);
-        }
-
-        if (expr.isBinaryExpr()) {
-            BinaryExpr binaryExpr = expr.asBinaryExpr();
-            return containsUserInput(binaryExpr.getLeft()) || containsUserInput(binaryExpr.getRight());
-        }
-
-        return false;
-    }
-
-
-    /**
-     * Determines if an expression represents a user input source.
-     * User input sources are typically methods like getParameter or getHeader.
+     * Determines if an expression is a string concatenation that is not part of a larger one.
      *
-     * @param expr The expression to check.
-     * @return True if the expression is a user input source, false otherwise.
+     * @param n The expression to check.
+     * @return True if the expression is an outermost concatenation, false otherwise.
      */
-    private boolean isUserInputSource(Expression expr) {
-        if (expr.isMethodCallExpr()) {
-            MethodCallExpr methodCall = (MethodCallExpr) expr;
-            String methodName = methodCall.getNameAsString();
-            return methodName.equals("getParameter") || methodName.equals("getHeader");
+    private static boolean isOutermostConcatenation(BinaryExpr n) {
+        if (n.getOperator() != BinaryExpr.Operator.PLUS) {
+            return false;
         }
-
-        if (expr.isNameExpr()) {
-            return userInputVariables.contains(expr.asNameExpr().getNameAsString());
-        }
-
-        return false;
+        Node parent = n.getParentNode().orElse(null);
+        return !(parent instanceof BinaryExpr && ((BinaryExpr) parent).getOperator() == BinaryExpr.Operator.PLUS);
     }
 }
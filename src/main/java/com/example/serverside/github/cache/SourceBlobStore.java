@@ -0,0 +1,489 @@
+package com.example.serverside.github.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local, content-addressed store for source files fetched from GitHub.
+ * Blobs are keyed by their git blob SHA-1 and commit/path references point at those blobs, so an unchanged file
+ * is stored once no matter how many commits reference it.
+ *
+ * Records are appended to fixed-size segment files and read back through memory-mapped buffers. The index is rebuilt
+ * by replaying the segments on startup, so cached sources survive restarts. When the live data exceeds the configured
+ * size cap the least recently used entries are evicted and mostly-dead segments are compacted.
+ */
+@Component
+public class SourceBlobStore implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceBlobStore.class);
+
+    private static final int MAGIC = 0x42534C42; // "BSLB"
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_DELETE = 2;
+    private static final int HEADER_BYTES = 4 + 1 + 2 + 4 + 4; // magic, type, key length, value length, crc
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String REF_PREFIX = "ref:";
+    private static final String BLOB_PREFIX = "blob:";
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long segmentBytes;
+
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(1024, 0.75f, true);
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Segment activeSegment;
+    private long liveBytes;
+
+    /**
+     * Opens (or creates) a blob store in the given directory and replays any existing segments.
+     *
+     * @param directory    Directory holding the segment files.
+     * @param maxBytes     Upper bound on the live record bytes kept in the store.
+     * @param segmentBytes Size after which the active segment is sealed and a new one is started.
+     * @throws IOException if the directory or segments cannot be read or created.
+     */
+    public SourceBlobStore(@Value("${github.cache.dir:${java.io.tmpdir}/code-review-tool/blobs}") Path directory,
+                           @Value("${github.cache.max-bytes:268435456}") long maxBytes,
+                           @Value("${github.cache.segment-bytes:16777216}") long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        recover();
+        evictIfNeeded();
+    }
+
+    /**
+     * Builds the reference key for a file at an immutable commit.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @param commitId The commit SHA.
+     * @param path     The file path within the repository.
+     * @return The key under which the file's blob reference is stored.
+     */
+    public static String refKey(String username, String repo, String commitId, String path) {
+        return username + "/" + repo + "@" + commitId + ":" + path;
+    }
+
+    /**
+     * Determines whether a commit identifier is a full commit SHA.
+     * Branch names and tags move, so only full SHAs can be cached safely.
+     *
+     * @param commitId The commit identifier to check.
+     * @return true if the identifier is a 40 or 64 character hexadecimal SHA, false otherwise.
+     */
+    public static boolean isImmutableCommit(String commitId) {
+        if (commitId == null || (commitId.length() != 40 && commitId.length() != 64)) {
+            return false;
+        }
+        for (int i = 0; i < commitId.length(); i++) {
+            if (Character.digit(commitId.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the git blob SHA-1 of the given content, the same identifier GitHub reports in tree listings.
+     *
+     * @param content The raw file content.
+     * @return The lowercase hexadecimal blob SHA.
+     */
+    public static String blobSha(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    /**
+     * Stores source content under a commit/path reference.
+     * The content itself is stored once under its blob SHA; the reference only records that SHA.
+     *
+     * @param refKey  The reference key, see {@link #refKey(String, String, String, String)}.
+     * @param content The file content.
+     * @return The blob SHA of the stored content.
+     */
+    public synchronized String putSource(String refKey, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String sha = putBlob(bytes);
+        append(REF_PREFIX + refKey, sha.getBytes(StandardCharsets.US_ASCII));
+        evictIfNeeded();
+        return sha;
+    }
+
+    /**
+     * Looks up source content by its commit/path reference.
+     *
+     * @param refKey The reference key, see {@link #refKey(String, String, String, String)}.
+     * @return The cached content, or null if it is not cached.
+     */
+    public synchronized String getSource(String refKey) {
+        byte[] sha = read(REF_PREFIX + refKey);
+        if (sha == null) {
+            return null;
+        }
+        byte[] content = read(BLOB_PREFIX + new String(sha, StandardCharsets.US_ASCII));
+        return content == null ? null : new String(content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stores raw content under its blob SHA, unless it is already present.
+     *
+     * @param content The raw content.
+     * @return The blob SHA of the content.
+     */
+    public synchronized String putBlob(byte[] content) {
+        String sha = blobSha(content);
+        if (!index.containsKey(BLOB_PREFIX + sha)) {
+            append(BLOB_PREFIX + sha, content);
+            evictIfNeeded();
+        }
+        return sha;
+    }
+
+    /**
+     * Looks up raw content by blob SHA.
+     *
+     * @param sha The git blob SHA.
+     * @return A copy of the content, or null if it is not cached.
+     */
+    public synchronized byte[] getBlob(String sha) {
+        return read(BLOB_PREFIX + sha);
+    }
+
+    /**
+     * Checks whether a blob is cached without touching its recency.
+     *
+     * @param sha The git blob SHA.
+     * @return true if the blob is cached.
+     */
+    public synchronized boolean containsBlob(String sha) {
+        return index.containsKey(BLOB_PREFIX + sha);
+    }
+
+    /**
+     * Gets the number of live bytes currently held by the store.
+     *
+     * @return The live record bytes.
+     */
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Gets the number of segment files currently on disk.
+     *
+     * @return The segment count.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    private byte[] read(String key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            ByteBuffer view = entry.segment.map(entry.valueOffset + entry.valueLength);
+            byte[] value = new byte[entry.valueLength];
+            view.get(entry.valueOffset, value);
+            return value;
+        } catch (IOException e) {
+            logger.warn("Failed to read cached blob {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void append(String key, byte[] value) {
+        try {
+            if (activeSegment == null || activeSegment.size >= segmentBytes) {
+                rollSegment();
+            }
+            long recordOffset = activeSegment.size;
+            activeSegment.write(encode(TYPE_PUT, key, value));
+            int valueOffset = (int) (recordOffset + HEADER_BYTES + key.getBytes(StandardCharsets.UTF_8).length);
+            track(key, new Entry(activeSegment, valueOffset, value.length, recordLength(key, value.length)));
+        } catch (IOException e) {
+            logger.warn("Failed to append {} to the blob store: {}", key, e.getMessage());
+        }
+    }
+
+    private void track(String key, Entry entry) {
+        Entry previous = index.put(key, entry);
+        if (previous != null) {
+            release(previous);
+        }
+        entry.segment.liveBytes += entry.recordLength;
+        liveBytes += entry.recordLength;
+    }
+
+    private void release(Entry entry) {
+        entry.segment.liveBytes -= entry.recordLength;
+        liveBytes -= entry.recordLength;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+        List<String> evicted = new ArrayList<>();
+        while (liveBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> next = eldest.next();
+            release(next.getValue());
+            evicted.add(next.getKey());
+            eldest.remove();
+        }
+        for (String key : evicted) {
+            writeTombstone(key);
+        }
+        reclaimSegments();
+    }
+
+    private void writeTombstone(String key) {
+        try {
+            if (activeSegment == null || activeSegment.size >= segmentBytes) {
+                rollSegment();
+            }
+            activeSegment.write(encode(TYPE_DELETE, key, new byte[0]));
+        } catch (IOException e) {
+            logger.warn("Failed to record eviction of {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes sealed segments with no live records and rewrites the live records of mostly-dead segments
+     * into the active segment, so disk usage follows the live size.
+     */
+    private void reclaimSegments() {
+        List<Segment> sealed = new ArrayList<>(segments.values());
+        sealed.remove(activeSegment);
+        for (Segment segment : sealed) {
+            if (segment.liveBytes <= 0) {
+                deleteSegment(segment);
+            } else if (segment.liveBytes < segment.size * COMPACTION_THRESHOLD) {
+                compact(segment);
+            }
+        }
+    }
+
+    private void compact(Segment segment) {
+        List<String> live = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : index.entrySet()) {
+            if (entry.getValue().segment == segment) {
+                live.add(entry.getKey());
+            }
+        }
+        for (String key : live) {
+            byte[] value = read(key);
+            if (value == null) {
+                return; // leave the segment in place rather than lose data
+            }
+            append(key, value);
+            if (index.get(key).segment == segment) {
+                return;
+            }
+        }
+        if (segment.liveBytes <= 0) {
+            deleteSegment(segment);
+        }
+    }
+
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.id);
+        try {
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete blob segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        activeSegment = new Segment(id, path);
+        segments.put(id, activeSegment);
+    }
+
+    /**
+     * Rebuilds the index by replaying every segment in order. A torn record at the end of the newest segment,
+     * left behind by a crash mid-write, is truncated away.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = new Segment(id, file);
+            segments.put(id, segment);
+            replay(segment);
+            activeSegment = segment;
+        }
+        logger.info("Blob store opened at {} with {} entries ({} bytes)", directory, index.size(), liveBytes);
+    }
+
+    private void replay(Segment segment) throws IOException {
+        ByteBuffer buffer = segment.map(segment.size);
+        int position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_BYTES <= segment.size) {
+            if (buffer.getInt(position) != MAGIC) {
+                break;
+            }
+            byte type = buffer.get(position + 4);
+            int keyLength = Short.toUnsignedInt(buffer.getShort(position + 5));
+            int valueLength = buffer.getInt(position + 7);
+            int checksum = buffer.getInt(position + 11);
+            int keyOffset = position + HEADER_BYTES;
+            int valueOffset = keyOffset + keyLength;
+            if (valueLength < 0 || (long) valueOffset + valueLength > segment.size) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.duplicate().position(keyOffset).limit(valueOffset + valueLength));
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyOffset, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            if (type == TYPE_PUT) {
+                track(key, new Entry(segment, valueOffset, valueLength, HEADER_BYTES + keyLength + valueLength));
+            } else {
+                Entry removed = index.remove(key);
+                if (removed != null) {
+                    release(removed);
+                }
+            }
+            position = valueOffset + valueLength;
+        }
+
+        if (position < segment.size) {
+            logger.warn("Truncating blob segment {} at offset {} after an incomplete record", segment.path, position);
+            segment.truncate(position);
+        }
+    }
+
+    private static ByteBuffer encode(byte type, String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        crc.update(value);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + value.length);
+        record.putInt(MAGIC)
+                .put(type)
+                .putShort((short) keyBytes.length)
+                .putInt(value.length)
+                .putInt((int) crc.getValue())
+                .put(keyBytes)
+                .put(value);
+        return record.flip();
+    }
+
+    private static int recordLength(String key, int valueLength) {
+        return HEADER_BYTES + key.getBytes(StandardCharsets.UTF_8).length + valueLength;
+    }
+
+    /**
+     * Location of a live value inside a segment.
+     */
+    private static final class Entry {
+        private final Segment segment;
+        private final int valueOffset;
+        private final int valueLength;
+        private final int recordLength;
+
+        private Entry(Segment segment, int valueOffset, int valueLength, int recordLength) {
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.recordLength = recordLength;
+        }
+    }
+
+    /**
+     * An append-only segment file together with its current read mapping.
+     */
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private MappedByteBuffer mapping;
+        private long size;
+        private long liveBytes;
+
+        private Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+
+        private void write(ByteBuffer record) throws IOException {
+            long position = size;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            size = position;
+        }
+
+        /**
+         * Returns a read-only mapping covering at least the requested number of bytes, remapping when the
+         * segment has grown past the current mapping.
+         */
+        private ByteBuffer map(long minimumSize) throws IOException {
+            if (mapping == null || mapping.capacity() < minimumSize) {
+                mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            return mapping.duplicate();
+        }
+
+        private void truncate(long newSize) throws IOException {
+            channel.truncate(newSize);
+            size = newSize;
+            mapping = null;
+        }
+
+        private void close() throws IOException {
+            mapping = null;
+            channel.close();
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.serverside.github.service;
 
+import com.example.serverside.github.cache.SourceBlobStore;
+import com.example.serverside.resilience.CircuitBreaker;
+import com.example.serverside.resilience.CircuitBreakerRegistry;
+import com.example.serverside.resilience.HttpStatusException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,10 +17,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 
 /**
  * Service class for interacting with the GitHub API.
@@ -28,16 +34,53 @@ public class GitHubService {
     @Value("${github.token}")
     private String githubToken; // GitHub API token for authorization
 
+    @Value("${http.client.read-timeout-ms:10000}")
+    private long readTimeoutMillis = 10000; // Timeout for calls made with HttpClient
+
     private final RestTemplate restTemplate;
 
+    private final SourceBlobStore sourceBlobStore; // Local cache of fetched sources, may be null
+
+    private final HedgedRawFetcher hedgedRawFetcher; // Hedged path for raw fetches, may be null
+
+    private final CircuitBreaker circuitBreaker; // Guards every call to GitHub
+
     /**
-     * Constructs a GitHubService with a configured RestTemplate.
+     * Constructs a GitHubService with a configured RestTemplate and no local source cache.
      *
      * @param restTemplateBuilder The builder to create a RestTemplate instance.
      */
-    @Autowired
     public GitHubService(RestTemplateBuilder restTemplateBuilder) {
+        this(restTemplateBuilder, null, null, null);
+    }
+
+    /**
+     * Constructs a GitHubService with a configured RestTemplate and a local source cache.
+     *
+     * @param restTemplateBuilder The builder to create a RestTemplate instance.
+     * @param sourceBlobStore The store used to cache raw content fetched at immutable commits.
+     */
+    public GitHubService(RestTemplateBuilder restTemplateBuilder, SourceBlobStore sourceBlobStore) {
+        this(restTemplateBuilder, sourceBlobStore, null, null);
+    }
+
+    /**
+     * Constructs a GitHubService with a configured RestTemplate, a local source cache, hedged raw fetches and a
+     * circuit breaker around every call to GitHub.
+     *
+     * @param restTemplateBuilder The builder to create a RestTemplate instance.
+     * @param sourceBlobStore The store used to cache raw content fetched at immutable commits.
+     * @param hedgedRawFetcher The fetcher used for raw content when hedging is enabled.
+     * @param circuitBreakerRegistry The registry providing the "github" breaker; defaults are used if null.
+     */
+    @Autowired
+    public GitHubService(RestTemplateBuilder restTemplateBuilder, SourceBlobStore sourceBlobStore,
+                         HedgedRawFetcher hedgedRawFetcher, CircuitBreakerRegistry circuitBreakerRegistry) {
         this.restTemplate = restTemplateBuilder.build();
+        this.sourceBlobStore = sourceBlobStore;
+        this.hedgedRawFetcher = hedgedRawFetcher;
+        this.circuitBreaker = (circuitBreakerRegistry != null ? circuitBreakerRegistry : new CircuitBreakerRegistry())
+                .circuitBreaker("github");
     }
 
     /**
@@ -55,7 +98,7 @@ public class GitHubService {
 
         String url = "https://api.github.com/repos/" + username + "/" + repo;
 
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        ResponseEntity<String> response = circuitBreaker.execute(() -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
 
         if (response.getStatusCode().is2xxSuccessful()) {
             return response.getBody();
@@ -80,7 +123,7 @@ public class GitHubService {
 
         String url = "https://api.github.com/repos/" + username + "/" + repo + "/git" + "/trees/" + commitId;
 
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        ResponseEntity<String> response = circuitBreaker.execute(() -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
         if (response.getStatusCode().is2xxSuccessful()) {
             return response.getBody();
         } else {
@@ -88,8 +131,35 @@ public class GitHubService {
         }
     }
 
+    /**
+     * Retrieves the full tree of a repository at a specific commit, including the files of every subdirectory.
+     * Each file entry carries its path and git blob SHA.
+     *
+     * @param username The username of the repository owner.
+     * @param repo The name of the repository.
+     * @param commitId The commit ID for which the tree is to be retrieved.
+     * @return A String representation of the repository's recursive tree structure.
+     * @throws Exception if the request fails or the response is not successful.
+     */
+    public String getRecursiveTree(String username, String repo, String commitId) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + githubToken);
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+
+        String url = "https://api.github.com/repos/" + username + "/" + repo + "/git/trees/" + commitId + "?recursive=1";
+
+        ResponseEntity<String> response = circuitBreaker.execute(() -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response.getBody();
+        } else {
+            throw new Exception("Failed to fetch tree");
+        }
+    }
+
     /**
      * Retrieves the raw content of a file in a repository at a specific commit.
+     * Content fetched at a full commit SHA is cached locally, so later requests for the same file are served
+     * without contacting GitHub. When hedging is enabled, a slow request is raced against a second one.
      *
      * @param username The username of the repository owner.
      * @param repo The name of the repository.
@@ -99,15 +169,36 @@ public class GitHubService {
      * @throws Exception if the request fails or the response is not successful.
      */
     public String getRaw(String username, String repo, String commitId, String path) throws Exception {
+        boolean cacheable = sourceBlobStore != null && SourceBlobStore.isImmutableCommit(commitId);
+        String refKey = SourceBlobStore.refKey(username, repo, commitId, path);
+        if (cacheable) {
+            String cached = sourceBlobStore.getSource(refKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        String url = "https://raw.githubusercontent.com/" + username + "/" + repo + "/" + commitId + "/" + path;
+
+        if (hedgedRawFetcher != null && hedgedRawFetcher.isEnabled()) {
+            String body = circuitBreaker.execute(() -> hedgedRawFetcher.fetch(URI.create(url),
+                    hedgedRawFetcher.hedgeUri(username, repo, commitId, path, url), githubToken));
+            if (cacheable) {
+                sourceBlobStore.putSource(refKey, body);
+            }
+            return body;
+        }
+
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", "Bearer " + githubToken);
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
-        String url = "https://raw.githubusercontent.com/" + username + "/" + repo + "/" + commitId + "/" + path;
-
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        ResponseEntity<String> response = circuitBreaker.execute(() -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
 
         if (response.getStatusCode().is2xxSuccessful()) {
+            if (cacheable && response.getBody() != null) {
+                sourceBlobStore.putSource(refKey, response.getBody());
+            }
             return response.getBody();
         } else {
             // Handle non-200 responses accordingly
@@ -115,6 +206,44 @@ public class GitHubService {
         }
     }
 
+    /**
+     * Reads the raw content of a file in a repository at a specific commit as a stream, for files that are scanned
+     * rather than parsed and need not be held in memory whole. The content is not cached. The reader may run again if
+     * the call is retried, so it must not depend on an earlier, partial run.
+     *
+     * @param username The username of the repository owner.
+     * @param repo The name of the repository.
+     * @param commitId The commit ID.
+     * @param path The file path within the repository.
+     * @param reader The reader consuming the content; the stream is closed when it returns.
+     * @return The value returned by the reader.
+     * @throws Exception if the request fails, the response is not successful or the reader fails.
+     */
+    public <T> T readRaw(String username, String repo, String commitId, String path, RawContentReader<T> reader) throws Exception {
+        String url = "https://raw.githubusercontent.com/" + username + "/" + repo + "/" + commitId + "/" + path;
+        return circuitBreaker.execute(() -> restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().set("Authorization", "Bearer " + githubToken),
+                response -> reader.read(response.getBody())));
+    }
+
+    /**
+     * Consumer of the raw content streamed by {@link #readRaw}.
+     *
+     * @param <T> The type of value read from the content.
+     */
+    @FunctionalInterface
+    public interface RawContentReader<T> {
+
+        /**
+         * Reads the content.
+         *
+         * @param content The content of the file.
+         * @return The value read.
+         * @throws IOException if the content cannot be read.
+         */
+        T read(InputStream content) throws IOException;
+    }
+
     /**
      * Retrieves the commit history of a repository.
      *
@@ -130,7 +259,7 @@ public class GitHubService {
 
         String url = "https://api.github.com/repos/" + username + "/" + repo + "/commits";
 
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        ResponseEntity<String> response = circuitBreaker.execute(() -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
         if (response.getStatusCode().is2xxSuccessful()) {
             return response.getBody();
         } else {
@@ -153,12 +282,17 @@ public class GitHubService {
                 .header("Accept", "application/vnd.github.v3+json")
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .timeout(Duration.ofMillis(readTimeoutMillis))
                 .build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 201) {
-            throw new IOException("Failed to post comment, Status code: " + response.statusCode() + ", Response: " + response.body());
-        }
+        // Posting a comment is not idempotent, so it goes through the breaker without retries
+        guarded(true, () -> {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new HttpStatusException("Failed to post comment, Status code: " + response.statusCode() + ", Response: " + response.body(), response.statusCode());
+            }
+            return response;
+        });
     }
 
     public String getLatestCommitSha(String owner, String repo, String path) throws IOException, InterruptedException {
@@ -169,12 +303,16 @@ public class GitHubService {
                 .uri(URI.create(url))
                 .header("Authorization", "Bearer " + githubToken)
                 .header("Accept", "application/vnd.github.v3+json")
+                .timeout(Duration.ofMillis(readTimeoutMillis))
                 .build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) {
-            throw new IOException("Failed to retrieve commit history for the file: " + response.body());
-        }
+        HttpResponse<String> response = guarded(false, () -> {
+            HttpResponse<String> result = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (result.statusCode() != 200) {
+                throw new HttpStatusException("Failed to retrieve commit history for the file: " + result.body(), result.statusCode());
+            }
+            return result;
+        });
 
         System.out.println("API Response:");
         System.out.println(response.body());
@@ -184,6 +322,25 @@ public class GitHubService {
         return commitSha;
     }
 
+    /**
+     * Runs an HttpClient call through the circuit breaker, keeping the checked exceptions of the calling method.
+     *
+     * @param once true if the call must not be retried.
+     * @param call The call to run.
+     * @return The result of the call.
+     * @throws IOException if the call fails.
+     * @throws InterruptedException if the thread is interrupted while calling or backing off.
+     */
+    private <T> T guarded(boolean once, CircuitBreaker.Call<T> call) throws IOException, InterruptedException {
+        try {
+            return once ? circuitBreaker.executeOnce(call) : circuitBreaker.execute(call);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
     private String extractCommitShaFromResponse(String jsonResponse) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
 
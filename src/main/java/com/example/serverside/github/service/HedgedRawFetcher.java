@@ -0,0 +1,304 @@
+package com.example.serverside.github.service;
+
+import com.example.serverside.resilience.HttpStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fetches raw file content with optional request hedging.
+ * If the first request has not answered within a delay derived from the recent p95 latency, a second request is
+ * issued and whichever answers first wins; the other one is cancelled. A hedge budget limits the extra requests to a
+ * fraction of the primary traffic, so a general slowdown cannot double the load on GitHub.
+ */
+@Component
+public class HedgedRawFetcher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRawFetcher.class);
+
+    private static final int LATENCY_WINDOW = 256; // Number of recent latencies used for the p95 estimate
+    private static final int MIN_SAMPLES = 20; // Samples needed before the p95 estimate is trusted
+    private static final double MAX_BUDGET_TOKENS = 10.0; // Burst of hedges allowed after a quiet period
+
+    private final boolean enabled;
+    private final boolean hedgeToContentsApi;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final double budgetRatio;
+    private final Duration requestTimeout;
+
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyNext;
+    private double budgetTokens = MAX_BUDGET_TOKENS;
+
+    private final AtomicLong hedgesIssued = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private final AtomicLong hedgesDenied = new AtomicLong();
+
+    /**
+     * Constructs a HedgedRawFetcher with the default HTTP client timeouts.
+     *
+     * @param enabled            Whether raw fetches should go through the hedging path at all.
+     * @param hedgeTarget        "raw" to hedge against raw.githubusercontent.com again, "contents" to use the contents API.
+     * @param minDelayMillis     Lower bound on the hedge delay.
+     * @param maxDelayMillis     Upper bound on the hedge delay, also used until enough latencies have been observed.
+     * @param budgetPercent      Hedges allowed as a percentage of primary requests.
+     */
+    public HedgedRawFetcher(boolean enabled, String hedgeTarget, long minDelayMillis, long maxDelayMillis,
+                            double budgetPercent) {
+        this(enabled, hedgeTarget, minDelayMillis, maxDelayMillis, budgetPercent, 3000, 10000);
+    }
+
+    /**
+     * Constructs a HedgedRawFetcher.
+     *
+     * @param enabled              Whether raw fetches should go through the hedging path at all.
+     * @param hedgeTarget          "raw" to hedge against raw.githubusercontent.com again, "contents" to use the
+     *                             contents API.
+     * @param minDelayMillis       Lower bound on the hedge delay.
+     * @param maxDelayMillis       Upper bound on the hedge delay, also used until enough latencies have been observed.
+     * @param budgetPercent        Hedges allowed as a percentage of primary requests.
+     * @param connectTimeoutMillis Timeout for connecting to GitHub, shared with the other HTTP clients.
+     * @param readTimeoutMillis    Timeout for each request to answer, shared with the other HTTP clients.
+     */
+    @Autowired
+    public HedgedRawFetcher(@Value("${github.raw.hedging.enabled:false}") boolean enabled,
+                            @Value("${github.raw.hedging.target:raw}") String hedgeTarget,
+                            @Value("${github.raw.hedging.min-delay-ms:50}") long minDelayMillis,
+                            @Value("${github.raw.hedging.max-delay-ms:2000}") long maxDelayMillis,
+                            @Value("${github.raw.hedging.budget-percent:10}") double budgetPercent,
+                            @Value("${http.client.connect-timeout-ms:3000}") long connectTimeoutMillis,
+                            @Value("${http.client.read-timeout-ms:10000}") long readTimeoutMillis) {
+        this.enabled = enabled;
+        this.hedgeToContentsApi = "contents".equalsIgnoreCase(hedgeTarget);
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.budgetRatio = budgetPercent / 100.0;
+        this.requestTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "raw-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Indicates whether hedged fetching is switched on.
+     *
+     * @return true if raw fetches should use {@link #fetch(URI, URI, String)}.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the URI for the hedge request of a raw file.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @param commitId The commit ID.
+     * @param path     The file path within the repository.
+     * @param rawUrl   The primary raw.githubusercontent.com URL.
+     * @return The URI the hedge request should be sent to.
+     */
+    public URI hedgeUri(String username, String repo, String commitId, String path, String rawUrl) {
+        if (hedgeToContentsApi) {
+            return URI.create("https://api.github.com/repos/" + username + "/" + repo + "/contents/" + path + "?ref=" + commitId);
+        }
+        return URI.create(rawUrl);
+    }
+
+    /**
+     * Fetches a raw file, hedging with a second request if the first one is slow.
+     *
+     * @param primary The URI of the first request.
+     * @param hedge   The URI of the hedge request.
+     * @param token   The GitHub token sent with both requests.
+     * @return The body of whichever request answered successfully first.
+     * @throws IOException if every issued request failed or returned a non-2xx status.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public String fetch(URI primary, URI hedge, String token) throws IOException, InterruptedException {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger(1);
+        CompletableFuture<HttpResponse<String>> first = send(primary, token);
+        first.whenComplete((response, error) -> settle(result, inFlight, response, error, false));
+        acquireBudgetShare();
+
+        AtomicReference<CompletableFuture<HttpResponse<String>>> second = new AtomicReference<>();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!tryAcquireHedge()) {
+                hedgesDenied.incrementAndGet();
+                return;
+            }
+            hedgesIssued.incrementAndGet();
+            inFlight.incrementAndGet();
+            CompletableFuture<HttpResponse<String>> hedged = send(hedge, token);
+            second.set(hedged);
+            hedged.whenComplete((response, error) -> settle(result, inFlight, response, error, true));
+            if (result.isDone()) {
+                hedged.cancel(true); // The fetch returned while the hedge was being sent
+            }
+        }, hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to fetch raw content", cause);
+        } finally {
+            timer.cancel(false);
+            first.cancel(true);
+            CompletableFuture<HttpResponse<String>> hedged = second.get();
+            if (hedged != null) {
+                hedged.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Sends a request. The future returned is the one of the HTTP client, not a stage depending on it, so cancelling
+     * it aborts the exchange and releases its connection.
+     */
+    private CompletableFuture<HttpResponse<String>> send(URI uri, String token) {
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(requestTimeout)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/vnd.github.raw")
+                .GET()
+                .build();
+        CompletableFuture<HttpResponse<String>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        exchange.whenComplete((response, error) -> {
+            if (response != null) {
+                recordLatency(System.nanoTime() - start);
+            }
+        });
+        return exchange;
+    }
+
+    /**
+     * Completes the shared result from one request. A successful response wins immediately; a failure only fails
+     * the result once no other request is still in flight.
+     */
+    private void settle(CompletableFuture<String> result, AtomicInteger inFlight,
+                        HttpResponse<String> response, Throwable error, boolean fromHedge) {
+        int remaining = inFlight.decrementAndGet();
+        if (response != null && response.statusCode() / 100 == 2) {
+            if (result.complete(response.body()) && fromHedge) {
+                hedgesWon.incrementAndGet();
+            }
+            return;
+        }
+        if (remaining > 0 || result.isDone()) {
+            return;
+        }
+        if (error instanceof CancellationException) {
+            return;
+        }
+        if (error != null) {
+            result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        } else {
+            result.completeExceptionally(new HttpStatusException(
+                    "Failed to fetch raw content, Status code: " + response.statusCode(), response.statusCode()));
+        }
+    }
+
+    /**
+     * Computes the hedge delay from the p95 of recent latencies, clamped to the configured bounds.
+     *
+     * @return The delay in milliseconds before a hedge request is sent.
+     */
+    synchronized long hedgeDelayMillis() {
+        if (latencyCount < MIN_SAMPLES) {
+            return maxDelayMillis;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        long p95 = TimeUnit.NANOSECONDS.toMillis(sorted[(int) Math.ceil(sorted.length * 0.95) - 1]);
+        return Math.max(minDelayMillis, Math.min(maxDelayMillis, p95));
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyNext] = nanos;
+        latencyNext = (latencyNext + 1) % LATENCY_WINDOW;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+    }
+
+    private synchronized void acquireBudgetShare() {
+        budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + budgetRatio);
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (budgetTokens < 1.0) {
+            return false;
+        }
+        budgetTokens -= 1.0;
+        return true;
+    }
+
+    /**
+     * Gets the number of hedge requests sent.
+     *
+     * @return The hedge count.
+     */
+    public long getHedgesIssued() {
+        return hedgesIssued.get();
+    }
+
+    /**
+     * Gets the number of hedge requests that answered before the primary request.
+     *
+     * @return The count of winning hedges.
+     */
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    /**
+     * Gets the number of hedges that were due but skipped because the budget was exhausted.
+     *
+     * @return The count of denied hedges.
+     */
+    public long getHedgesDenied() {
+        return hedgesDenied.get();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        logger.info("Raw fetch hedging stopped: {} hedges issued, {} won, {} denied by budget",
+                hedgesIssued.get(), hedgesWon.get(), hedgesDenied.get());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.serverside.mongoDB.document;
+
+import com.example.serverside.analysis.metrics.ClassMetrics;
+import com.example.serverside.analysis.metrics.FileMetrics;
+import com.example.serverside.analysis.metrics.MethodMetrics;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model for a document holding the structural metrics of one file in MongoDB.
+ * There is one document per file of a repository, identified by {@link #idOf}, holding the metrics of the most recently
+ * analysed commit; the commit is kept in the repository information.
+ */
+@Document(collection = "code_metrics")
+@CompoundIndex(def = "{'repositoryInfo.username': 1, 'repositoryInfo.repo': 1}")
+public class CodeMetricsDocument {
+
+    @Id
+    private String id; // Owner, repository and path of the file
+
+    private RepositoryInfo repositoryInfo; // Repository, commit and path the metrics were extracted from
+
+    private List<ClassMetrics> classes = new ArrayList<>(); // Metrics of the classes and interfaces
+
+    private List<MethodMetrics> methods = new ArrayList<>(); // Metrics of the methods and constructors
+
+    private LocalDateTime timestamp; // Timestamp of when the metrics were extracted
+
+    /**
+     * Builds the ID of the document holding the metrics of a file.
+     *
+     * @param username The username of the repository owner.
+     * @param repo     The name of the repository.
+     * @param path     The path of the file.
+     * @return The document ID.
+     */
+    public static String idOf(String username, String repo, String path) {
+        return username + "/" + repo + "/" + path;
+    }
+
+    /**
+     * Gets the ID of the document.
+     *
+     * @return The document ID.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the document.
+     *
+     * @param id The ID to set.
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the repository information the metrics were extracted from.
+     *
+     * @return The repository information.
+     */
+    public RepositoryInfo getRepositoryInfo() {
+        return repositoryInfo;
+    }
+
+    /**
+     * Sets the repository information the metrics were extracted from.
+     *
+     * @param repositoryInfo The repository information to set.
+     */
+    public void setRepositoryInfo(RepositoryInfo repositoryInfo) {
+        this.repositoryInfo = repositoryInfo;
+    }
+
+    /**
+     * Gets the metrics of the classes and interfaces of the file.
+     *
+     * @return The class metrics in source order.
+     */
+    public List<ClassMetrics> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Sets the metrics of the classes and interfaces of the file.
+     *
+     * @param classes The class metrics in source order.
+     */
+    public void setClasses(List<ClassMetrics> classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * Gets the metrics of the methods and constructors of the file.
+     *
+     * @return The method metrics in source order.
+     */
+    public List<MethodMetrics> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Sets the metrics of the methods and constructors of the file.
+     *
+     * @param methods The method metrics in source order.
+     */
+    public void setMethods(List<MethodMetrics> methods) {
+        this.methods = methods;
+    }
+
+    /**
+     * Gets the stored metrics as the file metrics they were extracted as.
+     *
+     * @return The file metrics.
+     */
+    public FileMetrics toFileMetrics() {
+        FileMetrics metrics = new FileMetrics();
+        metrics.setClasses(classes);
+        metrics.setMethods(methods);
+        return metrics;
+    }
+
+    /**
+     * Gets the timestamp of the document.
+     *
+     * @return The timestamp of the document.
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Sets the timestamp of the document.
+     *
+     * @param timestamp The timestamp to set.
+     */
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
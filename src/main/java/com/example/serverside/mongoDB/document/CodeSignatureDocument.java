@@ -0,0 +1,199 @@
+package com.example.serverside.mongoDB.document;
+
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Model for a document holding the MinHash signature of a file or method in MongoDB.
+ * The bucket keys are indexed, so similar code is found by looking up keys rather than scanning every signature.
+ */
+@Document(collection = "code_signatures")
+public class CodeSignatureDocument {
+
+    @Id
+    private String id; // MongoDB document ID
+
+    private RepositoryInfo repositoryInfo; // Repository, commit and path the code was indexed from
+
+    private String unitType; // FILE or METHOD
+
+    private String unitName; // Method or constructor signature, null for a file
+
+    private int beginLine; // First line of the code
+
+    private int endLine; // Last line of the code
+
+    private int[] signature; // MinHash signature of the code's token shingles
+
+    @Indexed
+    private List<String> bandKeys; // Locality-sensitive hashing buckets of the signature
+
+    private LocalDateTime timestamp; // Timestamp of when the document was created
+
+    /**
+     * Gets the ID of the document.
+     *
+     * @return The document ID.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the document.
+     *
+     * @param id The ID to set.
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the repository information of the indexed code.
+     *
+     * @return The repository information.
+     */
+    public RepositoryInfo getRepositoryInfo() {
+        return repositoryInfo;
+    }
+
+    /**
+     * Sets the repository information of the indexed code.
+     *
+     * @param repositoryInfo The repository information to set.
+     */
+    public void setRepositoryInfo(RepositoryInfo repositoryInfo) {
+        this.repositoryInfo = repositoryInfo;
+    }
+
+    /**
+     * Gets the kind of code the signature describes.
+     *
+     * @return FILE or METHOD.
+     */
+    public String getUnitType() {
+        return unitType;
+    }
+
+    /**
+     * Sets the kind of code the signature describes.
+     *
+     * @param unitType FILE or METHOD.
+     */
+    public void setUnitType(String unitType) {
+        this.unitType = unitType;
+    }
+
+    /**
+     * Gets the method or constructor signature.
+     *
+     * @return The unit name, or null for a file.
+     */
+    public String getUnitName() {
+        return unitName;
+    }
+
+    /**
+     * Sets the method or constructor signature.
+     *
+     * @param unitName The unit name, or null for a file.
+     */
+    public void setUnitName(String unitName) {
+        this.unitName = unitName;
+    }
+
+    /**
+     * Gets the first line of the code.
+     *
+     * @return The first line.
+     */
+    public int getBeginLine() {
+        return beginLine;
+    }
+
+    /**
+     * Sets the first line of the code.
+     *
+     * @param beginLine The first line.
+     */
+    public void setBeginLine(int beginLine) {
+        this.beginLine = beginLine;
+    }
+
+    /**
+     * Gets the last line of the code.
+     *
+     * @return The last line.
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Sets the last line of the code.
+     *
+     * @param endLine The last line.
+     */
+    public void setEndLine(int endLine) {
+        this.endLine = endLine;
+    }
+
+    /**
+     * Gets the MinHash signature of the code.
+     *
+     * @return The signature entries.
+     */
+    public int[] getSignature() {
+        return signature;
+    }
+
+    /**
+     * Sets the MinHash signature of the code.
+     *
+     * @param signature The signature entries.
+     */
+    public void setSignature(int[] signature) {
+        this.signature = signature;
+    }
+
+    /**
+     * Gets the bucket keys of the signature.
+     *
+     * @return The bucket keys, one per band.
+     */
+    public List<String> getBandKeys() {
+        return bandKeys;
+    }
+
+    /**
+     * Sets the bucket keys of the signature.
+     *
+     * @param bandKeys The bucket keys, one per band.
+     */
+    public void setBandKeys(List<String> bandKeys) {
+        this.bandKeys = bandKeys;
+    }
+
+    /**
+     * Gets the timestamp of the document.
+     *
+     * @return The timestamp of the document.
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Sets the timestamp of the document.
+     *
+     * @param timestamp The timestamp to set.
+     */
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Model for a document representing complexity analysis results in MongoDB.
@@ -23,6 +24,8 @@ public class ComplexityResultDocument {
 
     private RepositoryInfo repositoryInfo; // Information about the repository associated with this document
 
+    private List<String> parseProblems; // Problems reported while parsing the analysed source
+
     /**
      * Retrieves the custom identifier.
      * This method returns the custom ID that uniquely identifies the analysis result.
@@ -116,5 +119,22 @@ public class ComplexityResultDocument {
         this.repositoryInfo = repositoryInfo;
     }
 
+    /**
+     * Gets the problems reported while parsing the analysed source.
+     * The document still reflects the parts of the file that could be parsed.
+     *
+     * @return A list of parse problems, empty if the source parsed cleanly.
+     */
+    public List<String> getParseProblems() {
+        return parseProblems;
+    }
 
+    /**
+     * Sets the problems reported while parsing the analysed source.
+     *
+     * @param parseProblems A list of parse problems.
+     */
+    public void setParseProblems(List<String> parseProblems) {
+        this.parseProblems = parseProblems;
+    }
 }
@@ -26,6 +26,8 @@ public class StyleResultDocument {
 
     private RepositoryInfo repositoryInfo; // Information about the repository associated with this document
 
+    private List<String> parseProblems; // Problems reported while parsing the analysed source
+
     /**
      * Retrieves the custom identifier.
      * This method returns the custom ID that uniquely identifies the analysis result.
@@ -136,4 +138,23 @@ public class StyleResultDocument {
     public void setViolationCount(int violationCount) {
         this.violationCount = violationCount;
     }
+
+    /**
+     * Gets the problems reported while parsing the analysed source.
+     * The document still reflects the parts of the file that could be parsed.
+     *
+     * @return A list of parse problems, empty if the source parsed cleanly.
+     */
+    public List<String> getParseProblems() {
+        return parseProblems;
+    }
+
+    /**
+     * Sets the problems reported while parsing the analysed source.
+     *
+     * @param parseProblems A list of parse problems.
+     */
+    public void setParseProblems(List<String> parseProblems) {
+        this.parseProblems = parseProblems;
+    }
 }
@@ -151,6 +151,7 @@ public class MongoDBService {
         RepositoryInfo repositoryInfo = result.getRepositoryInfo();
         document.setRepositoryInfo(repositoryInfo);
         document.setCustomId(result.getCustomId()); // Set the custom ID
+        document.setParseProblems(result.getParseProblems());
         document.setQualityCount(result.getDuplications().size()); // Set the count
         document.setDuplications(result.getDuplications());
         return document;
@@ -167,6 +168,7 @@ public class MongoDBService {
         RepositoryInfo repositoryInfo = result.getRepositoryInfo();
         document.setRepositoryInfo(repositoryInfo);
         document.setCustomId(result.getCustomId()); // Set the custom ID
+        document.setParseProblems(result.getParseProblems());
         document.setSmellsCount(result.getSmells().size()); // Set the count
         document.setSmells(result.getSmells());
         return document;
@@ -183,6 +185,7 @@ public class MongoDBService {
         RepositoryInfo repositoryInfo = result.getRepositoryInfo();
         document.setRepositoryInfo(repositoryInfo);
         document.setCustomId(result.getCustomId()); // Set the custom ID
+        document.setParseProblems(result.getParseProblems());
         document.setCyclomaticComplexity(result.getCyclomaticComplexity());
         return document;
     }
@@ -198,6 +201,7 @@ public class MongoDBService {
         RepositoryInfo repositoryInfo = result.getRepositoryInfo();
         document.setRepositoryInfo(repositoryInfo);
         document.setCustomId(result.getCustomId()); // Set the custom ID
+        document.setParseProblems(result.getParseProblems());
         document.setViolationCount(result.getViolations().size()); // Set the count
         document.setViolations(result.getViolations());
 
@@ -227,6 +231,7 @@ public class MongoDBService {
         RepositoryInfo repositoryInfo = result.getRepositoryInfo();
         document.setRepositoryInfo(repositoryInfo);
         document.setCustomId(result.getCustomId()); // Set the custom ID
+        document.setParseProblems(result.getParseProblems());
         document.setVulnerabilitiesCount(result.getVulnerabilities().size()); // Set the count
         document.setVulnerabilities(result.getVulnerabilities());
 
@@ -0,0 +1,243 @@
+package com.example.serverside.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.EOFException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker with bounded retries for calls to one external dependency.
+ * After a run of consecutive failures the breaker opens and calls fail fast. Once the open period has passed a
+ * single probe call is let through (half-open); its outcome closes the breaker again or re-opens it.
+ * Transient failures are retried with exponential backoff and full jitter before they count against the breaker.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * The states a circuit breaker can be in.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * A call guarded by the breaker, which may throw a checked exception.
+     *
+     * @param <T> The type of the call's result.
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T execute() throws Exception;
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * Constructs a CircuitBreaker.
+     *
+     * @param name             The name of the guarded dependency.
+     * @param failureThreshold Consecutive failures that open the breaker.
+     * @param openDurationMillis Time the breaker stays open before a probe is allowed.
+     * @param maxAttempts      Attempts per call, including the first one.
+     * @param baseDelayMillis  Base of the exponential backoff between attempts.
+     * @param maxDelayMillis   Cap on the backoff between attempts.
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMillis,
+                          int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this(name, failureThreshold, openDurationMillis, maxAttempts, baseDelayMillis, maxDelayMillis, System::nanoTime);
+    }
+
+    // Constructor for testing with a controllable clock
+    CircuitBreaker(String name, int failureThreshold, long openDurationMillis,
+                   int maxAttempts, long baseDelayMillis, long maxDelayMillis, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs a call through the breaker, retrying transient failures.
+     *
+     * @param call The call to run.
+     * @param <T>  The type of the call's result.
+     * @return The result of the first successful attempt.
+     * @throws CircuitBreakerOpenException if the breaker is open and the call was not attempted.
+     * @throws Exception the failure of the last attempt, or a non-transient failure as soon as it occurs.
+     */
+    public <T> T execute(Call<T> call) throws Exception {
+        return execute(call, maxAttempts);
+    }
+
+    /**
+     * Runs a call through the breaker without retrying, for calls that are not safe to repeat.
+     *
+     * @param call The call to run.
+     * @param <T>  The type of the call's result.
+     * @return The result of the call.
+     * @throws CircuitBreakerOpenException if the breaker is open and the call was not attempted.
+     * @throws Exception the failure of the call.
+     */
+    public <T> T executeOnce(Call<T> call) throws Exception {
+        return execute(call, 1);
+    }
+
+    private <T> T execute(Call<T> call, int maxAttempts) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            if (!tryAcquirePermission()) {
+                throw new CircuitBreakerOpenException(name);
+            }
+            try {
+                T result = call.execute();
+                onSuccess();
+                return result;
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    // The dependency answered; a client-side error says nothing about its health.
+                    onSuccess();
+                    throw e;
+                }
+                onFailure();
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                long delay = backoffMillis(attempt);
+                logger.warn("Call to {} failed (attempt {} of {}), retrying in {} ms: {}",
+                        name, attempt, maxAttempts, delay, e.getMessage());
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * Decides whether a failure is worth retrying and should count against the breaker.
+     * Network errors reported by RestTemplate, 5xx responses, 429 rate limiting and transport failures of the HTTP
+     * client are transient: timeouts, refused or reset connections, unknown hosts and connections closed early, found
+     * anywhere in the cause chain as the client wraps them. Everything else is not, including other I/O errors, which
+     * usually mean the request itself was bad.
+     *
+     * @param e The failure to classify.
+     * @return true if the failure is transient.
+     */
+    static boolean isTransient(Exception e) {
+        if (e instanceof ResourceAccessException || e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests) {
+            return true;
+        }
+        if (e instanceof HttpStatusException) {
+            int status = ((HttpStatusException) e).getStatusCode();
+            return status >= 500 || status == 429;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof HttpTimeoutException || cause instanceof SocketTimeoutException
+                    || cause instanceof SocketException || cause instanceof UnknownHostException
+                    || cause instanceof EOFException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the backoff before the next attempt using full jitter: a random delay between zero and the
+     * exponential bound, so that clients retrying after the same outage do not retry in lockstep.
+     *
+     * @param attempt The attempt that just failed, starting at 1.
+     * @return The delay in milliseconds.
+     */
+    long backoffMillis(int attempt) {
+        long bound = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            logger.info("Circuit breaker {} is half-open, probing", name);
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Circuit breaker {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                logger.warn("Circuit breaker {} opened after {} consecutive failures", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Gets the name of the guarded dependency.
+     *
+     * @return The breaker name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the current state. An open breaker whose open period has passed is still reported as open until the
+     * next call probes it.
+     *
+     * @return The breaker state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of consecutive transient failures seen.
+     *
+     * @return The failure count.
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.serverside.resilience;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the state of every circuit breaker under the Actuator health endpoint.
+ * An open breaker is reported with the custom status {@code CIRCUIT_OPEN}. The default status aggregator ignores
+ * custom statuses, so a degraded dependency shows up in the details without taking the whole application down.
+ */
+@Component
+public class CircuitBreakerHealthIndicator implements HealthIndicator {
+
+    /**
+     * Status reported while at least one breaker is open or half-open.
+     */
+    public static final Status CIRCUIT_OPEN = new Status("CIRCUIT_OPEN", "At least one circuit breaker is open");
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /**
+     * Constructs a CircuitBreakerHealthIndicator.
+     *
+     * @param circuitBreakerRegistry The registry whose breakers are reported.
+     */
+    public CircuitBreakerHealthIndicator(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    @Override
+    public Health health() {
+        boolean anyOpen = false;
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (CircuitBreaker breaker : circuitBreakerRegistry.getCircuitBreakers()) {
+            CircuitBreaker.State state = breaker.getState();
+            anyOpen |= state != CircuitBreaker.State.CLOSED;
+            Map<String, Object> breakerDetails = new LinkedHashMap<>();
+            breakerDetails.put("state", state.name());
+            breakerDetails.put("consecutiveFailures", breaker.getConsecutiveFailures());
+            details.put(breaker.getName(), breakerDetails);
+        }
+        return Health.status(anyOpen ? CIRCUIT_OPEN : Status.UP).withDetails(details).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.serverside.resilience;
+
+/**
+ * Thrown when a call is rejected because the circuit breaker of its dependency is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String breakerName;
+
+    /**
+     * Constructs a CircuitBreakerOpenException.
+     *
+     * @param breakerName The name of the open breaker.
+     */
+    public CircuitBreakerOpenException(String breakerName) {
+        super("Circuit breaker '" + breakerName + "' is open, call not attempted");
+        this.breakerName = breakerName;
+    }
+
+    /**
+     * Gets the name of the open breaker.
+     *
+     * @return The breaker name.
+     */
+    public String getBreakerName() {
+        return breakerName;
+    }
+}
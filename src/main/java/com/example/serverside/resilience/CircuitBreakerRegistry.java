@@ -0,0 +1,74 @@
+package com.example.serverside.resilience;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds one circuit breaker per external dependency, all created from the same configuration.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * Constructs a CircuitBreakerRegistry with the default configuration.
+     */
+    public CircuitBreakerRegistry() {
+        this(5, 30000, 3, 200, 2000);
+    }
+
+    /**
+     * Constructs a CircuitBreakerRegistry.
+     *
+     * @param failureThreshold   Consecutive failures that open a breaker.
+     * @param openDurationMillis Time a breaker stays open before it is probed.
+     * @param maxAttempts        Attempts per call, including the first one.
+     * @param baseDelayMillis    Base of the exponential retry backoff.
+     * @param maxDelayMillis     Cap on the retry backoff.
+     */
+    @Autowired
+    public CircuitBreakerRegistry(@Value("${resilience.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                  @Value("${resilience.circuit-breaker.open-duration-ms:30000}") long openDurationMillis,
+                                  @Value("${resilience.retry.max-attempts:3}") int maxAttempts,
+                                  @Value("${resilience.retry.base-delay-ms:200}") long baseDelayMillis,
+                                  @Value("${resilience.retry.max-delay-ms:2000}") long maxDelayMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Gets the breaker for a dependency, creating it on first use.
+     *
+     * @param name The name of the dependency.
+     * @return The breaker guarding that dependency.
+     */
+    public CircuitBreaker circuitBreaker(String name) {
+        return breakers.computeIfAbsent(name, key ->
+                new CircuitBreaker(key, failureThreshold, openDurationMillis, maxAttempts, baseDelayMillis, maxDelayMillis));
+    }
+
+    /**
+     * Gets all breakers created so far.
+     *
+     * @return An unmodifiable view of the breakers.
+     */
+    public Collection<CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableCollection(breakers.values());
+    }
+}
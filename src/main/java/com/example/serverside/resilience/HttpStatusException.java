@@ -0,0 +1,34 @@
+package com.example.serverside.resilience;
+
+import java.io.IOException;
+
+/**
+ * Signals a non-successful HTTP status from a call made with {@link java.net.http.HttpClient}.
+ * Carrying the status lets the circuit breaker tell server errors from client errors.
+ */
+public class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    /**
+     * Constructs an HttpStatusException.
+     *
+     * @param message    The detail message.
+     * @param statusCode The HTTP status code of the response.
+     */
+    public HttpStatusException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Gets the HTTP status code of the response.
+     *
+     * @return The status code.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
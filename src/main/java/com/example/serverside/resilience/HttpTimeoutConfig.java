@@ -0,0 +1,36 @@
+package com.example.serverside.resilience;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for explicit HTTP timeouts on outbound calls.
+ * Without them a stalled dependency holds request threads for the platform default, which is no timeout at all.
+ */
+@Configuration
+public class HttpTimeoutConfig {
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${http.client.read-timeout-ms:10000}")
+    private long readTimeoutMillis;
+
+    /**
+     * Creates the RestTemplateBuilder used by the application, keeping Spring Boot's defaults and adding timeouts.
+     *
+     * @param configurer The configurer applying Spring Boot's defaults.
+     * @return A RestTemplateBuilder with connect and read timeouts set.
+     */
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer) {
+        return configurer.configure(new RestTemplateBuilder())
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+    }
+}
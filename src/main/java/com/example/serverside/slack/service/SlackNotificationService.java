@@ -1,8 +1,12 @@
 package com.example.serverside.slack.service;
 
+import com.example.serverside.resilience.CircuitBreaker;
+import com.example.serverside.resilience.CircuitBreakerRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -27,12 +31,36 @@ public class SlackNotificationService {
      */
     private final RestTemplate restTemplate;
 
+    /**
+     * Circuit breaker guarding the Slack webhook, or null when the service is used without one.
+     */
+    private final CircuitBreaker circuitBreaker;
+
     /**
      * Constructor for SlackNotificationService.
      * Initializes a new RestTemplate for HTTP requests.
      */
     public SlackNotificationService() {
         this.restTemplate = new RestTemplate();
+        this.circuitBreaker = null;
+    }
+
+    /**
+     * Constructor for SlackNotificationService with explicit timeouts and a circuit breaker.
+     *
+     * @param circuitBreakerRegistry The registry providing the "slack" breaker.
+     * @param connectTimeoutMillis   Connect timeout for the webhook call.
+     * @param readTimeoutMillis      Read timeout for the webhook call.
+     */
+    @Autowired
+    public SlackNotificationService(CircuitBreakerRegistry circuitBreakerRegistry,
+                                    @Value("${http.client.connect-timeout-ms:3000}") int connectTimeoutMillis,
+                                    @Value("${http.client.read-timeout-ms:10000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("slack");
     }
 
     /**
@@ -43,7 +71,13 @@ public class SlackNotificationService {
     public void send(String message) {
         SlackMessage slackMessage = new SlackMessage(message);
         try {
-            restTemplate.postForObject(slackWebhookUrl, slackMessage, String.class);
+            if (circuitBreaker != null) {
+                // Not retried: a timeout after Slack accepted the message would post it twice
+                circuitBreaker.executeOnce(() -> restTemplate.postForObject(slackWebhookUrl, slackMessage,
+                        String.class));
+            } else {
+                restTemplate.postForObject(slackWebhookUrl, slackMessage, String.class);
+            }
         } catch (Exception e) {
             logger.error("Failed to send Slack message: {}", e.getMessage(), e);
             throw new RuntimeException("Error sending notification to Slack", e);
@@ -52,7 +86,13 @@ public class SlackNotificationService {
 
     // Constructor for testing with a mock RestTemplate
     SlackNotificationService(RestTemplate restTemplate) {
+        this(restTemplate, null);
+    }
+
+    // Constructor for testing with a mock RestTemplate and a circuit breaker
+    SlackNotificationService(RestTemplate restTemplate, CircuitBreaker circuitBreaker) {
         this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
     }
 
     static class SlackMessage {
@@ -0,0 +1,118 @@
+package com.example.serverside.analysis.callgraph;
+
+import com.github.javaparser.StaticJavaParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallGraphTest {
+
+    private static final String SERVICE = "package app;\n" +
+            "public class Service {\n" +
+            "    public int compute(int x) { return helper(x) * 2; }\n" +
+            "    int helper(int x) { return x + 1; }\n" +
+            "    public void neverCalled() { }\n" +
+            "    private void hidden() { }\n" +
+            "    @Deprecated public void annotated() { }\n" +
+            "    public static void main(String[] args) { }\n" +
+            "    public String getName() { return \"\"; }\n" +
+            "    public String toString() { return \"Service\"; }\n" +
+            "}\n";
+
+    @Test
+    void reportsMethodsNothingCalls() {
+        CallGraph graph = new CallGraph();
+        graph.update("Service.java", "1", summarize(SERVICE));
+        graph.update("Client.java", "1", summarize("package app;\n" +
+                "class Client {\n" +
+                "    int run(Service service) { return service.compute(3); }\n" +
+                "}\n"));
+
+        assertEquals(List.of("Client.java:3 run", "Service.java:5 neverCalled"), describe(graph));
+        assertTrue(graph.findUnusedMethods().get(1).toString()
+                .startsWith("Violation at Service.java line 5: Dead Method : Method 'neverCalled' in class 'Service'"));
+    }
+
+    @Test
+    void callsResolvedToLibraryMethodsDoNotKeepSameNamedMethodsAlive() {
+        CallGraph graph = new CallGraph();
+        graph.update("Bag.java", "1", summarize("package app;\n" +
+                "public class Bag {\n" +
+                "    public void add(Object item) { }\n" +
+                "}\n"));
+        graph.update("Client.java", "1", summarize("package app;\n" +
+                "import java.util.ArrayList;\n" +
+                "import java.util.List;\n" +
+                "class Client {\n" +
+                "    static { List<String> names = new ArrayList<>(); names.add(\"a\"); }\n" +
+                "}\n"));
+
+        assertEquals(List.of("Bag.java:3 add"), describe(graph));
+    }
+
+    @Test
+    void callsThroughSupertypesKeepImplementationsAlive() {
+        CallGraph graph = new CallGraph();
+        graph.update("Task.java", "1", summarize("package app;\n" +
+                "public class Task implements Runnable {\n" +
+                "    public void run() { }\n" +
+                "}\n"));
+        graph.update("Client.java", "1", summarize("package app;\n" +
+                "class Client {\n" +
+                "    static { Runnable task = () -> { }; task.run(); }\n" +
+                "}\n"));
+
+        assertTrue(graph.findUnusedMethods().isEmpty());
+    }
+
+    @Test
+    void updatingAFileReplacesItsCalls() {
+        CallGraph graph = new CallGraph();
+        graph.update("Service.java", "1", summarize(SERVICE));
+        graph.update("Client.java", "1", summarize("package app;\n" +
+                "class Client {\n" +
+                "    static { new Service().neverCalled(); }\n" +
+                "}\n"));
+        assertEquals(List.of("Service.java:3 compute"), describe(graph));
+        assertTrue(graph.isCurrent("Client.java", "1"));
+
+        graph.update("Client.java", "2", summarize("package app;\n" +
+                "class Client {\n" +
+                "    static { new Service().compute(1); }\n" +
+                "}\n"));
+        assertEquals(List.of("Service.java:5 neverCalled"), describe(graph));
+        assertFalse(graph.isCurrent("Client.java", "1"));
+
+        graph.retainOnly(List.of("Service.java"));
+        assertEquals(List.of("Service.java:3 compute", "Service.java:5 neverCalled"), describe(graph));
+        assertEquals(1, graph.getFileCount());
+    }
+
+    @Test
+    void summariesAreStaleOnceAFileTheirCallsWereResolvedWithChanges() {
+        CallGraph graph = new CallGraph();
+        FileSummary client = new FileSummary(List.of(), List.of("app.Task#run/0"), List.of("run"), List.of(),
+                List.of("Task.java"));
+        graph.update("Client.java", "1", client, Map.of("Client.java", "1", "Task.java", "1"));
+
+        assertTrue(graph.isCurrent("Client.java", "1", Map.of("Client.java", "1", "Task.java", "1")));
+        assertFalse(graph.isCurrent("Client.java", "1", Map.of("Client.java", "1", "Task.java", "2")));
+        assertFalse(graph.isCurrent("Client.java", "1", Map.of("Client.java", "1")));
+    }
+
+    private static FileSummary summarize(String code) {
+        return CallSummaryExtractor.summarize(StaticJavaParser.parse(code));
+    }
+
+    private static List<String> describe(CallGraph graph) {
+        List<String> descriptions = new ArrayList<>();
+        for (UnusedMethod method : graph.findUnusedMethods()) {
+            descriptions.add(method.getPath() + ":" + method.getLine() + " " + method.getName());
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.serverside.analysis.clone;
+
+import com.example.serverside.analysis.util.TokenCloneDetector;
+import com.github.javaparser.StaticJavaParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossFileCloneIndexTest {
+
+    private static final String SHARED = "        int total = 0;\n" +
+            "        for (int i = 0; i < items.length; i++) {\n" +
+            "            if (items[i] > 10) {\n" +
+            "                total += items[i] * 2;\n" +
+            "            } else {\n" +
+            "                total -= items[i];\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return total;\n";
+
+    @Test
+    void findsCodeCopiedBetweenFiles() {
+        CrossFileCloneIndex index = newIndex(1 << 20);
+        index.index("A.java", "1", fingerprint("class A {\n    int sum(int[] items) {\n" + SHARED + "    }\n}"));
+        index.index("B.java", "1", fingerprint("class B {\n    void other() { }\n\n    int add(int[] values) {\n"
+                + SHARED.replace("items", "values") + "    }\n}"));
+
+        List<CrossFileClone> clones = index.findClones();
+
+        assertEquals(1, clones.size());
+        CrossFileClone clone = clones.get(0);
+        assertEquals("A.java", clone.getFirstPath());
+        assertEquals("B.java", clone.getSecondPath());
+        assertTrue(clone.getFirstBeginLine() >= 2 && clone.getFirstEndLine() <= 12, clone.toString());
+        assertTrue(clone.getSecondBeginLine() >= 4 && clone.getSecondEndLine() <= 14, clone.toString());
+        assertTrue(clone.getTokenCount() >= TokenCloneDetector.DEFAULT_WINDOW);
+        assertTrue(clone.toString().startsWith("Violation: Duplicate code found in A.java lines "));
+    }
+
+    @Test
+    void copiesWithinOneFileAreNotReported() {
+        CrossFileCloneIndex index = newIndex(1 << 20);
+        index.index("A.java", "1", fingerprint("class A {\n    int a(int[] items) {\n" + SHARED + "    }\n"
+                + "    int b(int[] items) {\n" + SHARED + "    }\n}"));
+
+        assertTrue(index.findClones().isEmpty());
+    }
+
+    @Test
+    void unchangedFilesAreCurrentAndChangedFilesReplaceTheirPostings() {
+        CrossFileCloneIndex index = newIndex(1 << 20);
+        index.index("A.java", "1", fingerprint("class A {\n    int sum(int[] items) {\n" + SHARED + "    }\n}"));
+        index.index("B.java", "1", fingerprint("class B {\n    int sum(int[] items) {\n" + SHARED + "    }\n}"));
+
+        assertTrue(index.isCurrent("A.java", "1"));
+        assertFalse(index.isCurrent("A.java", "2"));
+        assertFalse(index.isCurrent("C.java", "1"));
+
+        index.index("B.java", "2", fingerprint("class B {\n    void empty() { }\n}"));
+
+        assertTrue(index.findClones().isEmpty());
+        assertEquals(2, index.getFileCount());
+    }
+
+    @Test
+    void rescansDoNotGrowTheIndex() {
+        CrossFileCloneIndex index = newIndex(1 << 20);
+        TokenCloneDetector.Fingerprints a =
+                fingerprint("class A {\n    int sum(int[] items) {\n" + SHARED + "    }\n}");
+        TokenCloneDetector.Fingerprints b =
+                fingerprint("class B {\n    int sum(int[] items) {\n" + SHARED + "    }\n}");
+        index.index("A.java", "0", a);
+        index.index("B.java", "0", b);
+        int postings = index.getPostingCount();
+
+        for (int scan = 1; scan <= 5000; scan++) {
+            index.index("B.java", String.valueOf(scan), b);
+        }
+
+        assertTrue(index.getFileIdCount() <= 2 * 2 + 1024, "file ids: " + index.getFileIdCount());
+        assertEquals(postings, index.getPostingCount());
+        assertTrue(index.isCurrent("A.java", "0"));
+        assertTrue(index.isCurrent("B.java", "5000"));
+        assertEquals(1, index.findClones().size());
+        assertEquals("A.java", index.findClones().get(0).getFirstPath());
+    }
+
+    @Test
+    void deletedFilesAreDroppedByRetainOnly() {
+        CrossFileCloneIndex index = newIndex(1 << 20);
+        index.index("A.java", "1", fingerprint("class A {\n    int sum(int[] items) {\n" + SHARED + "    }\n}"));
+        index.index("B.java", "1", fingerprint("class B {\n    int sum(int[] items) {\n" + SHARED + "    }\n}"));
+
+        index.retainOnly(List.of("A.java"));
+
+        assertEquals(1, index.getFileCount());
+        assertTrue(index.findClones().isEmpty());
+        assertFalse(index.isCurrent("B.java", "1"));
+    }
+
+    @Test
+    void postingBudgetIsKeptBySampling() {
+        CrossFileCloneIndex index = newIndex(16);
+        String longCopy = "class A {\n    int sum(int[] items) {\n" + SHARED + "    }\n"
+                + "    String describe(Map<String, Integer> counts) {\n"
+                + "        StringBuilder text = new StringBuilder();\n"
+                + "        while (!counts.isEmpty()) {\n"
+                + "            switch (counts.size()) {\n"
+                + "                case 1: text.append(\"one\"); break;\n"
+                + "                default: text.append(counts.keySet().iterator().next()).append(',');\n"
+                + "            }\n"
+                + "            counts.remove(counts.keySet().iterator().next());\n"
+                + "        }\n"
+                + "        try { return text.toString().trim(); } catch (RuntimeException e) { throw new IllegalStateException(e); }\n"
+                + "    }\n}";
+        index.index("A.java", "1", fingerprint(longCopy));
+        index.index("B.java", "1", fingerprint(longCopy.replace("class A", "class B")));
+
+        assertTrue(index.getPostingCount() <= 16, "postings: " + index.getPostingCount());
+        assertTrue(index.getSamplingRate() < 1);
+        assertFalse(index.findClones().isEmpty(), "Long copies should still be found after sampling");
+    }
+
+    private static CrossFileCloneIndex newIndex(int maxPostings) {
+        return new CrossFileCloneIndex(maxPostings, TokenCloneDetector.DEFAULT_WINDOW, CloneIndexRegistry.WINNOW_WINDOW);
+    }
+
+    private static TokenCloneDetector.Fingerprints fingerprint(String code) {
+        return new TokenCloneDetector(TokenCloneDetector.DEFAULT_WINDOW)
+                .fingerprint(StaticJavaParser.parse(code), CloneIndexRegistry.WINNOW_WINDOW);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.serverside.analysis.clone;
+
+import com.github.javaparser.StaticJavaParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashTest {
+
+    private static final String SUM = "    int sum(int[] items) {\n" +
+            "        int total = 0;\n" +
+            "        for (int i = 0; i < items.length; i++) {\n" +
+            "            if (items[i] > 10) {\n" +
+            "                total += items[i] * 2;\n" +
+            "            } else {\n" +
+            "                total -= items[i];\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return total;\n" +
+            "    }\n";
+
+    private static final String FORMAT = "    String format(List<String> names) {\n" +
+            "        StringBuilder text = new StringBuilder();\n" +
+            "        while (!names.isEmpty()) {\n" +
+            "            try {\n" +
+            "                text.append(names.remove(0).trim()).append(\", \");\n" +
+            "            } catch (RuntimeException e) {\n" +
+            "                throw new IllegalStateException(\"Bad name\", e);\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return text.toString();\n" +
+            "    }\n";
+
+    @Test
+    void renamedCopiesHaveEqualSignatures() {
+        CodeSignature original = method("class A {\n" + SUM + "}");
+        CodeSignature renamed = method("class B {\n" + SUM.replace("items", "values").replace("total", "acc")
+                .replace("10", "99") + "}");
+
+        assertEquals(1.0, MinHash.similarity(original.getSignature(), renamed.getSignature()));
+        assertEquals(original.getBandKeys(), renamed.getBandKeys());
+    }
+
+    @Test
+    void lightlyEditedCopiesShareABucket() {
+        CodeSignature original = method("class A {\n" + SUM + "}");
+        CodeSignature edited = method("class B {\n" + SUM.replace("                total -= items[i];\n",
+                "                total -= items[i];\n                count++;\n") + "}");
+
+        assertTrue(MinHash.similarity(original.getSignature(), edited.getSignature()) >= 0.5);
+        assertTrue(sharedKeys(original, edited) > 0);
+    }
+
+    @Test
+    void unrelatedCodeDoesNotShareABucket() {
+        CodeSignature sum = method("class A {\n" + SUM + "}");
+        CodeSignature format = method("class B {\n" + FORMAT + "}");
+
+        assertTrue(MinHash.similarity(sum.getSignature(), format.getSignature()) < 0.2);
+        assertEquals(0, sharedKeys(sum, format));
+    }
+
+    @Test
+    void fileSignatureComesFirstAndCoversItsMethods() {
+        List<CodeSignature> signatures = MinHash.signaturesOf(StaticJavaParser.parse("class A {\n" + SUM + FORMAT
+                + "    int get() { return 1; }\n}"));
+
+        assertEquals(3, signatures.size(), "The accessor is too small to be signed on its own");
+        CodeSignature file = signatures.get(0);
+        assertEquals(CodeSignature.UnitType.FILE, file.getUnitType());
+        assertNull(file.getUnitName());
+        assertEquals("sum(int[])", signatures.get(1).getUnitName());
+        assertEquals(2, signatures.get(1).getBeginLine());
+        assertEquals(12, signatures.get(1).getEndLine());
+        assertEquals("format(List)", signatures.get(2).getUnitName());
+        for (int i = 0; i < MinHash.SIGNATURE_LENGTH; i++) {
+            int methodMinimum = Math.min(signatures.get(1).getSignature()[i], signatures.get(2).getSignature()[i]);
+            assertTrue(file.getSignature()[i] <= methodMinimum, "The file covers every method, including small ones");
+        }
+    }
+
+    @Test
+    void filesAndMethodsUseSeparateBuckets() {
+        List<CodeSignature> signatures = MinHash.signaturesOf(StaticJavaParser.parse("class A {\n" + SUM + "}"));
+
+        assertEquals(2, signatures.size());
+        assertArrayEquals(signatures.get(0).getSignature(), signatures.get(1).getSignature());
+        assertEquals(0, sharedKeys(signatures.get(0), signatures.get(1)));
+        assertEquals(MinHash.SIGNATURE_LENGTH / MinHash.ROWS_PER_BAND, signatures.get(0).getBandKeys().size());
+    }
+
+    private static CodeSignature method(String code) {
+        return MinHash.signaturesOf(StaticJavaParser.parse(code)).get(1);
+    }
+
+    private static int sharedKeys(CodeSignature first, CodeSignature second) {
+        List<String> shared = new ArrayList<>(first.getBandKeys());
+        shared.retainAll(second.getBandKeys());
+        return shared.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstantFolderTest {
+
+    // The folded first argument of each call to use(...), in source order
+    private static List<Optional<String>> foldUses(String code) {
+        CompilationUnit cu = StaticJavaParser.parse(code);
+        ConstantFolder folder = new ConstantFolder();
+        return cu.findAll(MethodCallExpr.class, call -> call.getNameAsString().equals("use")).stream()
+                .map(call -> folder.foldString(call.getArgument(0)))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void foldsConcatenationsAndFormatOfConstants() {
+        String code = "class Test {\n" +
+                "    static final String ALGORITHM = \"DES\";\n" +
+                "    static final String MODE = ALGORITHM + \"/\" + \"ECB\";\n" +
+                "    static final int BITS = 8 * 7;\n" +
+                "    void method() {\n" +
+                "        use(MODE + \"/PKCS5Padding\");\n" +
+                "        use(String.format(\"%s-%d\", Test.ALGORITHM, BITS));\n" +
+                "        use(String.valueOf(BITS > 50 ? 'y' : 'n'));\n" +
+                "    }\n" +
+                "}";
+
+        assertEquals(List.of(Optional.of("DES/ECB/PKCS5Padding"), Optional.of("DES-56"), Optional.of("y")),
+                foldUses(code));
+    }
+
+    @Test
+    void resolvesNamesInTheScopeOfTheMethod() {
+        String code = "class Test {\n" +
+                "    static final String NAME = \"field\";\n" +
+                "    static String mutable = \"mutable\";\n" +
+                "    void first() {\n" +
+                "        String NAME = \"local\";\n" +
+                "        use(NAME);\n" +
+                "        use(mutable);\n" +
+                "    }\n" +
+                "    void second(String NAME) {\n" +
+                "        use(NAME);\n" +
+                "        String changed = \"a\";\n" +
+                "        changed = \"b\";\n" +
+                "        use(changed);\n" +
+                "    }\n" +
+                "    void third() {\n" +
+                "        use(NAME);\n" +
+                "    }\n" +
+                "}";
+
+        assertEquals(List.of(Optional.of("local"), Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.of("field")), foldUses(code));
+    }
+
+    @Test
+    void foldsIntArithmeticAsIntAndLongArithmeticAsLong() {
+        String code = "class Test {\n" +
+                "    void method() {\n" +
+                "        use(String.valueOf(2147483647 + 1));\n" +
+                "        use(String.valueOf(2147483647L + 1));\n" +
+                "        use(String.valueOf(65536 * 65536));\n" +
+                "        use(String.valueOf((long) 65536 * 65536));\n" +
+                "        use(String.valueOf(-2147483648 / -1));\n" +
+                "        use(String.valueOf((int) 4294967297L));\n" +
+                "    }\n" +
+                "}";
+
+        assertEquals(List.of(Optional.of("-2147483648"), Optional.of("2147483648"), Optional.of("0"),
+                Optional.of("4294967296"), Optional.of("-2147483648"), Optional.of("1")), foldUses(code));
+    }
+
+    @Test
+    void doesNotFoldCyclicConstants() {
+        String code = "class Test {\n" +
+                "    static final String A = B + \"a\";\n" +
+                "    static final String B = A + \"b\";\n" +
+                "    void method() {\n" +
+                "        use(A);\n" +
+                "    }\n" +
+                "}";
+
+        assertEquals(List.of(Optional.empty()), foldUses(code));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodMatcherTest {
+
+    private final MethodMatcher matcher = new MethodMatcher(List.of(
+            "getParameter", "Model.addAttribute/2", "getWriter().write", "Encode.forHtml"));
+
+    private final Function<String, String> declaredTypes = Map.of("model", "Model", "map", "HashMap")::get;
+
+    private boolean matches(String call) {
+        return matcher.matches(StaticJavaParser.parseExpression(call).asMethodCallExpr(), declaredTypes);
+    }
+
+    @Test
+    void matchesByNameAndArity() {
+        assertTrue(matches("request.getParameter(\"id\")"));
+        assertTrue(matches("getParameter()"));
+        assertTrue(matches("model.addAttribute(\"name\", name)"));
+        assertFalse(matches("model.addAttribute(name)"));
+        assertFalse(matches("request.getAttribute(\"id\")"));
+    }
+
+    @Test
+    void matchesTheReceiver() {
+        assertFalse(matches("map.addAttribute(\"name\", name)"));
+        assertFalse(matches("attributes.addAttribute(\"name\", name)"));
+        assertTrue(matches("new Model().addAttribute(\"name\", name)"));
+        assertTrue(matches("Encode.forHtml(name)"));
+        assertTrue(matches("response.getWriter().write(name)"));
+        assertFalse(matches("writer.write(name)"));
+    }
+
+    @Test
+    void matchesUndeclaredVariablesNamedAfterTheReceiver() {
+        assertTrue(matches("Model.addAttribute(\"name\", name)"));
+        assertTrue(new MethodMatcher(List.of("JdbcTemplate.execute")).matches(
+                StaticJavaParser.parseExpression("jdbcTemplate.execute(sql)").asMethodCallExpr(), declaredTypes));
+        assertFalse(new MethodMatcher(List.of("JdbcTemplate.execute")).matches(
+                StaticJavaParser.parseExpression("executor.execute(task)").asMethodCallExpr(), declaredTypes));
+    }
+
+    @Test
+    void rejectsMalformedSignatures() {
+        assertThrows(IllegalArgumentException.class, () -> new MethodMatcher(List.of("write/x")));
+        assertThrows(IllegalArgumentException.class, () -> new MethodMatcher(List.of("Writer.")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.serverside.analysis.dataflow;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaintFlowAnalysisTest {
+
+    private List<TaintFlow> analyse(String method) {
+        MethodDeclaration declaration = StaticJavaParser.parseBodyDeclaration(method).asMethodDeclaration();
+        return TaintFlowAnalysis.analyse(declaration.getParameters(), declaration.getBody().orElseThrow(),
+                TaintRules.SQL_INJECTION);
+    }
+
+    @Test
+    void reportsThePathFromSourceToSink() {
+        List<TaintFlow> flows = analyse(
+                "void find(Statement statement, HttpServletRequest request) {\n" +
+                "    String name = request.getParameter(\"name\");\n" +
+                "    StringBuilder sql = new StringBuilder(\"SELECT * FROM users WHERE name = '\");\n" +
+                "    sql.append(name).append(\"'\");\n" +
+                "    statement.executeQuery(sql.toString());\n" +
+                "}");
+
+        assertEquals(1, flows.size());
+        assertEquals(5, flows.get(0).getLine());
+        assertEquals("getParameter (line 2) -> 'name' (line 2) -> 'sql' (line 4) -> executeQuery (line 5)",
+                flows.get(0).describe());
+    }
+
+    @Test
+    void followsAssignmentOrder() {
+        List<TaintFlow> flows = analyse(
+                "void find(Statement statement, String user) {\n" +
+                "    String query = \"SELECT * FROM users WHERE name = '\" + user + \"'\";\n" +
+                "    query = \"SELECT * FROM users\";\n" +
+                "    statement.executeQuery(query);\n" +
+                "    int id = Integer.parseInt(user);\n" +
+                "    statement.executeQuery(\"SELECT * FROM users WHERE id = \" + id);\n" +
+                "}");
+
+        assertTrue(flows.isEmpty(), flows.toString());
+    }
+
+    @Test
+    void tellsVariablesOfTheSameNameApart() {
+        List<TaintFlow> flows = analyse(
+                "void find(Statement statement, String user, String table) throws Exception {\n" +
+                "    if (user != null) {\n" +
+                "        String q = user.trim();\n" +
+                "        System.out.println(q);\n" +
+                "    }\n" +
+                "    {\n" +
+                "        String q = \"SELECT * FROM \" + table;\n" +
+                "        statement.executeQuery(q);\n" +
+                "    }\n" +
+                "}");
+
+        assertEquals(1, flows.size());
+        assertEquals("parameter 'table' (line 1) -> 'q' (line 7) -> executeQuery (line 8)", flows.get(0).describe());
+    }
+
+    @Test
+    void joinsBranchesAndLoops() {
+        List<TaintFlow> flows = analyse(
+                "void find(Statement statement, List<String> names, boolean all) throws Exception {\n" +
+                "    String query = \"SELECT * FROM users\";\n" +
+                "    String where = \"\";\n" +
+                "    for (String name : names) {\n" +
+                "        if (all) {\n" +
+                "            continue;\n" +
+                "        }\n" +
+                "        where = String.format(\" WHERE name = '%s'\", name);\n" +
+                "    }\n" +
+                "    statement.execute(query);\n" +
+                "    statement.execute(query + where);\n" +
+                "}");
+
+        assertEquals(1, flows.size());
+        assertEquals(11, flows.get(0).getLine());
+        assertEquals("parameter 'names' (line 1) -> 'name' (line 4) -> 'where' (line 8) -> execute (line 11)",
+                flows.get(0).describe());
+    }
+
+    @Test
+    void carriesTaintAroundLoopBackEdges() {
+        List<TaintFlow> flows = analyse(
+                "void find(Statement statement, String user) throws Exception {\n" +
+                "    String query = \"SELECT 1\";\n" +
+                "    String next = \"\";\n" +
+                "    while (statement != null) {\n" +
+                "        statement.executeUpdate(query);\n" +
+                "        query = next;\n" +
+                "        next = user;\n" +
+                "    }\n" +
+                "}");
+
+        assertEquals(1, flows.size());
+        assertEquals(5, flows.get(0).getLine());
+    }
+}
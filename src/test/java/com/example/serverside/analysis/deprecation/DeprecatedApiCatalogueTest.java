@@ -0,0 +1,75 @@
+package com.example.serverside.analysis.deprecation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeprecatedApiCatalogueTest {
+
+    private final DeprecatedApiCatalogue catalogue = DeprecatedApiCatalogue.of(Map.of(
+            "java.util.Date", "Use java.time",
+            "sun.misc.*", "Use supported APIs",
+            "java.lang.Thread.stop", "Interrupt the thread"));
+
+    @Test
+    void loadsTheCatalogueFromTheClasspath() {
+        DeprecatedApiCatalogue current = DeprecatedApiCatalogue.current();
+        assertTrue(current.getEntries().containsKey("java.util.Date"));
+        assertSame(current, DeprecatedApiCatalogue.current());
+
+        DeprecatedApiCatalogue reloaded = DeprecatedApiCatalogue.reload();
+        assertSame(reloaded, DeprecatedApiCatalogue.current());
+        assertEquals(current.getEntries(), reloaded.getEntries());
+    }
+
+    @Test
+    void readsTheCatalogueFromAConfiguredFile() throws Exception {
+        Path file = Files.createTempFile("deprecatedApis", ".json");
+        try {
+            Files.writeString(file, "{\"insecureImports\": {\"com.acme.Legacy\": \"Use com.acme.Modern\"}}");
+            DeprecatedApiCatalogue.setLocation(file);
+            DeprecatedApiCatalogue fromFile = DeprecatedApiCatalogue.current();
+            assertEquals(Map.of("com.acme.Legacy", "Use com.acme.Modern"), fromFile.getEntries());
+
+            Files.writeString(file, "{\"insecureImports\": {\"com.acme.Old\": \"Use com.acme.New\"}}");
+            DeprecatedApiCatalogue reloaded = DeprecatedApiCatalogue.reload();
+            assertEquals(Map.of("com.acme.Old", "Use com.acme.New"), reloaded.getEntries());
+            assertTrue(reloaded.getVersion() > fromFile.getVersion());
+
+            Files.delete(file);
+            assertTrue(DeprecatedApiCatalogue.reload().getEntries().containsKey("java.util.Date"),
+                    "A missing file falls back to the classpath resource");
+        } finally {
+            DeprecatedApiCatalogue.setLocation(null);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void matchesWholeSegmentPrefixes() {
+        assertEquals("java.util.Date", catalogue.find("java.util.Date").getKey());
+        assertEquals("java.util.Date", catalogue.find("java.util.Date.from").getKey());
+        assertEquals("sun.misc", catalogue.find("sun.misc.Unsafe").getKey());
+        assertEquals("java.lang.Thread.stop", catalogue.find("java.lang.Thread.stop").getKey());
+
+        assertNull(catalogue.find("java.util.DateFormat"));
+        assertNull(catalogue.find("java.util"));
+        assertNull(catalogue.find("java.lang.Thread.start"));
+        assertNull(catalogue.find("sun"));
+    }
+
+    @Test
+    void findsTheTypesOfAPackage() {
+        List<Map.Entry<String, String>> members = catalogue.findMembers("java.util");
+        assertEquals(1, members.size());
+        assertEquals("java.util.Date", members.get(0).getKey());
+
+        assertTrue(catalogue.findMembers("java.lang").isEmpty(), "A member of a type is not a type of the package");
+        assertTrue(catalogue.findMembers("java.io").isEmpty());
+    }
+}
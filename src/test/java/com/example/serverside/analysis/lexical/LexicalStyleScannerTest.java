@@ -0,0 +1,132 @@
+package com.example.serverside.analysis.lexical;
+
+import com.example.serverside.analysis.util.IndentationCheckerUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexicalStyleScannerTest {
+
+    @Test
+    void reportsTabsTrailingWhitespaceAndLongLines() {
+        String longLine = "    String s = \"" + "x".repeat(LexicalStyleScanner.MAX_LINE_LENGTH) + "\";";
+        String code = "public class Test {\n" +
+                "\tint tabbed = 1;\n" +
+                "    int trailing = 2;   \n" +
+                longLine + "\n" +
+                "    String tabInString = \"\\t\t\";\n" +
+                "}\n";
+
+        LexicalStyleScanner.Findings findings = LexicalStyleScanner.scan(code);
+
+        assertEquals(List.of(
+                "Violation at line 2: Tab Indentation : Line is indented with tabs instead of spaces.",
+                "Violation at line 3: Trailing Whitespace : Line ends with whitespace.",
+                String.format("Violation at line 4: Line Length : Line is %d characters long, more than %d.",
+                        longLine.length(), LexicalStyleScanner.MAX_LINE_LENGTH)),
+                findings.getLayoutViolations());
+        assertEquals(6, findings.getLineCount());
+    }
+
+    @Test
+    void ignoresTrailingWhitespaceInsideBlockComments() {
+        String code = "/** \n" +
+                " * Documented. \n" +
+                " */  \n" +
+                "public class Test { /* open  \n" +
+                "    still open */ int x; \n" +
+                "}\n";
+
+        assertEquals(List.of(
+                "Violation at line 3: Trailing Whitespace : Line ends with whitespace.",
+                "Violation at line 5: Trailing Whitespace : Line ends with whitespace."),
+                LexicalStyleScanner.scan(code).getLayoutViolations());
+    }
+
+    @Test
+    void indentationMatchesTheAstCheck() {
+        String code = "public class Test {\n" +
+                "  int field = 0;\n" +
+                "    public void method(int[] values) {\n" +
+                "        int x = 1;\n" +
+                "      int y = 2;\n" +
+                "        if (x > y)\n" +
+                "        {\n" +
+                "          x++;\n" +
+                "        } else {\n" +
+                "            y++;\n" +
+                "        }\n" +
+                "        for (int i = 0;\n" +
+                "             i < values.length; i++) {\n" +
+                "            values[i] = 0;\n" +
+                "        }\n" +
+                "        int[][] grid = {\n" +
+                "            {1, 2},\n" +
+                "        };\n" +
+                "        switch (x) {\n" +
+                "            case 1:\n" +
+                "                y = 0;\n" +
+                "        }\n" +
+                "        Runnable r = new Runnable() {\n" +
+                "            public void run() {\n" +
+                "                 method(values);\n" +
+                "            }\n" +
+                "        };\n" +
+                "    }\n" +
+                "}\n";
+        List<String> astViolations = new ArrayList<>();
+        new IndentationCheckerUtil(astViolations, code).check();
+
+        LexicalStyleScanner.Findings findings = LexicalStyleScanner.scan(code);
+
+        assertEquals(4, astViolations.size());
+        assertEquals(astViolations, findings.getIndentationViolations());
+    }
+
+    @Test
+    void ignoresBracesAndLineBreaksInCommentsAndLiterals() {
+        String code = "class Test {\n" +
+                "    void method() {\n" +
+                "        String s = \"{ not a block\";\n" +
+                "        char c = '{';\n" +
+                "        /* {\n" +
+                "  still a comment } */\n" +
+                "        String block = \"\"\"\n" +
+                "  { text block }  \n" +
+                "            \"\"\";\n" +
+                "        // {\n" +
+                "        int x = 1;\n" +
+                "    }\n" +
+                "}";
+
+        LexicalStyleScanner.Findings findings = LexicalStyleScanner.scan(code);
+
+        assertTrue(findings.getIndentationViolations().isEmpty(), findings.getIndentationViolations().toString());
+        assertTrue(findings.getLayoutViolations().isEmpty(), findings.getLayoutViolations().toString());
+    }
+
+    @Test
+    void checksCodeThatDoesNotParse() {
+        String code = "public class Broken\n" +
+                "{\n" +
+                "    void method()\n" +
+                "    {\n" +
+                "      int x = = 1;\n" +
+                "        x +;\n" +
+                "    }\n" +
+                "}";
+
+        LexicalStyleScanner.Findings findings = LexicalStyleScanner.scan(code);
+
+        assertEquals(List.of(
+                "Violation at line 2: Opening brace should be on the same line as its parent statement.",
+                "Violation at line 4: Opening brace should be on the same line as its parent statement."),
+                findings.getBraceViolations());
+        assertEquals(List.of(
+                "Violation at line 5: Incorrect indentation . Expected: 8 spaces but got: 6. Line: \"int x = = 1;\""),
+                findings.getIndentationViolations());
+    }
+}
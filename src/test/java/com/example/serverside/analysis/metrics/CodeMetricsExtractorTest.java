@@ -0,0 +1,86 @@
+package com.example.serverside.analysis.metrics;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeMetricsExtractorTest {
+
+    private static final String CODE = "public class Orders {\n" +
+            "    private final List<String> items;\n" +
+            "    public Orders(List<String> items) { this.items = items; }\n" +
+            "    int total(int base, int tax, String label) {\n" +
+            "        int sum = base;\n" +
+            "        for (String item : items) {\n" +
+            "            if (item.isEmpty()) {\n" +
+            "                continue;\n" +
+            "            } else if (item.length() > 3) {\n" +
+            "                sum += tax;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        log(label);\n" +
+            "        log(label);\n" +
+            "        return sum;\n" +
+            "    }\n" +
+            "    void log(String message) {\n" +
+            "        Runnable task = new Runnable() {\n" +
+            "            public void run() { System.out.println(message); }\n" +
+            "        };\n" +
+            "    }\n" +
+            "    interface Listener { void changed(); }\n" +
+            "}\n";
+
+    @Test
+    void extractsMethodMetricsInOnePass() {
+        FileMetrics metrics = CodeMetricsExtractor.extract(StaticJavaParser.parse(CODE));
+
+        List<MethodMetrics> methods = metrics.getMethods();
+        assertEquals(List.of("Orders", "total", "log", "run", "changed"),
+                methods.stream().map(MethodMetrics::getName).toList());
+
+        MethodMetrics constructor = methods.get(0);
+        assertEquals(MethodMetrics.Kind.CONSTRUCTOR, constructor.getKind());
+        assertEquals("public Orders(List<String> items)", constructor.getDeclaration());
+
+        MethodMetrics total = methods.get(1);
+        assertEquals(MethodMetrics.Kind.METHOD, total.getKind());
+        assertNull(total.getDeclaration());
+        assertEquals(4, total.getBeginLine());
+        assertEquals(13, total.getLineCount());
+        assertEquals(3, total.getParameterCount());
+        assertEquals(2, total.getPrimitiveParameterCount());
+        assertEquals(2, total.getNestingDepth()); // The else-if is at the depth of its if
+        assertEquals(9, total.getStatementCount());
+        assertEquals(3, total.getFanOut()); // isEmpty, length and log, each counted once
+
+        MethodMetrics log = methods.get(2);
+        assertEquals(1, log.getStatementCount()); // The anonymous class's statements are its own
+        assertEquals(0, log.getFanOut());
+        assertEquals(1, methods.get(3).getFanOut());
+    }
+
+    @Test
+    void extractsClassMetrics() {
+        FileMetrics metrics = CodeMetricsExtractor.extract(StaticJavaParser.parse(CODE));
+
+        assertEquals(2, metrics.getClasses().size());
+        ClassMetrics orders = metrics.getClasses().get(0);
+        assertEquals("Orders", orders.getName());
+        assertFalse(orders.isInterfaceType());
+        assertEquals(1, orders.getBeginLine());
+        assertEquals(23, orders.getLineCount());
+        assertEquals(2, orders.getMethodCount());
+        assertTrue(metrics.getClasses().get(1).isInterfaceType());
+    }
+
+    @Test
+    void metricsAreExtractedOncePerCompilationUnit() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+
+        assertSame(CodeMetricsExtractor.extract(cu), CodeMetricsExtractor.extract(cu));
+    }
+}
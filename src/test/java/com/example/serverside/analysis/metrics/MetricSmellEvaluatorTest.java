@@ -0,0 +1,63 @@
+package com.example.serverside.analysis.metrics;
+
+import com.example.serverside.analysis.service.CodeSmellAnalysisService;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricSmellEvaluatorTest {
+
+    private static final String CODE = "public class Shapes {\n" +
+            "    public Shapes(int a, int b, int c, int d, int e, int f) { }\n" +
+            "    double area(int width, int height, int depth, int scale) { return width * height; }\n" +
+            "    void draw(String name) { }\n" +
+            "}\n";
+
+    @Test
+    void defaultThresholdsMatchTheCodeSmellAnalysis() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        CodeSmellAnalysisService service = new CodeSmellAnalysisService();
+        List<String> expected = new ArrayList<>();
+        service.checkParameters(cu, expected);
+        service.checkLongMethod(cu, expected);
+        service.checkGodClass(cu, expected);
+        service.checkLargeClass(cu, expected);
+        service.checkDataClumps(cu, expected);
+        service.checkPrimitives(cu, expected);
+
+        List<String> smells = MetricSmellEvaluator.evaluate(CodeMetricsExtractor.extract(cu), new SmellThresholds());
+
+        assertEquals(expected, smells);
+        assertEquals(List.of(
+                "Violation at line 3: Method Parameters : The Method 'area' has too many parameters (4).",
+                "Violation at line 2: Data Clumps : Constructor 'public Shapes(int a, int b, int c, int d, int e, int f)' has too many parameters (6).",
+                "Violation at line 3: Primitive Obsession : Method 'area' has primitive obsession with 4 primitive parameters."),
+                smells);
+    }
+
+    @Test
+    void storedMetricsAreReevaluatedUnderNewThresholds() {
+        FileMetrics metrics = CodeMetricsExtractor.extract(StaticJavaParser.parse(CODE));
+        SmellThresholds thresholds = new SmellThresholds();
+        thresholds.setMaxMethodParams(1);
+        thresholds.setMaxConstructorParams(10);
+        thresholds.setMaxPrimitiveParams(4);
+        thresholds.setMaxClassMethods(1);
+        thresholds.setMaxMethodLength(0);
+
+        List<String> smells = MetricSmellEvaluator.evaluate(metrics, thresholds);
+
+        assertEquals(List.of(
+                "Violation at line 3: Method Parameters : The Method 'area' has too many parameters (4).",
+                "Violation at line 4: Method Parameters : The Method 'draw' has too many parameters (1).",
+                "Violation at line 3: Method Length : The Method 'area' is too long (1 lines).",
+                "Violation at line 4: Method Length : The Method 'draw' is too long (1 lines).",
+                "Violation at line 1: God Class : Class 'Shapes' has too many methods (2 methods)."),
+                smells);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.serverside.analysis.parser;
+
+import com.example.serverside.analysis.service.CodeComplexityAnalysisService;
+import com.example.serverside.analysis.service.CodeSecurityAnalysisService;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompilationUnitCacheTest {
+
+    private static final String CODE = "public class Test {\n    void run() { int x = 1; }\n}";
+
+    @Test
+    void repeatedParseIsServedFromCache() {
+        CompilationUnitCache cache = new CompilationUnitCache();
+
+        ParsedSource first = cache.parse(CODE, ParseProfile.STRUCTURAL);
+        ParsedSource second = cache.parse(CODE, ParseProfile.STRUCTURAL);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(1, cache.size());
+        assertTrue(cache.getWeight() > 0);
+    }
+
+    @Test
+    void profilesAreCachedSeparately() {
+        CompilationUnitCache cache = new CompilationUnitCache();
+
+        ParsedSource structural = cache.parse(CODE, ParseProfile.STRUCTURAL);
+        ParsedSource documented = cache.parse(CODE, ParseProfile.DOCUMENTED);
+
+        assertNotSame(structural, documented);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void cachedCompilationUnitsAreReadOnly() {
+        CompilationUnitCache cache = new CompilationUnitCache();
+        CompilationUnit cu = cache.parse(CODE, ParseProfile.STRUCTURAL).getCompilationUnit();
+        ClassOrInterfaceDeclaration type = cu.findFirst(ClassOrInterfaceDeclaration.class).orElseThrow();
+
+        assertThrows(UnsupportedOperationException.class, () -> type.setName("Renamed"));
+        assertThrows(UnsupportedOperationException.class, () -> type.addMethod("added"));
+        assertThrows(UnsupportedOperationException.class, () -> cu.findFirst(MethodDeclaration.class).orElseThrow().remove());
+        assertEquals("Test", type.getNameAsString());
+        assertEquals(1, type.getMethods().size());
+        assertTrue(cu.toString().contains("class Test"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedOverBudget() {
+        long oneEntry = weightOf(CODE);
+        CompilationUnitCache cache = new CompilationUnitCache(oneEntry * 2 + oneEntry / 2, 100);
+        String second = CODE.replace("1", "2");
+        String third = CODE.replace("1", "3");
+
+        cache.parse(CODE, ParseProfile.STRUCTURAL);
+        cache.parse(second, ParseProfile.STRUCTURAL);
+        cache.parse(CODE, ParseProfile.STRUCTURAL);
+        cache.parse(third, ParseProfile.STRUCTURAL);
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        assertTrue(cache.getWeight() <= cache.getMaxBytes());
+        cache.parse(CODE, ParseProfile.STRUCTURAL);
+        assertEquals(2, cache.getHitCount(), "The recently used entry should have been kept");
+    }
+
+    @Test
+    void entriesLargerThanTheBudgetAreNotCached() {
+        CompilationUnitCache cache = new CompilationUnitCache(16, 100);
+
+        ParsedSource parsed = cache.parse(CODE, ParseProfile.STRUCTURAL);
+
+        assertTrue(parsed.isSuccessful());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void analysersSharingTheCacheParseOnce() throws Exception {
+        CompilationUnitCache cache = new CompilationUnitCache();
+
+        new CodeComplexityAnalysisService(cache).calculateComplexity(CODE);
+        new CodeSecurityAnalysisService(cache).analyse(CODE);
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    private static long weightOf(String code) {
+        CompilationUnitCache cache = new CompilationUnitCache();
+        cache.parse(code, ParseProfile.STRUCTURAL);
+        return cache.getWeight();
+    }
+}
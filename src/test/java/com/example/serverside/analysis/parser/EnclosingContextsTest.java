@@ -0,0 +1,123 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnclosingContextsTest {
+
+    private static final String CODE = "public class Outer {\n" +
+            "    private static int count;\n" +
+            "    private final Runnable task = () -> count++;\n" +
+            "    synchronized void locked() { count = 1; }\n" +
+            "    void loops(int[] items) {\n" +
+            "        for (int i = 0; i < items.length; i++) {\n" +
+            "            while (items[i] > 0) {\n" +
+            "                items[i]--;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        synchronized (this) {\n" +
+            "            Runnable r = () -> { for (int x : items) { log(x); } };\n" +
+            "        }\n" +
+            "    }\n" +
+            "    void log(int x) { }\n" +
+            "    enum Mode { ON, OFF; int code() { return 1; } }\n" +
+            "}";
+
+    @Test
+    void contextsMatchAncestorWalks() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        EnclosingContexts contexts = EnclosingContexts.of(cu);
+
+        cu.walk(node -> {
+            EnclosingContexts.Context context = contexts.get(node);
+            assertEquals(ancestor(node, TypeDeclaration.class), context.getType().orElse(null));
+            assertEquals(ancestor(node, ClassOrInterfaceDeclaration.class),
+                    context.getClassDeclaration().orElse(null));
+            assertEquals(ancestor(node, CallableDeclaration.class), context.getCallable().orElse(null));
+            assertEquals(ancestor(node, FieldDeclaration.class), context.getField().orElse(null));
+            assertEquals(ancestor(node, VariableDeclarator.class), context.getVariable().orElse(null));
+            assertEquals(isSynchronizedByWalk(node), context.isSynchronized());
+        });
+    }
+
+    @Test
+    void countsLoopsAndLambdasWithinTheMethod() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        EnclosingContexts contexts = EnclosingContexts.of(cu);
+
+        MethodCallExpr log = cu.findFirst(MethodCallExpr.class, call -> call.getNameAsString().equals("log")).get();
+        EnclosingContexts.Context logContext = contexts.get(log);
+        assertEquals(1, logContext.getLoopDepth());
+        assertTrue(logContext.getLambda().isPresent());
+        assertTrue(logContext.getSynchronizedScope().get() instanceof SynchronizedStmt);
+        assertEquals("loops", ((MethodDeclaration) logContext.getCallable().get()).getNameAsString());
+
+        NameExpr decremented = cu.findAll(NameExpr.class, name -> name.getNameAsString().equals("items")).get(2);
+        assertEquals(2, contexts.get(decremented).getLoopDepth());
+        assertTrue(contexts.get(decremented).getLambda().isEmpty());
+
+        MethodDeclaration code = cu.findFirst(MethodDeclaration.class, m -> m.getNameAsString().equals("code")).get();
+        assertEquals("Mode", contexts.get(code).getType().get().getNameAsString());
+        assertEquals("Outer", contexts.get(code).getClassDeclaration().get().getNameAsString());
+        assertEquals(0, contexts.get(code.getBody().get()).getLoopDepth());
+    }
+
+    @Test
+    void fieldInitializerLambdaIsInsideTheField() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        LambdaExpr lambda = cu.findFirst(LambdaExpr.class).get();
+
+        EnclosingContexts.Context context = EnclosingContexts.of(cu).get(lambda.getBody());
+
+        assertSame(lambda, context.getLambda().get());
+        assertEquals("task", context.getVariable().get().getNameAsString());
+        assertTrue(context.getCallable().isEmpty());
+        assertFalse(context.isSynchronized());
+    }
+
+    @Test
+    void derivesContextsOfNodesAddedLater() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        EnclosingContexts contexts = EnclosingContexts.of(cu);
+        MethodDeclaration locked = cu.findFirst(MethodDeclaration.class).get();
+
+        NameExpr added = new NameExpr("count");
+        locked.getBody().get().addStatement(added);
+
+        assertSame(contexts, EnclosingContexts.of(cu));
+        assertTrue(contexts.get(added).isSynchronized());
+        assertSame(locked, contexts.get(added).getCallable().get());
+    }
+
+    private static <T extends Node> Node ancestor(Node node, Class<T> type) {
+        Optional<T> ancestor = node.findAncestor(type);
+        return ancestor.orElse(null);
+    }
+
+    private static boolean isSynchronizedByWalk(Node node) {
+        for (Node current = node.getParentNode().orElse(null); current != null;
+             current = current.getParentNode().orElse(null)) {
+            if (current instanceof SynchronizedStmt
+                    || (current instanceof MethodDeclaration && ((MethodDeclaration) current).isSynchronized())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
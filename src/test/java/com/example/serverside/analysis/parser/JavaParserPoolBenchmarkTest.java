@@ -0,0 +1,81 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares parse throughput and allocation of {@link StaticJavaParser} against the pooled profiles on a large file.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class JavaParserPoolBenchmarkTest {
+
+    private static final int METHODS = 1500;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareParserConfigurations() {
+        String code = largeSource();
+        System.out.printf("Parsing %d lines, %d KB%n", code.split("\n").length, code.length() / 1024);
+        System.out.printf("%-24s %12s %14s%n", "Parser", "ms/parse", "KB alloc/parse");
+
+        measure("StaticJavaParser", code, source -> {
+            StaticJavaParser.parse(source);
+            return true;
+        });
+        measure("new JavaParser()", code, source -> new JavaParser().parse(source).isSuccessful());
+        measure("pool DOCUMENTED", code, source -> parsePooled(source, ParseProfile.DOCUMENTED));
+        measure("pool STRUCTURAL", code, source -> parsePooled(source, ParseProfile.STRUCTURAL));
+    }
+
+    private static boolean parsePooled(String source, ParseProfile profile) {
+        ParseResult<CompilationUnit> result = JavaParserPool.get(profile).parse(source);
+        return result.isSuccessful();
+    }
+
+    private static void measure(String name, String code, Function<String, Boolean> parser) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertTrue(parser.apply(code), name + " failed to parse the benchmark source");
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            parser.apply(code);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-24s %12.2f %14d%n", name,
+                elapsed / 1_000_000.0 / MEASURED_ITERATIONS, allocated / 1024 / MEASURED_ITERATIONS);
+    }
+
+    private static String largeSource() {
+        StringBuilder sb = new StringBuilder("package bench;\n\nimport java.util.*;\n\n/** Benchmark subject. */\npublic class Large {\n");
+        for (int i = 0; i < METHODS; i++) {
+            sb.append("    /**\n     * Method ").append(i).append(".\n     */\n")
+                    .append("    public int method").append(i).append("(List<String> items) {\n")
+                    .append("        int total = 0; // running total\n")
+                    .append("        for (String item : items) {\n")
+                    .append("            if (item.length() > ").append(i % 17).append(") {\n")
+                    .append("                total += item.hashCode() * ").append(i).append(";\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("        return total;\n")
+                    .append("    }\n\n");
+        }
+        return sb.append("}\n").toString();
+    }
+}
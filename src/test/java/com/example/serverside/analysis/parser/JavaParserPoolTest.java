@@ -0,0 +1,46 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaParserPoolTest {
+
+    @Test
+    void sameThreadReusesParserPerProfile() {
+        JavaParser structural = JavaParserPool.get(ParseProfile.STRUCTURAL);
+
+        assertSame(structural, JavaParserPool.get(ParseProfile.STRUCTURAL));
+        assertNotSame(structural, JavaParserPool.get(ParseProfile.DOCUMENTED));
+    }
+
+    @Test
+    void eachThreadGetsItsOwnParser() throws InterruptedException {
+        JavaParser mine = JavaParserPool.get(ParseProfile.STRUCTURAL);
+        AtomicReference<JavaParser> other = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> other.set(JavaParserPool.get(ParseProfile.STRUCTURAL)));
+        thread.start();
+        thread.join();
+
+        assertNotNull(other.get());
+        assertNotSame(mine, other.get());
+        assertNotSame(mine.getParserConfiguration(), other.get().getParserConfiguration());
+    }
+
+    @Test
+    void profilesConfigureCommentsAndLanguageLevel() {
+        ParserConfiguration documented = JavaParserPool.get(ParseProfile.DOCUMENTED).getParserConfiguration();
+        ParserConfiguration structural = JavaParserPool.get(ParseProfile.STRUCTURAL).getParserConfiguration();
+
+        assertTrue(documented.isAttributeComments());
+        assertFalse(structural.isAttributeComments());
+        assertTrue(structural.isStoreTokens(), "Tokens are needed for node ranges and line numbers.");
+        assertEquals(ParserConfiguration.LanguageLevel.JAVA_17, documented.getLanguageLevel());
+        assertEquals(ParserConfiguration.LanguageLevel.JAVA_17, structural.getLanguageLevel());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaSourceParserTest {
+
+    @Test
+    void validSourceHasNoProblems() {
+        ParsedSource parsed = JavaSourceParser.parse("public class Test { void run() { } }");
+
+        assertTrue(parsed.isSuccessful());
+        assertEquals(1, parsed.getCompilationUnit().findAll(MethodDeclaration.class).size());
+    }
+
+    @Test
+    void brokenStatementKeepsRestOfAst() {
+        String code = "public class Test {\n" +
+                "    void broken() {\n" +
+                "        int x = ;\n" +
+                "    }\n" +
+                "    void intact() {\n" +
+                "        System.out.println(\"still here\");\n" +
+                "    }\n" +
+                "}\n";
+
+        ParsedSource parsed = JavaSourceParser.parse(code);
+
+        assertFalse(parsed.isSuccessful());
+        assertEquals(1, parsed.getProblems().size());
+        assertTrue(parsed.getProblems().get(0).startsWith("Parse problem at line 3:"), parsed.getProblems().get(0));
+        assertFalse(parsed.getProblems().get(0).contains("expected one of"));
+        assertEquals(2, parsed.getCompilationUnit().findAll(MethodDeclaration.class).size());
+        assertEquals(1, parsed.getCompilationUnit().findAll(MethodCallExpr.class).size());
+    }
+
+    @Test
+    void mergeConflictMarkersAreReportedAndSkipped() {
+        String code = "public class Test {\n" +
+                "<<<<<<< HEAD\n" +
+                "    void ours() { }\n" +
+                "=======\n" +
+                "    void theirs() { }\n" +
+                ">>>>>>> feature\n" +
+                "}\n";
+
+        ParsedSource parsed = JavaSourceParser.parse(code);
+
+        assertEquals(3, parsed.getProblems().size());
+        assertEquals("Parse problem at line 2: Unresolved merge conflict marker", parsed.getProblems().get(0));
+        assertEquals(2, parsed.getCompilationUnit().findAll(MethodDeclaration.class).size());
+    }
+
+    @Test
+    void unparseableSourceYieldsEmptyCompilationUnit() {
+        ParsedSource parsed = JavaSourceParser.parse("this is not java");
+
+        assertFalse(parsed.isSuccessful());
+        assertNotNull(parsed.getCompilationUnit());
+        assertTrue(parsed.getCompilationUnit().findAll(MethodDeclaration.class).isEmpty());
+    }
+
+    @Test
+    void nullSourceIsTreatedAsEmpty() {
+        ParsedSource parsed = JavaSourceParser.parse(null);
+
+        assertTrue(parsed.isSuccessful());
+        assertNotNull(parsed.getCompilationUnit());
+    }
+
+    @Test
+    void structuralProfileKeepsLinesButSkipsComments() {
+        String code = "/** Documented. */\npublic class Test {\n    void run() { }\n}";
+
+        ParsedSource parsed = JavaSourceParser.parse(code, ParseProfile.STRUCTURAL);
+
+        ClassOrInterfaceDeclaration type = parsed.getCompilationUnit().findFirst(ClassOrInterfaceDeclaration.class).orElseThrow();
+        assertTrue(type.getJavadocComment().isEmpty());
+        assertEquals(3, parsed.getCompilationUnit().findFirst(MethodDeclaration.class).orElseThrow().getBegin().orElseThrow().line);
+    }
+
+    @Test
+    void javadocIsAttributedAfterPartialParse() {
+        String code = "/** Documented class. */\n" +
+                "public class Test {\n" +
+                "    /** Documented method. */\n" +
+                "    public void documented() { int x = ; }\n" +
+                "\n" +
+                "    public void undocumented() { }\n" +
+                "}";
+
+        ParsedSource parsed = JavaSourceParser.parse(code, ParseProfile.DOCUMENTED);
+
+        assertFalse(parsed.isSuccessful());
+        assertTrue(parsed.getCompilationUnit().findFirst(ClassOrInterfaceDeclaration.class).orElseThrow()
+                .getJavadocComment().isPresent());
+        for (MethodDeclaration method : parsed.getCompilationUnit().findAll(MethodDeclaration.class)) {
+            assertEquals(method.getNameAsString().equals("documented"), method.getJavadocComment().isPresent(),
+                    method.getNameAsString());
+        }
+    }
+}
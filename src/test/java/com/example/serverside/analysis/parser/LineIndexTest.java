@@ -0,0 +1,55 @@
+package com.example.serverside.analysis.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineIndexTest {
+
+    @Test
+    void indexesEveryKindOfLineBreak() {
+        LineIndex lines = LineIndex.of("class A {\r\n    int x;\r  }\n\n");
+
+        assertEquals(4, lines.getLineCount());
+        assertEquals("class A {", lines.getLine(1).toString());
+        assertEquals("    int x;", lines.getLine(2).toString());
+        assertEquals("  }", lines.getLine(3).toString());
+        assertEquals("", lines.getLine(4).toString());
+        assertEquals(4, lines.getIndentation(2));
+        assertEquals("int x;", lines.getTrimmedLine(2));
+        assertEquals(11, lines.getLineStart(2));
+        assertEquals(3, lines.getLineLength(3));
+    }
+
+    @Test
+    void findsTheLineOfAnOffset() {
+        String source = "a\nbb\n\nccc";
+        LineIndex lines = LineIndex.of(source);
+
+        assertEquals(1, lines.getLineOf(0));
+        assertEquals(1, lines.getLineOf(1));
+        assertEquals(2, lines.getLineOf(source.indexOf("bb")));
+        assertEquals(3, lines.getLineOf(5));
+        assertEquals(4, lines.getLineOf(source.indexOf("ccc") + 2));
+        assertEquals(4, lines.getLineOf(source.length()));
+        assertThrows(IndexOutOfBoundsException.class, () -> lines.getLineOf(-1));
+    }
+
+    @Test
+    void emptySourceHasOneEmptyLine() {
+        LineIndex lines = LineIndex.of(null);
+
+        assertEquals(1, lines.getLineCount());
+        assertEquals("", lines.getLine(1).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> lines.getLine(2));
+    }
+
+    @Test
+    void parsedSourceSharesItsLineIndex() {
+        ParsedSource parsed = JavaSourceParser.parse("class A {\n    void m() {\n    }\n}\n", ParseProfile.STRUCTURAL);
+
+        assertSame(parsed.getLineIndex(), parsed.getLineIndex());
+        assertEquals(4, parsed.getLineIndex().getLineCount());
+        assertEquals("void m() {", parsed.getLineIndex().getTrimmedLine(2));
+    }
+}
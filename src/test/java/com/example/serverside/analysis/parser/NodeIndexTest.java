@@ -0,0 +1,78 @@
+package com.example.serverside.analysis.parser;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.stmt.TryStmt;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeIndexTest {
+
+    private static final String CODE = "public class Outer {\n" +
+            "    private int count;\n" +
+            "    Outer() { init(); }\n" +
+            "    void init() { helper(); System.out.println(count); }\n" +
+            "    void helper() { }\n" +
+            "    static class Inner {\n" +
+            "        void run() { new Outer().init(); }\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    void lookupsMatchFindAll() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        NodeIndex index = NodeIndex.of(cu);
+
+        assertSameNodes(cu.findAll(MethodDeclaration.class), index.ofType(MethodDeclaration.class));
+        assertSameNodes(cu.findAll(ClassOrInterfaceDeclaration.class), index.ofType(ClassOrInterfaceDeclaration.class));
+        assertSameNodes(cu.findAll(MethodCallExpr.class), index.ofType(MethodCallExpr.class));
+        assertSameNodes(cu.findAll(BodyDeclaration.class), index.ofType(BodyDeclaration.class));
+        assertSameNodes(cu.findAll(Node.class), index.ofType(Node.class));
+        assertEquals(cu.findAll(Node.class).size(), index.size());
+    }
+
+    @Test
+    void predicateLookupMatchesFindAll() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+
+        assertSameNodes(cu.findAll(MethodCallExpr.class, call -> call.getNameAsString().equals("init")),
+                NodeIndex.of(cu).ofType(MethodCallExpr.class, call -> call.getNameAsString().equals("init")));
+    }
+
+    @Test
+    void missingTypesGiveEmptyList() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+
+        assertTrue(NodeIndex.of(cu).ofType(TryStmt.class).isEmpty());
+    }
+
+    @Test
+    void indexIsBuiltOncePerCompilationUnit() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+
+        assertSame(NodeIndex.of(cu), NodeIndex.of(cu));
+        assertNotSame(NodeIndex.of(cu), NodeIndex.of(StaticJavaParser.parse(CODE)));
+    }
+
+    @Test
+    void lookupsAreUnmodifiable() {
+        List<MethodDeclaration> methods = NodeIndex.of(StaticJavaParser.parse(CODE)).ofType(MethodDeclaration.class);
+
+        assertThrows(UnsupportedOperationException.class, () -> methods.remove(0));
+    }
+
+    private static void assertSameNodes(List<? extends Node> expected, List<? extends Node> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+}
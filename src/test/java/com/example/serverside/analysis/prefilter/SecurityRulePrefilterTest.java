@@ -0,0 +1,53 @@
+package com.example.serverside.analysis.prefilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityRulePrefilterTest {
+
+    @Test
+    void activatesOnlyRulesWhoseKeywordsOccur() {
+        SecurityRulePrefilter prefilter = new SecurityRulePrefilter();
+        String code = "class Test {\n" +
+                "    int add(int a, int b) { return a + b; }\n" +
+                "}";
+
+        assertEquals(EnumSet.of(SecurityRule.DEPRECATED_API), prefilter.activeRules(code));
+    }
+
+    @Test
+    void matchesKeywordsRegardlessOfCaseAndThroughLongerNames() {
+        SecurityRulePrefilter prefilter = new SecurityRulePrefilter();
+        String code = "class Test {\n" +
+                "    void run(Statement st, HttpServletRequest request) throws Exception {\n" +
+                "        st.executeUpdate(request.getParameterValues(\"q\")[0]);\n" +
+                "        Cipher.getInstance(MODE);\n" +
+                "        PASSWORD.clear();\n" +
+                "    }\n" +
+                "}";
+
+        Set<SecurityRule> rules = prefilter.activeRules(code);
+        assertEquals(EnumSet.of(SecurityRule.DEPRECATED_API, SecurityRule.SQL_INJECTION, SecurityRule.XSS,
+                SecurityRule.INSECURE_CRYPTO, SecurityRule.HARDCODED_CREDENTIALS, SecurityRule.HARDCODED_SECRETS),
+                rules);
+    }
+
+    @Test
+    void countsSkippedFilesPerRule() {
+        SecurityRulePrefilter prefilter = new SecurityRulePrefilter();
+        prefilter.activeRules("class A { static int count; }");
+        prefilter.activeRules("class B { Object read(ObjectInputStream in) { return in.readObject(); } }");
+
+        assertEquals(2, prefilter.getFileCount());
+        assertEquals(0, prefilter.getSkippedCount(SecurityRule.DEPRECATED_API));
+        assertEquals(1, prefilter.getSkippedCount(SecurityRule.RACE_CONDITION));
+        assertEquals(1, prefilter.getSkippedCount(SecurityRule.INSECURE_DESERIALIZATION));
+        assertEquals(2, prefilter.getSkippedCount(SecurityRule.SQL_INJECTION));
+        assertEquals(1.0, prefilter.getSkipRate(SecurityRule.SQL_INJECTION));
+        assertEquals(0.5, prefilter.getSkipRate(SecurityRule.RACE_CONDITION));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.serverside.analysis.resolution;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoizingTypeSolverTest {
+
+    @Test
+    void resolvesEachNameOnce() {
+        CountingTypeSolver delegate = new CountingTypeSolver();
+        MemoizingTypeSolver solver = new MemoizingTypeSolver(delegate, 16, false);
+
+        assertTrue(solver.tryToSolveType("java.lang.String").isSolved());
+        assertTrue(solver.tryToSolveType("java.lang.String").isSolved());
+        assertFalse(solver.tryToSolveType("does.not.Exist").isSolved());
+        assertFalse(solver.tryToSolveType("does.not.Exist").isSolved());
+
+        assertEquals(List.of("java.lang.String", "does.not.Exist"), delegate.requested);
+        assertEquals(2, solver.getHitCount());
+        assertEquals(2, solver.getMissCount());
+    }
+
+    @Test
+    void dropsLeastRecentlyUsedNamesBeyondTheBound() {
+        CountingTypeSolver delegate = new CountingTypeSolver();
+        MemoizingTypeSolver solver = new MemoizingTypeSolver(delegate, 2, false);
+
+        solver.tryToSolveType("java.lang.String");
+        solver.tryToSolveType("java.lang.Integer");
+        solver.tryToSolveType("java.lang.String");
+        solver.tryToSolveType("java.lang.Long");
+        solver.tryToSolveType("java.lang.String");
+        solver.tryToSolveType("java.lang.Integer");
+
+        assertEquals(2, solver.size());
+        assertEquals(List.of("java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Integer"),
+                delegate.requested);
+    }
+
+    @Test
+    void sharedSolverKeepsResolvingAgainstItself() {
+        MemoizingTypeSolver shared = new MemoizingTypeSolver(new ReflectionTypeSolver(), 16, true);
+        new MemoizingTypeSolver(shared, 16, false);
+
+        assertSame(shared, shared.getRoot());
+    }
+
+    private static class CountingTypeSolver extends ReflectionTypeSolver {
+
+        private final List<String> requested = new ArrayList<>();
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            requested.add(name);
+            return super.tryToSolveType(name);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.serverside.analysis.resolution;
+
+import com.example.serverside.analysis.callgraph.CallSummaryExtractor;
+import com.example.serverside.analysis.callgraph.FileSummary;
+import com.example.serverside.analysis.parser.JavaSourceParser;
+import com.example.serverside.analysis.parser.ParseProfile;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeResolutionContextTest {
+
+    private static final Map<String, String> FILES = Map.of(
+            "src/main/java/app/Client.java", "package app;\n" +
+                    "import app.util.Helper;\n" +
+                    "class Client {\n" +
+                    "    int run() { return new Helper().twice(3); }\n" +
+                    "}\n",
+            "src/main/java/app/util/Helper.java", "package app.util;\n" +
+                    "public class Helper {\n" +
+                    "    public int twice(int x) { return x * 2; }\n" +
+                    "}\n");
+
+    @Test
+    void resolvesCallsIntoOtherFilesOfTheSnapshot() {
+        List<String> loaded = new ArrayList<>();
+        TypeResolutionContext context = snapshot(loaded);
+        CompilationUnit cu = StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java"));
+
+        FileSummary summary = CallSummaryExtractor.summarize(cu, context);
+
+        assertTrue(summary.getResolvedCalls().contains("app.util.Helper#twice/1"));
+        assertTrue(summary.getUnresolvedCallNames().isEmpty());
+        assertEquals(List.of("src/main/java/app/util/Helper.java"), loaded);
+    }
+
+    @Test
+    void summariesListTheFilesTheirCallsWereResolvedWith() {
+        TypeResolutionContext context = snapshot(new ArrayList<>());
+
+        FileSummary first = CallSummaryExtractor.summarize(
+                StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java")), context);
+        FileSummary second = CallSummaryExtractor.summarize(
+                StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java")), context);
+
+        assertEquals(List.of("src/main/java/app/util/Helper.java"), first.getDependencies());
+        assertEquals(first.getDependencies(), second.getDependencies(), "Types answered from memory count as well");
+        assertTrue(CallSummaryExtractor.summarize(StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java")))
+                .getDependencies().isEmpty());
+    }
+
+    @Test
+    void snapshotTypesAreLoadedOnce() {
+        List<String> loaded = new ArrayList<>();
+        TypeResolutionContext context = snapshot(loaded);
+
+        CallSummaryExtractor.summarize(StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java")), context);
+        CallSummaryExtractor.summarize(StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java")), context);
+
+        assertEquals(1, loaded.size());
+    }
+
+    @Test
+    void snapshotSourcesAreFetchedBeforeTheSnapshotIsLocked() {
+        Object lock = new Object();
+        List<Boolean> fetchedUnderLock = new ArrayList<>();
+        RepositoryTypeSolver repositoryTypes = new RepositoryTypeSolver(FILES::keySet, path -> {
+            fetchedUnderLock.add(Thread.holdsLock(lock));
+            return FILES.get(path);
+        });
+        MemoizingTypeSolver root = new MemoizingTypeSolver(
+                new CombinedTypeSolver(TypeResolutionContext.jdkTypes(), repositoryTypes), 1024, false);
+        TypeResolutionContext context = new TypeResolutionContext(root, lock, repositoryTypes);
+
+        FileSummary summary = CallSummaryExtractor.summarize(
+                StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java")), context);
+
+        assertTrue(summary.getResolvedCalls().contains("app.util.Helper#twice/1"));
+        assertEquals(List.of(false), fetchedUnderLock);
+    }
+
+    @Test
+    void onlyCallsIntoTheSymbolSolverHoldTheSnapshotLock() {
+        Object lock = new Object();
+        RepositoryTypeSolver repositoryTypes = new RepositoryTypeSolver(FILES::keySet, FILES::get);
+        MemoizingTypeSolver root = new MemoizingTypeSolver(
+                new CombinedTypeSolver(TypeResolutionContext.jdkTypes(), repositoryTypes), 1024, false);
+        TypeResolutionContext context = new TypeResolutionContext(root, lock, repositoryTypes);
+        CompilationUnit cu = StaticJavaParser.parse(FILES.get("src/main/java/app/Client.java"));
+
+        List<Boolean> held = context.resolve(cu, () -> List.of(Thread.holdsLock(lock),
+                TypeResolutionContext.solve(() -> Thread.holdsLock(lock))));
+
+        assertEquals(List.of(false, true), held);
+        assertFalse(TypeResolutionContext.solve(() -> Thread.holdsLock(lock)));
+    }
+
+    @Test
+    void keepsABoundedNumberOfSnapshotFiles() {
+        Map<String, String> files = Map.of(
+                "src/main/java/app/Client.java", "package app;\n" +
+                        "class Client {\n" +
+                        "    int run() { return new First().one() + new Second().two(); }\n" +
+                        "}\n",
+                "src/main/java/app/First.java", "package app;\n" +
+                        "public class First { public int one() { return 1; } }\n",
+                "src/main/java/app/Second.java", "package app;\n" +
+                        "public class Second { public int two() { return 2; } }\n");
+        RepositoryTypeSolver repositoryTypes = new RepositoryTypeSolver(files::keySet, files::get, 1);
+        MemoizingTypeSolver root = new MemoizingTypeSolver(
+                new CombinedTypeSolver(TypeResolutionContext.jdkTypes(), repositoryTypes), 1024, false);
+        TypeResolutionContext context = new TypeResolutionContext(root, new Object(), repositoryTypes);
+
+        FileSummary summary = CallSummaryExtractor.summarize(
+                StaticJavaParser.parse(files.get("src/main/java/app/Client.java")), context);
+
+        assertTrue(summary.getResolvedCalls().containsAll(List.of("app.First#one/0", "app.Second#two/0")));
+        assertEquals(1, repositoryTypes.getFileCount());
+    }
+
+    @Test
+    void resolvesInferredTypesAgainstTheJdk() {
+        CompilationUnit cu = JavaSourceParser.parse("import java.io.*;\n" +
+                "class Reader {\n" +
+                "    Object read(InputStream in) throws Exception {\n" +
+                "        var stream = new ObjectInputStream(in);\n" +
+                "        return stream.readObject();\n" +
+                "    }\n" +
+                "}\n", ParseProfile.STRUCTURAL).getCompilationUnit();
+
+        Optional<String> scopeType = TypeResolutionContext.jdk().resolve(cu, () ->
+                ResolvedTypes.qualifiedTypeName(cu.findFirst(MethodCallExpr.class).get().getScope().get()));
+        boolean declaredType = TypeResolutionContext.jdk().resolve(cu, () ->
+                ResolvedTypes.is(cu.findFirst(VariableDeclarator.class).get().getType(), "java.io.ObjectInputStream"));
+
+        assertEquals(Optional.of("java.io.ObjectInputStream"), scopeType);
+        assertTrue(declaredType);
+    }
+
+    @Test
+    void fallsBackToWrittenNamesWhenTypesCannotBeResolved() {
+        CompilationUnit cu = StaticJavaParser.parse("class Holder { com.acme.Missing value; String name; }");
+
+        assertTrue(ResolvedTypes.is(cu.findAll(VariableDeclarator.class).get(0).getType(), "com.acme.Missing"));
+        assertTrue(ResolvedTypes.is(cu.findAll(VariableDeclarator.class).get(1).getType(), "java.lang.String"));
+    }
+
+    private static TypeResolutionContext snapshot(List<String> loaded) {
+        RepositoryTypeSolver repositoryTypes = new RepositoryTypeSolver(FILES::keySet, path -> {
+            loaded.add(path);
+            return FILES.get(path);
+        });
+        MemoizingTypeSolver root = new MemoizingTypeSolver(
+                new CombinedTypeSolver(TypeResolutionContext.jdkTypes(), repositoryTypes), 1024, false);
+        return new TypeResolutionContext(root, new Object(), repositoryTypes);
+    }
+}
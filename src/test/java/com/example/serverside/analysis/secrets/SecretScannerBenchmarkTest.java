@@ -0,0 +1,110 @@
+package com.example.serverside.analysis.secrets;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the {@link SecretScanner} against the credential regex and boxed entropy calculation it replaced, on
+ * generated string literals and variable names. Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SecretScannerBenchmarkTest {
+
+    private static final Pattern CREDENTIALS_PATTERN = Pattern.compile(".*(password|secret|token).*", Pattern.CASE_INSENSITIVE);
+
+    private static final int[] LITERAL_COUNTS = {10_000, 100_000, 400_000};
+    private static final int ROUNDS = 3;
+
+    @Test
+    void compareWithRegexAndBoxedEntropy() {
+        System.out.printf("%-10s %14s %14s %10s%n", "Literals", "previous ms", "scanner ms", "flagged");
+        for (int count : LITERAL_COUNTS) {
+            List<String> literals = generate(count);
+            long previousNanos = Long.MAX_VALUE;
+            long scannerNanos = Long.MAX_VALUE;
+            int expected = 0;
+            int flagged = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                expected = previous(literals);
+                previousNanos = Math.min(previousNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                flagged = scanner(literals);
+                scannerNanos = Math.min(scannerNanos, System.nanoTime() - start);
+            }
+            assertEquals(expected, flagged);
+            System.out.printf("%-10d %14.1f %14.1f %10d%n", count, previousNanos / 1e6, scannerNanos / 1e6, flagged);
+        }
+    }
+
+    private static int previous(List<String> literals) {
+        int flagged = 0;
+        for (String literal : literals) {
+            if (CREDENTIALS_PATTERN.matcher(literal).matches()
+                    || (literal.length() >= SecretScanner.MIN_ENTROPY_LENGTH && boxedEntropy(literal) > SecretScanner.ENTROPY_THRESHOLD)) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    private static int scanner(List<String> literals) {
+        int flagged = 0;
+        for (String literal : literals) {
+            if (SecretScanner.hasCredentialKeyword(literal)
+                    || SecretScanner.isHighEntropy(literal, 0, literal.length())) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    private static double boxedEntropy(String s) {
+        Map<Character, Integer> charCounts = new HashMap<>();
+        for (char c : s.toCharArray()) {
+            charCounts.put(c, charCounts.getOrDefault(c, 0) + 1);
+        }
+        double entropy = 0.0;
+        for (int count : charCounts.values()) {
+            double probability = (double) count / s.length();
+            entropy -= probability * (Math.log(probability) / Math.log(2));
+        }
+        return entropy;
+    }
+
+    /**
+     * Generates identifiers, SQL, log messages and random keys, with a credential word in one in twenty.
+     */
+    private static List<String> generate(int count) {
+        String[] words = {"user", "order", "select * from accounts where id = ?", "Failed to load configuration",
+                "customerName", "http://localhost:8080/api", "retryCount"};
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        Random random = new Random(42);
+        List<String> literals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i % 20 == 0) {
+                literals.add("db" + (i % 40 == 0 ? "Password" : "Token") + i);
+            } else if (i % 7 == 0) {
+                StringBuilder key = new StringBuilder();
+                for (int k = 0; k < 32; k++) {
+                    key.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                literals.add(key.toString());
+            } else {
+                literals.add(words[random.nextInt(words.length)] + " " + i);
+            }
+        }
+        return literals;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.serverside.analysis.secrets;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingSecretScannerTest {
+
+    @Test
+    void findsCredentialsInConfigurationFormats() throws IOException {
+        String content = "# Local settings\n" +
+                "db:\n" +
+                "  password: \"hunter2-staging\"   # rotate monthly\n" +
+                "  username: admin\n" +
+                "export GITHUB_TOKEN=ghp_" + "0123456789abcdefghijABCDEFGHIJ012345\n" +
+                "API_KEY='x9Kq2LmZ7vB4nR8tW1yD'\n" +
+                "client.secret=${CLIENT_SECRET}\n" +
+                "// password = example\n" +
+                "homepage=https://example.com/a9Kq2LmZ7vB4nR8tW1yD\n" +
+                "echo \"password is not set\"\n";
+
+        StreamingSecretScanner.Result result = scan(content);
+
+        assertFalse(result.isBinary());
+        List<SecretFinding> findings = result.getFindings();
+        assertEquals(3, findings.size(), findings.toString());
+        assertEquals(3, findings.get(0).getLine());
+        assertEquals("credential assigned to 'password'", findings.get(0).getDescription());
+        assertEquals("hunt*******ging", findings.get(0).getMaskedSecret());
+        assertEquals(5, findings.get(1).getLine());
+        assertEquals("GitHub token", findings.get(1).getDescription());
+        assertEquals(6, findings.get(2).getLine());
+        assertEquals("high entropy value assigned to 'API_KEY'", findings.get(2).getDescription());
+    }
+
+    @Test
+    void readsLinesAcrossChunks() throws IOException {
+        StringBuilder content = new StringBuilder("\uFEFFpassword=first-secret\r\n");
+        int lines = 1;
+        while (content.length() < 3 * StreamingSecretScanner.CHUNK_BYTES) {
+            content.append("name.").append(lines).append("=value\r\n");
+            lines++;
+        }
+        content.append("aws.key=AKIA").append("IOSFODNN7EXAMPLE");
+
+        List<SecretFinding> findings = scan(trickle(content.toString())).getFindings();
+
+        assertEquals(2, findings.size());
+        assertEquals(1, findings.get(0).getLine());
+        assertEquals(lines + 1, findings.get(1).getLine());
+        assertEquals("AWS access key ID", findings.get(1).getDescription());
+    }
+
+    @Test
+    void skipsBinaryFiles() throws IOException {
+        assertTrue(scan("password=hunter2\u0000\u0001").isBinary());
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 'p', 'a', 's', 's', 'w', 'o', 'r', 'd', '=', 'x'};
+        StreamingSecretScanner.Result result = StreamingSecretScanner.scan(new ByteArrayInputStream(png));
+        assertTrue(result.isBinary());
+        assertTrue(result.getFindings().isEmpty());
+        assertFalse(scan("").isBinary());
+    }
+
+    private static StreamingSecretScanner.Result scan(String content) throws IOException {
+        return StreamingSecretScanner.scan(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static StreamingSecretScanner.Result scan(InputStream content) throws IOException {
+        return StreamingSecretScanner.scan(content);
+    }
+
+    /**
+     * Serves the content in reads of at most 1000 bytes, as a network stream would.
+     */
+    private static InputStream trickle(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1000));
+            }
+        };
+    }
+}
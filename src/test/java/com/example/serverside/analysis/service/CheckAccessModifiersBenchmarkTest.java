@@ -0,0 +1,95 @@
+package com.example.serverside.analysis.service;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link CodeQualityAnalysisService#checkAccessModifiers} against a findAll-per-member scan on generated
+ * files with thousands of members. Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CheckAccessModifiersBenchmarkTest {
+
+    private static final int[] MEMBER_COUNTS = {500, 1000, 2000, 4000};
+
+    @Test
+    void compareWithPerMemberScan() {
+        CodeQualityAnalysisService service = new CodeQualityAnalysisService();
+        System.out.printf("%-10s %14s %14s %12s%n", "Members", "scan ms", "index ms", "violations");
+        for (int members : MEMBER_COUNTS) {
+            CompilationUnit cu = StaticJavaParser.parse(generate(members));
+
+            long start = System.nanoTime();
+            int expected = scanPerMember(cu);
+            long scanNanos = System.nanoTime() - start;
+
+            List<String> violations = new ArrayList<>();
+            start = System.nanoTime();
+            service.checkAccessModifiers(cu, violations);
+            long indexNanos = System.nanoTime() - start;
+
+            assertEquals(expected, violations.size());
+            System.out.printf("%-10d %14.1f %14.1f %12d%n", members, scanNanos / 1e6, indexNanos / 1e6, violations.size());
+        }
+    }
+
+    /**
+     * Reference implementation that scans the whole file for usages of every member.
+     */
+    private static int scanPerMember(CompilationUnit cu) {
+        int violations = 0;
+        for (BodyDeclaration<?> declaration : cu.findAll(BodyDeclaration.class)) {
+            if (declaration instanceof FieldDeclaration field && !field.isPrivate()) {
+                String name = field.getVariable(0).getNameAsString();
+                if (cu.findAll(FieldAccessExpr.class, fa -> fa.getNameAsString().equals(name)
+                        && fa.findAncestor(ClassOrInterfaceDeclaration.class).get() != field.findAncestor(ClassOrInterfaceDeclaration.class).get()).isEmpty()) {
+                    violations++;
+                }
+            } else if (declaration instanceof MethodDeclaration method && !method.isPrivate()) {
+                String name = method.getNameAsString();
+                if (cu.findAll(MethodCallExpr.class, mc -> mc.getNameAsString().equals(name)
+                        && mc.findAncestor(ClassOrInterfaceDeclaration.class).get() != method.findAncestor(ClassOrInterfaceDeclaration.class).get()).isEmpty()) {
+                    violations++;
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Generates two classes whose fields and methods are used from their own class and, for every third member, from
+     * the other class.
+     */
+    private static String generate(int members) {
+        StringBuilder sb = new StringBuilder();
+        for (String[] pair : new String[][]{{"First", "Second"}, {"Second", "First"}}) {
+            sb.append("class ").append(pair[0]).append(" {\n");
+            sb.append("    ").append(pair[1]).append(" other;\n");
+            for (int i = 0; i < members / 4; i++) {
+                sb.append("    public int field").append(i).append(";\n");
+                sb.append("    public int method").append(i).append("() {\n");
+                sb.append("        this.field").append(i).append("++;\n");
+                if (i % 3 == 0) {
+                    sb.append("        other.field").append(i).append(" = other.method").append(i).append("();\n");
+                }
+                sb.append("        return field").append(i).append(";\n");
+                sb.append("    }\n");
+            }
+            sb.append("}\n");
+        }
+        return sb.toString();
+    }
+}
@@ -34,6 +34,23 @@ public class CodeQualityAnalysisServiceTest {
         assertFalse(result.getDuplications().isEmpty(), "Duplicate code blocks should be detected.");
     }
 
+    @Test
+    void reportsRenamedCopiesAsDuplicates() {
+        String body = "        int total = 0;\n" +
+                "        for (int i = 0; i < items.length; i++) {\n" +
+                "            total += items[i] * 2;\n" +
+                "        }\n" +
+                "        return total;\n";
+        String code = "public class TestClass {\n" +
+                "    private int first(int[] items) {\n" + body + "    }\n" +
+                "    private int second(int[] items) {\n" + body.replace("total", "sum").replace("2", "3") + "    }\n" +
+                "}";
+
+        QualityResult result = analyseCode(code);
+        assertTrue(result.getDuplications().contains(
+                "Violation: Duplicate code found in blocks at lines 2 to 8, lines 9 to 15."), result.getDuplications().toString());
+    }
+
     @Test
     void detectsImproperAccessModifiers() {
         String code = "public class TestClass {\n" +
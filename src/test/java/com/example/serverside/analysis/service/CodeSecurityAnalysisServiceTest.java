@@ -80,4 +80,15 @@ public class CodeSecurityAnalysisServiceTest {
         assertTrue(result.getVulnerabilities().isEmpty(), "Should detect high entropy strings.");
     }
 
+    @Test
+    void testSyntaxErrorStillAnalysesRecoveredCode() throws Exception {
+        String code = "import javax.crypto.Cipher; public class Test {\n" +
+                "    void broken() { int x = ; }\n" +
+                "    void method() { Cipher.getInstance(\"DES\"); }\n" +
+                "}";
+        SecurityResult result = analyzeCode(code);
+        assertFalse(result.getVulnerabilities().isEmpty(), "Should still detect issues in the code that parsed.");
+        assertFalse(result.getParseProblems().isEmpty(), "Should report the parse problem.");
+        assertTrue(result.getParseProblems().get(0).startsWith("Parse problem at line 2:"));
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.serverside.analysis.service;
+
+import com.example.serverside.analysis.clone.CodeSignature;
+import com.example.serverside.analysis.clone.MinHash;
+import com.example.serverside.analysis.repository.CodeSignatureRepository;
+import com.example.serverside.analysis.result.SimilarCodeMatch;
+import com.example.serverside.mongoDB.document.CodeSignatureDocument;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class CodeSimilarityServiceTest {
+
+    private static final String SUM = "class A {\n" +
+            "    int sum(int[] items) {\n" +
+            "        int total = 0;\n" +
+            "        for (int i = 0; i < items.length; i++) {\n" +
+            "            if (items[i] > 10) {\n" +
+            "                total += items[i] * 2;\n" +
+            "            } else {\n" +
+            "                total -= items[i];\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return total;\n" +
+            "    }\n" +
+            "}";
+
+    @Mock
+    private CodeSignatureRepository codeSignatureRepository;
+
+    private CodeSimilarityService codeSimilarityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        codeSimilarityService = new CodeSimilarityService(codeSignatureRepository, 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexFileReplacesTheSignaturesOfTheFile() {
+        codeSimilarityService.indexFile(info("owner", "repo", "src/A.java"), StaticJavaParser.parse(SUM));
+
+        ArgumentCaptor<List<CodeSignatureDocument>> saved = ArgumentCaptor.forClass(List.class);
+        verify(codeSignatureRepository).deleteByFile("owner", "repo", "src/A.java");
+        verify(codeSignatureRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals("FILE", saved.getValue().get(0).getUnitType());
+        assertEquals("METHOD", saved.getValue().get(1).getUnitType());
+        assertEquals("sum(int[])", saved.getValue().get(1).getUnitName());
+        assertEquals(MinHash.SIGNATURE_LENGTH / MinHash.ROWS_PER_BAND, saved.getValue().get(1).getBandKeys().size());
+    }
+
+    @Test
+    void findSimilarReportsCopiesInOtherFilesOnly() {
+        CompilationUnit cu = StaticJavaParser.parse(SUM);
+        CodeSignature method = MinHash.signaturesOf(cu).get(1);
+        CodeSignatureDocument copy = document(info("other", "fork", "src/Copy.java"), method);
+        CodeSignatureDocument self = document(info("owner", "repo", "src/A.java"), method);
+        when(codeSignatureRepository.findByMostSharedBandKeys(anyCollection(), anyInt(), anyInt()))
+                .thenReturn(List.of(copy, self));
+
+        List<SimilarCodeMatch> matches = codeSimilarityService.findSimilar(info("owner", "repo", "src/A.java"), cu,
+                CodeSimilarityService.DEFAULT_MIN_SIMILARITY);
+
+        assertEquals(1, matches.size());
+        SimilarCodeMatch match = matches.get(0);
+        assertEquals("sum(int[])", match.getUnitName());
+        assertEquals("src/Copy.java", match.getMatchRepositoryInfo().getPath());
+        assertEquals(1.0, match.getSimilarity());
+    }
+
+    @Test
+    void findSimilarCapsTheSignaturesRanked() {
+        new CodeSimilarityService(codeSignatureRepository, 100, 500)
+                .findSimilar(info("owner", "repo", "src/A.java"), StaticJavaParser.parse(SUM), 0.5);
+
+        verify(codeSignatureRepository).findByMostSharedBandKeys(anyCollection(), eq(100), eq(500));
+    }
+
+    @Test
+    void findSimilarSkipsTheLookupForCodeTooSmallToCompare() {
+        List<SimilarCodeMatch> matches = codeSimilarityService.findSimilar(info("owner", "repo", "src/A.java"),
+                StaticJavaParser.parse("class A { int get() { return 1; } }"), 0.5);
+
+        assertTrue(matches.isEmpty());
+        verify(codeSignatureRepository, never()).findByMostSharedBandKeys(anyCollection(), anyInt(), anyInt());
+    }
+
+    private static CodeSignatureDocument document(RepositoryInfo repositoryInfo, CodeSignature signature) {
+        CodeSignatureDocument document = new CodeSignatureDocument();
+        document.setRepositoryInfo(repositoryInfo);
+        document.setUnitType(signature.getUnitType().name());
+        document.setUnitName(signature.getUnitName());
+        document.setSignature(signature.getSignature());
+        document.setBandKeys(signature.getBandKeys());
+        return document;
+    }
+
+    private static RepositoryInfo info(String username, String repo, String path) {
+        RepositoryInfo repositoryInfo = new RepositoryInfo();
+        repositoryInfo.setUsername(username);
+        repositoryInfo.setRepo(repo);
+        repositoryInfo.setPath(path);
+        return repositoryInfo;
+    }
+}
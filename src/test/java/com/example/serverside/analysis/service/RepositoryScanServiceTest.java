@@ -0,0 +1,231 @@
+package com.example.serverside.analysis.service;
+
+import com.example.serverside.analysis.callgraph.CallGraphRegistry;
+import com.example.serverside.analysis.clone.CloneIndexRegistry;
+import com.example.serverside.analysis.metrics.CodeMetricsExtractor;
+import com.example.serverside.analysis.metrics.FileMetrics;
+import com.example.serverside.analysis.resolution.TypeSolverRegistry;
+import com.example.serverside.analysis.result.RepositoryScanResult;
+import com.example.serverside.github.service.GitHubService;
+import com.example.serverside.mongoDB.info.RepositoryInfo;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryScanServiceTest {
+
+    private static final String SHARED = "        int total = 0;\n" +
+            "        for (int i = 0; i < items.length; i++) {\n" +
+            "            if (items[i] > 10) {\n" +
+            "                total += items[i] * 2;\n" +
+            "            } else {\n" +
+            "                total -= items[i];\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return total;\n";
+
+    private StubGitHubService gitHubService;
+    private RecordingSimilarityService similarityService;
+    private RecordingMetricsService metricsService;
+    private RepositoryScanService service;
+
+    @BeforeEach
+    void setUp() {
+        gitHubService = new StubGitHubService();
+        gitHubService.files.put("src/A.java", "class A {\n    int sum(int[] items) {\n" + SHARED + "    }\n}");
+        gitHubService.files.put("src/B.java", "class B {\n    int total(int[] items) {\n" + SHARED + "    }\n}");
+        gitHubService.files.put("src/Broken.java", null);
+        gitHubService.files.put("README.md", "# Readme");
+        similarityService = new RecordingSimilarityService();
+        metricsService = new RecordingMetricsService();
+        service = new RepositoryScanService(gitHubService, new CloneIndexRegistry(), new CallGraphRegistry(),
+                similarityService, metricsService, new TypeSolverRegistry(gitHubService, 8, 20000, 1000), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void reportsClonesBetweenFilesAndIsolatesFailures() throws Exception {
+        RepositoryScanResult result = service.scan("owner", "repo", "c1");
+
+        assertEquals(3, result.getFileCount());
+        assertEquals(2, result.getIndexedFileCount());
+        assertEquals(0, result.getUnchangedFileCount());
+        assertEquals(List.of("src/Broken.java: Failed to fetch raw content"), result.getFailures());
+        assertEquals(1, result.getDuplications().size());
+        assertTrue(result.getDuplications().get(0).contains("src/A.java lines "));
+        assertTrue(result.getDuplications().get(0).contains("src/B.java lines "));
+        assertEquals("c1", result.getRepositoryInfo().getCommitId());
+        assertEquals(Set.of("src/A.java", "src/B.java"), similarityService.indexedPaths);
+        assertEquals(Set.of("src/A.java", "src/B.java"), metricsService.storedPaths);
+        assertEquals(2, result.getUnusedMethods().size());
+        assertTrue(result.getUnusedMethods().get(0).startsWith("Violation at src/A.java line 2: Dead Method : Method 'sum'"));
+    }
+
+    @Test
+    void rescanOnlyFetchesChangedFiles() throws Exception {
+        service.scan("owner", "repo", "c1");
+        gitHubService.rawFetches.set(0);
+        gitHubService.files.put("src/B.java", "class B {\n    void changed() { }\n}");
+
+        RepositoryScanResult result = service.scan("owner", "repo", "c2");
+
+        assertEquals(1, result.getIndexedFileCount());
+        assertEquals(1, result.getUnchangedFileCount());
+        assertEquals(2, gitHubService.rawFetches.get(), "Only the changed file and the failing file are fetched");
+        assertEquals(Set.of("src/A.java", "src/B.java"), similarityService.indexedPaths);
+        assertTrue(result.getDuplications().isEmpty());
+    }
+
+    @Test
+    void deletedFilesNoLongerProduceClones() throws Exception {
+        service.scan("owner", "repo", "c1");
+        gitHubService.files.remove("src/B.java");
+
+        RepositoryScanResult result = service.scan("owner", "repo", "c2");
+
+        assertEquals(2, result.getFileCount());
+        assertTrue(result.getDuplications().isEmpty());
+    }
+
+    @Test
+    void scansOtherTextFilesForSecrets() throws Exception {
+        gitHubService.files.put("src/main/resources/application.properties",
+                "spring.datasource.url=jdbc:mysql://localhost/db\nspring.datasource.password=s3cr3t-Passw0rd\n");
+        gitHubService.files.put("deploy/.env", "# Settings\nAWS_ACCESS_KEY_ID=AKIA" + "IOSFODNN7EXAMPLE\nDB_TOKEN=${TOKEN}\n");
+        gitHubService.files.put("docs/diagram.png", "password=hunter22");
+        gitHubService.files.put("data/blob.dat", "password=hunter22\u0000");
+
+        RepositoryScanResult result = service.scan("owner", "repo", "c1");
+
+        assertEquals(List.of(
+                "Violation at deploy/.env line 2: Hardcoded Secret : AWS access key ID detected: \"AKIA************MPLE\".",
+                "Violation at src/main/resources/application.properties line 2: Hardcoded Secret : credential assigned to 'spring.datasource.password' detected: \"s3cr*******w0rd\"."),
+                result.getSecrets());
+        assertEquals(3, result.getSecretScannedFileCount(), "README, properties and .env; the binary file is skipped");
+        assertFalse(gitHubService.streamedPaths.contains("docs/diagram.png"), "Binary extensions are not fetched");
+
+        gitHubService.streamedPaths.clear();
+        RepositoryScanResult rescan = service.scan("owner", "repo", "c2");
+
+        assertEquals(result.getSecrets(), rescan.getSecrets());
+        assertTrue(gitHubService.streamedPaths.isEmpty(), "Unchanged blobs are not fetched again");
+    }
+
+    @Test
+    void scansOfTheSameRepositoryDoNotOverlap() throws Exception {
+        gitHubService.blockedCommit = "c1";
+        Thread first = new Thread(() -> assertDoesNotThrow(() -> service.scan("owner", "repo", "c1")));
+        first.start();
+        assertTrue(gitHubService.blocked.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> assertDoesNotThrow(() -> service.scan("owner", "repo", "c2")));
+        second.start();
+
+        Thread.sleep(200);
+        assertFalse(gitHubService.fetchedCommits.contains("c2"), "The second scan waits for the first one");
+        gitHubService.release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        assertTrue(gitHubService.fetchedCommits.contains("c2"));
+    }
+
+    /**
+     * Records the files passed to the similarity index instead of storing them.
+     */
+    private static class RecordingSimilarityService extends CodeSimilarityService {
+        private final Set<String> indexedPaths = ConcurrentHashMap.newKeySet();
+
+        RecordingSimilarityService() {
+            super(null, 0);
+        }
+
+        @Override
+        public void indexFile(RepositoryInfo repositoryInfo, CompilationUnit cu) {
+            indexedPaths.add(repositoryInfo.getPath());
+        }
+    }
+
+    private static class RecordingMetricsService extends CodeMetricsService {
+        private final Set<String> storedPaths = ConcurrentHashMap.newKeySet();
+
+        RecordingMetricsService() {
+            super(null, null);
+        }
+
+        @Override
+        public FileMetrics store(RepositoryInfo repositoryInfo, CompilationUnit cu) {
+            storedPaths.add(repositoryInfo.getPath());
+            return CodeMetricsExtractor.extract(cu);
+        }
+    }
+
+    /**
+     * Serves a fixed set of files, using the content hash as the blob SHA. A null content fails to fetch.
+     */
+    private static class StubGitHubService extends GitHubService {
+        private final Map<String, String> files = new HashMap<>();
+        private final AtomicInteger rawFetches = new AtomicInteger();
+        private final Set<String> streamedPaths = ConcurrentHashMap.newKeySet();
+        private final Set<String> fetchedCommits = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile String blockedCommit; // Fetches at this commit wait for release
+
+        StubGitHubService() {
+            super(new RestTemplateBuilder());
+        }
+
+        @Override
+        public String getRecursiveTree(String username, String repo, String commitId) {
+            StringBuilder json = new StringBuilder("{\"truncated\":false,\"tree\":[");
+            files.forEach((path, content) -> json.append("{\"path\":\"").append(path)
+                    .append("\",\"type\":\"blob\",\"sha\":\"").append(content == null ? 0 : content.hashCode()).append("\"},"));
+            json.append("{\"path\":\"src\",\"type\":\"tree\",\"sha\":\"dir\"}]}");
+            return json.toString();
+        }
+
+        @Override
+        public String getRaw(String username, String repo, String commitId, String path) throws Exception {
+            rawFetches.incrementAndGet();
+            fetchedCommits.add(commitId);
+            if (commitId.equals(blockedCommit)) {
+                blocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            String content = files.get(path);
+            if (content == null) {
+                throw new Exception("Failed to fetch raw content");
+            }
+            return content;
+        }
+
+        @Override
+        public <T> T readRaw(String username, String repo, String commitId, String path, RawContentReader<T> reader) throws Exception {
+            streamedPaths.add(path);
+            String content = files.get(path);
+            if (content == null) {
+                throw new Exception("Failed to fetch raw content");
+            }
+            return reader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
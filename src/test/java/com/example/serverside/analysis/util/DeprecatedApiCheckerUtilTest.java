@@ -71,4 +71,45 @@ public class DeprecatedApiCheckerUtilTest {
         assertTrue(vulnerabilities.isEmpty(), "No vulnerabilities should be detected for non-deprecated imports.");
     }
 
+    @Test
+    void detectsTypesOfAPackageImportedOnDemand() {
+        String code = "import java.util.*;\n" +
+                "public class TestClass {\n" +
+                "    List<String> names;\n" +
+                "    Date created = new Date();\n" +
+                "}\n";
+
+        List<String> vulnerabilities = findDeprecatedApiUsage(code);
+        assertEquals(2, vulnerabilities.size(), vulnerabilities.toString());
+        assertTrue(vulnerabilities.get(0).startsWith(
+                "Violation at line 4: Insecure API used: java.util.Date (through java.util.*)."));
+    }
+
+    @Test
+    void detectsFullyQualifiedUsages() {
+        String code = "public class TestClass {\n" +
+                "    java.util.Date created;\n" +
+                "    Object from(java.time.Instant instant) {\n" +
+                "        return java.util.Date.from(instant);\n" +
+                "    }\n" +
+                "    java.util.DateFormat format;\n" +
+                "}\n";
+
+        List<String> vulnerabilities = findDeprecatedApiUsage(code);
+        assertEquals(2, vulnerabilities.size(), vulnerabilities.toString());
+        assertTrue(vulnerabilities.get(0).startsWith("Violation at line 2: Insecure API used: java.util.Date."));
+        assertTrue(vulnerabilities.get(1).startsWith("Violation at line 4: Insecure API used: java.util.Date.from."));
+    }
+
+    @Test
+    void detectsImportsInsideACataloguedPackage() {
+        DeprecatedApiCheckerUtil.insecureImports.put("sun.misc", "Use supported JDK APIs");
+        String code = "import sun.misc.Unsafe;\n" +
+                "import static java.security.MessageDigest.getInstance;\n" +
+                "public class TestClass { }\n";
+
+        List<String> vulnerabilities = findDeprecatedApiUsage(code);
+        DeprecatedApiCheckerUtil.insecureImports.remove("sun.misc");
+        assertEquals(2, vulnerabilities.size(), vulnerabilities.toString());
+    }
 }
@@ -1,9 +1,9 @@
 package com.example.serverside.analysis.util;
 
+import com.example.serverside.analysis.parser.LineIndex;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,36 +48,33 @@ public class IndentationCheckerUtilTest {
 
 
     @Test
-    void testNoIndentation() throws ReflectiveOperationException {
+    void testNoIndentation() {
         Assertions.assertEquals(0, getIndentationLevel("Test with no leading spaces"));
     }
 
     @Test
-    void testFourSpacesIndentation() throws ReflectiveOperationException {
+    void testFourSpacesIndentation() {
         Assertions.assertEquals(4, getIndentationLevel("    Test with 4 leading spaces"));
     }
 
     @Test
-    void testAllSpaces() throws ReflectiveOperationException {
+    void testAllSpaces() {
         Assertions.assertEquals(5, getIndentationLevel("     "));
     }
 
     @Test
-    void testEmptyString() throws ReflectiveOperationException {
+    void testEmptyString() {
         Assertions.assertEquals(0, getIndentationLevel(""));
     }
 
     @Test
-    void testMixedSpacesAndTabs() throws ReflectiveOperationException {
+    void testMixedSpacesAndTabs() {
 
         Assertions.assertEquals(2, getIndentationLevel("  \tTest with mixed spaces and tabs"));
     }
 
-    private int getIndentationLevel(String line) throws ReflectiveOperationException {
-        IndentationCheckerUtil checker = new IndentationCheckerUtil(new ArrayList<>(), "");
-        Method method = IndentationCheckerUtil.class.getDeclaredMethod("getIndentationLevel", String.class);
-        method.setAccessible(true);
-        return (int) method.invoke(checker, line);
+    private int getIndentationLevel(String line) {
+        return LineIndex.of(line).getIndentation(1);
     }
 
 }
@@ -72,4 +72,39 @@ public class InsecureCryptoPracticesCheckTest {
         assertTrue(messageFound, "Expected vulnerability message with weak algorithm not found.");
     }
 
+    @Test
+    void detectsWeakAlgorithmInTransformationBuiltFromConstants() {
+        String code =
+                "public class Test {\n" +
+                        "    private static final String ALGORITHM = \"DES\";\n" +
+                        "    private static final String TRANSFORMATION = ALGORITHM + \"/ECB/PKCS5Padding\";\n" +
+                        "    public void encrypt() {\n" +
+                        "        Cipher cipher = Cipher.getInstance(TRANSFORMATION);\n" +
+                        "        MessageDigest digest = MessageDigest.getInstance(String.format(\"%s%d\", \"md\", 5));\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findInsecureCryptoPractices(code);
+        assertEquals(List.of("Violation at line 5: Weak cryptographic algorithm 'DES' used at line 5",
+                "Violation at line 6: Weak cryptographic algorithm 'md5' used at line 6"), vulnerabilities);
+    }
+
+    @Test
+    void resolvesLocalVariablesPerMethod() {
+        String code =
+                "public class Test {\n" +
+                        "    public void weak() {\n" +
+                        "        String algorithm = \"RC4\";\n" +
+                        "        Cipher.getInstance(algorithm);\n" +
+                        "    }\n" +
+                        "    public void strong(String algorithm) {\n" +
+                        "        Cipher.getInstance(algorithm);\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findInsecureCryptoPractices(code);
+        assertEquals(1, vulnerabilities.size());
+        assertTrue(vulnerabilities.get(0).startsWith("Violation at line 4:"));
+    }
+
 }
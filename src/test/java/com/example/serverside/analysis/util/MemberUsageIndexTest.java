@@ -0,0 +1,60 @@
+package com.example.serverside.analysis.util;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberUsageIndexTest {
+
+    private static final String CODE = "public class Outer {\n" +
+            "    public int shared;\n" +
+            "    public int local;\n" +
+            "    public void helper() { this.local = 1; }\n" +
+            "    public void internal() { helper(); }\n" +
+            "    static class Inner {\n" +
+            "        void run(Outer outer) { outer.shared = 2; outer.internal(); }\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    void fieldAccessedFromAnotherClassIsReported() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        MemberUsageIndex usages = MemberUsageIndex.of(cu);
+
+        assertTrue(usages.isFieldAccessedOutside("shared", field(cu, "shared")));
+        assertFalse(usages.isFieldAccessedOutside("local", field(cu, "local")));
+        assertFalse(usages.isFieldAccessedOutside("unused", field(cu, "local")));
+    }
+
+    @Test
+    void methodCalledFromAnotherClassIsReported() {
+        CompilationUnit cu = StaticJavaParser.parse(CODE);
+        MemberUsageIndex usages = MemberUsageIndex.of(cu);
+
+        assertTrue(usages.isMethodCalledOutside("internal", method(cu, "internal")));
+        assertFalse(usages.isMethodCalledOutside("helper", method(cu, "helper")));
+        assertFalse(usages.isMethodCalledOutside("run", method(cu, "run")));
+    }
+
+    @Test
+    void usageFromOuterClassCountsForNestedDeclaration() {
+        CompilationUnit cu = StaticJavaParser.parse("class A {\n" +
+                "    void call() { new B().work(); }\n" +
+                "    static class B { public void work() { } }\n" +
+                "}");
+
+        assertTrue(MemberUsageIndex.of(cu).isMethodCalledOutside("work", method(cu, "work")));
+    }
+
+    private static FieldDeclaration field(CompilationUnit cu, String name) {
+        return cu.findFirst(FieldDeclaration.class, f -> f.getVariable(0).getNameAsString().equals(name)).orElseThrow();
+    }
+
+    private static MethodDeclaration method(CompilationUnit cu, String name) {
+        return cu.findFirst(MethodDeclaration.class, m -> m.getNameAsString().equals(name)).orElseThrow();
+    }
+}
@@ -67,6 +67,81 @@ class SQLInjectionCheckerUtilTest {
         assertFalse(vulnerabilities.isEmpty(), "SQL Injection vulnerability should be detected in string assignment concatenation.");
     }
 
+    @Test
+    void reportsThePathOfTheInput() {
+        String code =
+                "public class Test {\n" +
+                        "    public void find(Connection connection, String name) throws SQLException {\n" +
+                        "        String query = \"SELECT * FROM users WHERE name = '\" + name + \"'\";\n" +
+                        "        connection.createStatement().executeQuery(query);\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findSQLInjections(code);
+        assertEquals(List.of("Violation at line 4: Potential SQL Injection detected: "
+                + "parameter 'name' (line 2) -> 'query' (line 3) -> executeQuery (line 4)"), vulnerabilities);
+    }
+
+    @Test
+    void followsTaintedVariablesIntoLambdas() {
+        String code =
+                "public class Test {\n" +
+                        "    public void find(Statement st, List<String> ids, String userInput) {\n" +
+                        "        String q = \"SELECT * FROM users WHERE name = \";\n" +
+                        "        ids.forEach(x -> st.executeQuery(q + userInput));\n" +
+                        "        ids.forEach(x -> st.executeQuery(q));\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findSQLInjections(code);
+        assertEquals(List.of("Violation at line 4: Potential SQL Injection detected: "
+                + "parameter 'userInput' (line 2) -> executeQuery (line 4)"), vulnerabilities);
+    }
+
+    @Test
+    void noVulnerabilityForExecuteOnOtherReceivers() {
+        String code =
+                "public class Test {\n" +
+                        "    private Executor executor;\n" +
+                        "    public void run(Runnable task, String command) {\n" +
+                        "        executor.execute(task);\n" +
+                        "        executor.execute(() -> System.out.println(command));\n" +
+                        "        scriptEngine.execute(command);\n" +
+                        "    }\n" +
+                        "}";
 
+        List<String> vulnerabilities = findSQLInjections(code);
+        assertTrue(vulnerabilities.isEmpty(), vulnerabilities.toString());
+    }
 
+    @Test
+    void detectsVulnerabilityInJdbcTemplateFields() {
+        String code =
+                "public class Test {\n" +
+                        "    private JdbcTemplate jdbcTemplate;\n" +
+                        "    public void drop(String table, Object id) {\n" +
+                        "        jdbcTemplate.execute(\"DELETE FROM \" + id);\n" +
+                        "        jdbcTemplate.execute(\"DROP TABLE \" + table);\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findSQLInjections(code);
+        assertEquals(List.of("Violation at line 5: Potential SQL Injection detected: "
+                + "parameter 'table' (line 3) -> execute (line 5)"), vulnerabilities);
+    }
+
+    @Test
+    void noVulnerabilityForConstantQueries() {
+        String code =
+                "public class Test {\n" +
+                        "    private static final String TABLE = \"users\";\n" +
+                        "    public void count(Statement statement, int limit) throws SQLException {\n" +
+                        "        String query = \"SELECT COUNT(*) FROM \" + TABLE + \" LIMIT \" + limit;\n" +
+                        "        statement.executeQuery(query);\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findSQLInjections(code);
+        assertTrue(vulnerabilities.isEmpty(), vulnerabilities.toString());
+    }
 }
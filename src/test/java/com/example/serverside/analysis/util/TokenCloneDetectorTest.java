@@ -0,0 +1,145 @@
+package com.example.serverside.analysis.util;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCloneDetectorTest {
+
+    private static final String LOOP = "        int total = 0;\n" +
+            "        for (int i = 0; i < items.length; i++) {\n" +
+            "            if (items[i] > 10) {\n" +
+            "                total += items[i] * 2;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return total;\n";
+
+    @Test
+    void detectsCopiesWithRenamedIdentifiersAndLiterals() {
+        String code = "class Test {\n" +
+                "    int first(int[] items) {\n" +
+                LOOP +
+                "    }\n" +
+                "    int second(int[] values) {\n" +
+                "        int sum = 0; // renamed copy\n" +
+                "        for (int j = 1; j < values.length; j++) {\n" +
+                "            if (values[j] > 99) {\n" +
+                "                sum += values[j] * 3;\n" +
+                "            }\n" +
+                "        }\n" +
+                "        return sum;\n" +
+                "    }\n" +
+                "}";
+
+        List<List<TokenCloneDetector.CloneRegion>> clones = TokenCloneDetector.detect(parse(code));
+
+        assertEquals(1, clones.size());
+        List<TokenCloneDetector.CloneRegion> copies = clones.get(0);
+        assertEquals(2, copies.size());
+        assertEquals(2, copies.get(0).getBeginLine());
+        assertEquals(10, copies.get(0).getEndLine());
+        assertEquals(11, copies.get(1).getBeginLine());
+        assertEquals(19, copies.get(1).getEndLine());
+        assertTrue(copies.get(0).getTokenCount() >= TokenCloneDetector.DEFAULT_WINDOW);
+    }
+
+    @Test
+    void findsCopiesStartingInsideHighlyRepetitiveCode() {
+        // The first copy starts past the occurrences kept for the repeated windows, which must not hide it
+        String code = "class Test {\n" +
+                "    int first(int[] items) {\n" +
+                "        a = b;\n".repeat(50) +
+                LOOP +
+                "    }\n" +
+                "    int second(int[] items) {\n" +
+                "        a = b;\n".repeat(10) +
+                LOOP +
+                "    }\n" +
+                "}";
+
+        List<List<TokenCloneDetector.CloneRegion>> clones = TokenCloneDetector.detect(parse(code));
+
+        assertTrue(clones.stream().flatMap(List::stream)
+                        .anyMatch(region -> region.getBeginLine() >= 61 && region.getEndLine() >= 78),
+                "The copy in second() should span its repeated statements and its loop");
+    }
+
+    @Test
+    void groupsAllCopiesOfTheSameCode() {
+        String code = "class Test {\n" +
+                "    int a(int[] items) {\n" + LOOP + "    }\n" +
+                "    int b(int[] items) {\n" + LOOP + "    }\n" +
+                "    int c(int[] items) {\n" + LOOP + "    }\n" +
+                "}";
+
+        List<List<TokenCloneDetector.CloneRegion>> clones = TokenCloneDetector.detect(parse(code));
+
+        assertEquals(1, clones.size());
+        assertEquals(3, clones.get(0).size());
+    }
+
+    @Test
+    void ignoresCodeShorterThanTheWindow() {
+        String code = "class Test {\n" +
+                "    void first() { int x = 1; }\n" +
+                "    void second() { int y = 2; }\n" +
+                "}";
+
+        assertTrue(TokenCloneDetector.detect(parse(code)).isEmpty());
+    }
+
+    @Test
+    void doesNotMatchAcrossMethodBoundaries() {
+        String code = "class Test {\n" +
+                "    void first() { a(); b(); c(); d(); }\n" +
+                "    void second() { e(); f(); g(); h(); }\n" +
+                "    void third() { a(); b(); c(); d(); }\n" +
+                "    void fourth() { e(); f(); g(); h(); }\n" +
+                "}";
+
+        assertTrue(new TokenCloneDetector(30).findClones(parse(code)).isEmpty());
+    }
+
+    @Test
+    void doesNotExtendTheFirstCopyIntoTheNextMethod() {
+        // third() holds both bodies back to back, which must not make first() and second() one copy
+        String code = "class Test {\n" +
+                "    void first() { a(); b(); }\n" +
+                "    void second() { c(); d(); }\n" +
+                "    void third() { { a(); b(); } { c(); d(); } }\n" +
+                "}";
+
+        List<List<TokenCloneDetector.CloneRegion>> clones = new TokenCloneDetector(8).findClones(parse(code));
+
+        assertFalse(clones.isEmpty());
+        assertTrue(clones.stream().flatMap(List::stream)
+                .allMatch(region -> region.getBeginLine() == region.getEndLine()));
+    }
+
+    @Test
+    void methodsOfAnonymousClassesAreCountedOnce() {
+        String code = "class Test {\n" +
+                "    Runnable make(int[] items) {\n" +
+                "        return new Runnable() {\n" +
+                "            public void run() {\n" + LOOP.replace("return total;", "System.out.println(total);") +
+                "            }\n" +
+                "        };\n" +
+                "    }\n" +
+                "}";
+
+        assertTrue(TokenCloneDetector.detect(parse(code)).isEmpty());
+    }
+
+    @Test
+    void rejectsNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenCloneDetector(0));
+    }
+
+    private static CompilationUnit parse(String code) {
+        return StaticJavaParser.parse(code);
+    }
+}
@@ -50,4 +50,49 @@ public class XSSCheckUtilTest {
         List<String> vulnerabilities = findXSSVulnerabilities(code);
         assertTrue(vulnerabilities.isEmpty(), "No XSS vulnerability should be detected when user input is sanitized.");
     }
+
+    @Test
+    void detectsUserInputReachingTheResponse() {
+        String code =
+                "public class Test {\n" +
+                        "    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {\n" +
+                        "        String name = request.getParameter(\"name\");\n" +
+                        "        PrintWriter out = response.getWriter();\n" +
+                        "        out.println(name);\n" +
+                        "        response.getWriter().write(Encode.forHtml(name));\n" +
+                        "    }\n" +
+                        "    public String page(Model model, HttpServletRequest request) {\n" +
+                        "        model.addAttribute(\"query\", request.getHeader(\"Referer\"));\n" +
+                        "        return \"page\";\n" +
+                        "    }\n" +
+                        "}";
+
+        List<String> vulnerabilities = findXSSVulnerabilities(code);
+        assertEquals(List.of(
+                "Violation at line 5: Potential XSS vulnerability detected: "
+                        + "getParameter (line 3) -> 'name' (line 3) -> println (line 5)",
+                "Violation at line 9: Potential XSS vulnerability detected: "
+                        + "getHeader (line 9) -> addAttribute (line 9)"), vulnerabilities);
+    }
+
+    @Test
+    void checksLongConcatenationsOnce() {
+        StringBuilder concatenation = new StringBuilder("\"<ul>\"");
+        for (int i = 0; i < 500; i++) {
+            concatenation.append(" + \"<li>\" + i").append(i);
+        }
+        StringBuilder code = new StringBuilder("public class Test {\n")
+                .append("    public String list(HttpServletRequest request) {\n");
+        for (int i = 0; i < 500; i++) {
+            code.append("        String i").append(i).append(" = \"").append(i).append("\";\n");
+        }
+        code.append("        i250 = request.getParameter(\"item\");\n")
+                .append("        return ").append(concatenation).append(";\n")
+                .append("    }\n")
+                .append("}");
+
+        List<String> vulnerabilities = findXSSVulnerabilities(code.toString());
+        assertEquals(List.of("Violation at line 504: Potential XSS vulnerability detected in string concatenation at line 504"),
+                vulnerabilities);
+    }
 }
@@ -0,0 +1,117 @@
+package com.example.serverside.github.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceBlobStoreTest {
+
+    private static final String COMMIT = "0123456789abcdef0123456789abcdef01234567";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesAndReadsSourceByReference() throws IOException {
+        SourceBlobStore store = new SourceBlobStore(directory, 1 << 20, 1 << 16);
+        String key = SourceBlobStore.refKey("user", "repo", COMMIT, "src/Test.java");
+
+        store.putSource(key, "public class Test { }");
+
+        assertEquals("public class Test { }", store.getSource(key));
+        assertNull(store.getSource(SourceBlobStore.refKey("user", "repo", COMMIT, "src/Other.java")));
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        SourceBlobStore store = new SourceBlobStore(directory, 1 << 20, 1 << 16);
+
+        String content = "class A { }\n".repeat(200);
+        String first = store.putSource(SourceBlobStore.refKey("user", "repo", COMMIT, "A.java"), content);
+        long afterFirst = store.getLiveBytes();
+        String second = store.putSource(SourceBlobStore.refKey("user", "repo", COMMIT, "B.java"), content);
+
+        assertEquals(first, second);
+        assertTrue(store.getLiveBytes() - afterFirst < content.length(),
+                "Only a reference record should be added for duplicate content.");
+    }
+
+    @Test
+    void blobShaMatchesGit() {
+        // Same value as `echo -n "hello" | git hash-object --stdin`
+        assertEquals("b6fc4c620b67d95f953a5c1c1230aaab5db5a1b0",
+                SourceBlobStore.blobSha("hello".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void survivesReopen() throws Exception {
+        String key = SourceBlobStore.refKey("user", "repo", COMMIT, "Test.java");
+        SourceBlobStore store = new SourceBlobStore(directory, 1 << 20, 1 << 16);
+        store.putSource(key, "class Test { }");
+        store.destroy();
+
+        SourceBlobStore reopened = new SourceBlobStore(directory, 1 << 20, 1 << 16);
+        assertEquals("class Test { }", reopened.getSource(key));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverCap() throws IOException {
+        SourceBlobStore store = new SourceBlobStore(directory, 600, 256);
+        byte[] first = "a".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] second = "b".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] third = "c".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        String firstSha = store.putBlob(first);
+        String secondSha = store.putBlob(second);
+        store.getBlob(firstSha); // touch the first blob so the second becomes the eldest
+        String thirdSha = store.putBlob(third);
+
+        assertNotNull(store.getBlob(firstSha));
+        assertNull(store.getBlob(secondSha));
+        assertNotNull(store.getBlob(thirdSha));
+        assertTrue(store.getLiveBytes() <= 600);
+    }
+
+    @Test
+    void evictionIsRememberedAfterReopen() throws Exception {
+        SourceBlobStore store = new SourceBlobStore(directory, 300, 1 << 16);
+        String firstSha = store.putBlob("a".repeat(200).getBytes(StandardCharsets.UTF_8));
+        String secondSha = store.putBlob("b".repeat(200).getBytes(StandardCharsets.UTF_8));
+        store.destroy();
+
+        SourceBlobStore reopened = new SourceBlobStore(directory, 300, 1 << 16);
+        assertNull(reopened.getBlob(firstSha));
+        assertNotNull(reopened.getBlob(secondSha));
+    }
+
+    @Test
+    void truncatesTornRecordOnRecovery() throws Exception {
+        String key = SourceBlobStore.refKey("user", "repo", COMMIT, "Test.java");
+        SourceBlobStore store = new SourceBlobStore(directory, 1 << 20, 1 << 16);
+        store.putSource(key, "class Test { }");
+        store.destroy();
+
+        try (var files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.write(segment, new byte[]{0x42, 0x53, 0x4C}, StandardOpenOption.APPEND);
+        }
+
+        SourceBlobStore reopened = new SourceBlobStore(directory, 1 << 20, 1 << 16);
+        assertEquals("class Test { }", reopened.getSource(key));
+    }
+
+    @Test
+    void onlyFullShasAreImmutable() {
+        assertTrue(SourceBlobStore.isImmutableCommit(COMMIT));
+        assertFalse(SourceBlobStore.isImmutableCommit("main"));
+        assertFalse(SourceBlobStore.isImmutableCommit("123abc"));
+        assertFalse(SourceBlobStore.isImmutableCommit(null));
+    }
+}
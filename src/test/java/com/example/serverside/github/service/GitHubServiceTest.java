@@ -4,10 +4,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.example.serverside.github.cache.SourceBlobStore;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,7 @@ import java.lang.reflect.Method;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -140,6 +143,22 @@ class GitHubServiceTest {
     }
 
 
+    @Test
+    void testGetRaw_ServedFromCacheAtImmutableCommit(@TempDir Path cacheDir) throws Exception {
+        String commitId = "0123456789abcdef0123456789abcdef01234567";
+        String url = "https://raw.githubusercontent.com/testuser/testrepo/" + commitId + "/Sample.java";
+        GitHubService cachingService = new GitHubService(restTemplateBuilder, new SourceBlobStore(cacheDir, 1 << 20, 1 << 16));
+        ReflectionTestUtils.setField(cachingService, "githubToken", "fakeToken");
+
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), any(), eq(String.class)))
+                .thenReturn(new ResponseEntity<>("class Sample { }", HttpStatus.OK));
+
+        assertEquals("class Sample { }", cachingService.getRaw("testuser", "testrepo", commitId, "Sample.java"));
+        assertEquals("class Sample { }", cachingService.getRaw("testuser", "testrepo", commitId, "Sample.java"));
+
+        verify(restTemplate, times(1)).exchange(eq(url), eq(HttpMethod.GET), any(), eq(String.class));
+    }
+
     @Test
     void testGetCommits_Success() throws Exception {
         String username = "testuser";
@@ -0,0 +1,162 @@
+package com.example.serverside.github.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises {@link HedgedRawFetcher} against a local stub server that injects latency per path.
+ */
+class HedgedRawFetcherTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+    private final CountDownLatch stalledAborted = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fast", exchange -> respond(exchange, 200, "fast", 0));
+        server.createContext("/slow", exchange -> respond(exchange, 200, "slow", 1500));
+        server.createContext("/stalled", this::stall);
+        server.createContext("/missing", exchange -> respond(exchange, 404, "not found", 0));
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body, long delayMillis)
+            throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } catch (IOException ignored) {
+            // The client may have cancelled the losing request.
+        }
+    }
+
+    // Sends the body a byte at a time for five seconds, noting when the client has gone away
+    private void stall(com.sun.net.httpserver.HttpExchange exchange) throws IOException {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(200, 0);
+            for (int i = 0; i < 250; i++) {
+                out.write('x');
+                out.flush();
+                Thread.sleep(20);
+            }
+        } catch (IOException e) {
+            stalledAborted.countDown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(true, "raw", 50, 500, 100);
+
+        assertEquals("fast", fetcher.fetch(URI.create(baseUrl + "/fast"), URI.create(baseUrl + "/fast"), "token"));
+        assertEquals(0, fetcher.getHedgesIssued());
+        fetcher.destroy();
+    }
+
+    @Test
+    void slowPrimaryIsOvertakenByHedge() throws Exception {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(true, "raw", 50, 100, 100);
+
+        long start = System.nanoTime();
+        String body = fetcher.fetch(URI.create(baseUrl + "/slow"), URI.create(baseUrl + "/fast"), "token");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("fast", body);
+        assertTrue(elapsedMillis < 1000, "The hedge should answer well before the stalled primary.");
+        assertEquals(1, fetcher.getHedgesIssued());
+        assertEquals(1, fetcher.getHedgesWon());
+        fetcher.destroy();
+    }
+
+    @Test
+    void losingExchangeIsAborted() throws Exception {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(true, "raw", 50, 100, 100);
+
+        String body = fetcher.fetch(URI.create(baseUrl + "/stalled"), URI.create(baseUrl + "/fast"), "token");
+
+        assertEquals("fast", body);
+        assertTrue(stalledAborted.await(3, TimeUnit.SECONDS), "The stalled primary should have been disconnected.");
+        fetcher.destroy();
+    }
+
+    @Test
+    void exhaustedBudgetSkipsHedge() throws Exception {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(true, "raw", 50, 100, 0);
+        for (int i = 0; i < 10; i++) {
+            fetcher.fetch(URI.create(baseUrl + "/slow"), URI.create(baseUrl + "/fast"), "token");
+        }
+
+        assertEquals("slow", fetcher.fetch(URI.create(baseUrl + "/slow"), URI.create(baseUrl + "/fast"), "token"));
+        assertEquals(10, fetcher.getHedgesIssued());
+        assertEquals(1, fetcher.getHedgesDenied());
+        fetcher.destroy();
+    }
+
+    @Test
+    void failedResponseIsReported() {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(true, "raw", 50, 500, 100);
+
+        IOException exception = assertThrows(IOException.class, () ->
+                fetcher.fetch(URI.create(baseUrl + "/missing"), URI.create(baseUrl + "/missing"), "token"));
+        assertTrue(exception.getMessage().contains("404"));
+        fetcher.destroy();
+    }
+
+    @Test
+    void hedgeDelayFollowsObservedLatency() throws Exception {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(true, "raw", 5, 2000, 100);
+        assertEquals(2000, fetcher.hedgeDelayMillis());
+
+        for (int i = 0; i < 25; i++) {
+            fetcher.fetch(URI.create(baseUrl + "/fast"), URI.create(baseUrl + "/fast"), "token");
+        }
+
+        long delay = fetcher.hedgeDelayMillis();
+        assertTrue(delay >= 5 && delay < 2000, "Delay should be derived from the p95 of fast responses: " + delay);
+        fetcher.destroy();
+    }
+
+    @Test
+    void contentsApiHedgeTarget() {
+        HedgedRawFetcher fetcher = new HedgedRawFetcher(false, "contents", 50, 500, 10);
+
+        assertFalse(fetcher.isEnabled());
+        assertEquals(URI.create("https://api.github.com/repos/user/repo/contents/src/A.java?ref=abc"),
+                fetcher.hedgeUri("user", "repo", "abc", "src/A.java", "https://raw.githubusercontent.com/user/repo/abc/src/A.java"));
+        fetcher.destroy();
+    }
+}
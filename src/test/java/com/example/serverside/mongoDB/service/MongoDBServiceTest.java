@@ -194,4 +194,15 @@ public class MongoDBServiceTest {
         assertNotNull(savedId);
     }
 
+    @Test
+    public void testConvertCarriesParseProblems() {
+        SecurityResult securityResult = new SecurityResult();
+        securityResult.setRepositoryInfo(new RepositoryInfo());
+        securityResult.setVulnerabilities(new ArrayList<>());
+        securityResult.setParseProblems(List.of("Parse problem at line 3: Parse error. Found \";\""));
+
+        SecurityResultDocument document = mongoDBService.convertToSecurityResultDocument(securityResult);
+
+        assertEquals(securityResult.getParseProblems(), document.getParseProblems());
+    }
 }
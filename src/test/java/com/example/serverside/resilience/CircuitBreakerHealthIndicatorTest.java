@@ -0,0 +1,40 @@
+package com.example.serverside.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerHealthIndicatorTest {
+
+    @Test
+    void reportsUpWhileAllBreakersAreClosed() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry();
+        registry.circuitBreaker("github");
+
+        Health health = new CircuitBreakerHealthIndicator(registry).health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("CLOSED", ((Map<?, ?>) health.getDetails().get("github")).get("state"));
+    }
+
+    @Test
+    void reportsOpenBreaker() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(1, 30000, 1, 1, 1);
+        registry.circuitBreaker("github");
+        CircuitBreaker slack = registry.circuitBreaker("slack");
+        assertThrows(ResourceAccessException.class, () -> slack.execute(() -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        Health health = new CircuitBreakerHealthIndicator(registry).health();
+
+        assertEquals(CircuitBreakerHealthIndicator.CIRCUIT_OPEN, health.getStatus());
+        assertEquals("OPEN", ((Map<?, ?>) health.getDetails().get("slack")).get("state"));
+        assertEquals("CLOSED", ((Map<?, ?>) health.getDetails().get("github")).get("state"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.serverside.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker breaker(int failureThreshold, int maxAttempts) {
+        return new CircuitBreaker("test", failureThreshold, 1000, maxAttempts, 1, 5, clock::get);
+    }
+
+    @Test
+    void retriesTransientFailuresUntilSuccess() throws Exception {
+        CircuitBreaker breaker = breaker(5, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = breaker.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ResourceAccessException("Read timed out");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        CircuitBreaker breaker = breaker(5, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> breaker.execute(() -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    void retriesRateLimitingAndServerErrors() {
+        assertTrue(CircuitBreaker.isTransient(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null)));
+        assertTrue(CircuitBreaker.isTransient(new HttpServerErrorException(HttpStatus.BAD_GATEWAY)));
+        assertTrue(CircuitBreaker.isTransient(new HttpStatusException("Server error", 503)));
+        assertFalse(CircuitBreaker.isTransient(new HttpStatusException("Bad request", 400)));
+        assertTrue(CircuitBreaker.isTransient(new HttpConnectTimeoutException("Connect timed out")));
+        assertTrue(CircuitBreaker.isTransient(new SocketTimeoutException("Read timed out")));
+        assertTrue(CircuitBreaker.isTransient(new ConnectException("Connection refused")));
+        assertTrue(CircuitBreaker.isTransient(new IOException("Failed to fetch raw content",
+                new SocketException("Connection reset"))));
+        assertTrue(CircuitBreaker.isTransient(new IOException("HTTP/1.1 header parser received no bytes",
+                new EOFException("EOF reached while reading"))));
+        assertFalse(CircuitBreaker.isTransient(new HttpStatusException("Not found", 404)));
+        assertFalse(CircuitBreaker.isTransient(new IOException("Malformed response")));
+        assertFalse(CircuitBreaker.isTransient(new IllegalStateException("Bug")));
+    }
+
+    @Test
+    void opensAfterThresholdAndFailsFast() {
+        CircuitBreaker breaker = breaker(2, 1);
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreaker.Call<String> failing = () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Connection refused");
+        };
+
+        assertThrows(ResourceAccessException.class, () -> breaker.execute(failing));
+        assertThrows(ResourceAccessException.class, () -> breaker.execute(failing));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        CircuitBreakerOpenException exception = assertThrows(CircuitBreakerOpenException.class, () -> breaker.execute(failing));
+        assertEquals("test", exception.getBreakerName());
+        assertEquals(2, calls.get(), "An open breaker must not attempt the call.");
+    }
+
+    @Test
+    void halfOpenProbeClosesOnSuccess() throws Exception {
+        CircuitBreaker breaker = breaker(1, 1);
+        assertThrows(ResourceAccessException.class, () -> breaker.execute(() -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenProbeReopensOnFailure() {
+        CircuitBreaker breaker = breaker(3, 1);
+        CircuitBreaker.Call<String> failing = () -> {
+            throw new ResourceAccessException("Connection refused");
+        };
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceAccessException.class, () -> breaker.execute(failing));
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThrows(ResourceAccessException.class, () -> breaker.execute(failing));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, () -> breaker.execute(() -> "ok"));
+    }
+
+    @Test
+    void executeOnceDoesNotRetry() {
+        CircuitBreaker breaker = breaker(5, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ResourceAccessException.class, () -> breaker.executeOnce(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Read timed out");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void backoffIsJitteredWithinExponentialBound() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 5, 1000, 5, 100, 1000, clock::get);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(breaker.backoffMillis(1) <= 100);
+            assertTrue(breaker.backoffMillis(3) <= 400);
+            assertTrue(breaker.backoffMillis(10) <= 1000);
+            assertTrue(breaker.backoffMillis(10) >= 0);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.serverside.slack.service;
 
+import com.example.serverside.resilience.CircuitBreaker;
+import com.example.serverside.resilience.CircuitBreakerOpenException;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,5 +51,36 @@ class SlackMessageTest {
         assertTrue(exception.getMessage().contains("Error sending notification to Slack"));
         assertEquals("Simulated Exception", exception.getCause().getMessage());
     }
-}
 
+    @Test
+    void testSendFailsFastWhenCircuitIsOpen() {
+        RestTemplate mockRestTemplate = mock(RestTemplate.class);
+        doThrow(new ResourceAccessException("Connection refused")).when(mockRestTemplate)
+                .postForObject(anyString(), any(), eq(String.class));
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("slack", 1, 30000, 1, 1, 1);
+        SlackNotificationService service = new SlackNotificationService(mockRestTemplate, circuitBreaker);
+        ReflectionTestUtils.setField(service, "slackWebhookUrl", "http://example.com/webhook");
+
+        assertThrows(RuntimeException.class, () -> service.send("First message"));
+        Exception exception = assertThrows(RuntimeException.class, () -> service.send("Second message"));
+
+        assertInstanceOf(CircuitBreakerOpenException.class, exception.getCause());
+        verify(mockRestTemplate, times(1)).postForObject(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    void testSendIsNotRetried() {
+        RestTemplate mockRestTemplate = mock(RestTemplate.class);
+        doThrow(new ResourceAccessException("Read timed out")).when(mockRestTemplate)
+                .postForObject(anyString(), any(), eq(String.class));
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker("slack", 5, 30000, 3, 1, 1);
+        SlackNotificationService service = new SlackNotificationService(mockRestTemplate, circuitBreaker);
+        ReflectionTestUtils.setField(service, "slackWebhookUrl", "http://example.com/webhook");
+
+        assertThrows(RuntimeException.class, () -> service.send("Message"));
+
+        verify(mockRestTemplate, times(1)).postForObject(anyString(), any(), eq(String.class));
+    }
+}